@@ -0,0 +1,251 @@
+package org.polinux.http.polinux.jfr;
+
+import java.net.InetAddress;
+
+import javax.net.ssl.SSLSession;
+
+import org.polinux.http.polinux.session.PolinuxHttpSession;
+import org.polinux.http.polinux.session.PolinuxHttpSessionStore;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Holds the Java Flight Recorder events of the {@code Polinux HTTP Server}.
+ * Only loaded, by {@link PolinuxFlightRecorder}, by JVMs shipping the
+ * {@code jdk.jfr} API; events should be emitted through
+ * {@link PolinuxFlightRecorder} instead.
+ * <p>
+ * This class is kept inside its own source folder ({@code src-jfr}), so the
+ * rest of the server still compiles against the Java 8 API
+ * ({@code javac --release 8}), which leaves {@code jdk.jfr} out.
+ * <p>
+ * Each method allocates its event and returns right away if the event is
+ * disabled; the JIT compiler then removes the allocation, so a disabled event
+ * costs nothing but the check.
+ */
+final class PolinuxEvents implements PolinuxEventEmitter {
+
+	PolinuxEvents() {
+	}
+
+	@Name("polinux.ConnectionAccepted")
+	@Label("Connection Accepted")
+	@Category({ "Polinux", "HTTP" })
+	@Description("A connection accepted by a Polinux server")
+	@Enabled(false)
+	@StackTrace(false)
+	static final class ConnectionAccepted extends Event {
+		@Label("Remote Address")
+		String address;
+
+		@Label("Remote Port")
+		int port;
+
+		@Label("Secure")
+		@Description("Whether the connection was accepted by an HTTPS server")
+		boolean secure;
+	}
+
+	@Name("polinux.RequestParsed")
+	@Label("Request Parsed")
+	@Category({ "Polinux", "HTTP" })
+	@Description("A request read and parsed by a Polinux server")
+	@Enabled(false)
+	@StackTrace(false)
+	static final class RequestParsed extends Event {
+		@Label("Method")
+		String method;
+
+		@Label("Path")
+		String path;
+
+		@Label("Size")
+		@DataAmount
+		long bytes;
+
+		@Label("Elapsed")
+		@Description("Time taken to read and parse the request")
+		@Timespan(Timespan.NANOSECONDS)
+		long elapsed;
+	}
+
+	@Name("polinux.ServletInvoked")
+	@Label("Servlet Invoked")
+	@Category({ "Polinux", "HTTP" })
+	@Description("A request serviced by a servlet")
+	@Enabled(false)
+	@StackTrace(false)
+	static final class ServletInvoked extends Event {
+		@Label("Servlet")
+		String servlet;
+
+		@Label("Path")
+		String path;
+
+		@Label("Status")
+		int status;
+
+		@Label("Elapsed")
+		@Description("Time taken by the servlet")
+		@Timespan(Timespan.NANOSECONDS)
+		long elapsed;
+	}
+
+	@Name("polinux.StaticFileServed")
+	@Label("Static File Served")
+	@Category({ "Polinux", "HTTP" })
+	@Description("A request answered with a static file")
+	@Enabled(false)
+	@StackTrace(false)
+	static final class StaticFileServed extends Event {
+		@Label("Path")
+		String path;
+
+		@Label("Size")
+		@DataAmount
+		long bytes;
+
+		@Label("Elapsed")
+		@Description("Time taken to find and write the file")
+		@Timespan(Timespan.NANOSECONDS)
+		long elapsed;
+	}
+
+	@Name("polinux.SessionCreated")
+	@Label("Session Created")
+	@Category({ "Polinux", "Session" })
+	@Description("A session created by a Polinux server")
+	@Enabled(false)
+	@StackTrace(false)
+	static final class SessionCreated extends Event {
+		@Label("Live Sessions")
+		int liveSessions;
+	}
+
+	@Name("polinux.SessionEvicted")
+	@Label("Session Evicted")
+	@Category({ "Polinux", "Session" })
+	@Description("A session expired or invalidated")
+	@Enabled(false)
+	@StackTrace(false)
+	static final class SessionEvicted extends Event {
+		@Label("Expired")
+		@Description("Whether the session had expired, rather than having been invalidated")
+		boolean expired;
+
+		@Label("Age")
+		@Timespan(Timespan.MILLISECONDS)
+		long age;
+	}
+
+	@Name("polinux.TlsHandshake")
+	@Label("TLS Handshake")
+	@Category({ "Polinux", "HTTPS" })
+	@Description("A TLS handshake completed by a Polinux HTTPS server")
+	@Enabled(false)
+	@StackTrace(false)
+	static final class TlsHandshake extends Event {
+		@Label("Protocol")
+		String protocol;
+
+		@Label("Cipher Suite")
+		String cipherSuite;
+
+		@Label("Elapsed")
+		@Timespan(Timespan.NANOSECONDS)
+		long elapsed;
+	}
+
+	@Override
+	public void connectionAccepted(InetAddress address, int port, boolean secure) {
+		final ConnectionAccepted event = new ConnectionAccepted();
+		if (!event.isEnabled())
+			return;
+
+		event.address = address == null ? null : address.getHostAddress();
+		event.port = port;
+		event.secure = secure;
+		event.commit();
+	}
+
+	@Override
+	public void requestParsed(String method, String path, long bytes, long start) {
+		final RequestParsed event = new RequestParsed();
+		if (!event.isEnabled())
+			return;
+
+		event.method = method;
+		event.path = path;
+		event.bytes = bytes;
+		event.elapsed = System.nanoTime() - start;
+		event.commit();
+	}
+
+	@Override
+	public void servletInvoked(String servlet, String path, int status, long start) {
+		final ServletInvoked event = new ServletInvoked();
+		if (!event.isEnabled())
+			return;
+
+		event.servlet = servlet;
+		event.path = path;
+		event.status = status;
+		event.elapsed = System.nanoTime() - start;
+		event.commit();
+	}
+
+	@Override
+	public void staticFileServed(String path, long bytes, long start) {
+		final StaticFileServed event = new StaticFileServed();
+		if (!event.isEnabled())
+			return;
+
+		event.path = path;
+		event.bytes = bytes;
+		event.elapsed = System.nanoTime() - start;
+		event.commit();
+	}
+
+	@Override
+	public void sessionCreated() {
+		final SessionCreated event = new SessionCreated();
+		if (!event.isEnabled())
+			return;
+
+		final PolinuxHttpSessionStore store = PolinuxHttpSession.getSessionStore();
+		event.liveSessions = store == null ? 0 : store.size();
+		event.commit();
+	}
+
+	@Override
+	public void sessionEvicted(boolean expired, long ageMillis) {
+		final SessionEvicted event = new SessionEvicted();
+		if (!event.isEnabled())
+			return;
+
+		event.expired = expired;
+		event.age = ageMillis;
+		event.commit();
+	}
+
+	@Override
+	public void tlsHandshake(SSLSession session, long start) {
+		final TlsHandshake event = new TlsHandshake();
+		if (!event.isEnabled())
+			return;
+
+		event.elapsed = System.nanoTime() - start;
+		event.protocol = session.getProtocol();
+		event.cipherSuite = session.getCipherSuite();
+		event.commit();
+	}
+
+}
@@ -0,0 +1,303 @@
+package org.polinux;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.polinux.http.polinux.server.PolinuxHttpServer;
+import org.polinux.http.polinux.server.PolinuxWarmup;
+
+/**
+ * Creates and reports on the Class Data Sharing (AppCDS) archive of the
+ * {@code Polinux HTTP Server}, which lets the JVM map the classes a server
+ * needs from a file rather than load and verify them on every start.
+ * <p>
+ * {@code -cds-dump} starts a second JVM running the launcher with
+ * {@code -cds-train}: the configured server starts, answers a few requests to
+ * every servlet and file of its web applications, then stops, and the JVM
+ * writes the classes it loaded to the archive. Later starts use the archive
+ * when the JVM is given {@code -XX:SharedArchiveFile=<archive>}.
+ * <p>
+ * Archives require Java 10 or later, and the server to be started from a JAR
+ * file: the JVM refuses to archive classes from directories.
+ */
+public final class PolinuxClassDataSharing {
+
+	/**
+	 * Represents the default path of the archive.
+	 */
+	public static final String DEFAULT_ARCHIVE = "server" + File.separator + "polinux.jsa";
+
+	/**
+	 * Represents how many times every path is requested during training.
+	 */
+	public static final int TRAINING_ROUNDS = 20;
+
+	private PolinuxClassDataSharing() {
+	}
+
+	/**
+	 * Creates the archive, by running the training workload inside a new JVM
+	 * started with the options dumping the classes it loads.
+	 * 
+	 * @param archive   The archive to create.
+	 * @param arguments The arguments of the launcher, passed on to the training
+	 *                  run.
+	 * @return Whether the archive has been created.
+	 */
+	public static boolean dump(File archive, List<String> arguments) {
+		final int version = getJavaVersion();
+
+		if (version < 10) {
+			System.err.println("Class data sharing archives of application classes require Java 10 or later (running "
+					+ System.getProperty("java.version") + ")");
+			return false;
+		}
+
+		final String nonJar = findClassPathDirectory();
+		if (nonJar != null) {
+			System.err.println("Class data sharing archives require the server to be started from a JAR file; "
+					+ nonJar + " is a directory");
+			return false;
+		}
+
+		if (archive.getAbsoluteFile().getParentFile() != null)
+			archive.getAbsoluteFile().getParentFile().mkdirs();
+		archive.delete();
+
+		final List<String> training = new ArrayList<String>();
+		training.add("-cds-train");
+		for (String arg : arguments) {
+			if (!arg.trim().toLowerCase().startsWith("-cds-"))
+				training.add(arg);
+		}
+
+		final long start = System.nanoTime();
+
+		try {
+			if (version >= 13) {
+				// Dynamic archive, written when the training JVM exits
+				if (run(training, "-XX:ArchiveClassesAtExit=" + archive.getPath()) != 0)
+					return false;
+			} else {
+				// Static archive, from the list of classes the training JVM loaded
+				final File classList = new File(archive.getPath() + ".classlist");
+
+				try {
+					if (run(training, "-Xshare:off", "-XX:DumpLoadedClassList=" + classList.getPath()) != 0)
+						return false;
+					if (run(new ArrayList<String>(), "-Xshare:dump", "-XX:SharedClassListFile=" + classList.getPath(),
+							"-XX:SharedArchiveFile=" + archive.getPath()) != 0)
+						return false;
+				} finally {
+					classList.delete();
+				}
+			}
+		} catch (IOException e) {
+			System.err.println("Unable to start the training JVM: " + e.getMessage());
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+
+		if (!archive.isFile()) {
+			System.err.println("The training JVM did not create " + archive.getPath());
+			return false;
+		}
+
+		System.out.println("Created class data sharing archive " + archive.getPath() + " ("
+				+ (archive.length() / 1024) + " KB) in " + (System.nanoTime() - start) / 1000000L
+				+ " ms; start the server with -XX:SharedArchiveFile=" + archive.getPath() + " to use it");
+		return true;
+	}
+
+	/**
+	 * Runs the launcher inside a new JVM with the same class path, sharing the
+	 * standard streams of this one.
+	 * 
+	 * @return The exit status of the JVM.
+	 */
+	private static int run(List<String> arguments, String... options) throws IOException, InterruptedException {
+		final List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+
+		// Classes which cannot be archived (e.g. JFR events) are not worth a warning each
+		command.add("-Xlog:cds=error");
+		for (String option : options)
+			command.add(option);
+
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+
+		// Dumping a static archive does not run the launcher
+		if (!arguments.isEmpty()) {
+			command.add(PolinuxLauncher.class.getName());
+			command.addAll(arguments);
+		}
+
+		final Process process = new ProcessBuilder(command).inheritIO().start();
+		return process.waitFor();
+	}
+
+	/**
+	 * Runs the training workload against a started server: the
+	 * {@link PolinuxWarmup#getPaths(PolinuxHttpServer) paths} of the synthetic
+	 * warm-up requests are requested {@link #TRAINING_ROUNDS} times each, over the
+	 * network.
+	 * 
+	 * @param server The started server.
+	 * @return How many requests were answered.
+	 */
+	public static int train(PolinuxHttpServer server) {
+		final Set<String> paths = PolinuxWarmup.getPaths(server);
+		final String host = "0.0.0.0".equals(server.getHost()) ? "127.0.0.1" : server.getHost();
+		final String base = "http://" + host + ":" + server.getLocalPort();
+		final byte[] buffer = new byte[8192];
+		int answered = 0;
+
+		for (int round = 0; round < TRAINING_ROUNDS; round++) {
+			for (String path : paths) {
+				try {
+					final HttpURLConnection connection = (HttpURLConnection) new URL(base + path).openConnection();
+					connection.setConnectTimeout(10000);
+					connection.setReadTimeout(10000);
+
+					final int status = connection.getResponseCode();
+					final InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+
+					if (in != null) {
+						while (in.read(buffer) != -1)
+							;
+						in.close();
+					}
+
+					answered++;
+				} catch (IOException e) {
+					server.getLogger().logWarn("Training request to " + path + " failed: " + e.getMessage());
+				}
+			}
+		}
+
+		server.getLogger().log("Class data sharing training: " + answered + " requests to " + paths.size() + " paths");
+		return answered;
+	}
+
+	/**
+	 * Describes whether the underlying archive is being used by the running JVM,
+	 * to be reported on startup.
+	 * 
+	 * @param archive The archive.
+	 * @return The description.
+	 */
+	public static String describe(File archive) {
+		final String used = getSharedArchiveFile();
+
+		if (used != null) {
+			if (!isMapped(new File(used)))
+				return "Class data sharing archive " + used + " could not be used (mismatched JVM or class path?)";
+
+			return "Using class data sharing archive " + used;
+		}
+
+		if (archive.isFile())
+			return "Class data sharing archive " + archive.getPath() + " is not used; start the server with -XX:SharedArchiveFile="
+					+ archive.getPath();
+
+		return "No class data sharing archive; create one with -cds-dump";
+	}
+
+	/**
+	 * Retrieves the archive the running JVM was asked to use.
+	 * 
+	 * @return The value of {@code -XX:SharedArchiveFile}, {@code null} if the JVM
+	 *         was not given any.
+	 */
+	private static String getSharedArchiveFile() {
+		for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+			if (argument.startsWith("-XX:SharedArchiveFile="))
+				return argument.substring("-XX:SharedArchiveFile=".length());
+		}
+
+		return null;
+	}
+
+	/**
+	 * Checks whether the running JVM has mapped the underlying archive into its
+	 * memory, i.e. whether it uses the classes of the archive.
+	 * <p>
+	 * The memory mappings are read from {@code /proc/self/maps} where available
+	 * (Linux). Elsewhere, this falls back to whether the JVM shares any classes
+	 * at all, which only tells static archives apart: a dynamic archive the JVM
+	 * rejected still leaves the archive of the JDK's own classes in use.
+	 * 
+	 * @param archive The archive.
+	 * @return Whether the archive is mapped.
+	 */
+	private static boolean isMapped(File archive) {
+		final File maps = new File("/proc/self/maps");
+
+		if (maps.canRead()) {
+			try {
+				final String path = archive.getCanonicalPath();
+
+				for (String line : Files.readAllLines(maps.toPath(), StandardCharsets.UTF_8)) {
+					if (line.endsWith(path))
+						return true;
+				}
+
+				return false;
+			} catch (IOException e) {
+				// Fall back to the JVM's own report
+			}
+		}
+
+		return System.getProperty("java.vm.info", "").contains("sharing");
+	}
+
+	/**
+	 * Retrieves the first non-empty directory of the class path, whose classes
+	 * cannot be archived.
+	 * 
+	 * @return The directory, {@code null} if the class path holds only JAR files.
+	 */
+	private static String findClassPathDirectory() {
+		for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+			final File file = new File(entry);
+			final String[] children = file.isDirectory() ? file.list() : null;
+
+			if (children != null && children.length > 0)
+				return entry;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Retrieves the feature version of the running JVM (e.g. {@code 8} for
+	 * {@code 1.8}).
+	 * 
+	 * @return The feature version.
+	 */
+	static int getJavaVersion() {
+		String version = System.getProperty("java.specification.version", "1.8");
+
+		if (version.startsWith("1."))
+			version = version.substring(2);
+
+		try {
+			return Integer.parseInt(version);
+		} catch (NumberFormatException e) {
+			return 8;
+		}
+	}
+
+}
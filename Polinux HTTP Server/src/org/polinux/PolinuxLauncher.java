@@ -2,6 +2,7 @@ package org.polinux;
 
 import java.awt.EventQueue;
 import java.io.File;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -9,6 +10,8 @@ import java.util.List;
 import org.polinux.commands.PolinuxCommandManager;
 import org.polinux.commands.defaults.PolinuxGUICommand;
 import org.polinux.commands.defaults.PolinuxHelpCommand;
+import org.polinux.commands.defaults.PolinuxMetricsCommand;
+import org.polinux.commands.defaults.PolinuxReloadCommand;
 import org.polinux.commands.defaults.PolinuxStopCommand;
 import org.polinux.configuration.server.DefaultPolinuxHttpServerConfiguration;
 import org.polinux.configuration.server.DefaultPolinuxHttpsServerConfiguration;
@@ -16,6 +19,7 @@ import org.polinux.configuration.server.PolinuxHttpServerConfiguration;
 import org.polinux.configuration.server.PolinuxHttpsServerConfiguration;
 import org.polinux.gui.PolinuxJFrameGUI;
 import org.polinux.http.polinux.server.PolinuxHttpServer;
+import org.polinux.http.polinux.session.PolinuxHttpSessionStore;
 import org.polinux.https.polinux.server.PolinuxHttpsServer;
 
 /**
@@ -28,6 +32,7 @@ public final class PolinuxLauncher {
 	private PolinuxHttpsServerConfiguration configHttps;
 	private PolinuxHttpServerConfiguration configHttp;
 	private PolinuxJFrameGUI gui;
+	private PolinuxHttpSessionStore sessionStore;
 
 	static PolinuxLauncher instance;
 	static boolean running = false;
@@ -35,6 +40,8 @@ public final class PolinuxLauncher {
 	private void initDefaultCommands(PolinuxCommandManager manager) {
 		manager.addCommand(new PolinuxHelpCommand());
 		manager.addCommand(new PolinuxStopCommand());
+		manager.addCommand(new PolinuxReloadCommand());
+		manager.addCommand(new PolinuxMetricsCommand());
 		manager.addCommand(new PolinuxGUICommand());
 	}
 
@@ -99,6 +106,16 @@ public final class PolinuxLauncher {
 		System.out.println(new File("./").getAbsoluteFile().getName());
 		System.out.println(new File("./").getAbsoluteFile().getParentFile().getName());
 
+		// Both servers are configured from the same file, hence keep their sessions in
+		// the same store
+		if (httpServer != null || httpsServer != null) {
+			this.sessionStore = (httpServer != null ? httpServer : httpsServer).createSessionStore();
+			if (httpServer != null)
+				httpServer.setSharedSessionStore(this.sessionStore);
+			if (httpsServer != null)
+				httpsServer.setSharedSessionStore(this.sessionStore);
+		}
+
 		if (httpServer != null) {
 			httpServer.setCommandManager(manager);
 			initDefaultCommands(httpServer.getCommandManager());
@@ -112,6 +129,23 @@ public final class PolinuxLauncher {
 			httpsServer.run();
 		}
 
+		// Stops the servers gracefully when the JVM is asked to exit (e.g. SIGTERM or
+		// Ctrl+C), so restarts do not cut responses short
+		Runtime.getRuntime().addShutdownHook(new Thread("Polinux Shutdown") {
+			@Override
+			public void run() {
+				PolinuxLauncher.this.shutdown();
+			}
+		});
+
+		final PolinuxHttpServer server = httpServer != null ? httpServer : httpsServer;
+
+		if (server != null) {
+			server.getLogger().log(PolinuxClassDataSharing.describe(new File(PolinuxClassDataSharing.DEFAULT_ARCHIVE)));
+			server.getLogger()
+					.log("Started in " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms (since JVM start)");
+		}
+
 //		try {
 //			PolinuxWebApplicationConfiguration config = new PolinuxWebApplicationConfiguration(
 //					new FileInputStream(new File("web/app.yml")));
@@ -461,11 +495,76 @@ public final class PolinuxLauncher {
 //
 //	}
 //
+	/**
+	 * Retrieves the value of the underlying argument ({@code -name:value}).
+	 * 
+	 * @return The value, an empty string if the argument has none, {@code null}
+	 *         if the argument is missing.
+	 */
+	private static String getArgument(List<String> arguments, String name) {
+		for (String argument : arguments) {
+			final String arg = argument.trim();
+
+			if (arg.equalsIgnoreCase(name))
+				return "";
+			if (arg.toLowerCase().startsWith(name + ":"))
+				return arg.substring(name.length() + 1);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Stops the servers which are still running, gracefully, then closes the
+	 * session store they share. Waits for a server already being shut down (e.g.
+	 * by the {@code stop} command) to be done.
+	 * 
+	 * @see PolinuxHttpServer#shutdown()
+	 */
+	private synchronized void shutdown() {
+		shutdown(this.httpServer);
+		shutdown(this.httpsServer);
+
+		if (this.sessionStore != null) {
+			this.sessionStore.close();
+			this.sessionStore = null;
+		}
+	}
+
+	private static void shutdown(PolinuxHttpServer server) {
+		if (server == null)
+			return;
+
+		// PolinuxHttpServer#shutdown() holds the same lock while draining
+		synchronized (server) {
+			if (server.isEnabled())
+				server.shutdown();
+		}
+	}
+
 	public static void main(String[] args) {
+		final List<String> arguments = args == null ? new ArrayList<String>() : Arrays.asList(args);
+
+		// Creates the class data sharing archive from a training run, then exits
+		final String archive = getArgument(arguments, "-cds-dump");
+		if (archive != null) {
+			System.exit(PolinuxClassDataSharing.dump(
+					new File(archive.isEmpty() ? PolinuxClassDataSharing.DEFAULT_ARCHIVE : archive), arguments) ? 0
+							: 1);
+		}
+
 		if (!running) {
 			running = true;
 			new PolinuxLauncher(args);
 		}
+
+		// The training run of -cds-dump, exiting so the JVM writes the archive
+		if (getArgument(arguments, "-cds-train") != null) {
+			if (instance.httpServer != null)
+				PolinuxClassDataSharing.train(instance.httpServer);
+			instance.shutdown();
+			System.exit(0);
+		}
 	}
 
 	public static final PolinuxLauncher getInstance() {
@@ -15,7 +15,7 @@ import org.polinux.http.polinux.server.PolinuxHttpServer;
 public class PolinuxCommandManager {
 	protected List<PolinuxCommand> commands = new ArrayList<PolinuxCommand>();
 	protected Thread thread;
-	protected boolean running = false;
+	protected volatile boolean running = false;
 	private PolinuxCommandThread currentCommandThread;
 	protected PolinuxHttpServer server;
 
@@ -79,7 +79,10 @@ public class PolinuxCommandManager {
 		if (running)
 			return;
 		this.currentCommandThread = new PolinuxCommandThread(this, System.in, System.out);
-		thread = new Thread(this.currentCommandThread);
+		thread = new Thread(this.currentCommandThread, "Polinux Commands");
+		// Reading System.in cannot be interrupted, so the thread must not keep the JVM
+		// alive once the servers have stopped
+		thread.setDaemon(true);
 		running = true;
 		thread.start();
 	}
@@ -89,13 +92,17 @@ public class PolinuxCommandManager {
 	}
 
 	public void stop() {
-		thread.stop();
+		// A command being run finishes first; a line being waited for is ignored once
+		// entered
 		running = false;
+		if (thread != null && thread != Thread.currentThread())
+			thread.interrupt();
 	}
 
 	public void join() throws InterruptedException {
 		stop();
-		thread.join();
+		if (thread != Thread.currentThread())
+			thread.join();
 	}
 
 	PolinuxCommand getCommandWithNameOrAli(String text) {
@@ -158,10 +165,14 @@ public class PolinuxCommandManager {
 //				writer.println("+--------------------------+");
 //				writer.flush();
 
-				while (true) {
+				while (this.manager.running) {
 
 					final String fullCommandLine = reader.readLine();
 
+					// End of System.in, or stopped while waiting for the line
+					if (fullCommandLine == null || !this.manager.running)
+						break;
+
 					if (!fullCommandLine.startsWith(PolinuxCommand.COMMAND_PREFIX)) {
 						writer.println(PolinuxCommand.UNKNOWN_COMMAND);
 						continue;
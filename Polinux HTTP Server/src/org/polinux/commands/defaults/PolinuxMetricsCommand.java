@@ -0,0 +1,59 @@
+package org.polinux.commands.defaults;
+
+import org.polinux.PolinuxLauncher;
+import org.polinux.commands.PolinuxCommand;
+import org.polinux.exceptions.polinux.commands.PolinuxCommandRuntimeException;
+import org.polinux.http.polinux.server.PolinuxHttpServer;
+
+public class PolinuxMetricsCommand extends PolinuxCommand {
+
+	public PolinuxMetricsCommand() throws PolinuxCommandRuntimeException {
+		super("metrics", "Shows the request metrics of the server.", "metrics [http|https] [reset]",
+				new String[] { "stats" });
+	}
+
+	@Override
+	public void run(PolinuxHttpServer server, String[] args) {
+		if (args.length > 2) {
+			COMMAND_LOGGER.log(this.getUsage());
+			return;
+		}
+
+		String serverName = "";
+		boolean reset = false;
+
+		for (String arg : args) {
+			if (arg.equalsIgnoreCase("reset") && !reset) {
+				reset = true;
+			} else if ((arg.equalsIgnoreCase("http") || arg.equalsIgnoreCase("https")) && serverName.isEmpty()) {
+				serverName = arg;
+			} else {
+				COMMAND_LOGGER.log(this.getUsage());
+				return;
+			}
+		}
+
+		if (!serverName.equalsIgnoreCase("https"))
+			metrics(PolinuxLauncher.getInstance().getHttpServer(), "HTTP", reset);
+
+		if (!serverName.equalsIgnoreCase("http"))
+			metrics(PolinuxLauncher.getInstance().getHttpsServer(), "HTTPS", reset);
+	}
+
+	private static void metrics(PolinuxHttpServer server, String name, boolean reset) {
+		if (server == null) {
+			COMMAND_LOGGER.log("The Polinux " + name + " Server is not enabled!");
+			return;
+		}
+
+		if (reset) {
+			server.getMetrics().reset();
+			COMMAND_LOGGER.log("Reset Polinux " + name + " Server metrics!");
+			return;
+		}
+
+		COMMAND_LOGGER.log("Polinux " + name + " Server metrics:");
+		for (String line : server.getMetrics().report())
+			COMMAND_LOGGER.log("  " + line);
+	}
+}
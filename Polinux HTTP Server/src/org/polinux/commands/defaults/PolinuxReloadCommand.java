@@ -0,0 +1,50 @@
+package org.polinux.commands.defaults;
+
+import org.polinux.PolinuxLauncher;
+import org.polinux.commands.PolinuxCommand;
+import org.polinux.configuration.server.PolinuxHttpServerConfiguration.PolinuxServerConfigurationException;
+import org.polinux.exceptions.polinux.commands.PolinuxCommandRuntimeException;
+import org.polinux.http.polinux.server.PolinuxHttpServer;
+
+public class PolinuxReloadCommand extends PolinuxCommand {
+
+	public PolinuxReloadCommand() throws PolinuxCommandRuntimeException {
+		super("reload", "Reloads the server configuration without restarting.", "reload [http|https]",
+				new String[] { "rl" });
+	}
+
+	@Override
+	public void run(PolinuxHttpServer server, String[] args) {
+		if (args.length > 1) {
+			COMMAND_LOGGER.log(this.getUsage());
+			return;
+		}
+
+		final String serverName = args.length <= 0 ? "" : args[0];
+
+		if (!serverName.isEmpty() && !serverName.equalsIgnoreCase("http") && !serverName.equalsIgnoreCase("https")) {
+			COMMAND_LOGGER.log(this.getUsage());
+			return;
+		}
+
+		if (!serverName.equalsIgnoreCase("https"))
+			reload(PolinuxLauncher.getInstance().getHttpServer(), "HTTP");
+
+		if (!serverName.equalsIgnoreCase("http"))
+			reload(PolinuxLauncher.getInstance().getHttpsServer(), "HTTPS");
+	}
+
+	private static void reload(PolinuxHttpServer server, String name) {
+		if (server == null) {
+			COMMAND_LOGGER.log("The Polinux " + name + " Server is not enabled!");
+			return;
+		}
+
+		try {
+			server.reload();
+			COMMAND_LOGGER.log("Reloaded Polinux " + name + " Server configuration!");
+		} catch (PolinuxServerConfigurationException | RuntimeException e) {
+			COMMAND_LOGGER.log("Could not reload Polinux " + name + " Server configuration: " + e.getMessage());
+		}
+	}
+}
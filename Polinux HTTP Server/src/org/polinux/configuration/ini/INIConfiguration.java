@@ -8,8 +8,12 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -24,6 +28,23 @@ public class INIConfiguration extends Configuration implements INIConfigurationS
 	public static final String seperatorRegex = "\\" + seperator;
 	private Map<String, Map<String, String>> stringMap;
 
+	/**
+	 * Represents the size of the buffers used to read and write ini files.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The file the current data was read from (or last fully saved to), used to
+	 * only rewrite changed sections when saving back to it.
+	 */
+	private File source;
+
+	/**
+	 * Represents the sections added, changed or removed since the data was loaded
+	 * or last saved.
+	 */
+	private final Set<String> dirty = new HashSet<String>();
+
 	public INIConfiguration(String path) {
 		this(new File(path));
 	}
@@ -38,18 +59,18 @@ public class INIConfiguration extends Configuration implements INIConfigurationS
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
-			stringMap = new HashMap<String, Map<String, String>>();
-			this.map = new HashMap<String, Map<String, Object>>();
+			stringMap = new LinkedHashMap<String, Map<String, String>>();
+			this.map = new LinkedHashMap<String, Map<String, Object>>();
+			this.source = this.f;
 			return;
 		}
-		stringMap = new HashMap<String, Map<String, String>>();
 		try {
-			this.map = load();
-			this.stringMap = loadStringData();
+			this.parse(new FileReader(this.f));
+			this.source = this.f;
 		} catch (IOException e) {
 			e.printStackTrace();
-			this.map = new HashMap<String, Map<String, Object>>();
-			stringMap = new HashMap<String, Map<String, String>>();
+			this.map = new LinkedHashMap<String, Map<String, Object>>();
+			stringMap = new LinkedHashMap<String, Map<String, String>>();
 			return;
 		}
 	}
@@ -58,9 +79,9 @@ public class INIConfiguration extends Configuration implements INIConfigurationS
 	public INIConfiguration(File f, Map<String, Map<String, Object>> data) {
 		super(f);
 		this.map = data;
-		this.stringMap = new HashMap<String, Map<String, String>>();
+		this.stringMap = new LinkedHashMap<String, Map<String, String>>();
 		for (Entry<String, Map<String, Object>> e : this.map.entrySet()) {
-			Map<String, String> stringData = new HashMap<String, String>();
+			Map<String, String> stringData = new LinkedHashMap<String, String>();
 			for (Entry<String, Object> e1 : e.getValue().entrySet()) {
 				stringData.put(e1.getKey(), e1.getValue().toString());
 			}
@@ -71,14 +92,12 @@ public class INIConfiguration extends Configuration implements INIConfigurationS
 	@Deprecated
 	protected INIConfiguration(InputStream in) {
 		super((File) null);
-		stringMap = new HashMap<String, Map<String, String>>();
 		try {
-			this.map = loadInputStream(in);
-			this.stringMap = loadStringDataInputStream(in);
+			this.parse(new InputStreamReader(in));
 		} catch (IOException e) {
 			e.printStackTrace();
-			this.map = new HashMap<String, Map<String, Object>>();
-			this.stringMap = new HashMap<String, Map<String, String>>();
+			this.map = new LinkedHashMap<String, Map<String, Object>>();
+			this.stringMap = new LinkedHashMap<String, Map<String, String>>();
 			return;
 		}
 	}
@@ -87,9 +106,9 @@ public class INIConfiguration extends Configuration implements INIConfigurationS
 	public INIConfiguration(Map<String, Map<String, Object>> data) {
 		super((File) null);
 		this.map = data;
-		this.stringMap = new HashMap<String, Map<String, String>>();
+		this.stringMap = new LinkedHashMap<String, Map<String, String>>();
 		for (Entry<String, Map<String, Object>> e : this.map.entrySet()) {
-			Map<String, String> stringData = new HashMap<String, String>();
+			Map<String, String> stringData = new LinkedHashMap<String, String>();
 			for (Entry<String, Object> e1 : e.getValue().entrySet()) {
 				stringData.put(e1.getKey(), e1.getValue().toString());
 			}
@@ -109,18 +128,17 @@ public class INIConfiguration extends Configuration implements INIConfigurationS
 	@Override
 	@Deprecated
 	public Object getObject(String node, Object def) {
-		String[] nodes = node.split(seperatorRegex);
-		if (nodes.length == 1) {
-			if (!this.map.containsKey(nodes[0]))
-				return def;
-			return this.map.get(nodes[0]);
-		} else {
-			if (!this.map.containsKey(nodes[0]))
-				return def;
-			if (!this.map.get(nodes[0]).containsKey(nodes[1]))
-				return def;
-			return this.map.get(nodes[0]).get(nodes[1]);
+		final int dot = node.indexOf(seperatorChar);
+		if (dot < 0) {
+			final Map<String, Object> section = this.map.get(node);
+			return section == null ? def : section;
 		}
+		final Map<String, Object> section = this.map.get(node.substring(0, dot));
+		if (section == null)
+			return def;
+		final int end = node.indexOf(seperatorChar, dot + 1);
+		final Object o = section.get(end < 0 ? node.substring(dot + 1) : node.substring(dot + 1, end));
+		return o == null ? def : o;
 	}
 
 	@Override
@@ -154,6 +172,9 @@ public class INIConfiguration extends Configuration implements INIConfigurationS
 
 	@Deprecated
 	public Map<String, Map<String, Object>> getData() {
+		// The data may be changed without going through set(), so the next save
+		// cannot rely on the dirty sections alone
+		this.source = null;
 		return this.map;
 	}
 
@@ -162,246 +183,111 @@ public class INIConfiguration extends Configuration implements INIConfigurationS
 		return null;
 	}
 
-	private Map<String, Map<String, Object>> load() throws IOException {
-		if (this.map == null)
-			this.map = new HashMap<String, Map<String, Object>>();
-		Map<String, Map<String, Object>> m = new HashMap<String, Map<String, Object>>();
-		BufferedReader r = new BufferedReader(new FileReader(this.f));
-		String line;
-		String currentSec = "";
-		while ((line = r.readLine()) != null) {
-			if (line.startsWith("#"))
-				continue;
-			if (line.startsWith("[") && line.endsWith("]")) {
-				currentSec = line.substring(1, line.length() - 1);
-				m.put(currentSec, new HashMap<String, Object>());
-				continue;
-			}
-			if (!currentSec.equalsIgnoreCase("")) {
-				String key = line.split("=")[0];
-				String value = line.split("=")[1];
-				if (isIntPrivate(value)) {
-					m.get(currentSec).put(key, Integer.parseInt(value));
-					continue;
-				} else if (isDoublePrivate(value)) {
-					if (value.endsWith("f")) {
-						m.get(currentSec).put(key, Float.parseFloat(value.substring(0, value.length() - 1)));
-						continue;
-					}
-					m.get(currentSec).put(key, Double.parseDouble(value.substring(0, value.length() - 1)));
-					continue;
-				} else if (isFloatPrivate(value)) {
-					m.get(currentSec).put(key, Float.parseFloat(value));
-					continue;
-				} else if (isLongPrivate(value)) {
-					m.get(currentSec).put(key, Long.parseLong(value));
-					continue;
-				} else if (isBooleanPrivate(value)) {
-					m.get(currentSec).put(key, Boolean.parseBoolean(value));
-					continue;
-				} else if (isBytePrivate(value)) {
-					m.get(currentSec).put(key, Byte.parseByte(value));
-					continue;
-				} else if (isShortPrivate(value)) {
-					m.get(currentSec).put(key, Short.parseShort(value));
+	/**
+	 * Reads the underlying ini data in a single pass, filling both the parsed and
+	 * the raw (string) values of every section.
+	 * 
+	 * @param in The reader to read the data from. It is closed once read.
+	 * @throws IOException If the data could not be read.
+	 */
+	private void parse(Reader in) throws IOException {
+		final Map<String, Map<String, Object>> m = new LinkedHashMap<String, Map<String, Object>>();
+		final Map<String, Map<String, String>> sm = new LinkedHashMap<String, Map<String, String>>();
+		Map<String, Object> values = null;
+		Map<String, String> strings = null;
+
+		try (BufferedReader r = new BufferedReader(in, BUFFER_SIZE)) {
+			String line;
+			while ((line = r.readLine()) != null) {
+				if (line.startsWith("#"))
 					continue;
-				} else {
-					if ((value.startsWith("\"") && value.endsWith("\""))
-							|| (value.startsWith("'") && value.endsWith("'"))) {
-						m.get(currentSec).put(key, value.substring(1, value.length() - 1));
-					} else {
-						m.get(currentSec).put(key, value);
-					}
+				if (line.startsWith("[") && line.endsWith("]")) {
+					final String section = line.substring(1, line.length() - 1);
+					final Map<String, Object> v = new LinkedHashMap<String, Object>();
+					final Map<String, String> sv = new LinkedHashMap<String, String>();
+					m.put(section, v);
+					sm.put(section, sv);
+					values = section.isEmpty() ? null : v;
+					strings = section.isEmpty() ? null : sv;
 					continue;
 				}
-			}
-		}
-		r.close();
-		return m;
-	}
-
-	private Map<String, Map<String, Object>> loadInputStream(InputStream in) throws NumberFormatException, IOException {
-		if (this.map == null)
-			this.map = new HashMap<String, Map<String, Object>>();
-		Map<String, Map<String, Object>> m = new HashMap<String, Map<String, Object>>();
-		BufferedReader r = new BufferedReader(new InputStreamReader(in));
-		String line;
-		String currentSec = "";
-		while ((line = r.readLine()) != null) {
-			if (line.startsWith("#"))
-				continue;
-			if (line.startsWith("[") && line.endsWith("]")) {
-				currentSec = line.substring(1, line.length() - 1);
-				m.put(currentSec, new HashMap<String, Object>());
-				continue;
-			}
-			if (!currentSec.equalsIgnoreCase("")) {
-				String key = line.split("=")[0];
-				String value = line.split("=")[1];
-				if (isIntPrivate(value)) {
-					m.get(currentSec).put(key, Integer.parseInt(value));
-					continue;
-				} else if (isDoublePrivate(value)) {
-					if (value.endsWith("f")) {
-						m.get(currentSec).put(key, Float.parseFloat(value.substring(0, value.length() - 1)));
-						continue;
-					}
-					continue;
-				} else if (isFloatPrivate(value)) {
-					m.get(currentSec).put(key, Float.parseFloat(value));
-					continue;
-				} else if (isLongPrivate(value)) {
-					m.get(currentSec).put(key, Long.parseLong(value));
-					continue;
-				} else if (isBooleanPrivate(value)) {
-					m.get(currentSec).put(key, Boolean.parseBoolean(value));
+				if (values == null)
 					continue;
-				} else if (isBytePrivate(value)) {
-					m.get(currentSec).put(key, Byte.parseByte(value));
+				final int eq = line.indexOf('=');
+				if (eq < 0)
 					continue;
-				} else if (isShortPrivate(value)) {
-					m.get(currentSec).put(key, Short.parseShort(value));
-					continue;
-				} else {
-					if ((value.startsWith("\"") && value.endsWith("\""))
-							|| (value.startsWith("'") && value.endsWith("'"))) {
-						m.get(currentSec).put(key, value.substring(1, value.length() - 1));
-					} else {
-						m.get(currentSec).put(key, value);
-					}
-					continue;
-				}
+				final String key = line.substring(0, eq);
+				final String value = line.substring(eq + 1);
+				values.put(key, parseValue(value));
+				strings.put(key, value);
 			}
 		}
-		r.close();
-		return m;
-	}
 
-	@SuppressWarnings("resource")
-	private Map<String, Map<String, String>> loadStringData() throws IOException {
-		if (this.stringMap == null)
-			this.stringMap = new HashMap<String, Map<String, String>>();
-		Map<String, Map<String, String>> m = new HashMap<String, Map<String, String>>();
-		BufferedReader r = new BufferedReader(new FileReader(this.f));
-		String line;
-		String currentSec = "";
-		while ((line = r.readLine()) != null) {
-			if (line.startsWith("#"))
-				continue;
-			if (line.startsWith("[") && line.endsWith("]")) {
-				currentSec = line.substring(1, line.length() - 1);
-				m.put(currentSec, new HashMap<String, String>());
-				continue;
-			}
-			if (!currentSec.equalsIgnoreCase("")) {
-				String key = line.split("=")[0];
-				String value = line.split("=")[1];
-				m.get(currentSec).put(key, value);
-			}
-		}
-		return m;
+		this.map = m;
+		this.stringMap = sm;
 	}
 
-	private Map<String, Map<String, String>> loadStringDataInputStream(InputStream in) throws IOException {
-		if (this.stringMap == null)
-			this.stringMap = new HashMap<String, Map<String, String>>();
-		Map<String, Map<String, String>> m = new HashMap<String, Map<String, String>>();
-		BufferedReader r = new BufferedReader(new InputStreamReader(in));
-		String line;
-		String currentSec = "";
-		while ((line = r.readLine()) != null) {
-			if (line.startsWith("#"))
-				continue;
-			if (line.startsWith("[") && line.endsWith("]")) {
-				currentSec = line.substring(1, line.length() - 1);
-				m.put(currentSec, new HashMap<String, String>());
-				continue;
-			}
-			if (!currentSec.equalsIgnoreCase("")) {
-				String key = line.split("=")[0];
-				String value = line.split("=")[1];
-				m.get(currentSec).put(key, value);
+	/**
+	 * Parses a raw ini value into an {@link Integer}, a {@link Long}, a
+	 * {@link Float} (ending with {@code f}), a {@link Double}, a {@link Boolean}
+	 * or a {@link String} (with its quotes removed).
+	 * <p>
+	 * Only values starting like a number are handed to the number parsers, so
+	 * plain strings never cost a thrown {@link NumberFormatException}.
+	 * 
+	 * @param value The raw value.
+	 * @return The parsed value.
+	 */
+	static Object parseValue(String value) {
+		if (value.isEmpty())
+			return value;
+
+		final char c = value.charAt(0);
+		if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || value.equals("NaN")
+				|| value.equals("Infinity")) {
+			if (isInteger(value)) {
+				try {
+					return Integer.valueOf(value);
+				} catch (NumberFormatException e) {
+				}
+				try {
+					return Long.valueOf(value);
+				} catch (NumberFormatException e) {
+				}
 			}
-		}
-		r.close();
-		return m;
-	}
-
-	private boolean isIntPrivate(String s) {
-		try {
-			Integer.parseInt(s);
-			return true;
-		} catch (NumberFormatException e) {
-			return false;
-		}
-	}
-
-	private boolean isDoublePrivate(String s) {
-		if (s.endsWith("f")) {
-			return isFloatPrivate(s);
-		}
-		try {
-			Double.parseDouble(s);
-			return true;
-		} catch (NumberFormatException e) {
-			return false;
-		}
-	}
-
-	private boolean isFloatPrivate(String s) {
-		if (s.endsWith("f")) {
-			String s1 = s.substring(0, s.length() - 1);
 			try {
-				Float.parseFloat(s1);
-				return true;
+				if (value.endsWith("f"))
+					return Float.valueOf(value.substring(0, value.length() - 1));
+				return Double.valueOf(value);
 			} catch (NumberFormatException e) {
-				return false;
 			}
 		}
-		try {
-			Float.parseFloat(s);
-			return true;
-		} catch (NumberFormatException e) {
-			return false;
-		}
-	}
-
-	private boolean isBooleanPrivate(String s) {
-		return s.equals("true") || s.equals("false");
-	}
-
-	private boolean isLongPrivate(String s) {
-		try {
-			Long.parseLong(s);
-			return true;
-		} catch (NumberFormatException e) {
-			return false;
-		}
-	}
 
-	private boolean isBytePrivate(String s) {
-		try {
-			Byte.parseByte(s);
-			return true;
-		} catch (NumberFormatException e) {
-			return false;
-		}
+		if (value.equals("true") || value.equals("false"))
+			return Boolean.valueOf(value);
+		if (value.length() > 1 && ((value.startsWith("\"") && value.endsWith("\""))
+				|| (value.startsWith("'") && value.endsWith("'"))))
+			return value.substring(1, value.length() - 1);
+		return value;
 	}
 
-	private boolean isShortPrivate(String s) {
-		try {
-			Short.parseShort(s);
-			return true;
-		} catch (NumberFormatException e) {
+	private static boolean isInteger(String s) {
+		int i = s.charAt(0) == '-' || s.charAt(0) == '+' ? 1 : 0;
+		if (i == s.length())
 			return false;
+		for (; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			if (c < '0' || c > '9')
+				return false;
 		}
+		return true;
 	}
 
 	@Override
 	public void set(String node, Object val) {
-		String[] nodes = node.split(seperatorRegex);
-		if (nodes.length == 1) {
-			if (!stringMap.containsKey(nodes[0])) {
+		final int dot = node.indexOf(seperatorChar);
+		if (dot < 0) {
+			if (!stringMap.containsKey(node)) {
 				try {
 					throw new INIException("The section " + node + " does not exist!", this);
 				} catch (INIException e) {
@@ -409,28 +295,34 @@ public class INIConfiguration extends Configuration implements INIConfigurationS
 				}
 			}
 			if (val == null) {
-				stringMap.remove(nodes[0]);
-				map.remove(nodes[0]);
+				stringMap.remove(node);
+				map.remove(node);
+				this.dirty.add(node);
 			}
 			return;
 		}
-		if (nodes.length == 2) {
-			if (!stringMap.containsKey(nodes[0])) {
+		if (node.indexOf(seperatorChar, dot + 1) < 0) {
+			final String section = node.substring(0, dot);
+			final String key = node.substring(dot + 1);
+			final Map<String, String> strings = stringMap.get(section);
+			if (strings == null) {
 				try {
 					throw new INIException("The section " + node + " does not exist!", this);
 				} catch (INIException e) {
 					e.printStackTrace();
 				}
+				return;
 			}
+			this.dirty.add(section);
 			if (val == null) {
-				if (stringMap.get(nodes[0]).containsKey(nodes[1])) {
-					stringMap.get(nodes[0]).remove(nodes[1]);
-					map.get(nodes[0]).remove(nodes[1]);
+				if (strings.containsKey(key)) {
+					strings.remove(key);
+					map.get(section).remove(key);
 				}
 				return;
 			}
-			stringMap.get(nodes[0]).put(nodes[1], val.toString());
-			map.get(nodes[0]).put(nodes[1], val);
+			strings.put(key, val.toString());
+			map.get(section).put(key, val);
 			return;
 		}
 		try {
@@ -442,14 +334,18 @@ public class INIConfiguration extends Configuration implements INIConfigurationS
 
 	@Override
 	public INIConfigurationSection createConfigurationSection(String node) {
-		map.put(node, new HashMap<String, Object>());
+		map.put(node, new LinkedHashMap<String, Object>());
+		stringMap.put(node, new LinkedHashMap<String, String>());
+		this.dirty.add(node);
 		return getConfigurationSection(node);
 	}
 
 	@Override
 	public INIConfigurationSection removeConfigurationSection(String node) {
 		if (containsConfigurationSection(node)) {
-
+			map.remove(node);
+			stringMap.remove(node);
+			this.dirty.add(node);
 		}
 		return null;
 	}
@@ -458,28 +354,100 @@ public class INIConfiguration extends Configuration implements INIConfigurationS
 		return saveToFile(this.f);
 	}
 
+	/**
+	 * Saves this configuration to the underlying file. When saving back to the
+	 * file it was loaded from, only the sections that were changed since are
+	 * written again; every other line of the file is copied as is.
+	 * 
+	 * @param f The file to save to.
+	 * @return {@code True} if the configuration was saved, {@code false}
+	 *         otherwise.
+	 */
 	public boolean saveToFile(File f) {
-		return dumpToFile(this.map, f);
+		if (f != null && f.equals(this.source) && f.exists())
+			return saveDirtySections();
+		if (!dumpToFile(this.map, f))
+			return false;
+		if (f != null && f.equals(this.f)) {
+			this.source = f;
+			this.dirty.clear();
+		}
+		return true;
 	}
 
-	public static boolean dumpToFile(Map<String, Map<String, Object>> data, File f) {
-		try {
-			BufferedWriter w = new BufferedWriter(new FileWriter(f));
-			for (Entry<String, Map<String, Object>> e : data.entrySet()) {
-				w.write("[" + e.getKey() + "]");
-				w.write("\n");
-				for (Entry<String, Object> e1 : e.getValue().entrySet()) {
-					if (e1.getValue() instanceof String) {
-						w.write(e1.getKey() + "=\"" + e1.getValue().toString() + "\"");
-					} else {
-						w.write(e1.getKey() + "=" + e1.getValue().toString());
-					}
+	/**
+	 * Rewrites the sections changed since the configuration was loaded or last
+	 * saved, copying the lines of every other section from the current file. New
+	 * sections are added at the end of the file.
+	 * 
+	 * @return {@code True} if the configuration was saved, {@code false}
+	 *         otherwise.
+	 */
+	private boolean saveDirtySections() {
+		if (this.dirty.isEmpty())
+			return true;
 
+		final File tmp = new File(this.source.getPath() + ".tmp");
+		final Set<String> written = new HashSet<String>();
+
+		try (BufferedReader r = new BufferedReader(new FileReader(this.source), BUFFER_SIZE);
+				BufferedWriter w = new BufferedWriter(new FileWriter(tmp), BUFFER_SIZE)) {
+			String line;
+			boolean copy = true;
+			while ((line = r.readLine()) != null) {
+				if (line.startsWith("[") && line.endsWith("]")) {
+					final String section = line.substring(1, line.length() - 1);
+					copy = !this.dirty.contains(section);
+					if (copy) {
+						written.add(section);
+					} else if (written.add(section) && this.map.containsKey(section)) {
+						writeSection(w, section, this.map.get(section));
+					}
+				}
+				if (copy) {
+					w.write(line);
 					w.write("\n");
 				}
 			}
-			w.flush();
-			w.close();
+			for (Entry<String, Map<String, Object>> e : this.map.entrySet()) {
+				if (!written.contains(e.getKey()))
+					writeSection(w, e.getKey(), e.getValue());
+			}
+		} catch (IOException e) {
+			tmp.delete();
+			return false;
+		}
+
+		try {
+			Files.move(tmp.toPath(), this.source.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			tmp.delete();
+			return false;
+		}
+		this.dirty.clear();
+		return true;
+	}
+
+	private static void writeSection(BufferedWriter w, String section, Map<String, Object> values)
+			throws IOException {
+		w.write("[" + section + "]");
+		w.write("\n");
+		for (Entry<String, Object> e1 : values.entrySet()) {
+			if (e1.getValue() instanceof String) {
+				w.write(e1.getKey() + "=\"" + e1.getValue().toString() + "\"");
+			} else {
+				w.write(e1.getKey() + "=" + e1.getValue().toString());
+			}
+
+			w.write("\n");
+		}
+	}
+
+	public static boolean dumpToFile(Map<String, Map<String, Object>> data, File f) {
+		try (BufferedWriter w = new BufferedWriter(new FileWriter(f), BUFFER_SIZE)) {
+			for (Entry<String, Map<String, Object>> e : data.entrySet()) {
+				writeSection(w, e.getKey(), e.getValue());
+			}
 		} catch (IOException e) {
 			return false;
 		}
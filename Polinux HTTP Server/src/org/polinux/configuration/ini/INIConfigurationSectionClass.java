@@ -53,18 +53,15 @@ class INIConfigurationSectionClass implements INIConfigurationSection {
 
 	@Override
 	public void set(String node, Object val) {
-		if (!stringMap.containsKey(node)) {
+		if (!stringMap.containsKey(node) && val == null) {
 			try {
 				throw new INIException("The section " + node + " does not exist!", this.ini);
 			} catch (INIException e) {
 				e.printStackTrace();
 			}
+			return;
 		}
-		if (val == null) {
-			stringMap.remove(node);
-			map.remove(node);
-		}
-		return;
+		this.ini.set(this.fullNode + INIConfiguration.seperator + node, val);
 	}
 
 	@Override
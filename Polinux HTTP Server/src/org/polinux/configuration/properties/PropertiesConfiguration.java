@@ -8,7 +8,6 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -34,15 +33,18 @@ public class PropertiesConfiguration extends Configuration {
 	public static final String commentSymbol = "#";
 	public static final char commentSymbolChar = commentSymbol.charAt(0);
 
+	/**
+	 * Represents the size of the buffers used to read and write properties files.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
 	public PropertiesConfiguration(String path) {
 		this(new File(path));
 	}
 
 	public PropertiesConfiguration(File f) {
 		super(f);
-		this.map = loadDataAsString();
-		this.header = loadHeader();
-		this.footer = loadFooter();
+		this.load();
 	}
 
 	@Override
@@ -72,25 +74,23 @@ public class PropertiesConfiguration extends Configuration {
 			parent.mkdirs();
 		if (!child.exists())
 			child.createNewFile();
-		FileWriter fw = new FileWriter(f);
-		BufferedWriter w = new BufferedWriter(fw);
-		for (int i = 0; i < this.header.size(); i++) {
-			w.write(PropertiesConfiguration.commentSymbol + this.header.get(i) + "\n");
-		}
-		for (Map.Entry<String, String> e : this.map.entrySet()) {
-			if (containsKeyFile(f, e.getKey()))
-				continue;
-			if (e.getValue() instanceof String) {
-				w.write(e.getKey() + "=\"" + e.getValue() + "\"" + "\n");
-				continue;
+		try (BufferedWriter w = new BufferedWriter(new FileWriter(f), BUFFER_SIZE)) {
+			for (int i = 0; i < this.header.size(); i++) {
+				w.write(PropertiesConfiguration.commentSymbol + this.header.get(i) + "\n");
+			}
+			for (Map.Entry<String, String> e : this.map.entrySet()) {
+				final String value = e.getValue();
+				// Values read from the file keep their quotes
+				if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+					w.write(e.getKey() + "=" + value + "\n");
+					continue;
+				}
+				w.write(e.getKey() + "=\"" + value + "\"" + "\n");
+			}
+			for (int i = 0; i < this.footer.size(); i++) {
+				w.write(PropertiesConfiguration.commentSymbol + this.footer.get(i) + "\n");
 			}
-			w.write(e.getKey() + "=" + e.getValue() + "\n");
-		}
-		for (int i = 0; i < this.footer.size(); i++) {
-			w.write(PropertiesConfiguration.commentSymbol + this.footer.get(i) + "\n");
 		}
-		w.close();
-		fw.close();
 	}
 
 	@Override
@@ -299,128 +299,45 @@ public class PropertiesConfiguration extends Configuration {
 		return data;
 	}
 
-	private Map<String, String> loadDataAsString() {
-		Map<String, String> data = new HashMap<String, String>();
-		BufferedReader r = null;
-		FileReader fr = null;
-		try {
-			fr = new FileReader(f);
-			r = new BufferedReader(fr);
-		} catch (FileNotFoundException e) {
-			return new HashMap<String, String>();
-		}
-		if (r == null || fr == null)
-			return new HashMap<String, String>();
-		String line;
-		int count = 0;
-		try {
+	/**
+	 * Reads the underlying file in a single pass, collecting its values along
+	 * with its header (the comments above the first value) and footer (the
+	 * comments below the last value).
+	 */
+	private void load() {
+		final Map<String, String> data = new LinkedHashMap<String, String>();
+		final List<String> header = new ArrayList<String>();
+		final List<String> trailing = new ArrayList<String>();
+		boolean inHeader = true;
+
+		try (BufferedReader r = new BufferedReader(new FileReader(this.f), BUFFER_SIZE)) {
+			String line;
 			while ((line = r.readLine()) != null) {
 				if (line.startsWith(PropertiesConfiguration.commentSymbol)) {
+					final String comment = line.substring(PropertiesConfiguration.commentSymbol.length());
+					if (inHeader)
+						header.add(comment);
+					else
+						trailing.add(comment);
 					continue;
 				}
-				if (!line.contains("="))
+				inHeader = false;
+				trailing.clear();
+				final int eq = line.indexOf('=');
+				if (eq < 0)
 					continue;
-				String key = line.split("=")[0];
-				String valS = line.split("=")[1];
-				data.put(key, valS);
+				data.put(line.substring(0, eq), line.substring(eq + 1));
 			}
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		try {
-			r.close();
-			fr.close();
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		return data;
-	}
-
-	private List<String> loadHeader() {
-		BufferedReader r = null;
-		FileReader fr = null;
-		try {
-			fr = new FileReader(this.f);
-			r = new BufferedReader(fr);
 		} catch (FileNotFoundException e) {
-			return new ArrayList<String>();
-		}
-		if (r == null || fr == null)
-			return new ArrayList<String>();
-		String line;
-		boolean headerFound = false;
-		List<String> header = new ArrayList<String>();
-
-		try {
-			while ((line = r.readLine()) != null) {
-				if (line.startsWith(PropertiesConfiguration.commentSymbol)) {
-					headerFound = true;
-				} else {
-					break;
-				}
-				if (headerFound) {
-					header.add(line.replaceFirst(PropertiesConfiguration.commentSymbol, ""));
-				}
-			}
+			// Nothing to read yet
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
-		try {
-			r.close();
-			fr.close();
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		return header;
-	}
 
-	private List<String> loadFooter() {
-		List<String> footer = new ArrayList<String>();
-		BufferedReader r = null;
-		FileReader fr = null;
-		try {
-			fr = new FileReader(this.f);
-			r = new BufferedReader(fr);
-		} catch (FileNotFoundException e) {
-			return new ArrayList<String>();
-		}
-		if (r == null || fr == null)
-			return new ArrayList<String>();
-		String line;
-		List<String> lines = new ArrayList<String>();
-		boolean hasFooter = false;
-		try {
-			while ((line = r.readLine()) != null) {
-				lines.add(line);
-			}
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		Collections.reverse(lines);
-		for (int i = 0; i < lines.size(); i++) {
-			String backLine = lines.get(i);
-			if (!backLine.startsWith(PropertiesConfiguration.commentSymbol))
-				hasFooter = true;
-		}
-		if (!hasFooter)
-			return new ArrayList<String>();
-		for (int i = 0; i < lines.size(); i++) {
-			String backLine = lines.get(i);
-			if (backLine.startsWith(PropertiesConfiguration.commentSymbol)) {
-				footer.add(backLine.replaceFirst(PropertiesConfiguration.commentSymbol, ""));
-				continue;
-			} else {
-				break;
-			}
-		}
-		try {
-			r.close();
-			fr.close();
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		Collections.reverse(footer);
-		return footer;
+		this.map = data;
+		this.header = header;
+		// A file made of comments only has no footer
+		this.footer = inHeader ? new ArrayList<String>() : trailing;
 	}
 
 	public boolean containsHeaderLine(int line) {
@@ -478,31 +395,6 @@ public class PropertiesConfiguration extends Configuration {
 		return map.containsKey(s);
 	}
 
-	private boolean containsKeyFile(File f, String s) {
-		FileReader fr = null;
-		BufferedReader r = null;
-		try {
-			fr = new FileReader(f);
-			r = new BufferedReader(fr);
-		} catch (FileNotFoundException e) {
-			return false;
-		}
-		if (fr == null || r == null)
-			return false;
-		String line;
-		try {
-			while ((line = r.readLine()) != null) {
-				if (line.startsWith(PropertiesConfiguration.commentSymbol))
-					continue;
-				if (line.equals(s))
-					return true;
-			}
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		return false;
-	}
-
 	@Override
 	public int getInt(String node) {
 		return getInt(node, 0);
@@ -603,98 +495,51 @@ public class PropertiesConfiguration extends Configuration {
 
 	@Override
 	public boolean isInt(String node) {
-		for (Map.Entry<String, String> e : this.map.entrySet()) {
-			if (e.getKey().equals(node)) {
-				if (isIntPrivate(map.get(node)))
-					return true;
-			}
-		}
-		return false;
+		final String s = this.map.get(node);
+		return s != null && isIntPrivate(s);
 	}
 
 	@Override
 	public boolean isFloat(String node) {
-		for (Map.Entry<String, String> e : this.map.entrySet()) {
-			if (e.getKey().equals(node)) {
-				if (isFloatPrivate(map.get(node)))
-					return true;
-			}
-		}
-		return false;
+		final String s = this.map.get(node);
+		return s != null && isFloatPrivate(s);
 	}
 
 	@Override
 	public boolean isDouble(String node) {
-		for (Map.Entry<String, String> e : this.map.entrySet()) {
-			if (e.getKey().equals(node)) {
-				if (isDoublePrivate(map.get(node)))
-					return true;
-			}
-		}
-		return false;
+		final String s = this.map.get(node);
+		return s != null && isDoublePrivate(s);
 	}
 
 	@Override
 	public boolean isShort(String node) {
-		for (Map.Entry<String, String> e : this.map.entrySet()) {
-			if (e.getKey().equals(node)) {
-				if (isShortPrivate(map.get(node)))
-					return true;
-			}
-		}
-		return false;
+		final String s = this.map.get(node);
+		return s != null && isShortPrivate(s);
 	}
 
 	@Override
 	public boolean isByte(String node) {
-		for (Map.Entry<String, String> e : this.map.entrySet()) {
-			if (e.getKey().equals(node)) {
-				if (isBytePrivate(map.get(node)))
-					return true;
-			}
-		}
-		return false;
+		final String s = this.map.get(node);
+		return s != null && isBytePrivate(s);
 	}
 
 	@Override
 	public boolean isLong(String node) {
-		for (Map.Entry<String, String> e : this.map.entrySet()) {
-			if (e.getKey().equals(node)) {
-				if (isLongPrivate(map.get(node)))
-					return true;
-			}
-		}
-		return false;
+		final String s = this.map.get(node);
+		return s != null && isLongPrivate(s);
 	}
 
 	@Override
 	public boolean isBoolean(String node) {
-		for (Map.Entry<String, String> e : this.map.entrySet()) {
-			if (e.getKey().equals(node)) {
-				if (isBooleanPrivate(map.get(node)))
-					return true;
-			}
-		}
-		return false;
+		final String s = this.map.get(node);
+		return s != null && isBooleanPrivate(s);
 	}
 
 	@Override
 	public boolean isString(String nodeCaseSensitive) {
-		String nodeNoTrim = nodeCaseSensitive;
-		String node = nodeNoTrim.trim();
-		for (Map.Entry<String, String> e : this.map.entrySet()) {
-
-			if (e.getKey().equals(node)) {
-				String s = map.get(node);
-				if (!isFloatPrivate(s) & !isBytePrivate(s) && !isDoublePrivate(s) && !isIntPrivate(s)
-						&& !isShortPrivate(s) && !isLongPrivate(s))
-					if (!s.startsWith("\"") && !s.endsWith("\"") && isBooleanPrivate(s)) {
-						return false;
-					}
-				return true;
-			}
-		}
-		return false;
+		final String s = this.map.get(nodeCaseSensitive.trim());
+		// Anything but an unquoted boolean may be read as a string
+		return s != null && !isBooleanPrivate(s);
 	}
 
 	@Override
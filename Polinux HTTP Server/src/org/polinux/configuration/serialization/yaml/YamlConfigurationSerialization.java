@@ -1,7 +1,15 @@
 package org.polinux.configuration.serialization.yaml;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.polinux.configuration.yaml.YamlConfiguration;
 
@@ -42,6 +50,24 @@ public final class YamlConfigurationSerialization {
 	private static final YamlConfigurationSerialization instance = new YamlConfigurationSerialization("DEFAULT");
 	private final List<Class<? extends YamlConfigurationSerializable>> classList = new ArrayList<Class<? extends YamlConfigurationSerializable>>();
 
+	/**
+	 * Classes already resolved by {@link #getClass(String)}, keyed by the name
+	 * they were looked up with. Cleared whenever the class list changes.
+	 */
+	private final Map<String, Class<? extends YamlConfigurationSerializable>> resolved = new ConcurrentHashMap<String, Class<? extends YamlConfigurationSerializable>>();
+
+	/**
+	 * The {@code deserialize(Map)} method of every class deserialized so far, as
+	 * a {@link MethodHandle} of type {@code (Map)Object}.
+	 */
+	private final Map<Class<?>, MethodHandle> deserializers = new ConcurrentHashMap<Class<?>, MethodHandle>();
+
+	/**
+	 * Represents the type every cached {@link #deserializers deserializer} is
+	 * adapted to.
+	 */
+	private static final MethodType DESERIALIZER_TYPE = MethodType.methodType(Object.class, Map.class);
+
 	private YamlConfigurationSerialization(String name) {
 		this.name = name;
 	}
@@ -114,6 +140,7 @@ public final class YamlConfigurationSerialization {
 	 */
 	public void addClass(Class<? extends YamlConfigurationSerializable> clazz) {
 		classList.add(clazz);
+		resolved.clear();
 	}
 
 	/**
@@ -131,6 +158,16 @@ public final class YamlConfigurationSerialization {
 	}
 
 	public Class<? extends YamlConfigurationSerializable> getClass(String fullClassName) {
+		final Class<? extends YamlConfigurationSerializable> cached = resolved.get(fullClassName);
+		if (cached != null)
+			return cached;
+		final Class<? extends YamlConfigurationSerializable> clazz = findClass(fullClassName);
+		if (clazz != null)
+			resolved.put(fullClassName, clazz);
+		return clazz;
+	}
+
+	private Class<? extends YamlConfigurationSerializable> findClass(String fullClassName) {
 		for (int i = 0; i < classList.size(); i++) {
 			Class<? extends YamlConfigurationSerializable> clazz = classList.get(i);
 			if (clazz.getName().equals(fullClassName)
@@ -155,6 +192,46 @@ public final class YamlConfigurationSerialization {
 		return null;
 	}
 
+	/**
+	 * Calls the static {@literal deserialize(Map<String, Object> data)} method of
+	 * the underlying class. The method is looked up once per class and then
+	 * invoked through a cached {@link MethodHandle}, rather than through
+	 * reflection on every call.
+	 * 
+	 * @param clazz The class to deserialize, usually found through
+	 *              {@link #getClass(String)}.
+	 * @param data  The serialized data of the object.
+	 * @return The deserialized object.
+	 * @throws YamlConfigurationSerializationException If the class has no usable
+	 *                                                 {@code deserialize(Map)}
+	 *                                                 method, or if that method
+	 *                                                 failed.
+	 */
+	public Object deserialize(Class<?> clazz, Map<String, Object> data) throws YamlConfigurationSerializationException {
+		MethodHandle handle = deserializers.get(clazz);
+
+		if (handle == null) {
+			try {
+				final Method m = clazz.getDeclaredMethod("deserialize", Map.class);
+				if (!Modifier.isStatic(m.getModifiers()))
+					throw new NoSuchMethodException("deserialize(Map) is not static");
+				m.setAccessible(true);
+				handle = MethodHandles.lookup().unreflect(m).asType(DESERIALIZER_TYPE);
+			} catch (NoSuchMethodException | IllegalAccessException | SecurityException
+					| WrongMethodTypeException e) {
+				throw new YamlConfigurationSerializationException(
+						"Could not find a static deserialize(Map) method inside " + clazz.getName(), e);
+			}
+			deserializers.put(clazz, handle);
+		}
+
+		try {
+			return (Object) handle.invokeExact(data);
+		} catch (Throwable t) {
+			throw new YamlConfigurationSerializationException("Could not deserialize " + clazz.getName(), t);
+		}
+	}
+
 	public String getIdentifier() {
 		return name;
 	}
@@ -174,6 +251,8 @@ public final class YamlConfigurationSerialization {
 	public void removeClass(Class<? extends YamlConfigurationSerializable> clazz) {
 		if (classList.contains(clazz))
 			classList.remove(clazz);
+		resolved.clear();
+		deserializers.remove(clazz);
 	}
 	
 	/**
@@ -32,8 +32,56 @@ public interface HttpServerConfiguration {
 	public abstract boolean isHttpsRedirect();
 	
 	public abstract int getBacklog();
+
+	public abstract boolean isWatchConfiguration();
+
+	public abstract int getShutdownTimeout();
+
+	public abstract int getLogLevel();
+
+	public abstract boolean isAccessLogEnabled();
+
+	public abstract String getAccessLogFile();
+
+	public abstract int getAccessLogMaxSize();
+
+	public abstract boolean isAccessLogRotateDaily();
+
+	public abstract boolean isAccessLogCompress();
+
+	public abstract boolean isMetricsEnabled();
+
+	public abstract String getMetricsPath();
+
+	public abstract boolean isTimingEnabled();
+
+	public abstract boolean isTimingHeader();
+
+	public abstract int getTimingLogSlowest();
+
+	public abstract int getTimingLogInterval();
+
+	public abstract boolean isWarmupEnabled();
+
+	public abstract int getWarmupIterations();
+
+	public abstract int getWarmupTimeLimit();
+
+	public abstract String getWarmupSample();
 	
 	public abstract String getSessionCookieDomain();
+
+	public abstract int getSessionMaxInactiveInterval();
+
+	public abstract int getSessionMaxLifetime();
+
+	public abstract int getSessionReaperInterval();
+
+	public abstract int getSessionReaperBatchSize();
+
+	public abstract String getSessionStore();
+
+	public abstract String getSessionStoreFile();
 	
 	
 
@@ -3,12 +3,15 @@ package org.polinux.configuration.server;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.polinux.configuration.yaml.YamlConfiguration;
 import org.polinux.configuration.yaml.YamlConfigurationException;
@@ -18,6 +21,7 @@ import org.polinux.http.HttpResponseCookie;
 import org.polinux.http.HttpResponseCookie.SameSitePolicy;
 import org.polinux.http.polinux.server.PolinuxHttpServer;
 import org.polinux.http.polinux.session.PolinuxHttpSessionCookie;
+import org.polinux.logging.Logger;
 import org.polinux.utils.enc.CharacterSet;
 import org.yaml.snakeyaml.DumperOptions.FlowStyle;
 
@@ -39,6 +43,67 @@ public class PolinuxHttpServerConfiguration extends YamlConfiguration implements
 
 	public static final int DEFAULT_BACKLOG = 0x64; // 100
 
+	public static final int DEFAULT_SESSION_MAX_INACTIVE_INTERVAL = 1800; // 30 minutes
+
+	public static final int DEFAULT_SESSION_MAX_LIFETIME = 86400; // 24 hours
+
+	public static final int DEFAULT_SESSION_REAPER_INTERVAL = 60; // 1 minute
+
+	public static final int DEFAULT_SESSION_REAPER_BATCH_SIZE = 1000;
+
+	public static final String DEFAULT_SESSION_STORE = "memory";
+
+	public static final String DEFAULT_SESSION_STORE_FILE = "server" + File.separator + "sessions.dat";
+
+	public static final boolean DEFAULT_WATCH_CONFIGURATION = true;
+
+	public static final int DEFAULT_SHUTDOWN_TIMEOUT = 30; // 30 seconds
+
+	public static final int DEFAULT_LOG_LEVEL = Logger.LVL_INFO;
+
+	public static final boolean DEFAULT_ACCESS_LOG_ENABLED = false;
+
+	public static final String DEFAULT_ACCESS_LOG_FILE = "logs/access.log";
+
+	public static final int DEFAULT_ACCESS_LOG_MAX_SIZE = 10; // 10 MB
+
+	public static final boolean DEFAULT_ACCESS_LOG_ROTATE_DAILY = true;
+
+	public static final boolean DEFAULT_ACCESS_LOG_COMPRESS = true;
+
+	public static final boolean DEFAULT_METRICS_ENABLED = false;
+
+	public static final String DEFAULT_METRICS_PATH = "/__polinux/metrics";
+
+	public static final boolean DEFAULT_TIMING_ENABLED = false;
+
+	public static final boolean DEFAULT_TIMING_HEADER = false;
+
+	public static final int DEFAULT_TIMING_LOG_SLOWEST = 0;
+
+	public static final int DEFAULT_TIMING_LOG_INTERVAL = 60; // 1 minute
+
+	public static final boolean DEFAULT_WARMUP_ENABLED = false;
+
+	public static final int DEFAULT_WARMUP_ITERATIONS = 10000;
+
+	public static final int DEFAULT_WARMUP_TIME_LIMIT = 5000; // 5 seconds
+
+	public static final String DEFAULT_WARMUP_SAMPLE = "";
+
+	/**
+	 * Represents the current {@link PolinuxHttpServerSettings snapshot} of this
+	 * configuration. Replaced as a whole whenever the configuration is
+	 * {@link #recompile() recompiled}.
+	 */
+	private volatile PolinuxHttpServerSettings settings;
+
+	/**
+	 * Represents the listeners notified whenever this configuration is
+	 * {@link #reload() reloaded}.
+	 */
+	protected final List<PolinuxHttpServerConfigurationListener> listeners = new CopyOnWriteArrayList<PolinuxHttpServerConfigurationListener>();
+
 	public PolinuxHttpServerConfiguration(String path) {
 		this(path, DEFAULT_FLOW);
 	}
@@ -153,6 +218,14 @@ public class PolinuxHttpServerConfiguration extends YamlConfiguration implements
 		return getWebSection().getConfigurationSection("http");
 	}
 
+	protected YamlConfigurationSection getSessionSection() {
+		return getWebSection().getConfigurationSection("session");
+	}
+
+	protected boolean sessionSectionExist() {
+		return this.containsConfigurationSection("web.session");
+	}
+
 	protected YamlConfigurationSection getSessionCookieSection() {
 		return getWebSection().getConfigurationSection("session.cookie");
 	}
@@ -161,6 +234,38 @@ public class PolinuxHttpServerConfiguration extends YamlConfiguration implements
 		return this.containsConfigurationSection("web.session.cookie");
 	}
 
+	protected YamlConfigurationSection getAccessLogSection() {
+		return getWebSection().getConfigurationSection("access-log");
+	}
+
+	protected boolean accessLogSectionExist() {
+		return this.containsConfigurationSection("web.access-log");
+	}
+
+	protected YamlConfigurationSection getMetricsSection() {
+		return getWebSection().getConfigurationSection("metrics");
+	}
+
+	protected boolean metricsSectionExist() {
+		return this.containsConfigurationSection("web.metrics");
+	}
+
+	protected YamlConfigurationSection getTimingSection() {
+		return getWebSection().getConfigurationSection("timing");
+	}
+
+	protected boolean timingSectionExist() {
+		return this.containsConfigurationSection("web.timing");
+	}
+
+	protected YamlConfigurationSection getWarmupSection() {
+		return getWebSection().getConfigurationSection("warmup");
+	}
+
+	protected boolean warmupSectionExist() {
+		return this.containsConfigurationSection("web.warmup");
+	}
+
 	@Override
 	public String getSessionCookieName() {
 		if (!sessionCookieSectionExist())
@@ -206,6 +311,169 @@ public class PolinuxHttpServerConfiguration extends YamlConfiguration implements
 		return true;
 	}
 
+	/**
+	 * Compiles this configuration into a new immutable
+	 * {@link PolinuxHttpServerSettings snapshot}. The snapshot is not published;
+	 * use {@link #recompile()} for that.
+	 * 
+	 * @return The compiled snapshot.
+	 * @throws RuntimeException If a setting inside the configuration is invalid.
+	 */
+	public PolinuxHttpServerSettings compile() {
+		return new PolinuxHttpServerSettings(this);
+	}
+
+	/**
+	 * Compiles this configuration and publishes the result as the
+	 * {@link #getSettings() current snapshot}. Should be called after changing
+	 * any value of this configuration.
+	 * 
+	 * @return The new snapshot.
+	 * @throws RuntimeException If a setting inside the configuration is invalid,
+	 *                          in which case the current snapshot is kept.
+	 */
+	public PolinuxHttpServerSettings recompile() {
+		final PolinuxHttpServerSettings settings = this.compile();
+		this.settings = settings;
+		return settings;
+	}
+
+	/**
+	 * Retrieves the current {@link PolinuxHttpServerSettings snapshot} of this
+	 * configuration, compiling it if it does not exist yet. Code running for every
+	 * request should read settings from here.
+	 * 
+	 * @return The current snapshot.
+	 */
+	public PolinuxHttpServerSettings getSettings() {
+		final PolinuxHttpServerSettings settings = this.settings;
+
+		if (settings != null)
+			return settings;
+
+		return this.recompile();
+	}
+
+	/**
+	 * Reloads this configuration from its {@link #getFile() file}.
+	 * <p>
+	 * The file is parsed into a separate configuration, which is then
+	 * {@link #compile() compiled} and {@link #validate(PolinuxHttpServerSettings)
+	 * validated}. Only once all of that succeeds are the new values and
+	 * {@link #getSettings() snapshot} published, after which every
+	 * {@link #addListener(PolinuxHttpServerConfigurationListener) listener} is
+	 * notified. If anything fails, this configuration is left untouched.
+	 * 
+	 * @return The new snapshot.
+	 * @throws PolinuxServerConfigurationException If this configuration has no
+	 *                                             file, if the file cannot be
+	 *                                             read or if it contains invalid
+	 *                                             settings.
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized PolinuxHttpServerSettings reload() throws PolinuxServerConfigurationException {
+		if (this.getFile() == null || this.y == null)
+			throw new PolinuxServerConfigurationException("Cannot reload a configuration without a file", this);
+
+		Map<String, Object> data;
+
+		try (FileReader r = new FileReader(this.getFile())) {
+			data = (Map<String, Object>) this.y.load(r);
+		} catch (IOException | RuntimeException e) {
+			throw new PolinuxServerConfigurationException("Could not read " + this.getFile().getPath(), e, this);
+		}
+
+		if (data == null || !(data.get("web") instanceof Map))
+			throw new PolinuxServerConfigurationException(
+					"\"web\" section inside server configuration does not exist!", this);
+
+		final PolinuxHttpServerSettings settings;
+
+		try {
+			settings = this.detach(data).compile();
+		} catch (RuntimeException e) {
+			throw new PolinuxServerConfigurationException("Invalid setting: " + e.getMessage(), e, this);
+		}
+
+		this.validate(settings);
+
+		// The previous values may never have compiled (e.g. a bad value at startup)
+		final PolinuxHttpServerSettings previous = this.settings != null ? this.settings : settings;
+
+		this.map = data;
+		this.invalidateIndex();
+		this.settings = settings;
+
+		for (PolinuxHttpServerConfigurationListener listener : this.listeners) {
+			try {
+				listener.onReload(this, previous, settings);
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+		}
+
+		return settings;
+	}
+
+	/**
+	 * Creates a configuration, of the same type as this one, holding the
+	 * underlying data. Used by {@link #reload()} to compile new values without
+	 * touching this configuration.
+	 * 
+	 * @param data The parsed data of the configuration file.
+	 * @return The new configuration.
+	 */
+	protected PolinuxHttpServerConfiguration detach(Map<String, Object> data) {
+		return new PolinuxHttpServerConfiguration(this.getFile(), data);
+	}
+
+	/**
+	 * Ensures the values inside of a newly compiled snapshot can be used by the
+	 * server.
+	 * 
+	 * @param settings The snapshot to validate.
+	 * @throws PolinuxServerConfigurationException If a value is out of range.
+	 */
+	protected void validate(PolinuxHttpServerSettings settings) throws PolinuxServerConfigurationException {
+		if (settings.getHost() == null)
+			throw new PolinuxServerConfigurationException("Invalid host for server!", this);
+
+		if (settings.getPort() == null || settings.getPort() < PolinuxHttpServer.PORT_MIN
+				|| settings.getPort() > PolinuxHttpServer.PORT_MAX)
+			throw new PolinuxServerConfigurationException("Invalid port for server!", this);
+
+		if (settings.getBacklog() < 0)
+			throw new PolinuxServerConfigurationException("The backlog cannot be negative", this);
+
+		if (settings.getSessionCookieName() == null || settings.getSessionCookieName().isEmpty())
+			throw new PolinuxServerConfigurationException("The session cookie name cannot be empty", this);
+
+		if (settings.getSessionMaxInactiveInterval() < 0 || settings.getSessionMaxLifetime() < 0
+				|| settings.getSessionReaperInterval() < 0 || settings.getSessionReaperBatchSize() < 0)
+			throw new PolinuxServerConfigurationException("Session settings cannot be negative", this);
+	}
+
+	/**
+	 * Adds a listener to be notified whenever this configuration is
+	 * {@link #reload() reloaded}.
+	 * 
+	 * @param listener The listener to add.
+	 */
+	public void addListener(PolinuxHttpServerConfigurationListener listener) {
+		if (listener != null)
+			this.listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener previously added with
+	 * {@link #addListener(PolinuxHttpServerConfigurationListener)}.
+	 * 
+	 * @param listener The listener to remove.
+	 */
+	public void removeListener(PolinuxHttpServerConfigurationListener listener) {
+		this.listeners.remove(listener);
+	}
+
 	public static PolinuxHttpServerConfiguration loadConfiguration(InputStream in) {
 		return new PolinuxHttpServerConfiguration(in);
 	}
@@ -352,6 +620,190 @@ public class PolinuxHttpServerConfiguration extends YamlConfiguration implements
 		return Integer.parseInt(String.valueOf(backlog));
 	}
 
+	@Override
+	public boolean isWatchConfiguration() {
+		if (!this.webExists())
+			return DEFAULT_WATCH_CONFIGURATION;
+
+		final Object watch = this.getWebSection().getObject("watch-configuration", DEFAULT_WATCH_CONFIGURATION);
+
+		return Boolean.parseBoolean(String.valueOf(watch));
+	}
+
+	@Override
+	public int getShutdownTimeout() {
+		if (!this.webExists())
+			return DEFAULT_SHUTDOWN_TIMEOUT;
+
+		final Object timeout = this.getWebSection().getObject("shutdown-timeout", DEFAULT_SHUTDOWN_TIMEOUT);
+
+		return Integer.parseInt(String.valueOf(timeout));
+	}
+
+	@Override
+	public int getLogLevel() {
+		if (!this.webExists())
+			return DEFAULT_LOG_LEVEL;
+
+		final Object level = this.getWebSection().getObject("log-level", Logger.getLevelName(DEFAULT_LOG_LEVEL));
+
+		return Logger.parseLevel(String.valueOf(level));
+	}
+
+	@Override
+	public boolean isAccessLogEnabled() {
+		if (!accessLogSectionExist())
+			return DEFAULT_ACCESS_LOG_ENABLED;
+
+		final Object enabled = getAccessLogSection().getObject("enabled", DEFAULT_ACCESS_LOG_ENABLED);
+
+		return Boolean.parseBoolean(String.valueOf(enabled));
+	}
+
+	@Override
+	public String getAccessLogFile() {
+		if (!accessLogSectionExist())
+			return DEFAULT_ACCESS_LOG_FILE;
+
+		final Object file = getAccessLogSection().getObject("file", DEFAULT_ACCESS_LOG_FILE);
+
+		return String.valueOf(file).replace("\\", "/");
+	}
+
+	@Override
+	public int getAccessLogMaxSize() {
+		if (!accessLogSectionExist())
+			return DEFAULT_ACCESS_LOG_MAX_SIZE;
+
+		final Object maxSize = getAccessLogSection().getObject("max-size", DEFAULT_ACCESS_LOG_MAX_SIZE);
+
+		return Integer.parseInt(String.valueOf(maxSize));
+	}
+
+	@Override
+	public boolean isAccessLogRotateDaily() {
+		if (!accessLogSectionExist())
+			return DEFAULT_ACCESS_LOG_ROTATE_DAILY;
+
+		final Object rotateDaily = getAccessLogSection().getObject("rotate-daily", DEFAULT_ACCESS_LOG_ROTATE_DAILY);
+
+		return Boolean.parseBoolean(String.valueOf(rotateDaily));
+	}
+
+	@Override
+	public boolean isAccessLogCompress() {
+		if (!accessLogSectionExist())
+			return DEFAULT_ACCESS_LOG_COMPRESS;
+
+		final Object compress = getAccessLogSection().getObject("compress", DEFAULT_ACCESS_LOG_COMPRESS);
+
+		return Boolean.parseBoolean(String.valueOf(compress));
+	}
+
+	@Override
+	public boolean isMetricsEnabled() {
+		if (!metricsSectionExist())
+			return DEFAULT_METRICS_ENABLED;
+
+		final Object enabled = getMetricsSection().getObject("enabled", DEFAULT_METRICS_ENABLED);
+
+		return Boolean.parseBoolean(String.valueOf(enabled));
+	}
+
+	@Override
+	public String getMetricsPath() {
+		if (!metricsSectionExist())
+			return DEFAULT_METRICS_PATH;
+
+		final Object path = getMetricsSection().getObject("path", DEFAULT_METRICS_PATH);
+		final String s = String.valueOf(path);
+
+		if (!s.startsWith("/"))
+			throw new IllegalArgumentException("Metrics path must start with '/': " + s);
+
+		return s;
+	}
+
+	@Override
+	public boolean isTimingEnabled() {
+		if (!timingSectionExist())
+			return DEFAULT_TIMING_ENABLED;
+
+		final Object enabled = getTimingSection().getObject("enabled", DEFAULT_TIMING_ENABLED);
+
+		return Boolean.parseBoolean(String.valueOf(enabled));
+	}
+
+	@Override
+	public boolean isTimingHeader() {
+		if (!timingSectionExist())
+			return DEFAULT_TIMING_HEADER;
+
+		final Object header = getTimingSection().getObject("server-timing-header", DEFAULT_TIMING_HEADER);
+
+		return Boolean.parseBoolean(String.valueOf(header));
+	}
+
+	@Override
+	public int getTimingLogSlowest() {
+		if (!timingSectionExist())
+			return DEFAULT_TIMING_LOG_SLOWEST;
+
+		final Object slowest = getTimingSection().getObject("log-slowest", DEFAULT_TIMING_LOG_SLOWEST);
+
+		return Integer.parseInt(String.valueOf(slowest));
+	}
+
+	@Override
+	public int getTimingLogInterval() {
+		if (!timingSectionExist())
+			return DEFAULT_TIMING_LOG_INTERVAL;
+
+		final Object interval = getTimingSection().getObject("log-interval", DEFAULT_TIMING_LOG_INTERVAL);
+
+		return Integer.parseInt(String.valueOf(interval));
+	}
+
+	@Override
+	public boolean isWarmupEnabled() {
+		if (!warmupSectionExist())
+			return DEFAULT_WARMUP_ENABLED;
+
+		final Object enabled = getWarmupSection().getObject("enabled", DEFAULT_WARMUP_ENABLED);
+
+		return Boolean.parseBoolean(String.valueOf(enabled));
+	}
+
+	@Override
+	public int getWarmupIterations() {
+		if (!warmupSectionExist())
+			return DEFAULT_WARMUP_ITERATIONS;
+
+		final Object iterations = getWarmupSection().getObject("iterations", DEFAULT_WARMUP_ITERATIONS);
+
+		return Integer.parseInt(String.valueOf(iterations));
+	}
+
+	@Override
+	public int getWarmupTimeLimit() {
+		if (!warmupSectionExist())
+			return DEFAULT_WARMUP_TIME_LIMIT;
+
+		final Object timeLimit = getWarmupSection().getObject("time-limit", DEFAULT_WARMUP_TIME_LIMIT);
+
+		return Integer.parseInt(String.valueOf(timeLimit));
+	}
+
+	@Override
+	public String getWarmupSample() {
+		if (!warmupSectionExist())
+			return DEFAULT_WARMUP_SAMPLE;
+
+		final Object sample = getWarmupSection().getObject("sample", DEFAULT_WARMUP_SAMPLE);
+
+		return sample == null ? DEFAULT_WARMUP_SAMPLE : String.valueOf(sample).replace("\\", "/");
+	}
+
 	public final boolean save() {
 		return true;
 	}
@@ -373,4 +825,67 @@ public class PolinuxHttpServerConfiguration extends YamlConfiguration implements
 
 		return String.valueOf(sessionCookieDomain);
 	}
+
+	@Override
+	public int getSessionMaxInactiveInterval() {
+		if (!sessionSectionExist())
+			return DEFAULT_SESSION_MAX_INACTIVE_INTERVAL;
+
+		final Object maxInactiveInterval = getSessionSection().getObject("max-inactive-interval",
+				DEFAULT_SESSION_MAX_INACTIVE_INTERVAL);
+
+		return Integer.parseInt(String.valueOf(maxInactiveInterval));
+	}
+
+	@Override
+	public int getSessionMaxLifetime() {
+		if (!sessionSectionExist())
+			return DEFAULT_SESSION_MAX_LIFETIME;
+
+		final Object maxLifetime = getSessionSection().getObject("max-lifetime", DEFAULT_SESSION_MAX_LIFETIME);
+
+		return Integer.parseInt(String.valueOf(maxLifetime));
+	}
+
+	@Override
+	public int getSessionReaperInterval() {
+		if (!sessionSectionExist())
+			return DEFAULT_SESSION_REAPER_INTERVAL;
+
+		final Object reaperInterval = getSessionSection().getObject("reaper-interval",
+				DEFAULT_SESSION_REAPER_INTERVAL);
+
+		return Integer.parseInt(String.valueOf(reaperInterval));
+	}
+
+	@Override
+	public int getSessionReaperBatchSize() {
+		if (!sessionSectionExist())
+			return DEFAULT_SESSION_REAPER_BATCH_SIZE;
+
+		final Object reaperBatchSize = getSessionSection().getObject("reaper-batch-size",
+				DEFAULT_SESSION_REAPER_BATCH_SIZE);
+
+		return Integer.parseInt(String.valueOf(reaperBatchSize));
+	}
+
+	@Override
+	public String getSessionStore() {
+		if (!sessionSectionExist())
+			return DEFAULT_SESSION_STORE;
+
+		final Object store = getSessionSection().getObject("store", DEFAULT_SESSION_STORE);
+
+		return String.valueOf(store);
+	}
+
+	@Override
+	public String getSessionStoreFile() {
+		if (!sessionSectionExist())
+			return DEFAULT_SESSION_STORE_FILE;
+
+		final Object storeFile = getSessionSection().getObject("store-file", DEFAULT_SESSION_STORE_FILE);
+
+		return String.valueOf(storeFile);
+	}
 }
@@ -0,0 +1,25 @@
+package org.polinux.configuration.server;
+
+/**
+ * Represents a listener notified whenever a
+ * {@link PolinuxHttpServerConfiguration} is
+ * {@link PolinuxHttpServerConfiguration#reload() reloaded}.
+ * <p>
+ * Listeners are used to resize or clear anything that was built from the
+ * previous settings (caches, background threads, etc.). They are called on the
+ * thread that reloaded the configuration, after the new settings have been
+ * published.
+ * 
+ * @see PolinuxHttpServerConfiguration#addListener(PolinuxHttpServerConfigurationListener)
+ */
+public interface PolinuxHttpServerConfigurationListener {
+	/**
+	 * Called once a configuration has been reloaded.
+	 * 
+	 * @param config   The configuration that was reloaded.
+	 * @param previous The settings used before the reload.
+	 * @param current  The settings now in use.
+	 */
+	public void onReload(PolinuxHttpServerConfiguration config, PolinuxHttpServerSettings previous,
+			PolinuxHttpServerSettings current);
+}
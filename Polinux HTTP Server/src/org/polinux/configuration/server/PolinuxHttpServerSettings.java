@@ -0,0 +1,283 @@
+package org.polinux.configuration.server;
+
+import org.polinux.http.HttpResponseCookie.SameSitePolicy;
+import org.polinux.http.HttpServer.ServerType;
+
+/**
+ * Represents an immutable snapshot of a {@link PolinuxHttpServerConfiguration}.
+ * <p>
+ * Every getter of a {@link PolinuxHttpServerConfiguration} walks through the
+ * underlying YAML data. A snapshot reads all of them once, when the
+ * configuration is {@link PolinuxHttpServerConfiguration#compile() compiled},
+ * and afterwards only returns plain fields. Code running for every request
+ * should read the {@link PolinuxHttpServerConfiguration#getSettings() current
+ * snapshot} rather than the configuration itself.
+ * 
+ * @see PolinuxHttpsServerSettings
+ */
+public class PolinuxHttpServerSettings implements HttpServerConfiguration {
+	private final String host;
+	private final Integer port;
+	private final String websiteRoot;
+	private final ServerType serverType;
+	private final boolean useHttp;
+	private final boolean httpsRedirect;
+	private final int backlog;
+	private final boolean watchConfiguration;
+	private final int shutdownTimeout;
+	private final int logLevel;
+	private final boolean accessLogEnabled;
+	private final String accessLogFile;
+	private final int accessLogMaxSize;
+	private final boolean accessLogRotateDaily;
+	private final boolean accessLogCompress;
+	private final boolean metricsEnabled;
+	private final String metricsPath;
+	private final boolean timingEnabled;
+	private final boolean timingHeader;
+	private final int timingLogSlowest;
+	private final int timingLogInterval;
+	private final boolean warmupEnabled;
+	private final int warmupIterations;
+	private final int warmupTimeLimit;
+	private final String warmupSample;
+	private final String sessionCookieName;
+	private final boolean sessionCookieHttpOnly;
+	private final boolean sessionCookieSecure;
+	private final SameSitePolicy sessionCookieSameSitePolicy;
+	private final String sessionCookieDomain;
+	private final int sessionMaxInactiveInterval;
+	private final int sessionMaxLifetime;
+	private final int sessionReaperInterval;
+	private final int sessionReaperBatchSize;
+	private final String sessionStore;
+	private final String sessionStoreFile;
+
+	/**
+	 * Constructs a {@code PolinuxHttpServerSettings} by reading every setting of
+	 * the underlying configuration.
+	 * 
+	 * @param config The configuration to take a snapshot of.
+	 * @throws RuntimeException If a setting inside the configuration is invalid
+	 *                          (e.g. a port that is not a number).
+	 */
+	protected PolinuxHttpServerSettings(final HttpServerConfiguration config) {
+		this.host = config.getHost();
+		this.port = config.getPort();
+		this.websiteRoot = config.getWebsiteRoot();
+		this.serverType = config.getServerType();
+		this.useHttp = config.isUseHttp();
+		this.httpsRedirect = config.isHttpsRedirect();
+		this.backlog = config.getBacklog();
+		this.watchConfiguration = config.isWatchConfiguration();
+		this.shutdownTimeout = config.getShutdownTimeout();
+		this.logLevel = config.getLogLevel();
+		this.accessLogEnabled = config.isAccessLogEnabled();
+		this.accessLogFile = config.getAccessLogFile();
+		this.accessLogMaxSize = config.getAccessLogMaxSize();
+		this.accessLogRotateDaily = config.isAccessLogRotateDaily();
+		this.accessLogCompress = config.isAccessLogCompress();
+		this.metricsEnabled = config.isMetricsEnabled();
+		this.metricsPath = config.getMetricsPath();
+		this.timingEnabled = config.isTimingEnabled();
+		this.timingHeader = config.isTimingHeader();
+		this.timingLogSlowest = config.getTimingLogSlowest();
+		this.timingLogInterval = config.getTimingLogInterval();
+		this.warmupEnabled = config.isWarmupEnabled();
+		this.warmupIterations = config.getWarmupIterations();
+		this.warmupTimeLimit = config.getWarmupTimeLimit();
+		this.warmupSample = config.getWarmupSample();
+		this.sessionCookieName = config.getSessionCookieName();
+		this.sessionCookieHttpOnly = config.isSessionCookieHttpOnly();
+		this.sessionCookieSecure = config.isSessionCookieSecure();
+		this.sessionCookieSameSitePolicy = config.getSessionCookieSameSitePolicy();
+		this.sessionCookieDomain = config.getSessionCookieDomain();
+		this.sessionMaxInactiveInterval = config.getSessionMaxInactiveInterval();
+		this.sessionMaxLifetime = config.getSessionMaxLifetime();
+		this.sessionReaperInterval = config.getSessionReaperInterval();
+		this.sessionReaperBatchSize = config.getSessionReaperBatchSize();
+		this.sessionStore = config.getSessionStore();
+		this.sessionStoreFile = config.getSessionStoreFile();
+	}
+
+	@Override
+	public String getHost() {
+		return this.host;
+	}
+
+	@Override
+	public Integer getPort() {
+		return this.port;
+	}
+
+	@Override
+	public String getWebsiteRoot() {
+		return this.websiteRoot;
+	}
+
+	@Override
+	public ServerType getServerType() {
+		return this.serverType;
+	}
+
+	@Override
+	public boolean isUseHttp() {
+		return this.useHttp;
+	}
+
+	@Override
+	public boolean isHttpsRedirect() {
+		return this.httpsRedirect;
+	}
+
+	@Override
+	public int getBacklog() {
+		return this.backlog;
+	}
+
+	@Override
+	public boolean isWatchConfiguration() {
+		return this.watchConfiguration;
+	}
+
+	@Override
+	public int getShutdownTimeout() {
+		return this.shutdownTimeout;
+	}
+
+	@Override
+	public int getLogLevel() {
+		return this.logLevel;
+	}
+
+	@Override
+	public boolean isAccessLogEnabled() {
+		return this.accessLogEnabled;
+	}
+
+	@Override
+	public String getAccessLogFile() {
+		return this.accessLogFile;
+	}
+
+	@Override
+	public int getAccessLogMaxSize() {
+		return this.accessLogMaxSize;
+	}
+
+	@Override
+	public boolean isAccessLogRotateDaily() {
+		return this.accessLogRotateDaily;
+	}
+
+	@Override
+	public boolean isAccessLogCompress() {
+		return this.accessLogCompress;
+	}
+
+	@Override
+	public boolean isMetricsEnabled() {
+		return this.metricsEnabled;
+	}
+
+	@Override
+	public String getMetricsPath() {
+		return this.metricsPath;
+	}
+
+	@Override
+	public boolean isTimingEnabled() {
+		return this.timingEnabled;
+	}
+
+	@Override
+	public boolean isTimingHeader() {
+		return this.timingHeader;
+	}
+
+	@Override
+	public int getTimingLogSlowest() {
+		return this.timingLogSlowest;
+	}
+
+	@Override
+	public int getTimingLogInterval() {
+		return this.timingLogInterval;
+	}
+
+	@Override
+	public boolean isWarmupEnabled() {
+		return this.warmupEnabled;
+	}
+
+	@Override
+	public int getWarmupIterations() {
+		return this.warmupIterations;
+	}
+
+	@Override
+	public int getWarmupTimeLimit() {
+		return this.warmupTimeLimit;
+	}
+
+	@Override
+	public String getWarmupSample() {
+		return this.warmupSample;
+	}
+
+	@Override
+	public String getSessionCookieName() {
+		return this.sessionCookieName;
+	}
+
+	@Override
+	public boolean isSessionCookieHttpOnly() {
+		return this.sessionCookieHttpOnly;
+	}
+
+	@Override
+	public boolean isSessionCookieSecure() {
+		return this.sessionCookieSecure;
+	}
+
+	@Override
+	public SameSitePolicy getSessionCookieSameSitePolicy() {
+		return this.sessionCookieSameSitePolicy;
+	}
+
+	@Override
+	public String getSessionCookieDomain() {
+		return this.sessionCookieDomain;
+	}
+
+	@Override
+	public int getSessionMaxInactiveInterval() {
+		return this.sessionMaxInactiveInterval;
+	}
+
+	@Override
+	public int getSessionMaxLifetime() {
+		return this.sessionMaxLifetime;
+	}
+
+	@Override
+	public int getSessionReaperInterval() {
+		return this.sessionReaperInterval;
+	}
+
+	@Override
+	public int getSessionReaperBatchSize() {
+		return this.sessionReaperBatchSize;
+	}
+
+	@Override
+	public String getSessionStore() {
+		return this.sessionStore;
+	}
+
+	@Override
+	public String getSessionStoreFile() {
+		return this.sessionStoreFile;
+	}
+
+}
@@ -3,6 +3,7 @@ package org.polinux.configuration.server;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 
 import org.polinux.configuration.yaml.YamlConfigurationSection;
 import org.polinux.http.HttpServer.ServerType;
@@ -43,6 +44,11 @@ public class PolinuxHttpsServerConfiguration extends PolinuxHttpServerConfigurat
 		super(in);
 	}
 
+	@Deprecated
+	public PolinuxHttpsServerConfiguration(File f, Map<String, Object> data) {
+		super(f, data);
+	}
+
 	@Override
 	public boolean isUseSSL() {
 		if (!this.sslSectionExist())
@@ -207,4 +213,29 @@ public class PolinuxHttpsServerConfiguration extends PolinuxHttpServerConfigurat
 		return Boolean.parseBoolean(String.valueOf(isPfxCache).trim().equalsIgnoreCase("false") ? "false" : "true");
 	}
 
+	@Override
+	protected PolinuxHttpsServerConfiguration detach(Map<String, Object> data) {
+		return new PolinuxHttpsServerConfiguration(this.getFile(), data);
+	}
+
+	@Override
+	protected void validate(PolinuxHttpServerSettings settings) throws PolinuxServerConfigurationException {
+		super.validate(settings);
+
+		final Integer httpPort = ((PolinuxHttpsServerSettings) settings).getHttpPort();
+
+		if (httpPort == null || httpPort < PolinuxHttpsServer.PORT_MIN || httpPort > PolinuxHttpsServer.PORT_MAX)
+			throw new PolinuxServerConfigurationException("Invalid HTTP port for server!", this);
+	}
+
+	@Override
+	public PolinuxHttpsServerSettings compile() {
+		return new PolinuxHttpsServerSettings(this);
+	}
+
+	@Override
+	public PolinuxHttpsServerSettings getSettings() {
+		return (PolinuxHttpsServerSettings) super.getSettings();
+	}
+
 }
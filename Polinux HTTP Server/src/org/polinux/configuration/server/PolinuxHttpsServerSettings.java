@@ -0,0 +1,87 @@
+package org.polinux.configuration.server;
+
+import java.io.File;
+
+/**
+ * Represents an immutable snapshot of a {@link PolinuxHttpsServerConfiguration}.
+ * 
+ * @see PolinuxHttpServerSettings
+ */
+public class PolinuxHttpsServerSettings extends PolinuxHttpServerSettings implements HttpsServerConfiguration {
+	private final boolean useSSL;
+	private final Integer httpPort;
+	private final File sslKeyStoreFile;
+	private final String sslKeyStoreFilePassword;
+	private final File sslPFXFile;
+	private final String sslPFXFilePassword;
+	private final boolean useSSLPFX;
+	private final boolean useSSLKeystore;
+	private final boolean enablePFXCaching;
+
+	/**
+	 * Constructs a {@code PolinuxHttpsServerSettings} by reading every setting of
+	 * the underlying configuration.
+	 * 
+	 * @param config The configuration to take a snapshot of.
+	 * @throws RuntimeException If a setting inside the configuration is invalid
+	 *                          (e.g. a port that is not a number).
+	 */
+	protected PolinuxHttpsServerSettings(final HttpsServerConfiguration config) {
+		super(config);
+		this.useSSL = config.isUseSSL();
+		this.httpPort = config.getHttpPort();
+		this.sslKeyStoreFile = config.getSSLKeyStoreFile();
+		this.sslKeyStoreFilePassword = config.getSSLKeyStoreFilePassword();
+		this.sslPFXFile = config.getSSLPFXFile();
+		this.sslPFXFilePassword = config.getSSLPFXFilePassword();
+		this.useSSLPFX = config.isUseSSLPFX();
+		this.useSSLKeystore = config.isUseSSLKeystore();
+		this.enablePFXCaching = config.isEnablePFXCaching();
+	}
+
+	@Override
+	public boolean isUseSSL() {
+		return this.useSSL;
+	}
+
+	@Override
+	public Integer getHttpPort() {
+		return this.httpPort;
+	}
+
+	@Override
+	public File getSSLKeyStoreFile() {
+		return this.sslKeyStoreFile;
+	}
+
+	@Override
+	public String getSSLKeyStoreFilePassword() {
+		return this.sslKeyStoreFilePassword;
+	}
+
+	@Override
+	public File getSSLPFXFile() {
+		return this.sslPFXFile;
+	}
+
+	@Override
+	public String getSSLPFXFilePassword() {
+		return this.sslPFXFilePassword;
+	}
+
+	@Override
+	public boolean isUseSSLPFX() {
+		return this.useSSLPFX;
+	}
+
+	@Override
+	public boolean isUseSSLKeystore() {
+		return this.useSSLKeystore;
+	}
+
+	@Override
+	public boolean isEnablePFXCaching() {
+		return this.enablePFXCaching;
+	}
+
+}
@@ -25,4 +25,15 @@ public class PolinuxHttpServletConfiguration extends HttpServletConfiguration {
 		return this.getStringArray("url-patterns", new String[] { "/" + this.getServletName() });
 	}
 
+	/**
+	 * Retrieves whether the servlet is created and initialized as soon as its web
+	 * application is loaded ({@code load-on-startup: true}, the default), rather
+	 * than on its first request.
+	 * 
+	 * @return Whether the servlet loads on startup.
+	 */
+	public boolean isLoadOnStartup() {
+		return Boolean.parseBoolean(String.valueOf(this.getObject("load-on-startup", true)));
+	}
+
 }
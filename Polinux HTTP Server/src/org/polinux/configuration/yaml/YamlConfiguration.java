@@ -7,11 +7,11 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -24,6 +24,7 @@ import org.polinux.configuration.Configuration;
 import org.polinux.configuration.serialization.yaml.YamlConfigurationSerializable;
 import org.polinux.configuration.serialization.yaml.YamlConfigurationSerializableAs;
 import org.polinux.configuration.serialization.yaml.YamlConfigurationSerialization;
+import org.polinux.configuration.serialization.yaml.YamlConfigurationSerialization.YamlConfigurationSerializationException;
 import org.yaml.snakeyaml.Yaml;
 
 /**
@@ -87,6 +88,26 @@ public class YamlConfiguration extends Configuration implements YamlConfiguratio
 	protected static final YamlConfigurationSerialization yamlSerializationAPI = YamlConfigurationSerialization
 			.getYamlConfigurationSerializationAPI(API_NAME);
 
+	/**
+	 * Represents the path index of this configuration. Built on the first lookup
+	 * and kept up to date by {@link #set(String, Object)}, which publishes a new
+	 * index rather than modify the one lookups may be reading.
+	 */
+	private transient volatile PathIndex index;
+
+	/**
+	 * Guards the building and updating of the {@link #index path index}.
+	 */
+	private transient final Object indexLock = new Object();
+
+	/**
+	 * Represents the objects deserialized so far, keyed by the identity of the
+	 * section of the data map they were deserialized from, so that reading the
+	 * same section twice does not deserialize it twice.
+	 */
+	private transient final Map<Object, Object> deserialized = Collections
+			.synchronizedMap(new IdentityHashMap<Object, Object>());
+
 	public YamlConfiguration(String path) {
 		this(path, DEFAULT_FLOW);
 	}
@@ -226,38 +247,13 @@ public class YamlConfiguration extends Configuration implements YamlConfiguratio
 	 */
 	@Override
 	public Object getObject(String node, Object def) {
-		try {
-			Object o = getNoCreating(node, this.deserializeAll(), node);
-
-//			if (o instanceof Map) {
-//				for (Class<? extends YamlConfigurationSerializable> c1 : getSerializationAPI().getClasses()) {
-//					try {
-//						for (Entry<String, Object> e : ((Map<String, Object>) o).entrySet()) {
-//							Class<? extends YamlConfigurationSerializable> c = c1;
-//							String keyName = e.getKey().trim();
-//							String modName = (YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX + c.getName())
-//									.trim();
-//							if (modName.equals(keyName)) {
-//								try {
-//									// ((Map<String,Object>) o).get(keyName);
-//									Object newObj = c.getMethod("deserialize", Map.class).invoke(null,
-//											((Map<String, Object>) o).get(keyName));
-//									return newObj;
-//								} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException
-//										| NoSuchMethodException | SecurityException e1) {
-//									e1.printStackTrace();
-//								}
-//							}
-//						}
-//					} catch (ClassCastException e) {
-//						return o;
-//					}
-//				}
-//			}
-			return o;
-		} catch (YamlConfigurationException e) {
+		final Object o = this.lookup(node);
+
+		if (o == null)
 			return def;
-		}
+
+		// Sections are shared with the index, so they must not be modified
+		return o instanceof Map ? Collections.unmodifiableMap((Map<?, ?>) o) : o;
 	}
 
 	/**
@@ -265,65 +261,52 @@ public class YamlConfiguration extends Configuration implements YamlConfiguratio
 	 */
 	@Override
 	public void set(String node, Object val) {
-		String[] nodes = node.trim().split(seperatorRegex);
-		if (nodes.length == 1) {
-			if (val == null) {
-				// ((Map<String,Object>)toMap().get(nodes[0])).clear();
-				this.map.remove(nodes[0]);
-				return;
-			}
-			if (val instanceof YamlConfigurationSerializable) {
-				Map<String, Object> data = ((YamlConfigurationSerializable) val).serialize();
-				Map<String, Object> data2 = new LinkedHashMap<String, Object>();
-				if (val.getClass().getAnnotation(YamlConfigurationSerializableAs.class) != null) {
-					data2.put(
-							YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX
-									+ val.getClass().getAnnotation(YamlConfigurationSerializableAs.class).value(),
-							data);
-					 
-					this.map.put(nodes[0], data2);
-					return;
-				}
-				data2.put(YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX + val.getClass().getName(), data);
-				this.map.put(nodes[0], data2);
-				return;
-			}
+		final String path = node.trim();
+		final int last = path.lastIndexOf(seperatorChar);
+		final Object value = val instanceof YamlConfigurationSerializable
+				? serializeValue((YamlConfigurationSerializable) val)
+				: val;
+
+		// The data of a serialized object is being changed in place
+		if (path.indexOf(YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX) >= 0)
+			this.deserialized.clear();
+
+		if (last < 0) {
+			if (value == null)
+				this.map.remove(path);
+			else
+				this.map.put(path, value);
+			this.updateIndex(path, value);
+			return;
 		}
-		String stringSec = "";
-		for (int i = 0; i < nodes.length; i++) {
-			if (i == (nodes.length - 1)) {
-				break;
-			}
 
-			if (i == (nodes.length - 2)) {
-				stringSec += nodes[i];
-				continue;
-			}
-			stringSec += nodes[i] + seperator;
-		}
-		if (stringSec.equalsIgnoreCase(""))
-			stringSec = node;
-		Map<String, Object> sec = getSectionCreating(stringSec, this.map, stringSec);
-		if (val == null) {
+		final String parent = path.substring(0, last);
+		final Map<String, Object> sec = getSectionCreating(parent, this.map);
+
+		if (value == null) {
 			sec.clear();
+			this.updateIndex(parent, sec);
 			return;
 		}
-		if (val instanceof YamlConfigurationSerializable) {
-			Map<String, Object> data = ((YamlConfigurationSerializable) val).serialize();
-			Map<String, Object> data2 = new LinkedHashMap<String, Object>();
-			if (val.getClass().getAnnotation(YamlConfigurationSerializableAs.class) != null) {
-				data2.put(YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX
-						+ val.getClass().getAnnotation(YamlConfigurationSerializableAs.class).value(), data);
-
-				sec.put(nodes[nodes.length - 1], data2);
-				return;
-			}
-			data2.put(YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX + val.getClass().getName(), data);
-			sec.put(nodes[nodes.length - 1], data2);
-			return;
-		}
-		sec.put(nodes[nodes.length - 1], val);
 
+		sec.put(path.substring(last + 1), value);
+		this.updateIndex(path, value);
+	}
+
+	/**
+	 * Converts a {@link YamlConfigurationSerializable} into the map stored inside
+	 * the configuration.
+	 * 
+	 * @param val The value to serialize.
+	 * @return The serialized value, keyed by its serialization name.
+	 */
+	static Map<String, Object> serializeValue(YamlConfigurationSerializable val) {
+		final YamlConfigurationSerializableAs as = val.getClass().getAnnotation(YamlConfigurationSerializableAs.class);
+		final Map<String, Object> data = new LinkedHashMap<String, Object>();
+
+		data.put(YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX
+				+ (as != null ? as.value() : val.getClass().getName()), val.serialize());
+		return data;
 	}
 
 //	public static final class SelectiveConstructor extends Constructor {
@@ -428,58 +411,25 @@ public class YamlConfiguration extends Configuration implements YamlConfiguratio
 	@SuppressWarnings("unchecked")
 	@Override
 	public YamlConfigurationSection removeConfigurationSection(String node) {
-		String[] nodes = node.trim().split(seperatorRegex);
-		if (nodes.length == 1) {
-			try {
-				((Map<String, Object>) this.map.get(nodes[0])).clear();
-			} catch (ClassCastException e) {
-				try {
-					throw new YamlConfigurationException(
-							"Section " + node + " is not a section, so it could not be removed.", this);
-				} catch (YamlConfigurationException e1) {
-					e1.printStackTrace();
-				}
-			}
-			this.map.remove(nodes[0]);
-			return null;
-		}
-
-		String newSec = "";
-		for (int i = 0; i < nodes.length; i++) {
-			if (i == (nodes.length - 1)) {
-				break;
-			}
+		final String path = node.trim();
+		final int last = path.lastIndexOf(seperatorChar);
+		final Map<String, Object> parent = last < 0 ? this.map : getSectionNoCreating(path.substring(0, last));
+		final Object sec = parent == null ? null : parent.get(path.substring(last + 1));
 
-			if (i == (nodes.length - 2)) {
-				newSec += nodes[i];
-				break;
-			}
-			newSec += nodes[i] + YamlConfiguration.seperator;
-		}
-		Map<String, Object> sec = null;
-		Map<String, Object> secR = null;
-		try {
-			sec = getSectionNoCreating(node, this.deserializeAll(), node);
-			secR = getSectionNoCreating(newSec, this.deserializeAll(), newSec);
-		} catch (YamlConfigurationException e) {
-			e.printStackTrace();
-			try {
-				throw new YamlConfigurationException("Section " + node + " does not exist", this);
-			} catch (YamlConfigurationException e1) {
-				e1.printStackTrace();
-			}
-		}
-		if (sec == null) {
+		if (!(sec instanceof Map)) {
 			try {
 				throw new YamlConfigurationException("Section " + node + " does not exist", this);
 			} catch (YamlConfigurationException e) {
 				e.printStackTrace();
-
 			}
+			return last < 0 ? null : getConfigurationSection(path.substring(0, last));
 		}
-		sec.clear();
-		secR.remove(nodes[nodes.length - 1]);
-		return getConfigurationSection(newSec);
+
+		((Map<String, Object>) sec).clear();
+		parent.remove(path.substring(last + 1));
+		this.updateIndex(path, null);
+
+		return last < 0 ? null : getConfigurationSection(path.substring(0, last));
 	}
 
 	/**
@@ -496,6 +446,7 @@ public class YamlConfiguration extends Configuration implements YamlConfiguratio
 		this.map = new HashMap<String, Object>();
 		if (this.map.size() > 0)
 			this.map.clear();
+		this.invalidateIndex();
 		if (!this.f.exists())
 			this.f.createNewFile();
 		org.yaml.snakeyaml.DumperOptions o = new org.yaml.snakeyaml.DumperOptions();
@@ -556,114 +507,216 @@ public class YamlConfiguration extends Configuration implements YamlConfiguratio
 	@Deprecated
 	public void setMap(Map<String, Object> map) {
 		this.map = map;
+		this.invalidateIndex();
 	}
 
-	@SuppressWarnings("unchecked")
-	private Object getNoCreating(String node, Map<String, Object> m, String fullNode)
-			throws YamlConfigurationException {
-		String[] nodes = node.trim().split(seperatorRegex);
-		if (nodes.length == 1) {
-			if (m.get(nodes[0]) == null) {
-				throw new YamlConfigurationException(nodes[0] + " is not a value in the config!", this);
+	/**
+	 * Retrieves the (deserialized) value of the underlying node through the
+	 * {@link #index path index}.
+	 * 
+	 * @param node The full dotted node.
+	 * @return The value found, {@code null} if none exists.
+	 */
+	Object lookup(String node) {
+		final Map<String, Object> index = this.index();
+		final Object o = index.get(node);
+
+		if (o != null || node.isEmpty())
+			return o;
+
+		// Nodes have always been trimmed before being resolved
+		if (node.charAt(0) <= ' ' || node.charAt(node.length() - 1) <= ' ')
+			return index.get(node.trim());
+
+		return null;
+	}
+
+	/**
+	 * Retrieves the {@link #index path index}, building it if needed.
+	 * 
+	 * @return The path index.
+	 */
+	private Map<String, Object> index() {
+		PathIndex index = this.index;
+
+		if (index != null)
+			return index.paths;
+
+		synchronized (this.indexLock) {
+			index = this.index;
+
+			if (index == null) {
+				final Map<String, Object> tree = this.deserializeAll();
+				final Map<String, Object> paths = new HashMap<String, Object>();
+
+				for (Entry<String, Object> e : tree.entrySet())
+					index(String.valueOf(e.getKey()), e.getValue(), paths);
+
+				this.index = index = new PathIndex(tree, paths);
 			}
-			return m.get(nodes[0]);
 		}
 
-		String newNode = "";
-		for (int i = 0; i < nodes.length; i++) {
-			if (i == 0) {
-				continue;
-			}
-			if (i == (nodes.length - 1)) {
-				newNode += nodes[i];
-				continue;
-			}
-			newNode += nodes[i] + seperator;
+		return index.paths;
+	}
+
+	private static void index(String path, Object value, Map<String, Object> index) {
+		index.put(path, value);
+
+		if (value instanceof Map) {
+			for (Entry<?, ?> e : ((Map<?, ?>) value).entrySet())
+				index(path + seperator + e.getKey(), e.getValue(), index);
 		}
+	}
+
+	private static void unindex(String path, Object value, Map<String, Object> index) {
+		index.remove(path);
 
-		if (m.get(nodes[0]) == null || !(m.get(nodes[0]) instanceof Map)) {
-			throw new YamlConfigurationException(nodes[0] + " is not a section!", this);
+		if (value instanceof Map) {
+			for (Entry<?, ?> e : ((Map<?, ?>) value).entrySet())
+				unindex(path + seperator + e.getKey(), e.getValue(), index);
 		}
-		return getNoCreating(newNode, this.deserializeMap((Map<String, Object>) m.get(nodes[0])), fullNode);
 	}
 
+	/**
+	 * Updates the {@link #index path index} after the value of a node has been
+	 * replaced inside the data map.
+	 * 
+	 * @param path The full dotted node that changed.
+	 * @param raw  The new value stored inside the data map, {@code null} if the
+	 *             node was removed.
+	 */
 	@SuppressWarnings("unchecked")
-	private Map<String, Object> getSectionCreating(String node, Map<String, Object> m, String fullNode) {
-		String[] nodes = node.trim().split(seperatorRegex);
-		if (nodes.length == 1) {
-			if (m.get(nodes[0]) == null) {
-				m.put(nodes[0], new HashMap<String, Object>());
-			} else if (!(m.get(nodes[0]) instanceof Map)) {
-				m.remove(nodes[0]);
-				m.put(nodes[0], new HashMap<String, Object>());
-			}
-			return (Map<String, Object>) m.get(nodes[0]);
-		}
-		String newNode = "";
-		for (int i = 0; i < nodes.length; i++) {
-			if (i == 0) {
-				continue;
+	private void updateIndex(String path, Object raw) {
+		synchronized (this.indexLock) {
+			final PathIndex index = this.index;
+
+			if (index == null)
+				return;
+
+			// The sections on the way to the node are copied, the others are shared
+			final Map<String, Object> tree = new LinkedHashMap<String, Object>(index.tree);
+			final Map<String, Object> paths = new HashMap<String, Object>(index.paths);
+			final int last = path.lastIndexOf(seperatorChar);
+			Map<String, Object> sec = tree;
+			int start = 0;
+
+			while (start <= last) {
+				final int end = path.indexOf(seperatorChar, start);
+				final String node = path.substring(0, end);
+				final Object parent = paths.get(node);
+
+				if (!(parent instanceof Map)) {
+					// The parent section has just been created (or replaced a value)
+					this.invalidateIndex();
+					return;
+				}
+
+				final Map<String, Object> copy = new LinkedHashMap<String, Object>((Map<String, Object>) parent);
+				sec.put(path.substring(start, end), copy);
+				paths.put(node, copy);
+				sec = copy;
+				start = end + 1;
 			}
-			if (i == (nodes.length - 1)) {
-				newNode += nodes[i];
-				continue;
+
+			final String key = path.substring(last + 1);
+			unindex(path, sec.remove(key), paths);
+
+			if (raw != null) {
+				final Object value = this.deserializeValue(raw);
+				sec.put(key, value);
+				index(path, value, paths);
 			}
-			newNode += nodes[i] + seperator;
+
+			this.index = new PathIndex(tree, paths);
 		}
+	}
 
-		if (m.get(nodes[0]) == null) {
-			m.put(nodes[0], new HashMap<String, Object>());
+	/**
+	 * Discards the {@link #index path index}, which will be rebuilt on the next
+	 * lookup. Must be called whenever the data map is replaced.
+	 */
+	protected void invalidateIndex() {
+		synchronized (this.indexLock) {
+			this.index = null;
+			this.deserialized.clear();
 		}
-		if (!(m.get(nodes[0]) instanceof Map)) {
-			// ((Map<String, Object>) m.get(nodes[0])).clear();
-			m.put(nodes[0], new HashMap<String, Object>());
+	}
+
+	/**
+	 * Represents the path index of a configuration, never modified once
+	 * published.
+	 */
+	private static final class PathIndex {
+
+		/**
+		 * Represents the {@link YamlConfiguration#deserializeAll() deserialized} view
+		 * of the data map, whose sections are shared with {@link #paths}.
+		 */
+		private final Map<String, Object> tree;
+
+		/**
+		 * Represents every full dotted node (e.g. {@code web.session.cookie.name})
+		 * mapped to its deserialized value.
+		 */
+		private final Map<String, Object> paths;
+
+		private PathIndex(Map<String, Object> tree, Map<String, Object> paths) {
+			this.tree = tree;
+			this.paths = paths;
 		}
-		return getSectionCreating(newNode, (Map<String, Object>) m.get(nodes[0]), fullNode);
+
 	}
 
-	@SuppressWarnings({ "unchecked" })
-	private Map<String, Object> getSectionNoCreating(String node, Map<String, Object> m, String fullNode)
-			throws YamlConfigurationException {
-		String[] nodes = node.trim().split(seperatorRegex);
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> getSectionCreating(String node, Map<String, Object> m) {
+		int start = 0;
 
-		if (nodes.length == 1) {
-			if (m.get(nodes[0]) == null || !(m.get(nodes[0]) instanceof Map)) {
-				throw new YamlConfigurationException(nodes[0] + " is not a section!", this);
-			}
-			return (Map<String, Object>) m.get(nodes[0]);
-		}
+		while (true) {
+			final int end = node.indexOf(seperatorChar, start);
+			final String key = end < 0 ? node.substring(start) : node.substring(start, end);
 
-		String newNode = "";
-		for (int i = 0; i < nodes.length; i++) {
-			if (i == 0) {
-				continue;
-			}
-			if (i == (nodes.length - 1)) {
-				newNode += nodes[i];
-				continue;
+			Object sec = m.get(key);
+
+			if (!(sec instanceof Map)) {
+				sec = new HashMap<String, Object>();
+				m.put(key, sec);
 			}
-			newNode += nodes[i] + seperator;
-		}
-		if (m.get(nodes[0]) == null || !(m.get(nodes[0]) instanceof Map)) {
-			throw new YamlConfigurationException(nodes[0] + " is not a section!", this);
+
+			m = (Map<String, Object>) sec;
+
+			if (end < 0)
+				return m;
+
+			start = end + 1;
 		}
-		return getSectionNoCreating(newNode, (Map<String, Object>) m.get(nodes[0]), fullNode);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> getSectionNoCreating(String node) {
+		Map<String, Object> m = this.map;
+		int start = 0;
+
+		while (true) {
+			final int end = node.indexOf(seperatorChar, start);
+			final Object sec = m.get(end < 0 ? node.substring(start) : node.substring(start, end));
+
+			if (!(sec instanceof Map))
+				return null;
+
+			m = (Map<String, Object>) sec;
 
+			if (end < 0)
+				return m;
+
+			start = end + 1;
+		}
 	}
 
+	@SuppressWarnings("unchecked")
 	public YamlConfigurationSection getConfigurationSection(String node) {
-		Map<String, Object> sec = null;
-		try {
-			sec = getSectionNoCreating(node, this.deserializeAll(), node);
-		} catch (YamlConfigurationException e) {
-			try {
-				throw new YamlConfigurationException("Section " + node + " does not exist", this);
-			} catch (YamlConfigurationException e1) {
-				e1.printStackTrace();
-			}
-			return null;
-		}
-		if (sec == null) {
+		final Object sec = this.lookup(node);
+
+		if (!(sec instanceof Map)) {
 			try {
 				throw new YamlConfigurationException("Section " + node + " does not exist", this);
 			} catch (YamlConfigurationException e) {
@@ -671,37 +724,30 @@ public class YamlConfiguration extends Configuration implements YamlConfiguratio
 			}
 			return null;
 		}
-		return new YamlConfigurationSectionClass(this, sec,
-				node.split(seperatorRegex)[node.split(seperatorRegex).length - 1], node);
+
+		final String path = node.trim();
+		return new YamlConfigurationSectionClass(this, (Map<String, Object>) sec,
+				path.substring(path.lastIndexOf(seperatorChar) + 1), path);
 	}
 
 	@Override
 	public boolean isConfigurationSection(String node) {
-		return getObject(node) instanceof Map;
+		return this.lookup(node) instanceof Map;
 	}
 
 	@Override
 	public YamlConfigurationSection createConfigurationSection(String node) {
-		String[] nodes = node.trim().split(seperatorRegex);
-		if (nodes.length == 1) {
-			this.map.put(nodes[0], new HashMap<String, Object>());
-			return getConfigurationSection(node);
-		}
-		String stringSec = "";
-		for (int i = 0; i < nodes.length; i++) {
-			if (i == (nodes.length - 1)) {
-				break;
-			}
+		final String path = node.trim();
+		final int last = path.lastIndexOf(seperatorChar);
+		final Map<String, Object> sec = new HashMap<String, Object>();
 
-			if (i == (nodes.length - 2)) {
-				stringSec += nodes[i];
-				continue;
-			}
-			stringSec += nodes[i] + seperator;
-		}
-		Map<String, Object> sec = getSectionCreating(stringSec, this.deserializeAll(), stringSec);
-		sec.put(nodes[nodes.length - 1], new HashMap<String, Object>());
-		return getConfigurationSection(node);
+		if (last < 0)
+			this.map.put(path, sec);
+		else
+			getSectionCreating(path.substring(0, last), this.map).put(path.substring(last + 1), sec);
+
+		this.updateIndex(path, sec);
+		return getConfigurationSection(path);
 	}
 
 	@Override
@@ -784,18 +830,12 @@ public class YamlConfiguration extends Configuration implements YamlConfiguratio
 
 	@Override
 	public boolean isMap(String node) {
-		return getObject(node) instanceof Map;
+		return this.lookup(node) instanceof Map;
 	}
 
 	@Override
 	public boolean containsConfigurationSection(String node) {
-		Map<String, Object> sec = null;
-		try {
-			sec = getSectionNoCreating(node, this.deserializeAll(), node);
-		} catch (YamlConfigurationException e) {
-			return false;
-		}
-		return sec != null;
+		return this.lookup(node) instanceof Map;
 	}
 
 	@Override
@@ -1223,78 +1263,80 @@ public class YamlConfiguration extends Configuration implements YamlConfiguratio
 		return deserializeMap(this.map);
 	}
 
-	@SuppressWarnings("unchecked")
 	private Map<String, Object> deserializeMap(Map<String, Object> data) {
+		final Map<String, Object> map = new LinkedHashMap<String, Object>();
 
-		Map<String, Object> map = new LinkedHashMap<String, Object>();
-		for (Entry<String, Object> e : data.entrySet()) {
-			String firstKey = e.getKey();
-			Object firstValue = e.getValue();
-			if (!(firstValue instanceof Map)) {
-				map.put(firstKey, firstValue);
-				continue;
-			}
-			Map<String, Object> secondMap = (Map<String, Object>) e.getValue();
-			for (Entry<String, Object> e1 : secondMap.entrySet()) {
-				String secondKey = e1.getKey();
-				Object secondValue = e1.getValue();
-				if (secondKey.startsWith(YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX)) {
-					Class<?> clazz = yamlSerializationAPI.getClass(secondKey.substring(
-							YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX.length(), secondKey.length()));
-					if (clazz == null) {
-						if (secondValue instanceof Map) {
-							if (((Map<String, Object>) map.get(firstKey)) == null) {
-								map.put(firstKey, new LinkedHashMap<String, Object>());
-							}
-							((Map<String, Object>) map.get(firstKey)).put(secondKey,
-									this.deserializeMap((Map<String, Object>) secondValue));
-						} else {
-							if (((Map<String, Object>) map.get(firstKey)) == null) {
-								map.put(firstKey, new LinkedHashMap<String, Object>());
-							}
-							((Map<String, Object>) map.get(firstKey)).put(secondKey, secondValue);
-						}
-						continue;
-					}
+		for (Entry<String, Object> e : data.entrySet())
+			map.put(e.getKey(), this.deserializeValue(e.getValue()));
 
-					Object objClass = null;
-					try {
-						Method m = clazz.getDeclaredMethod("deserialize", Map.class);
-						final boolean oldAccess = m.isAccessible();
-						m.setAccessible(true);
-						objClass = m.invoke(null, secondValue);
-						m.setAccessible(oldAccess);
-					} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException
-							| NoSuchMethodException | SecurityException e2) {
-						e2.printStackTrace();
-					}
-//					if (((Map<String, Object>) map.get(firstKey)) == null) {
-//						map.put(firstKey, new LinkedHashMap<String, Object>());
-//					}
+		return map;
+	}
 
-					map.put(firstKey, objClass);
-					continue;
-				} else {
-					if (secondValue instanceof Map) {
-						if (((Map<String, Object>) map.get(firstKey)) == null) {
-							map.put(firstKey, new LinkedHashMap<String, Object>());
-						}
-						((Map<String, Object>) map.get(firstKey)).put(secondKey,
-								this.deserializeMap((Map<String, Object>) secondValue));
-					} else {
-						if (((Map<String, Object>) map.get(firstKey)) == null) {
-							map.put(firstKey, new LinkedHashMap<String, Object>());
-						}
-						((Map<String, Object>) map.get(firstKey)).put(secondKey, secondValue);
-					}
-					continue;
-				}
+	/**
+	 * Deserializes a value of the data map. Sections holding a key starting with
+	 * {@link YamlConfigurationSerializable#CONFIG_SERIALIZATION_PREFIX} of a known
+	 * class are turned into that class, other sections are copied, and any other
+	 * value is returned as is.
+	 * 
+	 * @param raw The value inside the data map.
+	 * @return The deserialized value.
+	 */
+	@SuppressWarnings("unchecked")
+	Object deserializeValue(Object raw) {
+		if (!(raw instanceof Map))
+			return raw;
+
+		final Map<String, Object> map = new LinkedHashMap<String, Object>();
+
+		for (Entry<String, Object> e : ((Map<String, Object>) raw).entrySet()) {
+			final String key = String.valueOf(e.getKey());
+
+			if (key.startsWith(YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX)) {
+				final Class<?> clazz = yamlSerializationAPI
+						.getClass(key.substring(YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX.length()));
 
+				if (clazz != null)
+					return this.deserializeObject(raw, clazz, e.getValue());
 			}
+
+			map.put(e.getKey(), this.deserializeValue(e.getValue()));
 		}
+
 		return map;
 	}
 
+	/**
+	 * Deserializes the object held by the underlying section, or returns the one
+	 * already deserialized from that same section.
+	 * 
+	 * @param raw   The section holding the serialized object.
+	 * @param clazz The class of the object.
+	 * @param data  The serialized data of the object.
+	 * @return The deserialized object, {@code null} if it could not be
+	 *         deserialized.
+	 */
+	@SuppressWarnings("unchecked")
+	private Object deserializeObject(Object raw, Class<?> clazz, Object data) {
+		Object o = this.deserialized.get(raw);
+
+		if (o != null)
+			return o;
+
+		try {
+			if (!(data instanceof Map))
+				throw new YamlConfigurationSerializationException(
+						"The serialized data of " + clazz.getName() + " is not a section");
+			o = yamlSerializationAPI.deserialize(clazz, (Map<String, Object>) data);
+		} catch (YamlConfigurationSerializationException e) {
+			e.printStackTrace();
+			return null;
+		}
+
+		if (o != null)
+			this.deserialized.put(raw, o);
+		return o;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public Set<String> getKeys(boolean deep) {
@@ -1,7 +1,5 @@
 package org.polinux.configuration.yaml;
 
-import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -10,9 +8,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
-import org.polinux.configuration.serialization.yaml.YamlConfigurationSerializable;
-import org.polinux.configuration.serialization.yaml.YamlConfigurationSerializableAs;
-
 class YamlConfigurationSectionClass implements YamlConfigurationSection {
 	private YamlConfiguration y;
 	private Map<String, Object> map;
@@ -44,97 +39,17 @@ class YamlConfigurationSectionClass implements YamlConfigurationSection {
 
 	@Override
 	public Object getObject(String node, Object def) {
-		try {
-			return getNoCreating(node, toMap(), node);
-		} catch (YamlConfigurationException e) {
-			return def;
-		}
+		return this.y.getObject(this.path(node), def);
 	}
 
 	@Override
 	public void set(String node, Object val) {
-		String[] nodes = node.split(YamlConfiguration.seperatorRegex);
-		if (nodes.length == 1) {
-			if (val == null) {
-				// ((Map<String,Object>)toMap().get(nodes[0])).clear();
-				this.map.remove(nodes[0]);
-				return;
-			}
-			if (val instanceof YamlConfigurationSerializable) {
-				Map<String, Object> data = ((YamlConfigurationSerializable) val).serialize();
-				Map<String, Object> data2 = new HashMap<String, Object>();
-				if (val.getClass().getAnnotation(YamlConfigurationSerializableAs.class) != null) {
-					data2.put(
-							YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX
-									+ val.getClass().getAnnotation(YamlConfigurationSerializableAs.class).value(),
-							data);
-					this.map.put(nodes[0], data2);
-					return;
-				}
-				data2.put(YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX + val.getClass().getName(), data);
-				this.map.put(nodes[0], data2);
-				return;
-			}
-		}
-		String stringSec = "";
-		for (int i = 0; i < nodes.length; i++) {
-			if (i == (nodes.length - 1)) {
-				break;
-			}
-
-			if (i == (nodes.length - 2)) {
-				stringSec += nodes[i];
-				continue;
-			}
-			stringSec += nodes[i] + YamlConfiguration.seperator;
-		}
-		if (stringSec.equalsIgnoreCase(""))
-			stringSec = node;
-		Map<String, Object> sec = getSectionCreating(stringSec, this.deserializeAll(), stringSec);
-		if (val == null) {
-			sec.clear();
-			return;
-		}
-		if (val instanceof YamlConfigurationSerializable) {
-			Map<String, Object> data = ((YamlConfigurationSerializable) val).serialize();
-			Map<String, Object> data2 = new HashMap<String, Object>();
-			if (val.getClass().getAnnotation(YamlConfigurationSerializableAs.class) != null) {
-				data2.put(YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX
-						+ val.getClass().getAnnotation(YamlConfigurationSerializableAs.class).value(), data);
-				sec.put(nodes[nodes.length - 1], val);
-				return;
-			}
-			data2.put(YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX + val.getClass().getName(), data);
-			sec.put(nodes[nodes.length - 1], data2);
-			return;
-		}
-		sec.put(nodes[nodes.length - 1], val);
+		this.y.set(this.path(node), val);
 	}
 
 	@Override
 	public YamlConfigurationSection getConfigurationSection(String node) {
-		Map<String, Object> sec = null;
-		try {
-			sec = getSectionNoCreating(node, toMap(), node);
-		} catch (YamlConfigurationException e) {
-			try {
-				throw new YamlConfigurationException("Section " + node + " does not exist", this.y);
-			} catch (YamlConfigurationException e1) {
-				e1.printStackTrace();
-			}
-			return null;
-		}
-		if (sec == null) {
-			try {
-				throw new YamlConfigurationException("Section " + node + " does not exist", this.y);
-			} catch (YamlConfigurationException e) {
-				e.printStackTrace();
-			}
-			return null;
-		}
-		return new YamlConfigurationSectionClass(this.y, sec,
-				node.split(YamlConfiguration.seperatorRegex)[node.split(YamlConfiguration.seperatorRegex).length - 1],
-				getNode() + YamlConfiguration.seperator + node);
+		return this.y.getConfigurationSection(this.path(node));
 	}
 
 	@Override
@@ -194,29 +109,12 @@ class YamlConfigurationSectionClass implements YamlConfigurationSection {
 
 	@Override
 	public boolean isConfigurationSection(String node) {
-		return getObject(node) instanceof Map;
+		return this.y.lookup(this.path(node)) instanceof Map;
 	}
 
 	@Override
 	public YamlConfigurationSection createConfigurationSection(String node) {
-		String[] nodes = node.trim().split(YamlConfiguration.seperatorRegex);
-		String stringSec = "";
-		for (int i = 0; i < nodes.length; i++) {
-			if (i == (nodes.length - 1)) {
-				break;
-			}
-
-			if (i == (nodes.length - 2)) {
-				stringSec += nodes[i];
-				continue;
-			}
-			stringSec += nodes[i] + YamlConfiguration.seperator;
-		}
-		if (stringSec.equalsIgnoreCase(""))
-			stringSec = node;
-		Map<String, Object> sec = getSectionCreating(stringSec, toMap(), stringSec);
-		sec.put(nodes[nodes.length - 1], new HashMap<String, Object>());
-		return getConfigurationSection(node);
+		return this.y.createConfigurationSection(this.path(node));
 	}
 
 	/**
@@ -229,7 +127,7 @@ class YamlConfigurationSectionClass implements YamlConfigurationSection {
 
 	@Override
 	public Map<String, Object> toMap() {
-		return this.deserializeMap(this.map);
+		return this.deserializeAll();
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -248,114 +146,18 @@ class YamlConfigurationSectionClass implements YamlConfigurationSection {
 
 	@Override
 	public boolean isMap(String node) {
-		return getObject(node) instanceof Map;
-	}
-
-	@SuppressWarnings({ "unchecked" })
-	private Map<String, Object> getSectionNoCreating(String node, Map<String, Object> m, String fullNode)
-			throws YamlConfigurationException {
-		String[] nodes = node.trim().split(YamlConfiguration.seperatorRegex);
-
-		if (nodes.length == 1) {
-			if (m.get(nodes[0]) == null || !(m.get(nodes[0]) instanceof Map)) {
-				throw new YamlConfigurationException(nodes[0] + " is not a section!", this.y);
-			}
-			return (Map<String, Object>) m.get(nodes[0]);
-		}
-
-		String newNode = "";
-		for (int i = 0; i < nodes.length; i++) {
-			if (i == 0) {
-				continue;
-			}
-			if (i == (nodes.length - 1)) {
-				newNode += nodes[i];
-				continue;
-			}
-			newNode += nodes[i] + YamlConfiguration.seperator;
-		}
-		if (m.get(nodes[0]) == null || !(m.get(nodes[0]) instanceof Map)) {
-			throw new YamlConfigurationException(nodes[0] + " is not a section!", this.y);
-		}
-		return getSectionNoCreating(newNode, (Map<String, Object>) m.get(nodes[0]), fullNode);
-
+		return this.y.lookup(this.path(node)) instanceof Map;
 	}
 
-	@SuppressWarnings("unchecked")
-	private Map<String, Object> getSectionCreating(String node, Map<String, Object> m, String fullNode) {
-		String[] nodes = node.trim().split(YamlConfiguration.seperatorRegex);
-		if (nodes.length == 1) {
-			if (m.get(nodes[0]) == null) {
-				m.put(nodes[0], new HashMap<String, Object>());
-			} else if (!(m.get(nodes[0]) instanceof Map)) {
-				m.remove(nodes[0]);
-				m.put(nodes[0], new HashMap<String, Object>());
-			}
-			return (Map<String, Object>) m.get(nodes[0]);
-		}
-		String newNode = "";
-		for (int i = 0; i < nodes.length; i++) {
-			if (i == 0) {
-				continue;
-			}
-			if (i == (nodes.length - 1)) {
-				newNode += nodes[i];
-				continue;
-			}
-			newNode += nodes[i] + YamlConfiguration.seperator;
-		}
 
-		if (m.get(nodes[0]) == null) {
-			m.put(nodes[0], new HashMap<String, Object>());
-		}
-		if (!(m.get(nodes[0]) instanceof Map)) {
-			((Map<String, Object>) m.get(nodes[0])).clear();
-			m.put(nodes[0], new HashMap<String, Object>());
-		}
-		return getSectionCreating(newNode, (Map<String, Object>) m.get(nodes[0]), fullNode);
-	}
 
-	@SuppressWarnings("unchecked")
-	private Object getNoCreating(String node, Map<String, Object> m, String fullNode) throws YamlConfigurationException {
-		String[] nodes = node.trim().split("\\" + YamlConfiguration.seperator);
-		if (nodes.length == 1) {
-			if (m.get(nodes[0]) == null) {
-				throw new YamlConfigurationException(nodes[0] + " is not a value in the config!", this.y);
-			}
-			return m.get(nodes[0]);
-		}
 
-		String newNode = "";
-		for (int i = 0; i < nodes.length; i++) {
-			if (i == 0) {
-				continue;
-			}
-			if (i == (nodes.length - 1)) {
-				newNode += nodes[i];
-				continue;
-			}
-			newNode += nodes[i] + YamlConfiguration.seperator;
-		}
 
-		if (m.get(nodes[0]) == null || !(m.get(nodes[0]) instanceof Map)) {
-			throw new YamlConfigurationException(nodes[0] + " is not a section!", this.y);
-		}
 
-		return getNoCreating(newNode, this.deserializeMap((Map<String, Object>) m.get(nodes[0])), fullNode);
-	}
 
 	@Override
 	public boolean containsConfigurationSection(String node) {
-		Map<String, Object> sec = null;
-		try {
-			sec = getSectionNoCreating(node, this.deserializeAll(), node);
-		} catch (YamlConfigurationException e) {
-			return false;
-		}
-		if (sec == null) {
-			return false;
-		}
-		return true;
+		return this.y.lookup(this.path(node)) instanceof Map;
 	}
 
 	public Map<String, Object> getValues(boolean deep, boolean convert) {
@@ -411,60 +213,9 @@ class YamlConfigurationSectionClass implements YamlConfigurationSection {
 		return this.name;
 	}
 
-	@SuppressWarnings("unchecked")
-	@Override
 	public YamlConfigurationSection removeConfigurationSection(String node) {
-		String[] nodes = node.trim().split(YamlConfiguration.seperatorRegex);
-		if (nodes.length == 1) {
-			try {
-				((Map<String, Object>) this.toMap().get(nodes[0])).clear();
-			} catch (ClassCastException e) {
-				try {
-					throw new YamlConfigurationException("Section " + node + " is not a section, so it could not be removed",
-							this.y);
-				} catch (YamlConfigurationException e1) {
-					e1.printStackTrace();
-				}
-			}
-			this.toMap().remove(nodes[0]);
-			return this;
-		}
-
-		String newSec = "";
-		for (int i = 0; i < nodes.length; i++) {
-			if (i == (nodes.length - 1)) {
-				break;
-			}
-
-			if (i == (nodes.length - 2)) {
-				newSec += nodes[i];
-				break;
-			}
-			newSec += nodes[i] + YamlConfiguration.seperator;
-		}
-		Map<String, Object> sec = null;
-		Map<String, Object> secR = null;
-		try {
-			sec = getSectionNoCreating(node, toMap(), node);
-			secR = getSectionNoCreating(newSec, toMap(), newSec);
-		} catch (YamlConfigurationException e) {
-			e.printStackTrace();
-			try {
-				throw new YamlConfigurationException("Section " + node + " does not exist", this.y);
-			} catch (YamlConfigurationException e1) {
-				e1.printStackTrace();
-			}
-		}
-		if (sec == null) {
-			try {
-				throw new YamlConfigurationException("Section " + node + " does not exist", this.y);
-			} catch (YamlConfigurationException e) {
-				e.printStackTrace();
-			}
-		}
-		sec.clear();
-		secR.remove(nodes[nodes.length - 1]);
-		return getConfigurationSection(newSec);
+		this.y.removeConfigurationSection(this.path(node));
+		return this;
 	}
 
 	@Override
@@ -561,75 +312,38 @@ class YamlConfigurationSectionClass implements YamlConfigurationSection {
 	}
 
 	private Map<String, Object> deserializeAll() {
-		return deserializeMap(this.map);
+		final Map<String, Object> map = new LinkedHashMap<String, Object>();
+
+		for (Entry<String, Object> e : this.data().entrySet())
+			map.put(e.getKey(), this.y.deserializeValue(e.getValue()));
+
+		return map;
 	}
 
+	/**
+	 * Retrieves the current data of this section from the
+	 * {@link YamlConfiguration#lookup(String) path index} of the root
+	 * configuration, so that changes made through the root are seen.
+	 * 
+	 * @return The data of this section.
+	 */
 	@SuppressWarnings("unchecked")
-	private Map<String, Object> deserializeMap(Map<String, Object> data) {
-		Map<String, Object> map = new LinkedHashMap<String, Object>();
-		for (Entry<String, Object> e : data.entrySet()) {
-			String firstKey = e.getKey();
-			Object firstValue = e.getValue();
-			if (!(firstValue instanceof Map)) {
-				map.put(firstKey, firstValue);
-				continue;
-			}
-			Map<String, Object> secondMap = (Map<String, Object>) e.getValue();
-			for (Entry<String, Object> e1 : secondMap.entrySet()) {
-				String secondKey = e1.getKey();
-				Object secondValue = e1.getValue();
-				if (secondKey.startsWith(YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX)) {
-					Class<?> clazz = YamlConfiguration.getYamlConfigurationSerializationAPI()
-							.getClass(secondKey.substring(
-									YamlConfigurationSerializable.CONFIG_SERIALIZATION_PREFIX.length(),
-									secondKey.length()));
-					if (clazz == null) {
-						if (secondValue instanceof Map) {
-							if (((Map<String, Object>) map.get(firstKey)) == null) {
-								map.put(firstKey, new LinkedHashMap<String, Object>());
-							}
-							((Map<String, Object>) map.get(firstKey)).put(secondKey,
-									this.deserializeMap((Map<String, Object>) secondValue));
-						} else {
-							if (((Map<String, Object>) map.get(firstKey)) == null) {
-								map.put(firstKey, new LinkedHashMap<String, Object>());
-							}
-							((Map<String, Object>) map.get(firstKey)).put(secondKey, secondValue);
-						}
-						continue;
-					}
-					Object objClass = null;
-					try {
-						objClass = clazz.getMethod("deserialize", Map.class).invoke(null, secondValue);
-					} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException
-							| NoSuchMethodException | SecurityException e2) {
-						e2.printStackTrace();
-					}
-//					if (((Map<String, Object>) map.get(firstKey)) == null) {
-//						map.put(firstKey, new LinkedHashMap<String, Object>());
-//					}
-
-					map.put(firstKey, objClass);
-					continue;
-				} else {
-					if (secondValue instanceof Map) {
-						if (((Map<String, Object>) map.get(firstKey)) == null) {
-							map.put(firstKey, new LinkedHashMap<String, Object>());
-						}
-						((Map<String, Object>) map.get(firstKey)).put(secondKey,
-								this.deserializeMap((Map<String, Object>) secondValue));
-					} else {
-						if (((Map<String, Object>) map.get(firstKey)) == null) {
-							map.put(firstKey, new LinkedHashMap<String, Object>());
-						}
-						((Map<String, Object>) map.get(firstKey)).put(secondKey, secondValue);
-					}
-					continue;
-				}
+	private Map<String, Object> data() {
+		final Object data = this.y.lookup(this.fullNode);
+		return data instanceof Map ? (Map<String, Object>) data : this.map;
+	}
 
-			}
-		}
-		return map;
+	/**
+	 * Resolves the underlying node, relative to this section, into a full node of
+	 * the root configuration.
+	 * 
+	 * @param node The node relative to this section.
+	 * @return The full node.
+	 */
+	private String path(String node) {
+		return this.fullNode + YamlConfiguration.seperator + node.trim();
 	}
 
+
+
 }
@@ -25,8 +25,10 @@ public interface Cookieable {
 	 *         found.
 	 */
 	public default HttpRequestCookie getCookie(final String name) {
-		for (int i = 0; i < getCookies().length; i++) {
-			HttpRequestCookie cookie = getCookies()[i];
+		final HttpRequestCookie[] cookies = getCookies();
+
+		for (int i = 0; i < cookies.length; i++) {
+			HttpRequestCookie cookie = cookies[i];
 
 			if (cookie.getName().equals(name))
 				return cookie;
@@ -0,0 +1,161 @@
+package org.polinux.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a histogram of latencies, in microseconds, in the manner of an
+ * HDR histogram: values are counted inside buckets whose width grows with the
+ * value, so every recorded latency keeps about two significant digits (at most
+ * ~3% of error) without storing the latencies themselves.
+ * <p>
+ * The first {@code 64} buckets hold one value each. Past that, every power of
+ * two is split into {@code 32} buckets of equal width. Recording a value only
+ * increments one bucket, so histograms may be shared between every client
+ * thread.
+ */
+public class HttpLatencyHistogram {
+
+	/**
+	 * Represents how many buckets every power of two is split into (as a power of
+	 * two).
+	 */
+	private static final int SUB_BUCKET_BITS = 5;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * Represents the highest value that may be recorded, in microseconds (about
+	 * 12 days). Higher values are recorded as this value.
+	 */
+	public static final long MAX_VALUE = (1L << 40) - 1;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a latency.
+	 * 
+	 * @param micros The latency, in microseconds.
+	 */
+	public void record(long micros) {
+		final long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+
+		buckets.incrementAndGet(indexOf(value));
+		count.increment();
+		sum.add(value);
+
+		long m;
+		while (value > (m = max.get()) && !max.compareAndSet(m, value))
+			;
+	}
+
+	/**
+	 * Gets the amount of recorded latencies.
+	 * 
+	 * @return The amount of recorded latencies.
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Gets the mean of the recorded latencies.
+	 * 
+	 * @return The mean latency, in microseconds, {@code 0} if none has been
+	 *         recorded.
+	 */
+	public double getMean() {
+		final long c = count.sum();
+		return c == 0 ? 0 : (double) sum.sum() / c;
+	}
+
+	/**
+	 * Gets the sum of the recorded latencies.
+	 * 
+	 * @return The sum of the latencies, in microseconds.
+	 */
+	public long getSum() {
+		return sum.sum();
+	}
+
+	/**
+	 * Gets the highest recorded latency.
+	 * 
+	 * @return The highest latency, in microseconds.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Gets the latency below which the underlying percentage of the recorded
+	 * latencies fall.
+	 * 
+	 * @param percentile The percentage, between {@code 0} and {@code 100}.
+	 * @return The latency, in microseconds (the highest value of its bucket),
+	 *         {@code 0} if none has been recorded.
+	 */
+	public long getPercentile(double percentile) {
+		long total = 0;
+		for (int i = 0; i < buckets.length(); i++)
+			total += buckets.get(i);
+
+		if (total == 0)
+			return 0;
+
+		final long target = Math.max(1, (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100.0 * total));
+		long seen = 0;
+
+		for (int i = 0; i < buckets.length(); i++) {
+			seen += buckets.get(i);
+			if (seen >= target)
+				return Math.min(highestValueOf(i), this.getMax());
+		}
+
+		return this.getMax();
+	}
+
+	/**
+	 * Clears every recorded latency.
+	 */
+	public void reset() {
+		for (int i = 0; i < buckets.length(); i++)
+			buckets.set(i, 0);
+		count.reset();
+		sum.reset();
+		max.set(0);
+	}
+
+	/**
+	 * Summarizes the histogram, e.g.
+	 * {@code count=120 mean=843us p50=610us p90=1500us p99=4200us max=9001us}.
+	 */
+	@Override
+	public String toString() {
+		return "count=" + this.getCount() + " mean=" + Math.round(this.getMean()) + "us p50="
+				+ this.getPercentile(50) + "us p90=" + this.getPercentile(90) + "us p99=" + this.getPercentile(99)
+				+ "us max=" + this.getMax() + "us";
+	}
+
+	private static int indexOf(long value) {
+		if (value < (SUB_BUCKETS << 1))
+			return (int) value;
+
+		final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKETS);
+	}
+
+	private static long highestValueOf(int index) {
+		if (index < (SUB_BUCKETS << 1))
+			return index;
+
+		final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+		final long subBucket = (index & (SUB_BUCKETS - 1)) + SUB_BUCKETS;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+}
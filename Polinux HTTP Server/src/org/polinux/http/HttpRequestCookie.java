@@ -1,5 +1,8 @@
 package org.polinux.http;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.polinux.exceptions.http.polinux.PolinuxHttpCookieRuntimeException;
 
 /**
@@ -43,6 +46,37 @@ public class HttpRequestCookie implements java.io.Serializable {
 	 */
 	public static final String COOKIE_VALUE_REGEX = "(\")?([^\",;\\s\\|\\\\]+)*(\")?"; // \\s (musn't contain)
 
+	/**
+	 * Represents the {@code ASCII} characters allowed inside a cookie's name.
+	 * Equivalent to {@link #COOKIE_NAME_REGEX}, without compiling a pattern for
+	 * every check.
+	 */
+	private static final boolean[] NAME_CHARS = new boolean[128];
+
+	/**
+	 * Represents the {@code ASCII} characters allowed inside a cookie's value,
+	 * apart from its surrounding quotes. Equivalent to {@link #COOKIE_VALUE_REGEX}.
+	 * Characters outside of {@code ASCII} are always allowed.
+	 */
+	private static final boolean[] VALUE_CHARS = new boolean[128];
+
+	/* Static initialization */
+	static {
+		for (char c = 'a'; c <= 'z'; c++)
+			NAME_CHARS[c] = true;
+		for (char c = 'A'; c <= 'Z'; c++)
+			NAME_CHARS[c] = true;
+		for (char c = '0'; c <= '9'; c++)
+			NAME_CHARS[c] = true;
+		for (char c : "~!#&*-_+'. \t\n\u000B\f\r".toCharArray())
+			NAME_CHARS[c] = true;
+
+		for (int c = 0; c < VALUE_CHARS.length; c++)
+			VALUE_CHARS[c] = true;
+		for (char c : "\",;|\\ \t\n\u000B\f\r".toCharArray())
+			VALUE_CHARS[c] = false;
+	}
+
 	/**
 	 * Constructs an {@code PolinuxHttpRequestCookie}.
 	 * 
@@ -115,7 +149,32 @@ public class HttpRequestCookie implements java.io.Serializable {
 	 * @see #COOKIE_VALUE_REGEX
 	 */
 	protected static boolean isValidName(final String content) {
-		return content.matches(COOKIE_NAME_REGEX);
+		return isValidName(content, 0, content.length());
+	}
+
+	/**
+	 * Checks whether the underlying portion of the content string is a valid
+	 * cookie name.
+	 * 
+	 * @param content The content string to check.
+	 * @param start   The index of the first character of the name.
+	 * @param end     The index after the last character of the name.
+	 * @return {@code True} if the portion is a valid cookie name. {@code False}
+	 *         otherwise.
+	 * @see #isValidName(String)
+	 */
+	private static boolean isValidName(final String content, final int start, final int end) {
+		if (start >= end)
+			return false;
+
+		for (int i = start; i < end; i++) {
+			final char c = content.charAt(i);
+
+			if (c >= NAME_CHARS.length || !NAME_CHARS[c])
+				return false;
+		}
+
+		return true;
 	}
 
 	/**
@@ -128,7 +187,35 @@ public class HttpRequestCookie implements java.io.Serializable {
 	 * @see #COOKIE_VALUE_REGEX
 	 */
 	protected static boolean isValidValue(final String content) {
-		return content.matches(COOKIE_VALUE_REGEX);
+		return isValidValue(content, 0, content.length());
+	}
+
+	/**
+	 * Checks whether the underlying portion of the content string is a valid
+	 * cookie value.
+	 * 
+	 * @param content The content string to check.
+	 * @param start   The index of the first character of the value.
+	 * @param end     The index after the last character of the value.
+	 * @return {@code True} if the portion is a valid cookie value. {@code False}
+	 *         otherwise.
+	 * @see #isValidValue(String)
+	 */
+	private static boolean isValidValue(final String content, int start, int end) {
+		// Optional surrounding quotes
+		if (start < end && content.charAt(start) == '"')
+			start++;
+		if (start < end && content.charAt(end - 1) == '"')
+			end--;
+
+		for (int i = start; i < end; i++) {
+			final char c = content.charAt(i);
+
+			if (c < VALUE_CHARS.length && !VALUE_CHARS[c])
+				return false;
+		}
+
+		return true;
 	}
 
 	/**
@@ -185,45 +272,141 @@ public class HttpRequestCookie implements java.io.Serializable {
 	 *                                           "Cookie:".
 	 */
 	public static HttpRequestCookie[] parse(final String cookie) throws PolinuxHttpCookieRuntimeException {
-		final String cookieChunck;
+		final int length = cookie.length();
+		final List<HttpRequestCookie> cookies = new ArrayList<HttpRequestCookie>();
 
-		if (cookie.toLowerCase().startsWith("cookie:")) {
-			cookieChunck = cookie.substring("cookie:".length(), cookie.length()).trim();
-		} else if (cookie.toLowerCase().startsWith("set-cookie:")) {
-			throw new PolinuxHttpCookieRuntimeException(null, "\"Set-Cookie\" header is for response cookies.");
-		} else {
-			cookieChunck = cookie;
-		}
+		int i = skipHeaderName(cookie);
+
+		while (i < length) {
+			// Bounds of the current "name=value" pair
+			int end = cookie.indexOf(';', i);
+			if (end < 0)
+				end = length;
 
-		final String[] split = cookieChunck.split(";");
+			final int eq = indexOf(cookie, '=', i, end);
 
-		HttpRequestCookie[] cookies = new HttpRequestCookie[split.length];
+			final int nameStart = skipWhitespace(cookie, i, end);
+			final int nameEnd = trimWhitespace(cookie, nameStart, eq < 0 ? end : eq);
 
-		for (int i = 0; i < split.length; i++) {
-			final String cookieItem = split[i];
+			if (nameStart < nameEnd || eq >= 0) {
+				if (!isValidName(cookie, nameStart, nameEnd)) {
+					throw new PolinuxHttpCookieRuntimeException(null,
+							"Cookie name is invalid from cookie: \"" + cookie + "\"");
+				}
 
-			final String[] cookieItemSplit = cookieItem.split("=");
+				final String value;
 
-			if (cookieItemSplit.length <= 0) {
-				throw new PolinuxHttpCookieRuntimeException(null,
-						"Cookie name is invalid (empty) from cookie: \"" + cookie + "\"");
+				if (eq < 0) {
+					value = "";
+				} else {
+					final int valueStart = skipWhitespace(cookie, eq + 1, end);
+					final int valueEnd = trimWhitespace(cookie, valueStart, end);
+
+					if (!isValidValue(cookie, valueStart, valueEnd)) {
+						throw new PolinuxHttpCookieRuntimeException(null,
+								"Cookie value is invalid from cookie: \"" + cookie + "\"");
+					}
+
+					value = cookie.substring(valueStart, valueEnd);
+				}
+
+				cookies.add(new HttpRequestCookie(cookie.substring(nameStart, nameEnd), value, false));
 			}
 
-			final String name = cookieItemSplit[0].trim();
+			i = end + 1;
+		}
 
-			String value;
-			try {
-				value = cookieItemSplit[1];
-			} catch (RuntimeException e) {
-				value = "";
+		return cookies.toArray(new HttpRequestCookie[cookies.size()]);
+	}
+
+	/**
+	 * Retrieves the value of the cookie with the underlying name from an
+	 * {@link HttpHeader}, without parsing the other cookies. Cookies that come
+	 * before the one asked for are not validated.
+	 * 
+	 * @param cookie The cookie data. May be the full {@link HttpHeader} ("Cookie:
+	 *               name=value;name1=value1;...") or its data portion
+	 *               ("name=value;name1=value1;...").
+	 * @param name   The name of the cookie to find, {@code case sensitive}.
+	 * @return The value of the first cookie with the underlying name,
+	 *         {@code null} if no cookie with a valid value is found.
+	 * @throws PolinuxHttpCookieRuntimeException If the full header starts with
+	 *                                           "Set-Cookie:" instead of "Cookie:".
+	 */
+	public static String findValue(final String cookie, final String name) throws PolinuxHttpCookieRuntimeException {
+		if (cookie == null || name == null)
+			return null;
+
+		final int length = cookie.length();
+		int i = skipHeaderName(cookie);
+
+		while (i < length) {
+			int end = cookie.indexOf(';', i);
+			if (end < 0)
+				end = length;
+
+			final int eq = indexOf(cookie, '=', i, end);
+
+			if (eq >= 0) {
+				final int nameStart = skipWhitespace(cookie, i, eq);
+				final int nameEnd = trimWhitespace(cookie, nameStart, eq);
+
+				if (nameEnd - nameStart == name.length() && cookie.startsWith(name, nameStart)) {
+					final int valueStart = skipWhitespace(cookie, eq + 1, end);
+					final int valueEnd = trimWhitespace(cookie, valueStart, end);
+
+					return isValidValue(cookie, valueStart, valueEnd) ? cookie.substring(valueStart, valueEnd) : null;
+				}
 			}
-			HttpRequestCookie c = new HttpRequestCookie(name, value);
 
-			cookies[i] = c;
+			i = end + 1;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Constructs an {@code HttpRequestCookie} from an already validated name and
+	 * value. The last parameter only tells this constructor apart from the
+	 * validating one.
+	 */
+	private HttpRequestCookie(final String name, final String value, final boolean validated) {
+		this.name = name;
+		this.value = value;
+	}
+
+	/**
+	 * Retrieves the index the cookie data starts at, skipping the header name
+	 * ("Cookie:") if there is one.
+	 */
+	private static int skipHeaderName(final String cookie) throws PolinuxHttpCookieRuntimeException {
+		if (cookie.regionMatches(true, 0, "cookie:", 0, "cookie:".length()))
+			return "cookie:".length();
+
+		if (cookie.regionMatches(true, 0, "set-cookie:", 0, "set-cookie:".length()))
+			throw new PolinuxHttpCookieRuntimeException(null, "\"Set-Cookie\" header is for response cookies.");
+
+		return 0;
+	}
+
+	private static int indexOf(final String s, final char c, final int start, final int end) {
+		for (int i = start; i < end; i++) {
+			if (s.charAt(i) == c)
+				return i;
 		}
+		return -1;
+	}
 
-		return cookies;
+	private static int skipWhitespace(final String s, int start, final int end) {
+		while (start < end && Character.isWhitespace(s.charAt(start)))
+			start++;
+		return start;
+	}
 
+	private static int trimWhitespace(final String s, final int start, int end) {
+		while (end > start && Character.isWhitespace(s.charAt(end - 1)))
+			end--;
+		return end;
 	}
 
 }
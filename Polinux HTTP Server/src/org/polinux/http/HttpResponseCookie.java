@@ -1,6 +1,5 @@
 package org.polinux.http;
 
-import java.text.DateFormat;
 import java.text.ParseException;
 import java.util.Date;
 
@@ -88,11 +87,6 @@ public class HttpResponseCookie extends HttpRequestCookie {
 	 */
 	protected Date expiry;
 
-	/**
-	 * Represents the {@link DateFormat date format} for an {@link #expiry} date.
-	 */
-	protected static final DateFormat expiryFormat = TimeUtils.getDateHttpHeaderFormat();
-
 	/**
 	 * Constructs an {@code HttpResponseCookie}.
 	 * 
@@ -357,45 +351,63 @@ public class HttpResponseCookie extends HttpRequestCookie {
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Appends this cookie, as a "Set-Cookie" {@link HttpHeader}, to the underlying
+	 * buffer. Equivalent to appending {@link #toHttpHeader()}.toString(), without
+	 * building the intermediate strings.
+	 * 
+	 * @param out The buffer to append to.
 	 */
-	@Override
-	public String toString() {
-		final String superString = super.toString();
-		String addString = "";
+	public void appendHttpHeader(final StringBuilder out) {
+		out.append("Set-Cookie: ").append(this.name).append('=').append(this.value);
+		this.appendAttributes(out);
+	}
 
+	/**
+	 * Appends the attributes of this cookie ("; Path=...; HttpOnly" etc.) to the
+	 * underlying buffer.
+	 * 
+	 * @param out The buffer to append to.
+	 */
+	protected void appendAttributes(final StringBuilder out) {
 		if (path != null) {
-			addString += "; Path=" + path;
+			out.append("; Path=").append(path);
 		}
 
 		if (domain != null) {
-			addString += "; Domain=" + domain;
+			out.append("; Domain=").append(domain);
 		}
 
 		if (maxAge != null) {
 			if (maxAge != -2)
-				addString += "; Max-Age=" + maxAge;
+				out.append("; Max-Age=").append(maxAge);
 		}
 
 		if (expiry != null) {
-			final String expireString = expiryFormat.format(expiry);
-			addString += "; Expires=" + expireString;
+			final String expireString = TimeUtils.formatHttpDate(expiry);
+			out.append("; Expires=").append(expireString);
 		}
 
 		if (sameSite != null) {
-			addString += "; SameSite=" + sameSite.toString();
+			out.append("; SameSite=").append(sameSite.toString());
 		}
 
 		if (httpOnly) {
-			addString += "; HttpOnly";
+			out.append("; HttpOnly");
 		}
 
 		if (secure) {
-			addString += "; Secure";
+			out.append("; Secure");
 		}
+	}
 
-		return superString + addString;
-
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder s = new StringBuilder(super.toString());
+		this.appendAttributes(s);
+		return s.toString();
 	}
 
 	/**
@@ -506,7 +518,7 @@ public class HttpResponseCookie extends HttpRequestCookie {
 
 			if (arg.equalsIgnoreCase("Expires")) {
 				try {
-					expiry = expiryFormat.parse(arg.split("=")[1]);
+					expiry = TimeUtils.getDateHttpHeaderFormat().parse(arg.split("=")[1]);
 				} catch (ParseException e) {
 					e.printStackTrace();
 				}
@@ -0,0 +1,255 @@
+package org.polinux.http;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the metrics of an {@link HttpServer}: how many requests it has
+ * answered, how many bytes it has received and sent, how many connections are
+ * currently open, how many responses fell in each status class, and how long
+ * requests took for each {@link Route route} and each servlet.
+ * <p>
+ * Counters are {@link LongAdder LongAdders}, so client threads recording at the
+ * same time do not contend with one another. Latencies are kept inside
+ * {@link HttpLatencyHistogram HttpLatencyHistograms}.
+ */
+public class HttpServerMetrics {
+
+	/**
+	 * Represents how a request was answered.
+	 */
+	public static enum Route {
+		/**
+		 * The request was answered by a servlet.
+		 */
+		SERVLET,
+		/**
+		 * The request was answered with a static file.
+		 */
+		STATIC,
+		/**
+		 * Nothing matched the request.
+		 */
+		NOT_FOUND,
+		/**
+		 * The request was redirected to the HTTPS server.
+		 */
+		REDIRECT,
+		/**
+		 * The request was answered by the server itself (e.g. its metrics).
+		 */
+		INTERNAL;
+	}
+
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder bytesIn = new LongAdder();
+	private final LongAdder bytesOut = new LongAdder();
+	private final LongAdder activeConnections = new LongAdder();
+	private final LongAdder[] statusClasses = new LongAdder[5];
+	private final Map<Route, HttpLatencyHistogram> routes = new EnumMap<Route, HttpLatencyHistogram>(Route.class);
+	private final ConcurrentMap<String, HttpLatencyHistogram> servlets = new ConcurrentHashMap<String, HttpLatencyHistogram>();
+	private volatile long since = System.currentTimeMillis();
+
+	public HttpServerMetrics() {
+		for (int i = 0; i < statusClasses.length; i++)
+			statusClasses[i] = new LongAdder();
+		for (Route route : Route.values())
+			routes.put(route, new HttpLatencyHistogram());
+	}
+
+	/**
+	 * Records that a connection has been opened.
+	 */
+	public void connectionOpened() {
+		activeConnections.increment();
+	}
+
+	/**
+	 * Records that a connection has been closed.
+	 */
+	public void connectionClosed() {
+		activeConnections.decrement();
+	}
+
+	/**
+	 * Records an answered request.
+	 * 
+	 * @param route    How the request was answered.
+	 * @param status   The status of the response.
+	 * @param bytesIn  The size of the request, in bytes.
+	 * @param bytesOut The size of the response, in bytes, {@code -1} if unknown.
+	 * @param micros   How long the request took, in microseconds.
+	 */
+	public void recordRequest(Route route, int status, long bytesIn, long bytesOut, long micros) {
+		requests.increment();
+
+		if (bytesIn > 0)
+			this.bytesIn.add(bytesIn);
+		if (bytesOut > 0)
+			this.bytesOut.add(bytesOut);
+
+		final int statusClass = status / 100;
+		if (statusClass >= 1 && statusClass <= statusClasses.length)
+			statusClasses[statusClass - 1].increment();
+
+		routes.get(route).record(micros);
+	}
+
+	/**
+	 * Records how long a servlet took to service a request.
+	 * 
+	 * @param servlet The name of the servlet.
+	 * @param micros  How long the servlet took, in microseconds.
+	 */
+	public void recordServlet(String servlet, long micros) {
+		HttpLatencyHistogram histogram = servlets.get(servlet);
+
+		if (histogram == null) {
+			final HttpLatencyHistogram created = new HttpLatencyHistogram();
+			histogram = servlets.putIfAbsent(servlet, created);
+			if (histogram == null)
+				histogram = created;
+		}
+
+		histogram.record(micros);
+	}
+
+	/**
+	 * Gets the amount of answered requests.
+	 * 
+	 * @return The amount of requests.
+	 */
+	public long getRequests() {
+		return requests.sum();
+	}
+
+	/**
+	 * Gets the amount of bytes received.
+	 * 
+	 * @return The amount of bytes received.
+	 */
+	public long getBytesIn() {
+		return bytesIn.sum();
+	}
+
+	/**
+	 * Gets the amount of bytes sent.
+	 * 
+	 * @return The amount of bytes sent.
+	 */
+	public long getBytesOut() {
+		return bytesOut.sum();
+	}
+
+	/**
+	 * Gets the amount of connections currently open.
+	 * 
+	 * @return The amount of open connections.
+	 */
+	public long getActiveConnections() {
+		return activeConnections.sum();
+	}
+
+	/**
+	 * Gets the amount of responses whose status fell in the underlying class.
+	 * 
+	 * @param statusClass The class of the status, from {@code 1} ({@code 1xx}) to
+	 *                    {@code 5} ({@code 5xx}).
+	 * @return The amount of responses, {@code 0} if the class is invalid.
+	 */
+	public long getStatusCount(int statusClass) {
+		if (statusClass < 1 || statusClass > statusClasses.length)
+			return 0;
+		return statusClasses[statusClass - 1].sum();
+	}
+
+	/**
+	 * Gets the latencies of the requests answered through the underlying route.
+	 * 
+	 * @param route The route.
+	 * @return The latencies of the route.
+	 */
+	public HttpLatencyHistogram getRouteLatency(Route route) {
+		return routes.get(route);
+	}
+
+	/**
+	 * Gets the latencies of the underlying servlet.
+	 * 
+	 * @param servlet The name of the servlet.
+	 * @return The latencies of the servlet, {@code null} if it has never serviced
+	 *         a request.
+	 */
+	public HttpLatencyHistogram getServletLatency(String servlet) {
+		return servlets.get(servlet);
+	}
+
+	/**
+	 * Gets the latencies of every servlet that has serviced a request, sorted by
+	 * name.
+	 * 
+	 * @return An unmodifiable map of servlet names to their latencies.
+	 */
+	public Map<String, HttpLatencyHistogram> getServletLatencies() {
+		return Collections.unmodifiableMap(new TreeMap<String, HttpLatencyHistogram>(servlets));
+	}
+
+	/**
+	 * Gets the time metrics started being recorded at (since the server started,
+	 * or since they were last {@link #reset() reset}).
+	 * 
+	 * @return The time, in milliseconds since the epoch.
+	 */
+	public long getSince() {
+		return since;
+	}
+
+	/**
+	 * Clears every metric, except the amount of open connections.
+	 */
+	public void reset() {
+		requests.reset();
+		bytesIn.reset();
+		bytesOut.reset();
+		for (LongAdder statusClass : statusClasses)
+			statusClass.reset();
+		for (HttpLatencyHistogram histogram : routes.values())
+			histogram.reset();
+		servlets.clear();
+		since = System.currentTimeMillis();
+	}
+
+	/**
+	 * Summarizes every metric, one line per entry.
+	 * 
+	 * @return The lines of the summary.
+	 */
+	public List<String> report() {
+		final List<String> lines = new ArrayList<String>();
+
+		lines.add("Requests: " + this.getRequests() + " (over " + (System.currentTimeMillis() - since) / 1000L
+				+ "s), open connections: " + this.getActiveConnections());
+		lines.add("Bytes in: " + this.getBytesIn() + ", bytes out: " + this.getBytesOut());
+		lines.add("Status: 1xx=" + this.getStatusCount(1) + " 2xx=" + this.getStatusCount(2) + " 3xx="
+				+ this.getStatusCount(3) + " 4xx=" + this.getStatusCount(4) + " 5xx=" + this.getStatusCount(5));
+
+		for (Route route : Route.values()) {
+			final HttpLatencyHistogram histogram = routes.get(route);
+			if (histogram.getCount() > 0)
+				lines.add("Route " + route.name().toLowerCase() + ": " + histogram);
+		}
+
+		for (Map.Entry<String, HttpLatencyHistogram> servlet : this.getServletLatencies().entrySet())
+			lines.add("Servlet " + servlet.getKey() + ": " + servlet.getValue());
+
+		return lines;
+	}
+
+}
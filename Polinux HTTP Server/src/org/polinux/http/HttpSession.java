@@ -19,4 +19,35 @@ public interface HttpSession extends Attributable {
 	 * @return The "new" value of the session (True or False).
 	 */
 	public boolean isNew();
+
+	/**
+	 * Retrieves the time at which this session was created, in milliseconds since
+	 * the epoch.
+	 * 
+	 * @return The creation time of the session.
+	 */
+	public long getCreationTime();
+
+	/**
+	 * Retrieves the last time a request was associated with this session, in
+	 * milliseconds since the epoch.
+	 * 
+	 * @return The last accessed time of the session.
+	 */
+	public long getLastAccessedTime();
+
+	/**
+	 * Retrieves the amount of time (in seconds) this session may stay unused
+	 * before the server discards it. A value of {@code 0} or lower means the
+	 * session never expires from inactivity.
+	 * 
+	 * @return The maximum inactive interval of the session.
+	 */
+	public int getMaxInactiveInterval();
+
+	/**
+	 * Invalidates this session, discarding it and its linked cookie from the
+	 * server.
+	 */
+	public void invalidate();
 }
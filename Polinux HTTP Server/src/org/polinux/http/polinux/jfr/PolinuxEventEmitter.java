@@ -0,0 +1,32 @@
+package org.polinux.http.polinux.jfr;
+
+import java.net.InetAddress;
+
+import javax.net.ssl.SSLSession;
+
+/**
+ * Emits the Java Flight Recorder events of the {@code Polinux HTTP Server}.
+ * Implemented by {@code PolinuxEvents}, which is compiled apart from the rest
+ * of the server and loaded by {@link PolinuxFlightRecorder} only once the
+ * {@code jdk.jfr} API is known to be available.
+ * <p>
+ * Each method matches the method of {@link PolinuxFlightRecorder} of the same
+ * name.
+ */
+interface PolinuxEventEmitter {
+
+	void connectionAccepted(InetAddress address, int port, boolean secure);
+
+	void requestParsed(String method, String path, long bytes, long start);
+
+	void servletInvoked(String servlet, String path, int status, long start);
+
+	void staticFileServed(String path, long bytes, long start);
+
+	void sessionCreated();
+
+	void sessionEvicted(boolean expired, long ageMillis);
+
+	void tlsHandshake(SSLSession session, long start);
+
+}
@@ -0,0 +1,136 @@
+package org.polinux.http.polinux.jfr;
+
+import java.net.InetAddress;
+
+import javax.net.ssl.SSLSession;
+
+/**
+ * Emits the Java Flight Recorder events of the {@code Polinux HTTP Server}:
+ * accepted connections, parsed requests, invoked servlets, served static files,
+ * created and evicted sessions, and completed TLS handshakes.
+ * <p>
+ * Every event is disabled by default, even while a recording is running, and
+ * is enabled through the {@code server/polinux.jfc} settings, e.g.
+ * {@code -XX:StartFlightRecording=settings=server/polinux.jfc}. A disabled
+ * event costs a single check: nothing is allocated for it, and durations are
+ * only measured once it is known to be enabled.
+ * <p>
+ * The events themselves are kept inside {@code PolinuxEvents}, in the
+ * {@code src-jfr} source folder, so the rest of the server compiles against
+ * the Java 8 API. It is loaded by name, and only by JVMs shipping the
+ * {@code jdk.jfr} API (Java 8u262 and later), so the server still runs on
+ * older ones (or without {@code src-jfr}), where every method of this class
+ * does nothing.
+ */
+public final class PolinuxFlightRecorder {
+
+	private static final PolinuxEventEmitter EVENTS = load();
+
+	/**
+	 * Represents whether the running JVM ships the {@code jdk.jfr} API, and the
+	 * events of the server could be loaded.
+	 */
+	public static final boolean SUPPORTED = EVENTS != null;
+
+	private PolinuxFlightRecorder() {
+	}
+
+	/**
+	 * Emits that a connection has been accepted.
+	 * 
+	 * @param address The address of the client.
+	 * @param port    The port of the client.
+	 * @param secure  Whether the connection was accepted by an HTTPS server.
+	 */
+	public static void connectionAccepted(InetAddress address, int port, boolean secure) {
+		if (SUPPORTED)
+			EVENTS.connectionAccepted(address, port, secure);
+	}
+
+	/**
+	 * Emits that a request has been read and parsed.
+	 * 
+	 * @param method The method of the request.
+	 * @param path   The path of the request.
+	 * @param bytes  The size of the request, in bytes.
+	 * @param start  The {@link System#nanoTime() time} the request started being
+	 *               read at.
+	 */
+	public static void requestParsed(String method, String path, long bytes, long start) {
+		if (SUPPORTED)
+			EVENTS.requestParsed(method, path, bytes, start);
+	}
+
+	/**
+	 * Emits that a servlet has serviced a request.
+	 * 
+	 * @param servlet The name of the servlet.
+	 * @param path    The path of the request.
+	 * @param status  The status of the response once serviced.
+	 * @param start   The {@link System#nanoTime() time} the servlet was invoked
+	 *                at.
+	 */
+	public static void servletInvoked(String servlet, String path, int status, long start) {
+		if (SUPPORTED)
+			EVENTS.servletInvoked(servlet, path, status, start);
+	}
+
+	/**
+	 * Emits that a request has been answered with a static file.
+	 * 
+	 * @param path  The path of the request.
+	 * @param bytes The length of the file, in characters.
+	 * @param start The {@link System#nanoTime() time} the file started being
+	 *              looked for at.
+	 */
+	public static void staticFileServed(String path, long bytes, long start) {
+		if (SUPPORTED)
+			EVENTS.staticFileServed(path, bytes, start);
+	}
+
+	/**
+	 * Emits that a session has been created, along with the amount of sessions
+	 * now kept.
+	 */
+	public static void sessionCreated() {
+		if (SUPPORTED)
+			EVENTS.sessionCreated();
+	}
+
+	/**
+	 * Emits that a session has been evicted.
+	 * 
+	 * @param expired   Whether the session had expired, rather than having been
+	 *                  invalidated.
+	 * @param ageMillis The time the session was kept for, in milliseconds.
+	 */
+	public static void sessionEvicted(boolean expired, long ageMillis) {
+		if (SUPPORTED)
+			EVENTS.sessionEvicted(expired, ageMillis);
+	}
+
+	/**
+	 * Emits that a TLS handshake has been completed.
+	 * 
+	 * @param session The negotiated session.
+	 * @param start   The {@link System#nanoTime() time} the handshake started at.
+	 */
+	public static void tlsHandshake(SSLSession session, long start) {
+		if (SUPPORTED)
+			EVENTS.tlsHandshake(session, start);
+	}
+
+	private static PolinuxEventEmitter load() {
+		try {
+			final ClassLoader loader = PolinuxFlightRecorder.class.getClassLoader();
+			Class.forName("jdk.jfr.Event", false, loader);
+
+			return (PolinuxEventEmitter) Class
+					.forName(PolinuxFlightRecorder.class.getPackage().getName() + ".PolinuxEvents", true, loader)
+					.getDeclaredConstructor().newInstance();
+		} catch (Throwable e) {
+			return null;
+		}
+	}
+
+}
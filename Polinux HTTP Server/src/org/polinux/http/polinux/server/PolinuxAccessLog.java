@@ -0,0 +1,480 @@
+package org.polinux.http.polinux.server;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+import org.polinux.exceptions.http.polinux.PolinuxHttpServerRuntimeException;
+import org.polinux.utils.collections.RingBuffer;
+
+/**
+ * Represents the access log of a {@link PolinuxHttpServer}: one line for every
+ * request handled by the server, holding the client's address, the method and
+ * path of the request, the status and size (in bytes) of the response, and how
+ * long the request took (in microseconds):
+ * 
+ * <pre>
+ * 127.0.0.1 - - [19/Oct/2026:14:02:11 +0200] "GET /index.html" 200 5120 843
+ * </pre>
+ * 
+ * Client threads only hand the values of their request to the log through a
+ * lock-free {@link RingBuffer}. A background thread formats the lines and
+ * writes them through a large buffer to a {@link FileChannel}, once per batch.
+ * <p>
+ * The file is rotated once it grows past its maximum size, and (if enabled)
+ * whenever the day changes. Rotated files are renamed after the day they cover
+ * (e.g. {@code access-2026-10-19.log}, then {@code access-2026-10-19.1.log})
+ * and may be compressed with gzip in the background.
+ */
+public class PolinuxAccessLog implements Runnable {
+
+	/**
+	 * Represents how many requests may wait to be written before new requests
+	 * are left out of the log.
+	 */
+	public static final int DEFAULT_CAPACITY = 16384;
+
+	/**
+	 * Represents the size of the buffer lines are gathered in before being
+	 * written to the file.
+	 */
+	public static final int BUFFER_SIZE = 256 * 1024;
+
+	/**
+	 * Represents a request waiting to be written.
+	 */
+	protected static final class Entry {
+		final InetAddress address;
+		final String method, path;
+		final int status;
+		final long bytes, micros, time;
+
+		Entry(InetAddress address, String method, String path, int status, long bytes, long micros, long time) {
+			this.address = address;
+			this.method = method;
+			this.path = path;
+			this.status = status;
+			this.bytes = bytes;
+			this.micros = micros;
+			this.time = time;
+		}
+	}
+
+	/**
+	 * The {@link java.lang.Thread} linked to this log.
+	 */
+	protected Thread t;
+
+	/**
+	 * The {@link PolinuxHttpServer} linked to this log.
+	 */
+	protected transient final PolinuxHttpServer server;
+
+	/**
+	 * Whether the thread is currently enabled.
+	 */
+	protected volatile boolean enabled = false;
+
+	/**
+	 * Whether the thread is waiting for requests.
+	 */
+	protected volatile boolean waiting = false;
+
+	/**
+	 * The requests waiting to be written.
+	 */
+	protected final RingBuffer<Entry> entries;
+
+	/**
+	 * The amount of requests left out of the log since last reported.
+	 */
+	protected final AtomicLong dropped = new AtomicLong();
+
+	protected final File file;
+	protected final long maxSize;
+	protected final boolean rotateDaily, compress;
+
+	/* Only used by the writer thread */
+	private FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final StringBuilder line = new StringBuilder(256);
+	private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MMM/yyyy:HH:mm:ss Z", Locale.US);
+	private long size, day = Long.MIN_VALUE, second = Long.MIN_VALUE;
+	private String date;
+
+	/**
+	 * Constructs a {@code PolinuxAccessLog}. Note that this constructor alone
+	 * will not start the log. {@link #execute()} must explicitly be called to
+	 * start it.
+	 * 
+	 * @param server      The {@link PolinuxHttpServer} this log is running off.
+	 * @param file        The file requests are written to.
+	 * @param maxSize     The size (in bytes) past which the file is rotated,
+	 *                    {@code 0} to never rotate it by size.
+	 * @param rotateDaily Whether to rotate the file whenever the day changes.
+	 * @param compress    Whether to compress rotated files with gzip.
+	 */
+	public PolinuxAccessLog(final PolinuxHttpServer server, final File file, long maxSize, boolean rotateDaily,
+			boolean compress) {
+		this.server = server;
+		this.file = file.getAbsoluteFile();
+		this.maxSize = maxSize;
+		this.rotateDaily = rotateDaily;
+		this.compress = compress;
+		this.entries = new RingBuffer<Entry>(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Opens the file and starts the access log.
+	 * 
+	 * @throws PolinuxHttpServerRuntimeException If the log has already been
+	 *                                           started, or if its file cannot be
+	 *                                           opened.
+	 */
+	public synchronized void execute() throws PolinuxHttpServerRuntimeException {
+		if (t != null) {
+			throw new PolinuxHttpServerRuntimeException(this.server,
+					"Cannot start two instances of the same PolinuxAccessLog");
+		}
+
+		try {
+			if (this.file.getParentFile() != null)
+				this.file.getParentFile().mkdirs();
+			this.open();
+			if (this.size > 0)
+				this.day = this.dayOf(this.file.lastModified());
+		} catch (IOException e) {
+			throw new PolinuxHttpServerRuntimeException(this.server,
+					"Could not open access log " + this.file.getPath(), e);
+		}
+
+		t = new Thread(this, "Polinux Access Log");
+		t.setDaemon(true);
+		enabled = true;
+		t.start();
+	}
+
+	/**
+	 * Adds a request to the log. Called by client threads once a request has been
+	 * answered; only stores the values, which are formatted by the log's own
+	 * thread.
+	 * 
+	 * @param address The address of the client.
+	 * @param method  The method of the request.
+	 * @param path    The path of the request.
+	 * @param status  The status of the response.
+	 * @param bytes   The size of the response, in bytes, {@code -1} if unknown.
+	 * @param micros  How long the request took, in microseconds.
+	 */
+	public void log(InetAddress address, String method, String path, int status, long bytes, long micros) {
+		if (!enabled)
+			return;
+
+		if (!entries.offer(new Entry(address, method, path, status, bytes, micros, System.currentTimeMillis()))) {
+			dropped.incrementAndGet();
+			return;
+		}
+
+		if (waiting)
+			LockSupport.unpark(t);
+	}
+
+	/**
+	 * Invokes the run method. {@link #execute()} should be invoked rather than this
+	 * method, since it runs the log on the current thread.
+	 * 
+	 * @deprecated {@link #execute()} should be used instead.
+	 */
+	@Deprecated
+	@Override
+	public void run() {
+		while (this.isEnabled()) {
+			if (this.drain() == 0) {
+				waiting = true;
+				if (entries.isEmpty() && this.isEnabled())
+					LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+				waiting = false;
+			}
+		}
+
+		// Requests answered before the log was closed
+		this.drain();
+
+		try {
+			this.channel.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Writes every request currently waiting.
+	 * 
+	 * @return The amount of requests written.
+	 */
+	private int drain() {
+		int count = 0;
+
+		try {
+			Entry e;
+			while ((e = entries.poll()) != null) {
+				this.append(e);
+				count++;
+			}
+
+			final long lost = dropped.getAndSet(0);
+			if (lost > 0)
+				this.server.getLogger().logWarn(lost + " requests were left out of the access log");
+
+			this.flush();
+		} catch (IOException e) {
+			this.server.getLogger().logError("Could not write to access log " + this.file.getPath() + ": "
+					+ e.getMessage());
+		}
+
+		return count;
+	}
+
+	private void append(final Entry e) throws IOException {
+		final long day = this.dayOf(e.time);
+
+		if (this.day != day) {
+			if (this.rotateDaily && this.size > 0)
+				this.rotate();
+			this.day = day;
+		}
+
+		final byte[] bytes = this.format(e).getBytes(StandardCharsets.UTF_8);
+
+		if (this.maxSize > 0 && this.size > 0 && this.size + bytes.length > this.maxSize)
+			this.rotate();
+
+		if (bytes.length > buffer.remaining())
+			this.flush();
+
+		if (bytes.length > buffer.capacity())
+			this.channel.write(ByteBuffer.wrap(bytes));
+		else
+			buffer.put(bytes);
+
+		this.size += bytes.length;
+	}
+
+	private String format(final Entry e) {
+		final StringBuilder b = this.line;
+		b.setLength(0);
+
+		b.append(e.address == null ? "-" : e.address.getHostAddress()).append(" - - [").append(this.date(e.time))
+				.append("] \"");
+		escape(b, e.method);
+		b.append(' ');
+		escape(b, e.path);
+		b.append("\" ").append(e.status).append(' ');
+
+		if (e.bytes < 0)
+			b.append('-');
+		else
+			b.append(e.bytes);
+
+		return b.append(' ').append(e.micros).append('\n').toString();
+	}
+
+	/**
+	 * Appends a value of the request, escaping the characters that could break
+	 * the line apart.
+	 */
+	private static void escape(final StringBuilder b, final String s) {
+		if (s == null) {
+			b.append('-');
+			return;
+		}
+
+		for (int i = 0; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			if (c < 0x20 || c == 0x7F || c == '"' || c == '\\') {
+				b.append("\\x").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+			} else {
+				b.append(c);
+			}
+		}
+	}
+
+	/**
+	 * Formats the underlying time, reusing the last formatted second.
+	 */
+	private String date(long time) {
+		final long second = Math.floorDiv(time, 1000L);
+
+		if (second != this.second) {
+			this.date = this.dateFormat.format(new Date(time));
+			this.second = second;
+		}
+
+		return this.date;
+	}
+
+	private long dayOf(long time) {
+		return Math.floorDiv(time + TimeZone.getDefault().getOffset(time), TimeUnit.DAYS.toMillis(1));
+	}
+
+	private void flush() throws IOException {
+		// The file could not be reopened by the last rotation
+		if (!this.channel.isOpen())
+			this.open();
+
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining())
+				this.channel.write(buffer);
+		} finally {
+			// Lines which could not be written are dropped, not written again
+			buffer.clear();
+		}
+	}
+
+	private void open() throws IOException {
+		this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+		this.size = this.channel.size();
+	}
+
+	/**
+	 * Renames the current file after the day it covers and starts a new one.
+	 */
+	private void rotate() throws IOException {
+		this.flush();
+		this.channel.close();
+
+		final File rotated = this.rotatedFile();
+		boolean moved = false;
+
+		try {
+			Files.move(this.file.toPath(), rotated.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			moved = true;
+		} finally {
+			// The current file is kept if it could not be renamed
+			this.open();
+		}
+
+		if (moved && this.compress)
+			compressInBackground(rotated);
+	}
+
+	private File rotatedFile() {
+		final String name = this.file.getName();
+		final int dot = name.lastIndexOf('.');
+		final String base = dot > 0 ? name.substring(0, dot) : name;
+		final String extension = dot > 0 ? name.substring(dot) : "";
+
+		final SimpleDateFormat dayFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+		final long midnight = TimeUnit.DAYS.toMillis(this.day);
+		final String day = dayFormat.format(new Date(midnight - TimeZone.getDefault().getOffset(midnight)));
+
+		for (int i = 0;; i++) {
+			final File f = new File(this.file.getParentFile(),
+					base + "-" + day + (i == 0 ? "" : "." + i) + extension);
+			if (!f.exists() && !new File(f.getPath() + ".gz").exists())
+				return f;
+		}
+	}
+
+	/**
+	 * Compresses a rotated file with gzip on a separate thread, so writing new
+	 * requests never waits for it.
+	 */
+	private void compressInBackground(final File rotated) {
+		final Thread compressor = new Thread("Polinux Access Log Compressor") {
+			@Override
+			public void run() {
+				final File gz = new File(rotated.getPath() + ".gz");
+				try (InputStream in = new FileInputStream(rotated);
+						OutputStream out = new GZIPOutputStream(new FileOutputStream(gz), 64 * 1024)) {
+					final byte[] b = new byte[64 * 1024];
+					int read;
+					while ((read = in.read(b)) != -1)
+						out.write(b, 0, read);
+				} catch (IOException e) {
+					gz.delete();
+					server.getLogger().logError("Could not compress access log " + rotated.getPath() + ": "
+							+ e.getMessage());
+					return;
+				}
+				rotated.delete();
+			}
+		};
+		compressor.setDaemon(true);
+		compressor.start();
+	}
+
+	/**
+	 * Stops the access log once every waiting request has been written. After
+	 * execution of this method, this class may be disposed of (should
+	 * <i>never</i> be used again).
+	 */
+	public void close() {
+		final Thread writer;
+
+		synchronized (this) {
+			this.enabled = false;
+			writer = t;
+		}
+
+		if (writer == null)
+			return;
+
+		LockSupport.unpark(writer);
+
+		try {
+			writer.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Gets whether the access log is currently enabled.
+	 * 
+	 * @return {@code True} if the access log is currently enabled, {@code false}
+	 *         otherwise.
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * Retrieves the {@link PolinuxHttpServer} linked to this access log.
+	 * 
+	 * @return The linked {@link PolinuxHttpServer}.
+	 */
+	public PolinuxHttpServer getServer() {
+		return this.server;
+	}
+
+	/**
+	 * Retrieves the file requests are currently written to.
+	 * 
+	 * @return The file of the access log.
+	 */
+	public File getFile() {
+		return this.file;
+	}
+
+}
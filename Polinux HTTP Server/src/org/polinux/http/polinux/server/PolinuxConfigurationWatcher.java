@@ -0,0 +1,204 @@
+package org.polinux.http.polinux.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+import org.polinux.configuration.server.PolinuxHttpServerConfiguration;
+import org.polinux.configuration.server.PolinuxHttpServerConfiguration.PolinuxServerConfigurationException;
+import org.polinux.exceptions.http.polinux.PolinuxHttpServerRuntimeException;
+
+/**
+ * Represents the background thread of a {@link PolinuxHttpServer} that
+ * {@link PolinuxHttpServer#reload() reloads} the server's configuration
+ * whenever its file is changed.
+ * <p>
+ * Editors often write a file in several steps, so changes are only acted upon
+ * once the file has been left alone for {@link #SETTLE_DELAY} milliseconds. A
+ * configuration that fails to reload is reported and the current settings are
+ * kept.
+ * 
+ * @see PolinuxHttpServerConfiguration#reload()
+ */
+public class PolinuxConfigurationWatcher implements Runnable {
+
+	/**
+	 * Represents how long (in milliseconds) the configuration file must stay
+	 * unchanged before it is reloaded.
+	 */
+	public static final long SETTLE_DELAY = 250L;
+
+	/**
+	 * The {@link java.lang.Thread} linked to this watcher.
+	 */
+	protected Thread t;
+
+	/**
+	 * The {@link WatchService} listening to the folder of the configuration file.
+	 */
+	protected WatchService watchService;
+
+	/**
+	 * The {@link PolinuxHttpServer} linked to this watcher.
+	 */
+	protected transient final PolinuxHttpServer server;
+
+	/**
+	 * Whether the thread is currently enabled.
+	 */
+	protected volatile boolean enabled = false;
+
+	/**
+	 * Constructs a {@code PolinuxConfigurationWatcher}. Note that this constructor
+	 * alone will not start the watcher. {@link #execute()} must explicitly be
+	 * called to start it.
+	 * 
+	 * @param server The {@link PolinuxHttpServer} this watcher is running off.
+	 */
+	public PolinuxConfigurationWatcher(final PolinuxHttpServer server) {
+		this.server = server;
+	}
+
+	/**
+	 * Starts the configuration watcher.
+	 * 
+	 * @throws PolinuxHttpServerRuntimeException If the watcher has already been
+	 *                                           started, or if the folder of the
+	 *                                           configuration file cannot be
+	 *                                           watched.
+	 */
+	public synchronized void execute() throws PolinuxHttpServerRuntimeException {
+		if (t != null) {
+			throw new PolinuxHttpServerRuntimeException(this.server,
+					"Cannot start two instances of the same PolinuxConfigurationWatcher");
+		}
+
+		try {
+			this.watchService = FileSystems.getDefault().newWatchService();
+			this.getFolder().register(this.watchService, StandardWatchEventKinds.ENTRY_MODIFY,
+					StandardWatchEventKinds.ENTRY_CREATE);
+		} catch (IOException e) {
+			throw new PolinuxHttpServerRuntimeException(this.server, e.getMessage(), e);
+		}
+
+		t = new Thread(this, "Polinux Configuration Watcher");
+		t.setDaemon(true);
+		enabled = true;
+		t.start();
+	}
+
+	/**
+	 * Invokes the run method. {@link #execute()} should be invoked rather than this
+	 * method, since it runs the watcher on the current thread.
+	 * 
+	 * @deprecated {@link #execute()} should be used instead.
+	 */
+	@Deprecated
+	@Override
+	public void run() {
+		final Path fileName = this.getFile().toPath().getFileName();
+
+		while (this.isEnabled()) {
+			try {
+				WatchKey key = this.watchService.take();
+
+				boolean changed = false;
+
+				// Keep draining events until the file has settled
+				while (key != null) {
+					for (WatchEvent<?> event : key.pollEvents()) {
+						if (fileName.equals(event.context()))
+							changed = true;
+					}
+
+					if (!key.reset())
+						return;
+
+					key = changed ? this.watchService.poll(SETTLE_DELAY, TimeUnit.MILLISECONDS) : null;
+				}
+
+				if (changed)
+					this.reload();
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Reloads the configuration of the {@link #getServer() server}, logging the
+	 * reason if it fails.
+	 */
+	protected void reload() {
+		try {
+			this.server.reload();
+		} catch (PolinuxServerConfigurationException | RuntimeException e) {
+			this.server.getLogger().logError("Could not reload configuration, keeping the current settings: "
+					+ (e.getCause() != null ? e.getMessage() + " (" + e.getCause().getMessage() + ")" : e.getMessage()));
+		}
+	}
+
+	/**
+	 * Stops the configuration watcher. After execution of this method, this class
+	 * may be disposed of (should <i>never</i> be used again).
+	 */
+	public synchronized void close() {
+		this.enabled = false;
+		if (t != null) {
+			t.interrupt();
+			t = null;
+		}
+		if (this.watchService != null) {
+			try {
+				this.watchService.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Gets whether the configuration watcher is currently enabled.
+	 * 
+	 * @return {@code True} if the watcher is currently enabled, {@code false}
+	 *         otherwise.
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * Retrieves the {@link PolinuxHttpServer} linked to this watcher.
+	 * 
+	 * @return The linked {@link PolinuxHttpServer}.
+	 */
+	public PolinuxHttpServer getServer() {
+		return this.server;
+	}
+
+	/**
+	 * Retrieves the configuration file being watched.
+	 * 
+	 * @return The configuration file of the {@link #getServer() server}.
+	 */
+	protected File getFile() {
+		return this.server.getConfiguration().getFile().getAbsoluteFile();
+	}
+
+	/**
+	 * Retrieves the folder holding the configuration file.
+	 * 
+	 * @return The folder being watched.
+	 */
+	protected Path getFolder() {
+		return this.getFile().getParentFile().toPath();
+	}
+
+}
@@ -12,16 +12,25 @@ import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+import org.polinux.configuration.server.PolinuxHttpServerSettings;
 import org.polinux.exceptions.http.polinux.PolinuxHttpServerRuntimeException;
 import org.polinux.http.HttpClientThread;
 import org.polinux.http.HttpServer;
+import org.polinux.http.HttpServerMetrics;
+import org.polinux.http.HttpServerMetrics.Route;
 import org.polinux.http.HttpServerRequest;
 import org.polinux.http.HttpServerResponse;
+import org.polinux.http.polinux.jfr.PolinuxFlightRecorder;
 import org.polinux.http.polinux.servlet.PolinuxHttpServerRequest;
 import org.polinux.http.polinux.servlet.PolinuxHttpServerResponse;
+import org.polinux.http.polinux.server.PolinuxRequestTiming.Phase;
 import org.polinux.http.polinux.servlet.PolinuxHttpServlet;
+import org.polinux.http.polinux.servlet.PolinuxHttpServletHolder;
+import org.polinux.http.polinux.session.PolinuxHttpSession;
 import org.polinux.https.HttpsServer;
 import org.polinux.https.polinux.server.PolinuxHttpsClientThread;
+import org.polinux.logging.Logger;
+import org.polinux.utils.io.CountingOutputStream;
 import org.polinux.utils.io.InputStreamReader;
 import org.polinux.web.PolinuxWebApplication;
 
@@ -48,7 +57,7 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 	/**
 	 * The {@link java.lang.Thread} linked to this server thread.
 	 */
-	protected transient Thread t;
+	protected transient volatile Thread t;
 
 	/**
 	 * The {@link PolinuxHttpServerThread} linked to this server thread. Cannot be
@@ -67,6 +76,13 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 	 */
 	protected volatile boolean enabled = false;
 
+	/**
+	 * Whether the request of the connection has been read and is being answered.
+	 * Connections which have not sent their request yet are idle, and can be
+	 * closed right away when the server stops.
+	 */
+	protected volatile boolean answering = false;
+
 	/**
 	 * Default speed for how much bytes should be read at a time when processing an
 	 * Http Request.
@@ -84,6 +100,12 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 	 */
 	protected org.polinux.logging.Logger logger = PolinuxHttpServer.HTTP_LOGGER;
 
+	/**
+	 * The {@link PolinuxRequestTiming phases} of the request being answered,
+	 * {@code null} if request timing is disabled. Reset for every request.
+	 */
+	protected PolinuxRequestTiming timing;
+
 	/**
 	 * Constructs a {@code Polinux HTTP Client Thread}. Note that this constructor
 	 * alone will not start the server. {@link #execute()} must explicitly be called
@@ -176,6 +198,17 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 		return this.serverThread;
 	}
 
+	/**
+	 * Retrieves the {@link PolinuxRequestTiming phases} of the request currently
+	 * being answered by this client thread.
+	 * 
+	 * @return The phases of the request, {@code null} if request timing is
+	 *         disabled.
+	 */
+	public PolinuxRequestTiming getTiming() {
+		return this.timing;
+	}
+
 	/**
 	 * 
 	 * Invokes the run method. {@link #execute()} should be invoked rather than this
@@ -186,6 +219,16 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 	@Deprecated
 	@Override
 	public void run() {
+		final long start = System.nanoTime();
+		final HttpServerMetrics metrics = this.serverThread.getServer().getMetrics();
+		final PolinuxHttpServerSettings settings = this.serverThread.getServer().getSettings();
+
+		if (settings.isTimingEnabled())
+			this.timing = this.timing == null ? new PolinuxRequestTiming() : this.timing.reset();
+		else
+			this.timing = null;
+
+		metrics.connectionOpened();
 
 		try {
 
@@ -193,16 +236,27 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 			ensureValidSocket();
 
 			final String stringRequest = getRequest(getSocket());
+			if (stringRequest == null) {
+				this.enabled = false;
+				getSocket().close();
+				return;
+			}
+			this.answering = true;
+			mark(Phase.READ);
 
 			PolinuxHttpServerRequest serverRequest = PolinuxHttpServerRequest.parse(this, stringRequest);
+			mark(Phase.PARSE);
+			PolinuxFlightRecorder.requestParsed(serverRequest.getMethod(), serverRequest.getPath(), stringRequest.length(),
+					start);
 
 			PolinuxHttpServerResponse serverResponse = new PolinuxHttpServerResponse(this);
 
-			PrintStream p = new PrintStream(socket.getOutputStream(), true);
+			final CountingOutputStream counter = new CountingOutputStream(socket.getOutputStream());
+			PrintStream p = new PrintStream(counter, true);
 
-			logger.log("REQUEST:" + logger.lineSeperator + stringRequest);
-			logger.log(logger.lineSeperator);
-			logger.log("Params: " + serverRequest.getParameters());
+			logger.log(Logger.LVL_TRACE, "REQUEST:{}{}", logger.lineSeperator, stringRequest);
+			logger.log(Logger.LVL_TRACE, logger.lineSeperator);
+			logger.log(Logger.LVL_TRACE, "Params: {}", serverRequest.getParameters());
 			logger.flush();
 
 			// p.println(serverResponse.asString(logger.lineSeperator));
@@ -214,7 +268,7 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 				this.getSocket().setKeepAlive(true);
 			}
 
-			if (getServerThread().getServer().getConfiguration().isHttpsRedirect()
+			if (getServerThread().getServer().getSettings().isHttpsRedirect()
 					&& (!(getServerThread().getServer() instanceof HttpsServer))) {
 				serverResponse.setStatus(HttpServerResponse.StatusCode.TEMPORARY_REDIRECT);
 				final String protocol = "https";
@@ -240,6 +294,8 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 
 				p.flush();
 				p.close();
+				complete(serverRequest, Route.REDIRECT, serverResponse.getStatus(), stringRequest.length(), counter.getCount(),
+						start);
 				logger.log("Redirected socket " + socket + " to HTTPS server.");
 				logger.flush();
 
@@ -250,12 +306,20 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 			serverResponse.setStatus(200);
 
 			boolean servletFound;
+			Route route = Route.SERVLET;
 
-			try {
-				servletFound = forwardToServlets(serverRequest, serverResponse);
-			} catch (Throwable e) {
-				internalServerError(getSocket(), e);
-				return;
+			if (forwardToMetrics(serverRequest, serverResponse)) {
+				servletFound = true;
+				route = Route.INTERNAL;
+			} else {
+				try {
+					servletFound = forwardToServlets(serverRequest, serverResponse);
+				} catch (Throwable e) {
+					internalServerError(getSocket(), e);
+					complete(serverRequest, Route.SERVLET, HttpServerResponse.StatusCode.INTERNAL_SERVER_ERROR,
+							stringRequest.length(), -1, start);
+					return;
+				}
 			}
 
 			if (!servletFound) {
@@ -264,9 +328,13 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 					fileFound = forwardToFiles(serverRequest, serverResponse);
 				} catch (Throwable e) {
 					internalServerError(getSocket(), e);
+					complete(serverRequest, Route.STATIC, HttpServerResponse.StatusCode.INTERNAL_SERVER_ERROR,
+							stringRequest.length(), -1, start);
 					return;
 				}
 
+				route = fileFound ? Route.STATIC : Route.NOT_FOUND;
+
 				if (!fileFound) {
 
 					serverResponse.setStatus(HttpServerResponse.StatusCode.NOT_FOUND);
@@ -283,22 +351,38 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 
 			}
 
-			if (serverRequest.getSession().isNew()) {
-				serverResponse.addCookie(serverRequest.getSession().getLinkedCookie());
+			if (route != Route.INTERNAL) {
+				if (serverRequest.getSession().isNew()) {
+					serverResponse.addCookie(serverRequest.getSession().getLinkedCookie());
+				}
+
+				persist(serverRequest.getSession());
+			} else if (serverRequest.getSession().isNew()) {
+				// Scrapers do not keep cookies, so every scrape would leave a session behind
+				serverRequest.getSession().invalidate();
 			}
 
 			// serverResponse.getWriter().println(prebuildMessage);
 
+			mark(Phase.DISPATCH);
+
+			if (this.timing != null && settings.isTimingHeader())
+				serverResponse.setHeader("Server-Timing", this.timing.toServerTiming());
+
 			final String resAsString = serverResponse.asString(logger.lineSeperator, true);
+			mark(Phase.SERIALIZE);
 			
-			logger.log("SentBack::::::: ");
-			logger.log(resAsString);
+			logger.log(Logger.LVL_TRACE, "SentBack::::::: ");
+			logger.log(Logger.LVL_TRACE, resAsString);
 			
 			p.println(resAsString);
 
 			p.flush();
 
 			p.close();
+			mark(Phase.WRITE);
+
+			complete(serverRequest, route, serverResponse.getStatus(), stringRequest.length(), counter.getCount(), start);
 
 			this.enabled = false;
 
@@ -550,11 +634,69 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 //			logger.log("IP IS: " + socket.getInetAddress());
 
 		} catch (Exception e) {
-			e.printStackTrace();
+			// Connections closed by abort() fail whatever they were reading or writing
+			if (!this.socket.isClosed())
+				e.printStackTrace();
+		} finally {
+			this.answering = false;
+			metrics.connectionClosed();
 		}
 
 	}
 
+	/**
+	 * Hands the session of the answered request over to the session store, so
+	 * stores keeping sessions outside of memory record its latest attributes.
+	 * 
+	 * @param session The session of the request.
+	 * @see PolinuxHttpSession#persist()
+	 */
+	protected void persist(final PolinuxHttpSession session) {
+		session.persist();
+	}
+
+	/**
+	 * Records the answered request to the server's {@link HttpServerMetrics
+	 * metrics}, and hands it to the server's {@link PolinuxAccessLog}, if it is
+	 * enabled.
+	 * 
+	 * @param request  The answered request.
+	 * @param route    How the request was answered.
+	 * @param status   The status of the response.
+	 * @param bytesIn  The size of the request.
+	 * @param bytesOut The amount of bytes sent back, {@code -1} if unknown.
+	 * @param start    The {@link System#nanoTime() time} the request started being
+	 *                 handled at.
+	 */
+	protected void complete(final PolinuxHttpServerRequest request, Route route, int status, long bytesIn,
+			long bytesOut, long start) {
+		final long micros = (System.nanoTime() - start) / 1000L;
+		final PolinuxHttpServer server = this.getServerThread().getServer();
+
+		server.getMetrics().recordRequest(route, status, bytesIn, bytesOut, micros);
+
+		final PolinuxSlowRequestSampler sampler = server.getSlowRequestSampler();
+
+		if (sampler != null && this.timing != null)
+			sampler.offer(request.getMethod(), request.getPath(), status, this.timing);
+
+		final PolinuxAccessLog accessLog = server.getAccessLog();
+
+		if (accessLog == null)
+			return;
+
+		accessLog.log(this.getSocket().getInetAddress(), request.getMethod(), request.getPath(), status, bytesOut,
+				micros);
+	}
+
+	/**
+	 * Marks the end of a phase of the request, if request timing is enabled.
+	 */
+	private void mark(final Phase phase) {
+		if (this.timing != null)
+			this.timing.mark(phase);
+	}
+
 	private void internalServerError(final Socket socket, final Throwable error) throws IOException {
 		String message = HttpServer.HTTP_VERSION + " " + HttpServerResponse.StatusCode.INTERNAL_SERVER_ERROR
 				+ " Internal Server Error" + logger.lineSeperator;
@@ -620,7 +762,8 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 	 * Retrieves the socket HTTP request.
 	 * 
 	 * @param socket The {@link Socket} through whom the request will be read.
-	 * @return The socket's HTTP request.
+	 * @return The socket's HTTP request, {@code null} if the connection was closed
+	 *         before sending one.
 	 * @throws Exception If an error occurs.
 	 */
 	protected String getRequest(Socket socket) throws Exception {
@@ -648,10 +791,11 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 		final InputStream in = socket.getInputStream();
 		String browserRequest;
 
-		int firstChar;
+		final int firstChar = in.read();
 
-		while ((firstChar = in.read()) == -1) {
-		}
+		// Closed by the client before sending anything
+		if (firstChar == -1)
+			return null;
 
 		browserRequest = String.valueOf((char) firstChar);
 
@@ -754,6 +898,31 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 		return prebuildMessage.toCharArray();
 	}
 
+	/**
+	 * Answers the request with the server's metrics, if they are enabled and the
+	 * request targets the {@link PolinuxHttpServerSettings#getMetricsPath()
+	 * metrics path}.
+	 * 
+	 * @param req The request.
+	 * @param res The response.
+	 * @return {@code True} if the request was answered with the metrics,
+	 *         {@code false} otherwise.
+	 * @throws IOException If the metrics could not be written.
+	 */
+	protected boolean forwardToMetrics(PolinuxHttpServerRequest req, PolinuxHttpServerResponse res)
+			throws IOException {
+		final PolinuxHttpServer server = this.serverThread.getServer();
+		final PolinuxHttpServerSettings settings = server.getSettings();
+
+		if (!settings.isMetricsEnabled() || !settings.getMetricsPath().equals(req.getPath()))
+			return false;
+
+		res.setStatus(HttpServerResponse.StatusCode.OK);
+		res.setContentType(PolinuxMetricsExporter.CONTENT_TYPE);
+		server.getMetricsExporter().writeTo(res.getWriter());
+		return true;
+	}
+
 	/**
 	 * Forwards a request & response to the known servlets.
 	 * 
@@ -767,10 +936,17 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 		final String urlPattern = req.getPath();
 
 		for (PolinuxWebApplication app : apps) {
-			for (PolinuxHttpServlet servlet : app.getServlets()) {
-				for (String url : servlet.getUrlPatterns()) {
+			for (PolinuxHttpServletHolder holder : app.getServletHolders()) {
+				for (String url : holder.getUrlPatterns()) {
 					if (servletURLMatchRequestURL(urlPattern, url, app)) {
+						// Created on its first request if it does not load on startup
+						final PolinuxHttpServlet servlet = holder.getServlet();
+						final String name = holder.getName() == null ? servlet.getClass().getName()
+								: holder.getName();
+						final long start = System.nanoTime();
 						servlet.service(req, res);
+						this.serverThread.server.getMetrics().recordServlet(name, (System.nanoTime() - start) / 1000L);
+						PolinuxFlightRecorder.servletInvoked(name, urlPattern, res.getStatus(), start);
 						found = true;
 					}
 				}
@@ -794,7 +970,7 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 				? newServletPattern.substring(0, newServletPattern.length() - 1)
 				: newServletPattern;
 
-		final String rootName = this.serverThread.server.getConfiguration().getWebsiteRoot().replace("\\", "/");
+		final String rootName = this.serverThread.server.getSettings().getWebsiteRoot().replace("\\", "/");
 		String newRequestPattern = ((rootName.endsWith("/") || rootName.endsWith("\\"))
 				? rootName.substring(0, rootName.length() - 1)
 				: rootName) + requestPattern;
@@ -808,7 +984,7 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 	}
 
 	/* Further checking for servlet URL pattern matching (with asterisks) */
-	private boolean checkURLPatternMatch(String urlPattern, String check) {
+	protected boolean checkURLPatternMatch(String urlPattern, String check) {
 		// What a mess
 
 		final String SLASH = Pattern.quote("/");
@@ -827,9 +1003,6 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 
 		final String[] checkSplit = check.split(SLASH);
 
-		System.out.println(check.length());
-		System.out.println(check);
-
 		if (urlPattern.equalsIgnoreCase("/*/"))
 			return checkSplit.length == 2;
 
@@ -888,16 +1061,17 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 	 * @throws IOException If an I/O error occurs
 	 */
 	protected synchronized boolean forwardToFiles(HttpServerRequest req, HttpServerResponse res) throws IOException {
+		final long start = System.nanoTime();
 		boolean found = false;
 
 		final String httpRequestUrl = req.getPath();
 
 		String finalFileContent = null;
 
-		final String root = this.getServerThread().getServer().getConfiguration().getWebsiteRoot().endsWith("/")
-				? this.getServerThread().getServer().getConfiguration().getWebsiteRoot().substring(0,
-						this.getServerThread().getServer().getConfiguration().getWebsiteRoot().length() - 1)
-				: this.getServerThread().getServer().getConfiguration().getWebsiteRoot();
+		final String root = this.getServerThread().getServer().getSettings().getWebsiteRoot().endsWith("/")
+				? this.getServerThread().getServer().getSettings().getWebsiteRoot().substring(0,
+						this.getServerThread().getServer().getSettings().getWebsiteRoot().length() - 1)
+				: this.getServerThread().getServer().getSettings().getWebsiteRoot();
 
 		File f = new File(root + httpRequestUrl);
 
@@ -940,7 +1114,7 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 
 				File filePathAsFile = app.getParentDirectory();
 
-				File serverDirAsFile = new File(this.getServerThread().getServer().getConfiguration().getWebsiteRoot());
+				File serverDirAsFile = new File(this.getServerThread().getServer().getSettings().getWebsiteRoot());
 
 				if (!filePathAsFile.getAbsolutePath().equals(serverDirAsFile.getAbsolutePath())) {
 					String fileRootAbs = filePathAsFile.getAbsolutePath().replace("\\", "/");
@@ -981,6 +1155,7 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 
 		if (found) {
 			res.getWriter().println(finalFileContent);
+			PolinuxFlightRecorder.staticFileServed(httpRequestUrl, finalFileContent.length(), start);
 		}
 
 		return found;
@@ -989,11 +1164,15 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 	/**
 	 * Closes the current client thread. After execution of this method, this class
 	 * may be disposed of (should <i>never</i> be used again).
+	 * <p>
+	 * Not synchronized, since
+	 * {@link #forwardToServlets(HttpServerRequest, HttpServerResponse)} holds the
+	 * lock of this client thread for as long as a servlet runs.
 	 * 
 	 * @throws PolinuxHttpServerRuntimeException if an I/O error occurs when closing
 	 *                                           the socket
 	 */
-	public synchronized void close() throws PolinuxHttpServerRuntimeException {
+	public void close() throws PolinuxHttpServerRuntimeException {
 		try {
 			this.abort();
 		} catch (PolinuxHttpServerRuntimeException e) {
@@ -1008,24 +1187,79 @@ public class PolinuxHttpClientThread implements HttpClientThread {
 	}
 
 	/**
-	 * Terminates the client thread.
+	 * Terminates the client thread, by closing its connection: whatever the thread
+	 * is reading or writing fails, and the thread ends once it notices. A servlet
+	 * which is not reading or writing is also {@link Thread#interrupt()
+	 * interrupted}, but runs until it returns.
 	 * <p>
-	 * Execution of this method may cause some errors inside code of the server
-	 * (e.g. responses and request are immediately canceled), so it is a good idea
-	 * to make sure everything is safe and can be closed before the execution of
-	 * this method.
+	 * The response being written, if any, is cut short, so it is a good idea to
+	 * {@link #awaitCompletion(long) wait} for the request to be answered before
+	 * the execution of this method.
 	 * 
 	 * @throws PolinuxHttpServerRuntimeException If the server has not yet been
 	 *                                           started.
+	 * @see #close()
 	 */
-	public synchronized void abort() throws PolinuxHttpServerRuntimeException {
+	public void abort() throws PolinuxHttpServerRuntimeException {
+		final Thread t = this.t;
+
 		if (t == null) {
 			throw new PolinuxHttpServerRuntimeException(this.serverThread.server,
 					"Cannot abort PolinuxHttpClientThread that has not started!");
 		}
 		this.enabled = false;
-		t.stop();
-		t = null;
+		this.t = null;
+
+		try {
+			this.socket.close();
+		} catch (IOException e) {
+		}
+		t.interrupt();
+	}
+
+	/**
+	 * Waits for the client thread to answer the request of its connection.
+	 * 
+	 * @param timeout The longest time to wait, in milliseconds. Does not wait if
+	 *                {@code 0} or lower.
+	 * @return {@code True} if the client thread has ended (or has not started),
+	 *         {@code false} if it is still running.
+	 * @throws InterruptedException If the current thread is interrupted while
+	 *                              waiting.
+	 */
+	public boolean awaitCompletion(long timeout) throws InterruptedException {
+		final Thread t = this.t;
+
+		if (t == null)
+			return true;
+		if (timeout > 0)
+			t.join(timeout);
+
+		return !t.isAlive();
+	}
+
+	/**
+	 * Retrieves whether the thread of this client thread is running, i.e. has been
+	 * started and neither ended nor been {@link #abort() aborted}.
+	 * 
+	 * @return {@code True} if the client thread is running, {@code false}
+	 *         otherwise.
+	 */
+	public boolean isRunning() {
+		final Thread t = this.t;
+		return t != null && t.isAlive();
+	}
+
+	/**
+	 * Retrieves whether the request of the connection has been read and is being
+	 * answered. A running client thread which is not answering is waiting for its
+	 * request.
+	 * 
+	 * @return {@code True} if the client thread is answering a request,
+	 *         {@code false} otherwise.
+	 */
+	public boolean isAnswering() {
+		return this.answering;
 	}
 
 	/**
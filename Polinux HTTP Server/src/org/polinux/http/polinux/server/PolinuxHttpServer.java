@@ -10,11 +10,22 @@ import org.polinux.commands.PolinuxCommand;
 import org.polinux.commands.PolinuxCommandManager;
 import org.polinux.configuration.server.HttpServerConfiguration;
 import org.polinux.configuration.server.PolinuxHttpServerConfiguration;
+import org.polinux.configuration.server.PolinuxHttpServerConfiguration.PolinuxServerConfigurationException;
+import org.polinux.configuration.server.PolinuxHttpServerConfigurationListener;
+import org.polinux.configuration.server.PolinuxHttpServerSettings;
 import org.polinux.exceptions.http.HttpRuntimeException;
 import org.polinux.exceptions.http.polinux.PolinuxHttpServerRuntimeException;
 import org.polinux.http.HttpServer;
+import org.polinux.http.HttpServerMetrics;
+import org.polinux.http.polinux.servlet.PolinuxHttpServletHolder;
+import org.polinux.http.polinux.session.PolinuxFileSessionStore;
+import org.polinux.http.polinux.session.PolinuxHttpSession;
+import org.polinux.http.polinux.session.PolinuxHttpSessionCookie;
+import org.polinux.http.polinux.session.PolinuxHttpSessionReaper;
+import org.polinux.http.polinux.session.PolinuxHttpSessionStore;
+import org.polinux.http.polinux.session.PolinuxMemorySessionStore;
 import org.polinux.https.polinux.server.PolinuxHttpsServer;
-import org.polinux.logging.Logger;
+import org.polinux.logging.AsyncLogger;
 import org.polinux.utils.collections.CollectionUtils;
 import org.polinux.web.PolinuxWebApplication;
 
@@ -40,11 +51,62 @@ public class PolinuxHttpServer implements HttpServer {
 	 */
 	protected transient PolinuxCommandManager commandManager;
 
+	/**
+	 * Represents the {@link PolinuxHttpSessionReaper} that discards expired
+	 * sessions for the {@code Polinux HTTP Server}.
+	 */
+	protected transient PolinuxHttpSessionReaper sessionReaper;
+
+	/**
+	 * Represents the {@link PolinuxConfigurationWatcher} that reloads the
+	 * configuration of the {@code Polinux HTTP Server} whenever its file changes.
+	 */
+	protected transient PolinuxConfigurationWatcher configurationWatcher;
+
+	/**
+	 * Represents the {@link PolinuxAccessLog} of the {@code Polinux HTTP Server},
+	 * {@code null} if the access log is disabled.
+	 */
+	protected transient volatile PolinuxAccessLog accessLog;
+
+	/**
+	 * Represents the {@link HttpServerMetrics metrics} of the {@code Polinux HTTP
+	 * Server}.
+	 */
+	protected transient final HttpServerMetrics metrics = new HttpServerMetrics();
+
+	/**
+	 * Represents the {@link PolinuxMetricsExporter} rendering the {@link #metrics}
+	 * of the {@code Polinux HTTP Server} at its metrics path.
+	 */
+	protected transient final PolinuxMetricsExporter metricsExporter = new PolinuxMetricsExporter(this);
+
+	/**
+	 * Represents the {@link PolinuxSlowRequestSampler} logging the slowest requests
+	 * of the {@code Polinux HTTP Server}, {@code null} if request timing is
+	 * disabled or no request is to be logged.
+	 */
+	protected transient volatile PolinuxSlowRequestSampler slowRequestSampler;
+
+	/**
+	 * Represents the {@link PolinuxHttpSessionStore} shared with the other servers
+	 * of the process, {@code null} if the {@code Polinux HTTP Server} creates its
+	 * own store.
+	 */
+	protected transient PolinuxHttpSessionStore sharedSessionStore;
+
+	/**
+	 * Represents the {@link PolinuxHttpSessionStore} created by the
+	 * {@code Polinux HTTP Server}, closed once it shuts down. {@code null} if the
+	 * server uses a {@link #sharedSessionStore shared store} or is not running.
+	 */
+	private transient PolinuxHttpSessionStore sessionStore;
+
 	/**
 	 * Represents the {@link org.polinux.logging.Logger} for the {@code Polinux}
 	 * HTTP API.
 	 */
-	public static final org.polinux.logging.Logger HTTP_LOGGER = new Logger("Polinux HTTP Server", System.err);
+	public static final org.polinux.logging.Logger HTTP_LOGGER = new AsyncLogger("Polinux HTTP Server", System.err);
 	
 	/* Static initialization */
 	static {
@@ -302,11 +364,32 @@ public class PolinuxHttpServer implements HttpServer {
 		ensureValidPort();
 
 		this.commandManager = new PolinuxCommandManager(this);
+		this.sessionReaper = new PolinuxHttpSessionReaper(this);
+		this.configurationWatcher = new PolinuxConfigurationWatcher(this);
+
+		config.addListener(new PolinuxHttpServerConfigurationListener() {
+			@Override
+			public void onReload(PolinuxHttpServerConfiguration config, PolinuxHttpServerSettings previous,
+					PolinuxHttpServerSettings current) {
+				PolinuxHttpServer.this.onReload(previous, current);
+			}
+		});
 
 		if (initThread)
 			this.thread = new PolinuxHttpServerThread(this);
 	}
 
+	/**
+	 * Creates a {@link PolinuxHttpServerBuilder} building a server from a
+	 * configuration held in memory, with servlets and files registered directly,
+	 * for embedding the server inside another program.
+	 * 
+	 * @return A new builder.
+	 */
+	public static PolinuxHttpServerBuilder builder() {
+		return new PolinuxHttpServerBuilder();
+	}
+
 	/**
 	 * Starts the server. It is preferable to make sure all {@code credentials} need
 	 * for the server to start are correct before running this method.
@@ -314,23 +397,209 @@ public class PolinuxHttpServer implements HttpServer {
 	 * @throws PolinuxHttpServerRuntimeException If an error occurs in the server.
 	 */
 	public synchronized void run() throws PolinuxHttpServerRuntimeException {
+		this.getLogger().setLevel(this.getSettings().getLogLevel());
+		if (this.sharedSessionStore == null)
+			this.sessionStore = this.createSessionStore();
+		PolinuxHttpSession.setSessionStore(
+				this.sharedSessionStore != null ? this.sharedSessionStore : this.sessionStore);
+		if (PolinuxHttpSession.getSessionStore() instanceof PolinuxFileSessionStore) {
+			// Restored attributes may be instances of classes of the web applications
+			for (PolinuxWebApplication app : this.getWebApplications()) {
+				for (PolinuxHttpServletHolder holder : app.getServletHolders())
+					((PolinuxFileSessionStore) PolinuxHttpSession.getSessionStore())
+							.addClassLoader(holder.getClassLoader());
+			}
+		}
+		// Ready before the first request is accepted, so none goes unrecorded
+		if (this.getSettings().isAccessLogEnabled())
+			this.openAccessLog(this.getSettings());
+		this.slowRequestSampler = this.createSlowRequestSampler(this.getSettings());
+		final PolinuxWarmup warmup = this.createWarmup(this.getSettings());
+		if (warmup != null)
+			warmup.run();
 		thread.execute();
+		if (this.sessionReaper != null)
+			this.sessionReaper.execute();
+		if (this.configurationWatcher != null && this.getConfiguration().getFile() != null
+				&& this.getSettings().isWatchConfiguration())
+			this.configurationWatcher.execute();
 		if (this.commandManager != null)
 			this.commandManager.execute();
 	}
 
 	/**
-	 * Terminates the server.
+	 * Terminates the server gracefully: stops accepting connections, closes those
+	 * which have not sent their request yet, and waits for the requests being
+	 * answered to be answered, for at most the
+	 * {@link PolinuxHttpServerSettings#getShutdownTimeout() shutdown timeout}.
+	 * Then stops the threads of the server.
 	 * <p>
-	 * Execution of this method may cause some errors inside code of the server
-	 * (e.g. responses and request are immediately canceled), so it is a good idea
-	 * to make sure everything is safe and can be closed before the execution of
-	 * this method.
+	 * Requests taking longer than the shutdown timeout have their connection
+	 * closed, cutting their response short.
 	 * 
 	 * @throws PolinuxHttpServerRuntimeException If an error occurs in the server.
+	 * @see PolinuxHttpServerThread#close(long)
 	 */
 	public synchronized void shutdown() throws PolinuxHttpServerRuntimeException {
+		if (this.configurationWatcher != null)
+			this.configurationWatcher.close();
+		// Requests being answered still use the sessions and the access log
 		thread.close();
+		if (this.sessionReaper != null)
+			this.sessionReaper.close();
+		// A shared store is closed by whoever created it
+		if (this.sessionStore != null) {
+			this.sessionStore.close();
+			this.sessionStore = null;
+		}
+		this.closeAccessLog();
+
+		final PolinuxSlowRequestSampler sampler = this.slowRequestSampler;
+		this.slowRequestSampler = null;
+		if (sampler != null)
+			sampler.report();
+	}
+
+	/**
+	 * Reloads the {@link #getConfiguration() configuration} of this server from its
+	 * file and publishes the new {@link #getSettings() settings}. Requests already
+	 * being handled finish with the settings they started with, and the listening
+	 * socket stays open.
+	 * <p>
+	 * The host, port and backlog the server is bound to cannot be changed this
+	 * way; changing them requires a restart.
+	 * 
+	 * @return The new settings.
+	 * @throws PolinuxServerConfigurationException If the configuration file is
+	 *                                             invalid, in which case the
+	 *                                             current settings are kept.
+	 */
+	public PolinuxHttpServerSettings reload() throws PolinuxServerConfigurationException {
+		final PolinuxHttpServerSettings settings = this.getConfiguration().reload();
+		this.getLogger().log("Reloaded configuration from " + this.getConfiguration().getFile().getPath());
+		return settings;
+	}
+
+	/**
+	 * Called once the {@link #getConfiguration() configuration} of this server has
+	 * been {@link #reload() reloaded}, so that anything built from the previous
+	 * settings can follow the new ones.
+	 * 
+	 * @param previous The settings used before the reload.
+	 * @param current  The settings now in use.
+	 */
+	protected void onReload(PolinuxHttpServerSettings previous, PolinuxHttpServerSettings current) {
+		PolinuxHttpSessionCookie.clearAttributeCache();
+
+		this.getLogger().setLevel(current.getLogLevel());
+
+		if (this.sessionReaper != null && previous.getSessionReaperInterval() != current.getSessionReaperInterval())
+			this.sessionReaper.wake();
+
+		if (previous.isAccessLogEnabled() != current.isAccessLogEnabled()
+				|| !String.valueOf(previous.getAccessLogFile()).equals(String.valueOf(current.getAccessLogFile()))
+				|| previous.getAccessLogMaxSize() != current.getAccessLogMaxSize()
+				|| previous.isAccessLogRotateDaily() != current.isAccessLogRotateDaily()
+				|| previous.isAccessLogCompress() != current.isAccessLogCompress()) {
+			this.closeAccessLog();
+			if (current.isAccessLogEnabled())
+				this.openAccessLog(current);
+		}
+
+		if (previous.isTimingEnabled() != current.isTimingEnabled()
+				|| previous.getTimingLogSlowest() != current.getTimingLogSlowest()
+				|| previous.getTimingLogInterval() != current.getTimingLogInterval())
+			this.slowRequestSampler = this.createSlowRequestSampler(current);
+
+		if (!String.valueOf(previous.getHost()).equals(String.valueOf(current.getHost()))
+				|| !String.valueOf(previous.getPort()).equals(String.valueOf(current.getPort()))
+				|| previous.getBacklog() != current.getBacklog())
+			this.getLogger().logWarn("Changes to the host, port or backlog take effect after a restart");
+
+		if (!String.valueOf(previous.getSessionStore()).equals(String.valueOf(current.getSessionStore()))
+				|| !String.valueOf(previous.getSessionStoreFile())
+						.equals(String.valueOf(current.getSessionStoreFile())))
+			this.getLogger().logWarn("Changes to the session store take effect after a restart");
+	}
+
+	/**
+	 * Opens the {@link PolinuxAccessLog access log} described by the underlying
+	 * settings. Failing to open it is logged rather than stopping the server.
+	 * 
+	 * @param settings The settings holding the access log's file and rotation.
+	 */
+	protected synchronized void openAccessLog(PolinuxHttpServerSettings settings) {
+		final PolinuxAccessLog log = new PolinuxAccessLog(this, new File(settings.getAccessLogFile()),
+				settings.getAccessLogMaxSize() * 1024L * 1024L, settings.isAccessLogRotateDaily(),
+				settings.isAccessLogCompress());
+
+		try {
+			log.execute();
+		} catch (PolinuxHttpServerRuntimeException e) {
+			this.getLogger().logError(e.getMessage());
+			return;
+		}
+
+		this.accessLog = log;
+	}
+
+	/**
+	 * Closes the {@link PolinuxAccessLog access log}, if it is open, once every
+	 * request waiting to be written has been written.
+	 */
+	protected synchronized void closeAccessLog() {
+		final PolinuxAccessLog log = this.accessLog;
+		this.accessLog = null;
+
+		if (log != null)
+			log.close();
+	}
+
+	/**
+	 * Creates the {@link PolinuxSlowRequestSampler} described by the underlying
+	 * settings.
+	 * 
+	 * @param settings The settings holding the request timing settings.
+	 * @return The sampler, {@code null} if request timing is disabled or no
+	 *         request is to be logged.
+	 */
+	protected PolinuxSlowRequestSampler createSlowRequestSampler(PolinuxHttpServerSettings settings) {
+		if (!settings.isTimingEnabled() || settings.getTimingLogSlowest() <= 0)
+			return null;
+
+		return new PolinuxSlowRequestSampler(this, settings.getTimingLogSlowest(), settings.getTimingLogInterval());
+	}
+
+	/**
+	 * Creates the {@link PolinuxWarmup} described by the underlying settings, run
+	 * before the server accepts connections.
+	 * 
+	 * @param settings The settings holding the warm-up settings.
+	 * @return The warm-up, {@code null} if the warm-up is disabled.
+	 */
+	protected PolinuxWarmup createWarmup(PolinuxHttpServerSettings settings) {
+		if (!settings.isWarmupEnabled())
+			return null;
+
+		return new PolinuxWarmup(this, settings.getWarmupIterations(), settings.getWarmupTimeLimit(),
+				settings.getWarmupSample());
+	}
+
+	/**
+	 * Creates the {@link PolinuxHttpSessionStore} to keep sessions in, according
+	 * to the {@link PolinuxHttpServerConfiguration#getSessionStore() session store}
+	 * set inside the configuration.
+	 * 
+	 * @return The session store for this server.
+	 * @see #setSharedSessionStore(PolinuxHttpSessionStore)
+	 */
+	public PolinuxHttpSessionStore createSessionStore() {
+		if ("file".equalsIgnoreCase(this.getConfiguration().getSessionStore())) {
+			return new PolinuxFileSessionStore(this.getConfiguration(),
+					new File(this.getConfiguration().getSessionStoreFile().replace("\\", "/")));
+		}
+
+		return new PolinuxMemorySessionStore();
 	}
 
 	/**
@@ -345,7 +614,7 @@ public class PolinuxHttpServer implements HttpServer {
 	 */
 	public String getHost() throws PolinuxHttpServerRuntimeException {
 		ensureValidHost();
-		return this.getConfiguration().getHost();
+		return this.getSettings().getHost();
 	}
 
 	/**
@@ -360,7 +629,23 @@ public class PolinuxHttpServer implements HttpServer {
 	 */
 	public int getPort() throws PolinuxHttpServerRuntimeException {
 		ensureValidPort();
-		return this.getConfiguration().getPort();
+		return this.getSettings().getPort();
+	}
+
+	/**
+	 * Retrieves the port the current server is actually bound to, which differs
+	 * from its {@link #getPort() configured port} when the latter is {@code 0}
+	 * (an ephemeral port).
+	 * 
+	 * @return The bound port, {@code -1} if the server is not bound.
+	 */
+	public int getLocalPort() {
+		final PolinuxHttpServerThread thread = this.getServerThread();
+
+		if (thread == null || thread.getServerSocket() == null)
+			return -1;
+
+		return thread.getServerSocket().getLocalPort();
 	}
 
 	/**
@@ -442,6 +727,18 @@ public class PolinuxHttpServer implements HttpServer {
 		return this.config;
 	}
 
+	/**
+	 * Retrieves the current {@link PolinuxHttpServerSettings snapshot} of the
+	 * {@link #getConfiguration() configuration} for this server. Code running for
+	 * every request should read settings from here rather than from the
+	 * configuration itself.
+	 * 
+	 * @return The current settings for the server.
+	 */
+	public PolinuxHttpServerSettings getSettings() throws PolinuxHttpServerRuntimeException {
+		return this.getConfiguration().getSettings();
+	}
+
 	/**
 	 * Initializes the {@code PolinuxHttpServer}. This method is {@code required}
 	 * and must be called before {@link #run()} in order for the server to work
@@ -538,7 +835,7 @@ public class PolinuxHttpServer implements HttpServer {
 	 */
 	@Override
 	public int getBacklog() throws PolinuxHttpServerRuntimeException {
-		return this.getConfiguration().getBacklog();
+		return this.getSettings().getBacklog();
 	}
 
 	/**
@@ -574,6 +871,69 @@ public class PolinuxHttpServer implements HttpServer {
 		return this.commandManager;
 	}
 
+	/**
+	 * Retrieves the {@link PolinuxHttpSessionReaper} that discards expired
+	 * sessions for the current {@code Polinux HTTP server}.
+	 * 
+	 * @return The server's session reaper.
+	 */
+	public PolinuxHttpSessionReaper getSessionReaper() {
+		return this.sessionReaper;
+	}
+
+	/**
+	 * Retrieves the {@link PolinuxConfigurationWatcher} that reloads the
+	 * configuration of the current {@code Polinux HTTP server} whenever its file
+	 * changes.
+	 * 
+	 * @return The server's configuration watcher.
+	 */
+	public PolinuxConfigurationWatcher getConfigurationWatcher() {
+		return this.configurationWatcher;
+	}
+
+	/**
+	 * Retrieves the {@link PolinuxAccessLog} requests to the current
+	 * {@code Polinux HTTP server} are written to.
+	 * 
+	 * @return The server's access log, {@code null} if it is disabled.
+	 */
+	public PolinuxAccessLog getAccessLog() {
+		return this.accessLog;
+	}
+
+	/**
+	 * Retrieves the {@link HttpServerMetrics metrics} of the current
+	 * {@code Polinux HTTP server}: requests, bytes, open connections, status
+	 * classes and latencies per route and per servlet.
+	 * 
+	 * @return The server's metrics.
+	 */
+	public HttpServerMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Retrieves the {@link PolinuxMetricsExporter} rendering the metrics of the
+	 * current {@code Polinux HTTP server} in the Prometheus text format.
+	 * 
+	 * @return The server's metrics exporter.
+	 */
+	public PolinuxMetricsExporter getMetricsExporter() {
+		return this.metricsExporter;
+	}
+
+	/**
+	 * Retrieves the {@link PolinuxSlowRequestSampler} logging the slowest requests
+	 * to the current {@code Polinux HTTP server}.
+	 * 
+	 * @return The server's slow request sampler, {@code null} if request timing is
+	 *         disabled or no request is to be logged.
+	 */
+	public PolinuxSlowRequestSampler getSlowRequestSampler() {
+		return this.slowRequestSampler;
+	}
+
 	/**
 	 * Sets the {@link PolinuxCommandManager} for the current
 	 * {@code Polinux HTTP server}.
@@ -586,6 +946,20 @@ public class PolinuxHttpServer implements HttpServer {
 			this.commandManager = commandManager;
 	}
 
+	/**
+	 * Makes the current {@code Polinux HTTP server} keep its sessions inside a
+	 * {@link PolinuxHttpSessionStore} shared with the other servers of the
+	 * process, rather than create its own. The shared store is not closed when the
+	 * server shuts down; whoever created it closes it once every server using it
+	 * has shut down. Must be called before the server {@link #run() runs}.
+	 * 
+	 * @param sessionStore The shared store, {@code null} for the server to create
+	 *                     its own.
+	 */
+	public void setSharedSessionStore(PolinuxHttpSessionStore sessionStore) {
+		this.sharedSessionStore = sessionStore;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,334 @@
+package org.polinux.http.polinux.server;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.polinux.configuration.server.PolinuxHttpServerConfiguration;
+import org.polinux.configuration.servlet.PolinuxHttpServletConfiguration;
+import org.polinux.configuration.webapp.PolinuxWebApplicationConfiguration;
+import org.polinux.exceptions.http.polinux.PolinuxHttpServerRuntimeException;
+import org.polinux.http.polinux.servlet.PolinuxHttpServlet;
+import org.polinux.logging.Logger;
+import org.polinux.web.PolinuxWebApplication;
+
+/**
+ * Builds a {@link PolinuxHttpServer} embedded inside another program, from a
+ * configuration held in memory rather than a {@code configuration.yml} on disk.
+ * <p>
+ * Servlets and static files are registered directly, without packaging them
+ * inside a {@code .pwa} file, and nothing is written to disk: no configuration
+ * file, no website root and no console reading commands from
+ * {@link System#in}. The server binds an ephemeral port unless told otherwise;
+ * the port actually bound is given by {@link PolinuxHttpServer#getLocalPort()}.
+ * 
+ * <pre>
+ * final PolinuxHttpServer server = PolinuxHttpServer.builder()
+ * 		.servlet("hello", new HelloServlet(), "/hello")
+ * 		.file("/index.html", "&lt;p&gt;Hello&lt;/p&gt;")
+ * 		.start();
+ * 
+ * final int port = server.getLocalPort();
+ * </pre>
+ * 
+ * @see PolinuxHttpServer#builder()
+ */
+public class PolinuxHttpServerBuilder {
+
+	/**
+	 * Represents the root, inside the embedded web application, of the files
+	 * registered through {@link #file(String, String)}.
+	 */
+	private static final String EMBEDDED_ROOT = "embedded";
+
+	/**
+	 * Represents the {@code web} section of the configuration being built.
+	 */
+	protected final Map<String, Object> web = new LinkedHashMap<String, Object>();
+
+	/**
+	 * Represents the servlets to register, by name.
+	 */
+	protected final Map<String, PolinuxHttpServlet> servlets = new LinkedHashMap<String, PolinuxHttpServlet>();
+
+	/**
+	 * Represents the URL patterns of every servlet to register, by name.
+	 */
+	protected final Map<String, List<String>> urlPatterns = new LinkedHashMap<String, List<String>>();
+
+	/**
+	 * Represents the static files to serve, by path.
+	 */
+	protected final Map<String, String> files = new LinkedHashMap<String, String>();
+
+	/**
+	 * Represents the files served for a request to a folder.
+	 */
+	protected final List<String> welcomeFiles = new ArrayList<String>(Arrays.asList("index.html", "index.htm"));
+
+	/**
+	 * Represents whether {@code .pwa} files are loaded from the website root.
+	 */
+	protected boolean loadWebApplications = false;
+
+	/**
+	 * Represents whether commands are read from {@link System#in}.
+	 */
+	protected boolean console = false;
+
+	/**
+	 * Constructs a {@code PolinuxHttpServerBuilder} for a server bound to an
+	 * ephemeral port of the loopback address, without watching any configuration
+	 * file.
+	 * 
+	 * @see PolinuxHttpServer#builder()
+	 */
+	public PolinuxHttpServerBuilder() {
+		this.host(PolinuxHttpServer.DEFAULT_HOST);
+		this.port(0);
+		this.set("http.enabled", true);
+		this.set("watch-configuration", false);
+	}
+
+	/**
+	 * Sets the host the server binds.
+	 * 
+	 * @param host The host of the server. Cannot be {@code null}.
+	 * @return This builder.
+	 */
+	public PolinuxHttpServerBuilder host(String host) {
+		if (host == null)
+			throw new PolinuxHttpServerRuntimeException(null, "Cannot build PolinuxHttpServer with null host");
+		return this.set("host", host);
+	}
+
+	/**
+	 * Sets the port the server binds, {@code 0} (the default) for an ephemeral
+	 * port.
+	 * 
+	 * @param port The port of the server.
+	 * @return This builder.
+	 * @see PolinuxHttpServer#getLocalPort()
+	 */
+	public PolinuxHttpServerBuilder port(int port) {
+		if (port < PolinuxHttpServer.PORT_MIN || port > PolinuxHttpServer.PORT_MAX)
+			throw new PolinuxHttpServerRuntimeException(null, "Invalid port for server: " + port);
+		return this.set("http.port", port);
+	}
+
+	/**
+	 * Sets how many connections the server can receive at once.
+	 * 
+	 * @param backlog The backlog of the server.
+	 * @return This builder.
+	 */
+	public PolinuxHttpServerBuilder backlog(int backlog) {
+		return this.set("backlog", backlog);
+	}
+
+	/**
+	 * Sets the lowest level logged by the server.
+	 * 
+	 * @param level One of the {@code LVL_} levels of {@link Logger}.
+	 * @return This builder.
+	 */
+	public PolinuxHttpServerBuilder logLevel(int level) {
+		return this.set("log-level", Logger.getLevelName(level));
+	}
+
+	/**
+	 * Sets the website root of the server, from which {@code .pwa} files are
+	 * loaded. Unless set, the server does not touch the file system.
+	 * 
+	 * @param root The website root. Cannot be {@code null}.
+	 * @return This builder.
+	 */
+	public PolinuxHttpServerBuilder root(String root) {
+		if (root == null)
+			throw new PolinuxHttpServerRuntimeException(null, "Cannot build PolinuxHttpServer with null root");
+		this.loadWebApplications = true;
+		return this.set("root", root.replace("\\", "/"));
+	}
+
+	/**
+	 * Sets whether the server reads commands from {@link System#in}, the way a
+	 * server started by the launcher does. Disabled by default.
+	 * 
+	 * @param console Whether to read commands.
+	 * @return This builder.
+	 */
+	public PolinuxHttpServerBuilder console(boolean console) {
+		this.console = console;
+		return this;
+	}
+
+	/**
+	 * Sets any setting of the {@code web} section of the configuration, the way
+	 * it would be written inside {@code configuration.yml}. Nested sections are
+	 * separated by dots, e.g. {@code set("session.max-inactive-interval", 60)}.
+	 * 
+	 * @param node  The node of the setting, relative to the {@code web} section.
+	 * @param value The value of the setting.
+	 * @return This builder.
+	 */
+	@SuppressWarnings("unchecked")
+	public PolinuxHttpServerBuilder set(String node, Object value) {
+		final String[] path = node.split("\\.");
+		Map<String, Object> section = this.web;
+
+		for (int i = 0; i < path.length - 1; i++) {
+			Object child = section.get(path[i]);
+
+			if (!(child instanceof Map)) {
+				child = new LinkedHashMap<String, Object>();
+				section.put(path[i], child);
+			}
+
+			section = (Map<String, Object>) child;
+		}
+
+		section.put(path[path.length - 1], value);
+		return this;
+	}
+
+	/**
+	 * Registers a servlet, as if it had been declared inside the {@code app.yml}
+	 * of a web application.
+	 * 
+	 * @param name        The name of the servlet.
+	 * @param servlet     The servlet. Cannot be {@code null}.
+	 * @param urlPatterns The URL patterns the servlet answers, {@code /<name>} if
+	 *                    none are given.
+	 * @return This builder.
+	 */
+	public PolinuxHttpServerBuilder servlet(String name, PolinuxHttpServlet servlet, String... urlPatterns) {
+		if (name == null || servlet == null)
+			throw new PolinuxHttpServerRuntimeException(null, "Cannot register null servlet");
+		if (this.servlets.containsKey(name))
+			throw new PolinuxHttpServerRuntimeException(null, "Servlet " + name + " is already registered");
+
+		this.servlets.put(name, servlet);
+		this.urlPatterns.put(name, urlPatterns.length == 0 ? Arrays.asList("/" + name) : Arrays.asList(urlPatterns));
+		return this;
+	}
+
+	/**
+	 * Registers a static file.
+	 * 
+	 * @param path    The path the file is served at, e.g. {@code /index.html}.
+	 * @param content The content of the file.
+	 * @return This builder.
+	 */
+	public PolinuxHttpServerBuilder file(String path, String content) {
+		if (path == null || content == null)
+			throw new PolinuxHttpServerRuntimeException(null, "Cannot register null file");
+
+		this.files.put(path.startsWith("/") ? path : "/" + path, content);
+		return this;
+	}
+
+	/**
+	 * Sets the files served for a request to a folder, {@code index.html} and
+	 * {@code index.htm} by default.
+	 * 
+	 * @param welcomeFiles The names of the welcome files.
+	 * @return This builder.
+	 */
+	public PolinuxHttpServerBuilder welcome(String... welcomeFiles) {
+		this.welcomeFiles.clear();
+		this.welcomeFiles.addAll(Arrays.asList(welcomeFiles));
+		return this;
+	}
+
+	/**
+	 * Builds the server and binds its port. The server is initialized, but not
+	 * started; {@link PolinuxHttpServer#init()} must not be called again.
+	 * 
+	 * @return The built server.
+	 * @throws PolinuxHttpServerRuntimeException If the port cannot be bound.
+	 */
+	@SuppressWarnings("deprecation")
+	public PolinuxHttpServer build() throws PolinuxHttpServerRuntimeException {
+		final Map<String, Object> config = new LinkedHashMap<String, Object>();
+		config.put("web", this.web);
+
+		final PolinuxHttpServer server = new PolinuxHttpServer(new PolinuxHttpServerConfiguration(config));
+
+		if (!this.console)
+			server.commandManager = null;
+
+		final Set<PolinuxWebApplication> apps = new LinkedHashSet<PolinuxWebApplication>();
+
+		if (this.loadWebApplications) {
+			server.init();
+			apps.addAll(server.getWebApplications());
+		}
+
+		if (!this.servlets.isEmpty() || !this.files.isEmpty())
+			apps.add(this.createWebApplication(server));
+
+		server.apps = apps;
+		server.initialized = true;
+		return server;
+	}
+
+	/**
+	 * Builds the server, then starts it.
+	 * 
+	 * @return The started server.
+	 * @throws PolinuxHttpServerRuntimeException If the server cannot be started.
+	 * @see #build()
+	 */
+	public PolinuxHttpServer start() throws PolinuxHttpServerRuntimeException {
+		final PolinuxHttpServer server = this.build();
+		server.run();
+		return server;
+	}
+
+	/**
+	 * Creates the web application holding the registered servlets and files,
+	 * initializing every servlet the way {@link PolinuxWebApplicationLoader} does.
+	 * 
+	 * @param server The server the application belongs to.
+	 * @return The web application.
+	 */
+	@SuppressWarnings("deprecation")
+	protected PolinuxWebApplication createWebApplication(PolinuxHttpServer server) {
+		final Map<String, Object> servletSection = new LinkedHashMap<String, Object>();
+		final Set<PolinuxHttpServlet> servlets = new LinkedHashSet<PolinuxHttpServlet>();
+
+		for (Map.Entry<String, PolinuxHttpServlet> entry : this.servlets.entrySet()) {
+			final Map<String, Object> section = new LinkedHashMap<String, Object>();
+			section.put("class", entry.getValue().getClass().getName());
+			section.put("url-patterns", new ArrayList<String>(this.urlPatterns.get(entry.getKey())));
+			servletSection.put(entry.getKey(), section);
+
+			entry.getValue().init(new PolinuxHttpServletConfiguration(section, entry.getKey()));
+			entry.getValue().init();
+			servlets.add(entry.getValue());
+		}
+
+		final Map<String, Object> app = new LinkedHashMap<String, Object>();
+		app.put("root", EMBEDDED_ROOT);
+		app.put("welcome", new ArrayList<String>(this.welcomeFiles));
+		app.put("servlets", servletSection);
+
+		final Map<String, Object> appConfig = new LinkedHashMap<String, Object>();
+		appConfig.put("app", app);
+
+		final Map<String, String> webFiles = new LinkedHashMap<String, String>();
+		for (Map.Entry<String, String> entry : this.files.entrySet())
+			webFiles.put(EMBEDDED_ROOT + entry.getKey(), entry.getValue());
+
+		// Requests are matched against the server's website root, so the application
+		// pretends to live there
+		return new PolinuxWebApplication(new PolinuxWebApplicationConfiguration(appConfig), servlets,
+				new File(server.getSettings().getWebsiteRoot()), null, webFiles);
+	}
+
+}
@@ -6,10 +6,12 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.polinux.exceptions.http.polinux.PolinuxHttpServerRuntimeException;
 import org.polinux.http.HttpClientThread;
 import org.polinux.http.HttpServerThread;
+import org.polinux.http.polinux.jfr.PolinuxFlightRecorder;
 import org.polinux.https.polinux.server.PolinuxHttpsServerThread;
 
 /**
@@ -35,7 +37,7 @@ public class PolinuxHttpServerThread implements HttpServerThread {
 	/**
 	 * The {@link java.lang.Thread} linked to this server thread.
 	 */
-	protected Thread t;
+	protected volatile Thread t;
 
 	/**
 	 * The {@link java.net.ServerSocket} for this server thread. Should not be
@@ -159,6 +161,7 @@ public class PolinuxHttpServerThread implements HttpServerThread {
 						.log("Client accessing HTTP server: (" + socket.getInetAddress().getHostName() + ") "
 								+ socket.getInetAddress().getHostAddress() + ":" + socket.getLocalPort()
 								+ " (remote port " + socket.getPort() + " )");
+				PolinuxFlightRecorder.connectionAccepted(socket.getInetAddress(), socket.getPort(), false);
 
 				// Handle request on different thread
 				final PolinuxHttpClientThread clientThread = new PolinuxHttpClientThread(this, socket);
@@ -168,6 +171,9 @@ public class PolinuxHttpServerThread implements HttpServerThread {
 				clientThread.execute();
 
 			} catch (IOException e) {
+				// The server socket has been closed by abort()
+				if (!this.isEnabled())
+					break;
 				e.printStackTrace();
 			}
 		}
@@ -179,45 +185,131 @@ public class PolinuxHttpServerThread implements HttpServerThread {
 	 */
 	protected void logStarted() {
 		this.server.getLogger()
-				.log("Server Started | Host: " + this.server.getHost() + " | Port: " + this.server.getPort());
+				.log("Server Started | Host: " + this.server.getHost() + " | Port: " + this.server.getLocalPort());
 		this.server.getLogger().flush();
 	}
 
 	/**
-	 * Closes the current server thread. After execution of this method, this class
+	 * Closes the current server thread gracefully, waiting at most the
+	 * {@link org.polinux.configuration.server.PolinuxHttpServerSettings#getShutdownTimeout()
+	 * shutdown timeout} of the server. After execution of this method, this class
 	 * may be disposed of (should <i>never</i> be used again).
 	 * 
 	 * @throws PolinuxHttpServerRuntimeException if an I/O error occurs when closing
 	 *                                           the socket
+	 * @see #close(long)
 	 */
 	public synchronized void close() throws PolinuxHttpServerRuntimeException {
-		this.abort();
-		try {
-			this.serverSocket.close();
-		} catch (IOException e) {
-			throw new PolinuxHttpServerRuntimeException(this.server, e.getMessage(), e);
+		this.close(TimeUnit.SECONDS.toMillis(Math.max(0, this.server.getSettings().getShutdownTimeout())));
+	}
+
+	/**
+	 * Closes the current server thread gracefully: stops accepting connections,
+	 * closes the connections which have not sent their request yet, then waits for
+	 * the requests being answered to be answered. Connections still open once the
+	 * underlying timeout is over are {@link PolinuxHttpClientThread#abort()
+	 * aborted}. After execution of this method, this class may be disposed of
+	 * (should <i>never</i> be used again).
+	 * 
+	 * @param timeout The longest time to wait for the requests being answered, in
+	 *                milliseconds.
+	 * @throws PolinuxHttpServerRuntimeException if an I/O error occurs when closing
+	 *                                           the socket
+	 */
+	public synchronized void close(long timeout) throws PolinuxHttpServerRuntimeException {
+		final long start = System.nanoTime();
+		final long deadline = start + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeout));
+
+		if (t != null) {
+			this.abort();
+		} else {
+			try {
+				this.serverSocket.close();
+			} catch (IOException e) {
+				throw new PolinuxHttpServerRuntimeException(this.server, e.getMessage(), e);
+			}
+		}
+
+		// The accepting thread has ended, so the list no longer changes
+		final PolinuxHttpClientThread[] clients = this.getClientThreads();
+		int idle = 0, answering = 0, aborted = 0;
+
+		for (PolinuxHttpClientThread client : clients) {
+			if (client.isRunning() && !client.isAnswering()) {
+				client.abort();
+				idle++;
+			}
+		}
+
+		boolean interrupted = false;
+
+		for (PolinuxHttpClientThread client : clients) {
+			if (!client.isRunning())
+				continue;
+
+			answering++;
+
+			try {
+				if (!interrupted && client.awaitCompletion(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())))
+					continue;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+
+			if (client.isRunning()) {
+				client.abort();
+				aborted++;
+			}
 		}
+
+		if (interrupted)
+			Thread.currentThread().interrupt();
+
+		if (idle > 0 || answering > 0)
+			this.server.getLogger()
+					.log("Stopped accepting connections | Answered " + (answering - aborted) + " of " + answering
+							+ " requests in progress in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+							+ " ms | Closed " + idle + " idle connections");
+
+		if (aborted > 0)
+			this.server.getLogger().logWarn("Closed " + aborted + " connections whose requests took longer than "
+					+ timeout + " ms to answer");
 	}
 
 	/**
-	 * Terminates the server thread.
-	 * <p>
-	 * Execution of this method may cause some errors inside code of the server
-	 * (e.g. responses and request are immediately canceled), so it is a good idea
-	 * to make sure everything is safe and can be closed before the execution of
-	 * this method.
+	 * Terminates the server thread: stops accepting connections, by closing the
+	 * {@link #getServerSocket() server socket}, and waits for the thread to end.
+	 * Connections already accepted are left open; {@link #close()} also waits for
+	 * their requests to be answered.
 	 * 
 	 * @throws PolinuxHttpServerRuntimeException If the server has not yet been
-	 *                                           started.
+	 *                                           started, or if an I/O error occurs
+	 *                                           when closing the socket.
 	 */
 	public synchronized void abort() throws PolinuxHttpServerRuntimeException {
+		final Thread t = this.t;
+
 		if (t == null) {
 			throw new PolinuxHttpServerRuntimeException(this.server,
 					"Cannot abort PolinuxHttpServerThread that has not started!");
 		}
 		this.enabled = false;
-		t.stop();
-		t = null;
+		this.t = null;
+
+		try {
+			this.serverSocket.close();
+		} catch (IOException e) {
+			throw new PolinuxHttpServerRuntimeException(this.server, e.getMessage(), e);
+		}
+
+		if (t == Thread.currentThread())
+			return;
+
+		try {
+			t.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
 	/**
@@ -3,8 +3,8 @@ package org.polinux.http.polinux.server;
 import java.io.File;
 import java.io.IOException;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
@@ -16,11 +16,15 @@ import org.polinux.web.PolinuxWebApplication;
  */
 class PolinuxLibClassLoader extends ClassLoader {
 	// Memory of byte code
-	protected final Map<String, byte[]> memClass = new HashMap<String, byte[]>();
+	protected final Map<String, byte[]> memClass = new ConcurrentHashMap<String, byte[]>();
 
 	// Plugin file
 	protected final File pluginFile;
 
+	static {
+		ClassLoader.registerAsParallelCapable();
+	}
+
 	/* Package constructors */
 	PolinuxLibClassLoader(File pluginFile) {
 		this(pluginFile, ClassLoader.getSystemClassLoader());
@@ -0,0 +1,204 @@
+package org.polinux.http.polinux.server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+
+import org.polinux.http.HttpLatencyHistogram;
+import org.polinux.http.HttpServerMetrics;
+import org.polinux.http.HttpServerMetrics.Route;
+import org.polinux.http.polinux.session.PolinuxHttpSession;
+import org.polinux.http.polinux.session.PolinuxHttpSessionCookie;
+import org.polinux.http.polinux.session.PolinuxHttpSessionStore;
+
+/**
+ * Renders the metrics of a {@link PolinuxHttpServer} in the Prometheus text
+ * exposition format (version {@code 0.0.4}), as served at the
+ * {@link org.polinux.configuration.server.PolinuxHttpServerConfiguration#getMetricsPath()
+ * metrics path} of the server.
+ * <p>
+ * Covers the {@link HttpServerMetrics} of the server (requests, bytes, open
+ * connections, status classes, and latency quantiles per route and per
+ * servlet), its sessions, the session cookie attribute cache, and the threads
+ * and classes of the JVM. The server runs one thread per connection rather than
+ * a pool, so open connections stand for the amount of busy client threads.
+ * <p>
+ * Every scrape renders into the same buffer, which only grows, so scraping does
+ * not allocate a new page each time.
+ */
+public class PolinuxMetricsExporter {
+
+	/**
+	 * Represents the content type of the rendered metrics.
+	 */
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	/**
+	 * Represents the quantiles exported for every latency histogram.
+	 */
+	private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+	protected transient final PolinuxHttpServer server;
+
+	private final StringBuilder buffer = new StringBuilder(8 * 1024);
+	private char[] chars = new char[8 * 1024];
+
+	public PolinuxMetricsExporter(final PolinuxHttpServer server) {
+		this.server = server;
+	}
+
+	/**
+	 * Renders the current metrics and writes them to the underlying writer.
+	 * 
+	 * @param out The writer to write the metrics to.
+	 * @throws IOException If the metrics cannot be written.
+	 */
+	public synchronized void writeTo(final Writer out) throws IOException {
+		this.renderToBuffer();
+
+		final int length = buffer.length();
+		if (chars.length < length)
+			chars = new char[Math.max(length, chars.length << 1)];
+
+		buffer.getChars(0, length, chars, 0);
+		out.write(chars, 0, length);
+	}
+
+	/**
+	 * Renders the current metrics.
+	 * 
+	 * @return The metrics, in the Prometheus text format.
+	 */
+	public synchronized String render() {
+		this.renderToBuffer();
+		return this.buffer.toString();
+	}
+
+	private void renderToBuffer() {
+		final StringBuilder b = this.buffer;
+		b.setLength(0);
+
+		final HttpServerMetrics metrics = server.getMetrics();
+
+		type(b, "polinux_http_requests_total", "counter", "Requests answered by the server.");
+		sample(b, "polinux_http_requests_total", null, null, metrics.getRequests());
+
+		type(b, "polinux_http_received_bytes_total", "counter", "Bytes of requests received.");
+		sample(b, "polinux_http_received_bytes_total", null, null, metrics.getBytesIn());
+
+		type(b, "polinux_http_sent_bytes_total", "counter", "Bytes of responses sent.");
+		sample(b, "polinux_http_sent_bytes_total", null, null, metrics.getBytesOut());
+
+		type(b, "polinux_http_responses_total", "counter", "Responses sent, by status class.");
+		for (int i = 1; i <= 5; i++)
+			sample(b, "polinux_http_responses_total", "class", i + "xx", metrics.getStatusCount(i));
+
+		type(b, "polinux_http_open_connections", "gauge", "Connections currently being answered.");
+		sample(b, "polinux_http_open_connections", null, null, metrics.getActiveConnections());
+
+		type(b, "polinux_http_request_duration_seconds", "summary", "Time taken to answer requests, by route.");
+		for (Route route : Route.values())
+			summary(b, "polinux_http_request_duration_seconds", "route", route.name().toLowerCase(),
+					metrics.getRouteLatency(route));
+
+		type(b, "polinux_http_servlet_duration_seconds", "summary", "Time taken by servlets to service requests.");
+		for (Map.Entry<String, HttpLatencyHistogram> servlet : metrics.getServletLatencies().entrySet())
+			summary(b, "polinux_http_servlet_duration_seconds", "servlet", servlet.getKey(), servlet.getValue());
+
+		final PolinuxHttpSessionStore store = PolinuxHttpSession.getSessionStore();
+		if (store != null) {
+			type(b, "polinux_http_sessions", "gauge", "Sessions currently kept by the server.");
+			sample(b, "polinux_http_sessions", null, null, store.size());
+		}
+
+		type(b, "polinux_cache_hits_total", "counter", "Lookups answered from a cache.");
+		sample(b, "polinux_cache_hits_total", "cache", "session-cookie-attributes",
+				PolinuxHttpSessionCookie.getAttributeCacheHits());
+		type(b, "polinux_cache_misses_total", "counter", "Lookups missing from a cache.");
+		sample(b, "polinux_cache_misses_total", "cache", "session-cookie-attributes",
+				PolinuxHttpSessionCookie.getAttributeCacheMisses());
+
+		final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		type(b, "polinux_jvm_threads", "gauge", "Live threads of the JVM.");
+		sample(b, "polinux_jvm_threads", null, null, threads.getThreadCount());
+		type(b, "polinux_jvm_threads_peak", "gauge", "Highest amount of live threads of the JVM.");
+		sample(b, "polinux_jvm_threads_peak", null, null, threads.getPeakThreadCount());
+
+		final ClassLoadingMXBean classes = ManagementFactory.getClassLoadingMXBean();
+		type(b, "polinux_jvm_classes_loaded", "gauge", "Classes currently loaded by the JVM.");
+		sample(b, "polinux_jvm_classes_loaded", null, null, classes.getLoadedClassCount());
+		type(b, "polinux_jvm_classes_loaded_total", "counter", "Classes loaded since the JVM started.");
+		sample(b, "polinux_jvm_classes_loaded_total", null, null, classes.getTotalLoadedClassCount());
+		type(b, "polinux_jvm_classes_unloaded_total", "counter", "Classes unloaded since the JVM started.");
+		sample(b, "polinux_jvm_classes_unloaded_total", null, null, classes.getUnloadedClassCount());
+	}
+
+	private static void type(StringBuilder b, String name, String type, String help) {
+		b.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		b.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+	}
+
+	private static void sample(StringBuilder b, String name, String label, String value, long sample) {
+		b.append(name);
+		if (label != null) {
+			b.append('{');
+			label(b, label, value);
+			b.append('}');
+		}
+		b.append(' ').append(sample).append('\n');
+	}
+
+	private static void summary(StringBuilder b, String name, String label, String value,
+			HttpLatencyHistogram histogram) {
+		for (double quantile : QUANTILES) {
+			b.append(name).append('{');
+			label(b, label, value);
+			b.append(",quantile=\"").append(quantile).append("\"} ");
+			seconds(b, histogram.getPercentile(quantile * 100));
+			b.append('\n');
+		}
+
+		b.append(name).append("_sum{");
+		label(b, label, value);
+		b.append("} ");
+		seconds(b, histogram.getSum());
+		b.append('\n');
+
+		b.append(name).append("_count{");
+		label(b, label, value);
+		b.append("} ").append(histogram.getCount()).append('\n');
+	}
+
+	/**
+	 * Appends a label, escaping its value as required by the format.
+	 */
+	private static void label(StringBuilder b, String label, String value) {
+		b.append(label).append("=\"");
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if (c == '\\' || c == '"')
+				b.append('\\').append(c);
+			else if (c == '\n')
+				b.append("\\n");
+			else
+				b.append(c);
+		}
+		b.append('"');
+	}
+
+	/**
+	 * Appends a duration in microseconds as seconds, without going through a
+	 * {@code double}.
+	 */
+	private static void seconds(StringBuilder b, long micros) {
+		b.append(micros / 1000000L).append('.');
+		final long fraction = micros % 1000000L;
+		for (long d = 100000L; d > 1 && fraction < d; d /= 10)
+			b.append('0');
+		b.append(fraction);
+	}
+
+}
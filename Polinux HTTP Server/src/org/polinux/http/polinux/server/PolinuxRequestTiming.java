@@ -0,0 +1,185 @@
+package org.polinux.http.polinux.server;
+
+/**
+ * Represents where the time of a request went, phase by phase.
+ * <p>
+ * The request starts at {@link #reset()}. Every call to {@link #mark(Phase)}
+ * adds the time elapsed since the previous mark to the underlying phase, so a
+ * phase may be marked more than once (e.g. parsing resumes once the session has
+ * been looked up) and the phases always add up to the whole request. Held by
+ * the {@link PolinuxHttpClientThread} answering the request, and reused for
+ * every request it answers.
+ */
+public class PolinuxRequestTiming {
+
+	/**
+	 * Represents a phase of a request, in the order they usually happen.
+	 */
+	public static enum Phase {
+		/**
+		 * Reading the request from the socket.
+		 */
+		READ,
+		/**
+		 * Parsing the request.
+		 */
+		PARSE,
+		/**
+		 * Looking up (or creating) the session of the request.
+		 */
+		SESSION,
+		/**
+		 * Forwarding the request to servlets or files.
+		 */
+		DISPATCH,
+		/**
+		 * Turning the response into text.
+		 */
+		SERIALIZE,
+		/**
+		 * Writing the response to the socket.
+		 */
+		WRITE;
+
+		private final String name = this.name().toLowerCase();
+	}
+
+	private static final Phase[] PHASES = Phase.values();
+
+	private final long[] nanos = new long[PHASES.length];
+	private long start, last;
+
+	/**
+	 * Constructs a {@code PolinuxRequestTiming}, starting a request right away.
+	 */
+	public PolinuxRequestTiming() {
+		this.reset();
+	}
+
+	/**
+	 * Clears every phase and starts a new request.
+	 * 
+	 * @return This timing.
+	 */
+	public PolinuxRequestTiming reset() {
+		for (int i = 0; i < nanos.length; i++)
+			nanos[i] = 0;
+		this.start = this.last = System.nanoTime();
+		return this;
+	}
+
+	/**
+	 * Adds the time elapsed since the previous mark to the underlying phase.
+	 * 
+	 * @param phase The phase that just ended.
+	 */
+	public void mark(final Phase phase) {
+		final long now = System.nanoTime();
+		nanos[phase.ordinal()] += now - last;
+		last = now;
+	}
+
+	/**
+	 * Gets the time spent in a phase.
+	 * 
+	 * @param phase The phase.
+	 * @return The time spent, in nanoseconds.
+	 */
+	public long getNanos(final Phase phase) {
+		return nanos[phase.ordinal()];
+	}
+
+	/**
+	 * Gets the time elapsed between the start of the request and its last mark.
+	 * 
+	 * @return The total time, in nanoseconds.
+	 */
+	public long getTotalNanos() {
+		return last - start;
+	}
+
+	/**
+	 * Gets the time the request started at.
+	 * 
+	 * @return The {@link System#nanoTime() time} the request started at.
+	 */
+	public long getStart() {
+		return start;
+	}
+
+	/**
+	 * Copies the time spent in every phase, in the order of {@link Phase}.
+	 * 
+	 * @return The time spent in every phase, in nanoseconds.
+	 */
+	public long[] toArray() {
+		return nanos.clone();
+	}
+
+	/**
+	 * Formats the phases marked so far as the value of a {@code Server-Timing}
+	 * header, e.g. {@code read;dur=0.120, parse;dur=0.045, dispatch;dur=2.310}.
+	 * Phases with no time spent are left out.
+	 * 
+	 * @return The value of the header.
+	 */
+	public String toServerTiming() {
+		final StringBuilder b = new StringBuilder(128);
+
+		for (Phase phase : PHASES) {
+			final long n = nanos[phase.ordinal()];
+			if (n <= 0)
+				continue;
+			if (b.length() > 0)
+				b.append(", ");
+			b.append(phase.name).append(";dur=");
+			appendMillis(b, n);
+		}
+
+		return b.toString();
+	}
+
+	/**
+	 * Formats the phases as {@code read=0.120ms parse=0.045ms ...}.
+	 */
+	@Override
+	public String toString() {
+		return format(nanos);
+	}
+
+	/**
+	 * Formats the time spent in every phase (in the order of {@link Phase}) as
+	 * {@code read=0.120ms parse=0.045ms ...}.
+	 * 
+	 * @param nanos The time spent in every phase, in nanoseconds.
+	 * @return The formatted phases.
+	 */
+	public static String format(final long[] nanos) {
+		final StringBuilder b = new StringBuilder(128);
+
+		for (Phase phase : PHASES) {
+			if (b.length() > 0)
+				b.append(' ');
+			b.append(phase.name).append('=');
+			appendMillis(b, nanos[phase.ordinal()]);
+			b.append("ms");
+		}
+
+		return b.toString();
+	}
+
+	/**
+	 * Appends nanoseconds as milliseconds, with three decimals.
+	 */
+	static void appendMillis(final StringBuilder b, final long nanos) {
+		final long micros = Math.max(0, nanos) / 1000L;
+		final long fraction = micros % 1000L;
+		b.append(micros / 1000L).append('.');
+		if (fraction < 100)
+			b.append('0');
+		if (fraction < 10)
+			b.append('0');
+		b.append(fraction);
+	}
+
+}
@@ -0,0 +1,159 @@
+package org.polinux.http.polinux.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the slowest requests answered by a {@link PolinuxHttpServer} during an
+ * interval, along with the {@link PolinuxRequestTiming phases} of each, and
+ * logs them once the interval is over.
+ * <p>
+ * Requests faster than the slowest kept ones are turned away without taking a
+ * lock. The report is written by the first request answered after the interval
+ * is over, so no thread is needed; an idle server reports once it receives a
+ * request again.
+ */
+public class PolinuxSlowRequestSampler {
+
+	/**
+	 * Represents a kept request.
+	 */
+	protected static final class Sample {
+		final String method, path;
+		final int status;
+		final long totalNanos;
+		final long[] phases;
+
+		Sample(String method, String path, int status, long totalNanos, long[] phases) {
+			this.method = method;
+			this.path = path;
+			this.status = status;
+			this.totalNanos = totalNanos;
+			this.phases = phases;
+		}
+	}
+
+	private static final Comparator<Sample> FASTEST_FIRST = new Comparator<Sample>() {
+		@Override
+		public int compare(Sample a, Sample b) {
+			return Long.compare(a.totalNanos, b.totalNanos);
+		}
+	};
+
+	protected transient final PolinuxHttpServer server;
+	protected final int size;
+	protected final long intervalNanos;
+
+	private PriorityQueue<Sample> slowest;
+
+	/**
+	 * Represents the time a request must exceed to be kept, once {@link #size}
+	 * requests are kept.
+	 */
+	private volatile long threshold = 0;
+
+	/**
+	 * Represents the time the interval is over at. The request claiming it writes
+	 * the report.
+	 */
+	private final AtomicLong nextReport;
+
+	/**
+	 * Constructs a {@code PolinuxSlowRequestSampler}.
+	 * 
+	 * @param server   The {@link PolinuxHttpServer} whose requests are sampled.
+	 * @param size     The amount of requests to keep per interval.
+	 * @param interval The interval, in seconds.
+	 */
+	public PolinuxSlowRequestSampler(final PolinuxHttpServer server, int size, int interval) {
+		this.server = server;
+		this.size = Math.max(1, size);
+		this.intervalNanos = TimeUnit.SECONDS.toNanos(Math.max(1, interval));
+		this.slowest = new PriorityQueue<Sample>(this.size, FASTEST_FIRST);
+		this.nextReport = new AtomicLong(System.nanoTime() + this.intervalNanos);
+	}
+
+	/**
+	 * Offers an answered request to the sampler.
+	 * 
+	 * @param method The method of the request.
+	 * @param path   The path of the request.
+	 * @param status The status of the response.
+	 * @param timing The phases of the request.
+	 */
+	public void offer(String method, String path, int status, final PolinuxRequestTiming timing) {
+		final long total = timing.getTotalNanos();
+
+		if (total > threshold) {
+			synchronized (this) {
+				if (slowest.size() < size || total > slowest.peek().totalNanos) {
+					if (slowest.size() >= size)
+						slowest.poll();
+					slowest.add(new Sample(method, path, status, total, timing.toArray()));
+					if (slowest.size() >= size)
+						threshold = slowest.peek().totalNanos;
+				}
+			}
+		}
+
+		final long next = nextReport.get();
+		final long now = System.nanoTime();
+
+		if (now - next >= 0 && nextReport.compareAndSet(next, now + intervalNanos))
+			this.flush();
+	}
+
+	/**
+	 * Logs the requests kept during the interval, slowest first, and starts a new
+	 * interval.
+	 */
+	public void report() {
+		nextReport.set(System.nanoTime() + intervalNanos);
+		this.flush();
+	}
+
+	/**
+	 * Logs the requests kept so far, slowest first, and clears them.
+	 */
+	private void flush() {
+		final List<Sample> samples;
+
+		synchronized (this) {
+			samples = new ArrayList<Sample>(slowest);
+			slowest = new PriorityQueue<Sample>(size, FASTEST_FIRST);
+			threshold = 0;
+		}
+
+		if (samples.isEmpty())
+			return;
+
+		Collections.sort(samples, Collections.reverseOrder(FASTEST_FIRST));
+
+		final StringBuilder b = new StringBuilder("Slowest requests over the last ")
+				.append(TimeUnit.NANOSECONDS.toSeconds(intervalNanos)).append("s:");
+
+		for (Sample s : samples) {
+			b.append(server.getLogger().lineSeperator).append("  ");
+			PolinuxRequestTiming.appendMillis(b, s.totalNanos);
+			b.append("ms ").append(s.method).append(' ').append(s.path).append(' ').append(s.status)
+					.append(" | ").append(PolinuxRequestTiming.format(s.phases));
+		}
+
+		server.getLogger().log(b.toString());
+	}
+
+	/**
+	 * Gets the amount of requests kept per interval.
+	 * 
+	 * @return The amount of requests kept.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+}
@@ -0,0 +1,336 @@
+package org.polinux.http.polinux.server;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.polinux.exceptions.http.polinux.PolinuxHttpServerRuntimeException;
+import org.polinux.http.HttpServerMetrics.Route;
+import org.polinux.http.polinux.servlet.PolinuxHttpServerRequest;
+import org.polinux.http.polinux.servlet.PolinuxHttpServletHolder;
+import org.polinux.http.polinux.session.PolinuxHttpSession;
+import org.polinux.web.PolinuxWebApplication;
+
+/**
+ * Warms a {@link PolinuxHttpServer} up before it accepts connections, so the
+ * JVM has compiled the code answering requests by the time the first real
+ * ones come.
+ * <p>
+ * The warm-up answers requests of its own through the same
+ * {@link PolinuxHttpClientThread} code as real requests (parsing, routing,
+ * servlets, files and serialization), over sockets held in memory: nothing is
+ * sent over the network. The requests are either synthetic ({@code /}, every
+ * servlet and file of the web applications, and a missing page) or replayed
+ * from a sample, such as the access log of the server.
+ * <p>
+ * The sessions the warm-up requests create are invalidated, the warm-up
+ * requests are not written to the access log, and the {@link #server server's}
+ * metrics are reset once the warm-up is over.
+ */
+public class PolinuxWarmup {
+
+	/**
+	 * Represents the path of a request expected to be answered with
+	 * {@code 404 Not Found}.
+	 */
+	public static final String NOT_FOUND_PATH = "/polinux-warmup-not-found";
+
+	protected transient final PolinuxHttpServer server;
+	protected final int iterations;
+	protected final long timeLimitNanos;
+	protected final String sample;
+
+	/**
+	 * Represents how many warm-up requests were answered with each status class
+	 * ({@code 1xx} to {@code 5xx}).
+	 */
+	private final int[] statusClasses = new int[6];
+
+	/**
+	 * Constructs a {@code PolinuxWarmup}.
+	 * 
+	 * @param server     The {@link PolinuxHttpServer} to warm up.
+	 * @param iterations The amount of requests to answer.
+	 * @param timeLimit  The longest the warm-up may take, in milliseconds.
+	 * @param sample     The file of requests to replay, {@code null} or empty for
+	 *                   synthetic requests.
+	 */
+	public PolinuxWarmup(final PolinuxHttpServer server, int iterations, int timeLimit, String sample) {
+		this.server = server;
+		this.iterations = Math.max(0, iterations);
+		this.timeLimitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeLimit));
+		this.sample = sample == null || sample.trim().isEmpty() ? null : sample.trim();
+	}
+
+	/**
+	 * Answers the warm-up requests, in turn, until {@link #iterations} requests
+	 * have been answered or the time limit is reached. Must be called before the
+	 * {@link PolinuxHttpServer#getServerThread() server thread} accepts
+	 * connections.
+	 * 
+	 * @return The amount of requests answered.
+	 */
+	@SuppressWarnings("deprecation")
+	public int run() {
+		final List<String> lines = this.getRequestLines();
+
+		if (lines.isEmpty()) {
+			this.server.getLogger().logWarn("No request to warm the server up with");
+			return 0;
+		}
+
+		final String host = this.server.getHost() + ":" + this.server.getLocalPort();
+		final byte[][] requests = new byte[lines.size()][];
+
+		for (int i = 0; i < requests.length; i++)
+			requests[i] = (lines.get(i) + " HTTP/1.1\r\nHost: " + host + "\r\nUser-Agent: Polinux-Warmup\r\n"
+					+ "Accept: text/html,application/xhtml+xml,*/*;q=0.8\r\nAccept-Language: en-US,en;q=0.5\r\n"
+					+ "Accept-Encoding: gzip, deflate\r\nConnection: keep-alive\r\n\r\n")
+							.getBytes(StandardCharsets.UTF_8);
+
+		final long start = System.nanoTime();
+		final long deadline = start + this.timeLimitNanos;
+		int answered = 0;
+
+		while (answered < this.iterations && System.nanoTime() - deadline < 0
+				&& !Thread.currentThread().isInterrupted()) {
+			new WarmupClientThread(new WarmupSocket(requests[answered % requests.length])).run();
+			answered++;
+		}
+
+		final long millis = (System.nanoTime() - start) / 1000000L;
+
+		// Warm-up requests are not requests of any client
+		this.server.getMetrics().reset();
+
+		this.server.getLogger()
+				.log("Warmed up in " + millis + " ms: " + answered + " requests, going through " + requests.length
+						+ " in turn" + (answered < this.iterations ? " (time limit reached)" : "") + " | 2xx: "
+						+ this.statusClasses[2] + " | 3xx: " + this.statusClasses[3] + " | 4xx: "
+						+ this.statusClasses[4] + " | 5xx: " + this.statusClasses[5]);
+
+		if (this.statusClasses[5] > 0)
+			this.server.getLogger().logWarn(this.statusClasses[5] + " warm-up requests failed with a server error");
+
+		return answered;
+	}
+
+	/**
+	 * Retrieves the request lines (e.g. {@code GET /index.html}) to warm up
+	 * with: those of the sample, if there is one and it can be read, the
+	 * synthetic ones otherwise.
+	 * 
+	 * @return The request lines, without their HTTP version.
+	 */
+	protected List<String> getRequestLines() {
+		if (this.sample != null) {
+			try {
+				final List<String> lines = readSample(new File(this.sample));
+
+				if (!lines.isEmpty())
+					return lines;
+
+				this.server.getLogger()
+						.logWarn("No GET or HEAD request inside warm-up sample " + this.sample + "; using synthetic ones");
+			} catch (IOException e) {
+				this.server.getLogger().logWarn(
+						"Unable to read warm-up sample " + this.sample + " (" + e.getMessage() + "); using synthetic ones");
+			}
+		}
+
+		final List<String> lines = new ArrayList<String>();
+
+		for (String path : getPaths(this.server))
+			lines.add("GET " + path);
+
+		return lines;
+	}
+
+	/**
+	 * Retrieves the paths of the synthetic requests to a server: {@code /}, every
+	 * servlet (whose URL patterns hold no wildcard) and file of its web
+	 * applications, and {@link #NOT_FOUND_PATH a missing page}.
+	 * 
+	 * @param server The server.
+	 * @return The paths, in that order.
+	 */
+	public static Set<String> getPaths(PolinuxHttpServer server) {
+		final Set<String> paths = new LinkedHashSet<String>();
+		paths.add("/");
+
+		for (PolinuxWebApplication app : server.getWebApplications()) {
+			for (PolinuxHttpServletHolder holder : app.getServletHolders()) {
+				for (String pattern : holder.getUrlPatterns()) {
+					if (!pattern.contains("*"))
+						paths.add(pattern.startsWith("/") ? pattern : "/" + pattern);
+				}
+			}
+
+			final String root = app.getConfiguration().getWebsiteRoot();
+			final String prefix = root == null ? "" : root.endsWith("/") ? root : root + "/";
+
+			for (Map.Entry<String, String> file : app.getWebFiles().entrySet()) {
+				if (file.getKey().startsWith(prefix))
+					paths.add("/" + file.getKey().substring(prefix.length()));
+			}
+		}
+
+		paths.add(NOT_FOUND_PATH);
+		return paths;
+	}
+
+	/**
+	 * Reads the GET and HEAD requests of a sample. Each line of the sample holds a
+	 * request, either as written by the {@link PolinuxAccessLog access log}
+	 * ({@code ... "GET /index.html" 200 ...}), as a request line
+	 * ({@code GET /index.html}) or as a path ({@code /index.html}).
+	 * 
+	 * @param file The sample.
+	 * @return The request lines, without their HTTP version.
+	 * @throws IOException If the sample cannot be read.
+	 */
+	protected static List<String> readSample(File file) throws IOException {
+		final List<String> lines = new ArrayList<String>();
+
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+			String line;
+
+			while ((line = reader.readLine()) != null) {
+				final int open = line.indexOf('"');
+
+				if (open >= 0) {
+					final int close = line.indexOf('"', open + 1);
+					if (close < 0)
+						continue;
+					line = line.substring(open + 1, close);
+				}
+
+				final String[] parts = line.trim().split("\\s+");
+				final String method = parts.length > 1 ? parts[0].toUpperCase() : "GET";
+				final String path = parts.length > 1 ? parts[1] : parts[0];
+
+				// Other methods may change what the servlets hold; escaped paths are not
+				// worth unescaping
+				if (!path.startsWith("/") || path.contains("\\x") || !(method.equals("GET") || method.equals("HEAD")))
+					continue;
+
+				lines.add(method + " " + path);
+			}
+		}
+
+		return lines;
+	}
+
+	/**
+	 * Represents the client thread answering a warm-up request, on the thread of
+	 * the warm-up rather than its own.
+	 */
+	private final class WarmupClientThread extends PolinuxHttpClientThread {
+
+		private WarmupClientThread(final WarmupSocket socket) throws PolinuxHttpServerRuntimeException {
+			super(PolinuxWarmup.this.server.getServerThread(), socket);
+		}
+
+		/**
+		 * Only checks the server thread exists, since it does not accept connections
+		 * until the warm-up is over.
+		 */
+		@Override
+		protected void ensureValidServer() throws PolinuxHttpServerRuntimeException {
+			if (this.serverThread == null) {
+				throw new PolinuxHttpServerRuntimeException(null,
+						"Cannot warm up PolinuxHttpServer without PolinuxHttpServerThread");
+			}
+		}
+
+		/**
+		 * Leaves the session out of the session store, since it is invalidated once
+		 * the request is answered.
+		 */
+		@Override
+		protected void persist(final PolinuxHttpSession session) {
+		}
+
+		/**
+		 * Counts the status of the answered request and invalidates the session it
+		 * created, instead of recording it.
+		 */
+		@Override
+		protected void complete(final PolinuxHttpServerRequest request, Route route, int status, long bytesIn,
+				long bytesOut, long start) {
+			PolinuxWarmup.this.statusClasses[Math.min(Math.max(status / 100, 0), 5)]++;
+
+			if (request.getSession() != null && request.getSession().isNew())
+				request.getSession().invalidate();
+		}
+
+	}
+
+	/**
+	 * Represents the connection of a warm-up request: reads the request from
+	 * memory and throws the response away.
+	 */
+	private static final class WarmupSocket extends Socket {
+
+		private static final OutputStream DISCARD = new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		};
+
+		private final InputStream in;
+
+		private WarmupSocket(byte[] request) {
+			this.in = new ByteArrayInputStream(request);
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return this.in;
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			return DISCARD;
+		}
+
+		@Override
+		public InetAddress getInetAddress() {
+			return InetAddress.getLoopbackAddress();
+		}
+
+		@Override
+		public int getPort() {
+			return 0;
+		}
+
+		@Override
+		public void setKeepAlive(boolean on) {
+		}
+
+		@Override
+		public synchronized void close() {
+		}
+
+	}
+
+}
@@ -5,8 +5,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.polinux.http.polinux.server.PolinuxWebApplicationLoader.PolinuxWebApplicationLoaderException;
+import org.polinux.http.polinux.servlet.PolinuxHttpServletHolder;
 import org.polinux.web.PolinuxWebApplication;
 
 class PolinuxWebApplicationFolderLoader {
@@ -29,7 +35,63 @@ class PolinuxWebApplicationFolderLoader {
 
 	/* Called to load a directory of plugins */
 	PolinuxWebApplicationFolderLoader loadDirectory(final File dir) {
-		return loadDirectory(dir, "");
+		loadDirectory(dir, "");
+		initializeServlets();
+		return this;
+	}
+
+	/*
+	 * Initializes the servlets loading on startup in the background, several at
+	 * once, so the server can accept requests meanwhile (a request to a servlet
+	 * still initializing waits for it)
+	 */
+	private void initializeServlets() {
+		final List<PolinuxHttpServletHolder> holders = new ArrayList<PolinuxHttpServletHolder>();
+
+		for (PolinuxWebApplication app : getWebApplications()) {
+			for (PolinuxHttpServletHolder holder : app.getServletHolders()) {
+				if (holder.isLoadOnStartup() && !holder.isInitialized())
+					holders.add(holder);
+			}
+		}
+
+		if (holders.isEmpty())
+			return;
+
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min(holders.size(), Runtime.getRuntime().availableProcessors()), new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable r) {
+						final Thread t = new Thread(r, "Polinux Servlet Initializer " + count.incrementAndGet());
+						t.setDaemon(true);
+						return t;
+					}
+				});
+
+		for (final PolinuxHttpServletHolder holder : holders) {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					final long start = System.nanoTime();
+
+					try {
+						holder.getServlet();
+					} catch (RuntimeException e) {
+						PolinuxHttpServer.HTTP_LOGGER.logError("Unable to initialize servlet " + holder.getName() + ": "
+								+ e.getMessage() + (e.getCause() == null ? "" : " (" + e.getCause() + ")"));
+						return;
+					}
+
+					PolinuxHttpServer.HTTP_LOGGER.logDebug("Initialized servlet " + holder.getName() + " in "
+							+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+				}
+			});
+		}
+
+		// Threads end once every servlet has been initialized
+		executor.shutdown();
 	}
 
 	/* Private method used to load directory of plugins */
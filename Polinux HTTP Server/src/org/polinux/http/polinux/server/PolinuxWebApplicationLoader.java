@@ -3,13 +3,11 @@ package org.polinux.http.polinux.server;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -20,6 +18,7 @@ import org.polinux.configuration.servlet.PolinuxHttpServletConfiguration;
 import org.polinux.configuration.webapp.PolinuxWebApplicationConfiguration;
 import org.polinux.exceptions.polinux.PolinuxRuntimeException;
 import org.polinux.http.polinux.servlet.PolinuxHttpServlet;
+import org.polinux.http.polinux.servlet.PolinuxHttpServletHolder;
 import org.polinux.utils.io.InputStreamReader;
 import org.polinux.web.PolinuxWebApplication;
 import org.polinux.web.WebApplication;
@@ -42,6 +41,16 @@ class PolinuxWebApplicationLoader extends URLClassLoader {
 	private static final String WEBAPP_DESCRIPTION_FILE = PolinuxWebApplicationConfiguration.CONFIGURATION_PATH
 			.replace("\\", "/");
 
+	/*
+	 * Servlet classes are defined here, through the PolinuxLibClassLoader of the
+	 * web application, by the threads initializing servlets on startup and by the
+	 * client threads creating them on their first request, so that neither loader
+	 * may be locked as a whole while loading a class
+	 */
+	static {
+		ClassLoader.registerAsParallelCapable();
+	}
+
 	public PolinuxWebApplicationLoader(String name) {
 		super(new URL[] {}, ClassLoader.getSystemClassLoader());
 		this.name = name;
@@ -63,7 +72,7 @@ class PolinuxWebApplicationLoader extends URLClassLoader {
 	 * @throws PolinuxWebApplicationLoaderException If an error occurred while
 	 *                                              trying to load the plugin.
 	 */
-	@SuppressWarnings({ "unchecked", "resource" })
+	@SuppressWarnings({ "resource" })
 	public void loadWebApplication(final File f) throws IOException, PolinuxWebApplicationLoaderException {
 		if (!f.getName().trim().toLowerCase().endsWith(".pwa")) {
 			throw new PolinuxWebApplicationLoaderException(
@@ -125,71 +134,45 @@ class PolinuxWebApplicationLoader extends URLClassLoader {
 
 		this.libLoader = libLoader;
 
-		Set<PolinuxHttpServlet> servlets = new LinkedHashSet<PolinuxHttpServlet>();
+		// Only the routing table is built here; servlets are created by their holders,
+		// either on their first request or by the folder loader once every
+		// application has been loaded
+		final List<PolinuxHttpServletHolder> servlets = new ArrayList<PolinuxHttpServletHolder>();
 
 		if (config.containsServletConfigurationSection()) {
 
 			Set<String> keys = config.getServletConfigurationSection().getKeys(false);
 
 			for (String servletName : keys) {
+				PolinuxHttpServletConfiguration servletConfig = new PolinuxHttpServletConfiguration(
+						config.getServletConfigurationSection().getConfigurationSection(servletName).toMap(),
+						servletName);
 
-				Class<? extends PolinuxHttpServlet> clazz;
-
-				try {
-
-					clazz = (Class<? extends PolinuxHttpServlet>) Class
-							.forName(String.valueOf(this.config.getServletClass(servletName)), true, libLoader);
-				} catch (ClassNotFoundException e) {
-					throw new PolinuxWebApplicationLoaderException(
-							"Unable to find servlet class " + String.valueOf(this.config.getServletClass(servletName)));
-				} catch (ClassCastException e) {
+				if (servletConfig.getServletClass() == null) {
 					throw new PolinuxWebApplicationLoaderException(
-							"Servlet class " + String.valueOf(this.config.getServletClass(servletName))
-									+ " does not extend PolinuxHttpServlet");
+							"Servlet " + servletName + " from pwa file " + f.getName() + " does not declare a class");
 				}
 
-				// this.dataFolder = new File(f.getParentFile(), config.getPluginName());
-
-				PolinuxHttpServlet servlet = null;
+				// The class is only initialized along with the servlet, but a misconfigured
+				// application still fails to load
+				final Class<?> clazz;
 
 				try {
-					servlet = clazz.getConstructor().newInstance();
-
-					PolinuxHttpServletConfiguration servletConfig = new PolinuxHttpServletConfiguration(
-							config.getServletConfigurationSection().getConfigurationSection(servletName).toMap(),
-							servletName);
-					servlet.init(servletConfig);
-					servlets.add(servlet);
-
-					servlet.init();
-
-					// config.setAttachedPlugin(this.plugin);
-				} catch (InstantiationException e) {
-					// this.loaded = false;
-					e.printStackTrace();
-				} catch (IllegalAccessException e) {
-					// this.loaded = false;
+					clazz = Class.forName(servletConfig.getServletClass(), false, libLoader);
+				} catch (ClassNotFoundException e) {
 					throw new PolinuxWebApplicationLoaderException(
-							"Unable to access empty constructor for class " + clazz.getName(), e);
-				} catch (IllegalArgumentException e) {
-					// this.loaded = false;
-					e.printStackTrace();
-				} catch (InvocationTargetException e) {
-					// this.loaded = false;
-					e.printStackTrace();
-				} catch (NoSuchMethodException e) {
-					// this.loaded = false;
+							"Unable to find servlet class " + servletConfig.getServletClass(), e);
+				} catch (LinkageError e) {
 					throw new PolinuxWebApplicationLoaderException(
-							"Unable to find empty constructor for class " + clazz.getName(), e);
-				} catch (ClassCastException e) {
-					// this.loaded = false;
+							"Unable to load servlet class " + servletConfig.getServletClass(), e);
+				}
+
+				if (!PolinuxHttpServlet.class.isAssignableFrom(clazz)) {
 					throw new PolinuxWebApplicationLoaderException(
-							"Servlet class " + clazz.getName() + " does not extend PolinuxHttpServlet", e);
-				} catch (ExceptionInInitializerError e) {
-					// this.loaded = false;
-					throw new PolinuxWebApplicationLoaderException("Unable to initialize class " + clazz.getName(), e);
+							"Servlet class " + clazz.getName() + " does not extend PolinuxHttpServlet");
 				}
 
+				servlets.add(new PolinuxHttpServletHolder(servletConfig, libLoader));
 			}
 
 		}
@@ -20,6 +20,8 @@ import org.polinux.http.HttpServerResponse;
 import org.polinux.http.HttpSession;
 import org.polinux.http.polinux.server.PolinuxHttpClientThread;
 import org.polinux.http.polinux.server.PolinuxHttpServer;
+import org.polinux.http.polinux.server.PolinuxRequestTiming;
+import org.polinux.http.polinux.server.PolinuxRequestTiming.Phase;
 import org.polinux.http.polinux.session.PolinuxHttpSession;
 import org.polinux.https.polinux.server.PolinuxHttpsClientThread;
 import org.polinux.https.polinux.server.PolinuxHttpsServer;
@@ -54,10 +56,21 @@ public class PolinuxHttpServerRequest implements HttpServerRequest {
 	 * Represents the {@link HttpRequestCookie HttpRequestCookies} sent by the
 	 * client request.
 	 * 
+	 * <p>
+	 * Parsed from the {@link #cookieHeader cookie header} the first time
+	 * {@link #getCookies()} is called, since most requests only ever need the
+	 * session cookie.
+	 * 
 	 * @final This field's value should not be changed after being set.
 	 * 
 	 */
-	protected List<HttpRequestCookie> cookies = new LinkedList<HttpRequestCookie>();
+	protected List<HttpRequestCookie> cookies;
+
+	/**
+	 * Represents the raw value of the "Cookie" header sent by the client request,
+	 * {@code null} if there was none.
+	 */
+	protected String cookieHeader;
 	/**
 	 * Represents the {@link PolinuxHttpServer} the {@link PolinuxHttpClientThread}
 	 * is coming from.
@@ -181,6 +194,11 @@ public class PolinuxHttpServerRequest implements HttpServerRequest {
 	/** {@inheritDoc} */
 	@Override
 	public HttpRequestCookie[] getCookies() {
+		if (this.cookies == null) {
+			this.cookies = this.cookieHeader == null ? new LinkedList<HttpRequestCookie>()
+					: CollectionUtils.toList(HttpRequestCookie.parse(this.cookieHeader));
+		}
+
 		return this.cookies.toArray(new HttpRequestCookie[0]);
 	}
 
@@ -356,12 +374,18 @@ public class PolinuxHttpServerRequest implements HttpServerRequest {
 		r.headers = headers;
 		r.httpVersion = httpVersion;
 		r.path = path;
-		r.cookies = r.getHeader("Cookie") == null ? new LinkedList<HttpRequestCookie>()
-				: CollectionUtils.toList(HttpRequestCookie.parse(r.getHeader("Cookie").getValue()));
+		r.cookieHeader = r.getHeader("Cookie") == null ? null : r.getHeader("Cookie").getValue();
 
-		final HttpRequestCookie requestSessionCookie = r.getCookie(server.getConfiguration().getSessionCookieName());
+		final PolinuxRequestTiming timing = this.client.getTiming();
+		if (timing != null)
+			timing.mark(Phase.PARSE);
 
-		PolinuxHttpSession session = PolinuxHttpSession.getSession(requestSessionCookie);
+		// Only the session cookie is needed here; the others are parsed on demand
+		final String sessionCookieName = server.getSettings().getSessionCookieName();
+		final String sessionId = HttpRequestCookie.findValue(r.cookieHeader, sessionCookieName);
+
+		PolinuxHttpSession session = sessionId == null ? null
+				: PolinuxHttpSession.getSession(new HttpRequestCookie(sessionCookieName, sessionId));
 
 		if (session == null) {
 			session = PolinuxHttpSession.createSession(server.getConfiguration());
@@ -369,6 +393,9 @@ public class PolinuxHttpServerRequest implements HttpServerRequest {
 
 		r.session = session;
 
+		if (timing != null)
+			timing.mark(Phase.SESSION);
+
 		r.asString = request;
 
 		if (r.getContentType() != null) {
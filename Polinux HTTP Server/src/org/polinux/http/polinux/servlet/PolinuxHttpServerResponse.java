@@ -2,7 +2,6 @@ package org.polinux.http.polinux.servlet;
 
 import java.io.StringWriter;
 import java.net.Socket;
-import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -282,8 +281,11 @@ public class PolinuxHttpServerResponse implements HttpServerResponse {
 	 */
 	public String asString(final String lineSeparator, final boolean addHeaders) {
 		final String lineSeperator = lineSeparator;
-		String asString = HttpServer.HTTP_VERSION + " " + this.getStatus() + " " + this.getStatusMessage()
-				+ lineSeperator;
+		final String body = this.getWriter().toString();
+		final StringBuilder asString = new StringBuilder(256 + body.length());
+
+		asString.append(HttpServer.HTTP_VERSION).append(' ').append(this.getStatus()).append(' ')
+				.append(this.getStatusMessage()).append(lineSeperator);
 
 		this.ensureValidHeader();
 		this.ensureValidCookie();
@@ -295,7 +297,7 @@ public class PolinuxHttpServerResponse implements HttpServerResponse {
 			HttpHeader h = headers.get(i);
 
 			if (h != null) {
-				asString += h.toString() + lineSeperator;
+				asString.append(h.getHeader()).append(": ").append(h.getValue()).append(lineSeperator);
 			}
 		}
 
@@ -303,18 +305,17 @@ public class PolinuxHttpServerResponse implements HttpServerResponse {
 			HttpResponseCookie c = cookies.get(i);
 
 			if (c != null) {
-				asString += c.toHttpHeader().toString() + lineSeperator;
+				c.appendHttpHeader(asString);
+				asString.append(lineSeperator);
 			}
 		}
 
-		asString += lineSeperator;
+		asString.append(lineSeperator);
 
-		asString += this.getWriter().toString();
-		return asString;
+		asString.append(body);
+		return asString.toString();
 
 	}
-	
-	
 
 	/** {@inheritDoc} */
 	@Override
@@ -347,7 +348,7 @@ public class PolinuxHttpServerResponse implements HttpServerResponse {
 		h.add(new HttpHeader("Server", this.getServer().getName()));
 		h.add(new HttpHeader("Content-Type", this.getContentType()));
 		h.add(new HttpHeader("Content-Length", this.getContentLength()));
-		h.add(new HttpHeader("Date", TimeUtils.getDateHttpHeaderFormat().format(new Date())));
+		h.add(new HttpHeader("Date", TimeUtils.getHttpDate()));
 
 		this.removeHeader("Server");
 
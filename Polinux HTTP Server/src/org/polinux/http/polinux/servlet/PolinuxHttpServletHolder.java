@@ -0,0 +1,213 @@
+package org.polinux.http.polinux.servlet;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.polinux.configuration.servlet.PolinuxHttpServletConfiguration;
+import org.polinux.exceptions.http.polinux.PolinuxHttpRuntimeException;
+
+/**
+ * Represents a servlet declared by a web application, as known to the routing
+ * of the server: its name, its URL patterns and, once created, the servlet
+ * itself.
+ * <p>
+ * The servlet is created and {@link PolinuxHttpServlet#init() initialized} at
+ * most once, by whichever thread first {@link #getServlet() asks for it};
+ * other threads asking meanwhile wait for it to be ready. This lets servlets
+ * declared with {@code load-on-startup: false} be created on their first
+ * request, and the others be initialized in the background while the server
+ * already accepts requests.
+ */
+public class PolinuxHttpServletHolder {
+
+	/**
+	 * Represents the configuration of the servlet, from the {@code app.yml} of its
+	 * web application.
+	 */
+	protected final PolinuxHttpServletConfiguration configuration;
+
+	/**
+	 * Represents the {@link ClassLoader} loading the class of the servlet,
+	 * {@code null} if the servlet was created along with this holder.
+	 */
+	protected final ClassLoader classLoader;
+
+	/**
+	 * Represents the servlet, {@code null} until created.
+	 */
+	private volatile PolinuxHttpServlet servlet;
+
+	/**
+	 * Represents why the servlet could not be created, {@code null} unless it
+	 * failed to be.
+	 */
+	private volatile Throwable failure;
+
+	/**
+	 * Constructs a {@code PolinuxHttpServletHolder} for a servlet yet to be
+	 * created from the class named inside its configuration.
+	 * 
+	 * @param configuration The configuration of the servlet.
+	 * @param classLoader   The {@link ClassLoader} loading the class of the
+	 *                      servlet.
+	 */
+	public PolinuxHttpServletHolder(PolinuxHttpServletConfiguration configuration, ClassLoader classLoader) {
+		this.configuration = configuration;
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * Constructs a {@code PolinuxHttpServletHolder} for a servlet which has
+	 * already been created and initialized.
+	 * 
+	 * @param servlet The servlet. Cannot be {@code null}.
+	 */
+	public PolinuxHttpServletHolder(PolinuxHttpServlet servlet) {
+		this.configuration = servlet.getConfiguration();
+		this.classLoader = null;
+		this.servlet = servlet;
+	}
+
+	/**
+	 * Retrieves the servlet, creating and initializing it if no thread has done so
+	 * yet.
+	 * 
+	 * @return The servlet, never {@code null}.
+	 * @throws PolinuxHttpRuntimeException If the servlet could not be created or
+	 *                                     initialized, now or on an earlier
+	 *                                     attempt.
+	 */
+	public PolinuxHttpServlet getServlet() throws PolinuxHttpRuntimeException {
+		final PolinuxHttpServlet servlet = this.servlet;
+
+		if (servlet != null)
+			return servlet;
+
+		synchronized (this) {
+			if (this.servlet == null) {
+				if (this.failure != null)
+					throw new PolinuxHttpRuntimeException("Servlet " + this.getName() + " is unavailable",
+							this.failure);
+
+				try {
+					this.servlet = this.createServlet();
+				} catch (RuntimeException e) {
+					this.failure = e;
+					throw e;
+				} catch (Error e) {
+					this.failure = e;
+					throw new PolinuxHttpRuntimeException("Unable to initialize servlet " + this.getName(), e);
+				}
+			}
+
+			return this.servlet;
+		}
+	}
+
+	/**
+	 * Creates and initializes the servlet.
+	 * 
+	 * @return The servlet.
+	 * @throws PolinuxHttpRuntimeException If the servlet could not be created.
+	 */
+	protected PolinuxHttpServlet createServlet() throws PolinuxHttpRuntimeException {
+		final String className = String.valueOf(this.configuration.getServletClass());
+		final Class<?> clazz;
+
+		try {
+			clazz = Class.forName(className, true, this.classLoader);
+		} catch (ClassNotFoundException e) {
+			throw new PolinuxHttpRuntimeException("Unable to find servlet class " + className, e);
+		}
+
+		if (!PolinuxHttpServlet.class.isAssignableFrom(clazz))
+			throw new PolinuxHttpRuntimeException("Servlet class " + className + " does not extend PolinuxHttpServlet");
+
+		final PolinuxHttpServlet servlet;
+
+		try {
+			servlet = (PolinuxHttpServlet) clazz.getConstructor().newInstance();
+		} catch (NoSuchMethodException e) {
+			throw new PolinuxHttpRuntimeException("Unable to find empty constructor for class " + className, e);
+		} catch (IllegalAccessException e) {
+			throw new PolinuxHttpRuntimeException("Unable to access empty constructor for class " + className, e);
+		} catch (InstantiationException e) {
+			throw new PolinuxHttpRuntimeException("Unable to instantiate class " + className, e);
+		} catch (InvocationTargetException e) {
+			throw new PolinuxHttpRuntimeException("Constructor of class " + className + " failed", e.getCause());
+		}
+
+		servlet.init(this.configuration);
+		servlet.init();
+
+		return servlet;
+	}
+
+	/**
+	 * Retrieves the name of the servlet.
+	 * 
+	 * @return The name of the servlet.
+	 */
+	public String getName() {
+		return this.configuration.getServletName();
+	}
+
+	/**
+	 * Retrieves the URL patterns the servlet answers: those of the servlet itself
+	 * once created, those of its configuration until then.
+	 * 
+	 * @return The URL patterns of the servlet.
+	 */
+	public String[] getUrlPatterns() {
+		final PolinuxHttpServlet servlet = this.servlet;
+		return servlet != null ? servlet.getUrlPatterns() : this.configuration.getServletUrlPatterns();
+	}
+
+	/**
+	 * Retrieves the {@link ClassLoader} loading the class of the servlet, i.e. the
+	 * one of its web application.
+	 * 
+	 * @return The class loader of the servlet.
+	 */
+	public ClassLoader getClassLoader() {
+		return this.classLoader != null ? this.classLoader : this.servlet.getClass().getClassLoader();
+	}
+
+	/**
+	 * Retrieves the configuration of the servlet.
+	 * 
+	 * @return The configuration of the servlet.
+	 */
+	public PolinuxHttpServletConfiguration getConfiguration() {
+		return this.configuration;
+	}
+
+	/**
+	 * Retrieves whether the servlet is to be created when its web application is
+	 * loaded, rather than on its first request.
+	 * 
+	 * @return Whether the servlet loads on startup.
+	 * @see PolinuxHttpServletConfiguration#isLoadOnStartup()
+	 */
+	public boolean isLoadOnStartup() {
+		return this.configuration.isLoadOnStartup();
+	}
+
+	/**
+	 * Retrieves whether the servlet has been created and initialized.
+	 * 
+	 * @return Whether the servlet is ready.
+	 */
+	public boolean isInitialized() {
+		return this.servlet != null;
+	}
+
+	/**
+	 * Retrieves the servlet if it has been created, without creating it.
+	 * 
+	 * @return The servlet, {@code null} if it has not been created yet.
+	 */
+	public PolinuxHttpServlet getInitializedServlet() {
+		return this.servlet;
+	}
+
+}
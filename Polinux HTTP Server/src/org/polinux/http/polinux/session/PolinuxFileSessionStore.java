@@ -0,0 +1,877 @@
+package org.polinux.http.polinux.session;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.polinux.configuration.server.PolinuxHttpServerConfiguration;
+import org.polinux.http.polinux.server.PolinuxHttpServer;
+
+/**
+ * Represents a {@link PolinuxHttpSessionStore} that keeps sessions in memory,
+ * but also writes them to a local file so that they survive a restart of the
+ * server.
+ * <p>
+ * A few notes about this store:
+ * <ul>
+ * <li>The file is append-only. A {@link #save(PolinuxHttpSession) save} of a
+ * session whose attributes have changed, and the
+ * {@link #remove(PolinuxHttpSession) removal} of a session found in the file,
+ * add a record at the end of the file, through a memory-mapped region of the
+ * file.
+ * <li>A session whose attributes have not changed is only written again once
+ * its last access is a tenth of the idle timeout ahead of the one in the file,
+ * so a restored session may expire that much earlier than it would have.
+ * <li>Records are written by a background thread, in batches. Saving a session
+ * only copies its attributes and never blocks the client thread on I/O.
+ * <li>The file is read the first time a session is looked up, and sessions are
+ * only rebuilt from their record once a client asks for them again. Dead
+ * records are dropped from the file at that time, and whenever they make up
+ * most of the file. The file is cut to its last record once the store is
+ * closed.
+ * <li>Only attributes that are {@link Serializable} or
+ * {@link org.polinux.configuration.serialization.ConfigurationSerializable
+ * ConfigurationSerializable} are written. Other attributes are lost on
+ * restart. Attributes whose class comes from a web application are restored
+ * through the {@link #addClassLoader(ClassLoader) class loaders} of the web
+ * applications; other classes are only read back from the
+ * {@link #ALLOWED_PACKAGES packages of the JDK allowed}.
+ * </ul>
+ * 
+ * @see PolinuxMemorySessionStore
+ */
+public class PolinuxFileSessionStore extends PolinuxMemorySessionStore implements Runnable {
+
+	/**
+	 * Represents the size (in bytes) of each region of the file mapped into
+	 * memory.
+	 */
+	public static final int REGION_SIZE = 1 << 20; // 1 MiB
+
+	/**
+	 * Represents the maximum amount of records written in one batch.
+	 */
+	public static final int MAX_BATCH = 256;
+
+	private static final byte OP_PUT = 1;
+	private static final byte OP_REMOVE = 2;
+
+	/**
+	 * Represents the packages of the JDK whose classes may be read back from the
+	 * file, besides the classes of the web applications.
+	 */
+	private static final String[] ALLOWED_PACKAGES = { "java.lang", "java.math", "java.time", "java.util",
+			"java.util.concurrent", "java.util.concurrent.atomic" };
+
+	private static final byte VALUE_SERIALIZABLE = 1;
+	private static final byte VALUE_CONFIGURATION_SERIALIZABLE = 2;
+
+	/**
+	 * Represents the record asking the writer thread to stop.
+	 */
+	private static final Record CLOSE = new Record(OP_REMOVE, null, 0, 0, null);
+
+	/**
+	 * Represents the file sessions are written to.
+	 */
+	protected final File file;
+
+	/**
+	 * Represents the {@link PolinuxHttpServerConfiguration} used for restored
+	 * session cookies.
+	 */
+	protected final PolinuxHttpServerConfiguration config;
+
+	/**
+	 * Represents the records waiting to be written.
+	 */
+	protected final BlockingQueue<Record> queue = new LinkedBlockingQueue<Record>();
+
+	/**
+	 * Represents the records of the sessions found in the file that have not been
+	 * asked for since the server started, mapped by session id. Guarded by
+	 * {@code this}.
+	 */
+	protected final Map<String, byte[]> persisted = new HashMap<String, byte[]>();
+
+	/**
+	 * Whether the file has been read.
+	 */
+	protected volatile boolean loaded = false;
+
+	/**
+	 * The writer {@link java.lang.Thread} linked to this store.
+	 */
+	protected Thread t;
+
+	/**
+	 * Whether the writer thread is currently enabled.
+	 */
+	protected volatile boolean enabled = false;
+
+	/**
+	 * Represents the {@link ClassLoader class loaders} of the web applications,
+	 * through which the classes of restored attributes are resolved.
+	 */
+	protected final List<ClassLoader> classLoaders = new CopyOnWriteArrayList<ClassLoader>();
+
+	/* Only touched by the writer thread once the file has been loaded */
+	private FileChannel channel;
+	private MappedByteBuffer region;
+	private long appendPosition;
+
+	/**
+	 * Represents the latest record of every session inside the file, mapped by
+	 * session id. Only touched by the writer thread once the file has been loaded.
+	 */
+	private final Map<String, byte[]> live = new HashMap<String, byte[]>();
+	private long liveBytes;
+	private long compactAbove = REGION_SIZE;
+
+	/**
+	 * Constructs a {@code PolinuxFileSessionStore}. The file is not read until a
+	 * session is first looked up.
+	 * 
+	 * @param config The {@link PolinuxHttpServerConfiguration} of the server.
+	 * @param file   The file to write sessions to.
+	 */
+	public PolinuxFileSessionStore(final PolinuxHttpServerConfiguration config, final File file) {
+		this.config = config;
+		this.file = file;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If the session is not in memory, it is rebuilt from the file.
+	 */
+	@Override
+	public PolinuxHttpSession get(String id) {
+		final PolinuxHttpSession session = super.get(id);
+
+		if (session != null)
+			return session;
+
+		this.ensureLoaded();
+
+		synchronized (this) {
+			final byte[] record = this.persisted.remove(id);
+
+			if (record == null)
+				return super.get(id);
+
+			final PolinuxHttpSession restored = this.restore(record);
+
+			if (restored == null) {
+				this.enqueue(new Record(OP_REMOVE, id, 0, 0, null));
+				return null;
+			}
+
+			final PolinuxHttpSession existing = super.putIfAbsent(restored);
+			return existing == null ? restored : existing;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(PolinuxHttpSession session) {
+		if (!super.remove(session))
+			return false;
+
+		this.ensureLoaded();
+		this.enqueue(new Record(OP_REMOVE, session.getLinkedCookie().getValue(), 0, 0, null));
+		return true;
+	}
+
+	/**
+	 * Queues a copy of the underlying session's attributes to be written to the
+	 * file.
+	 */
+	@Override
+	public void save(PolinuxHttpSession session) {
+		this.ensureLoaded();
+
+		this.enqueue(new Record(OP_PUT, session.getLinkedCookie().getValue(), session.getCreationTime(),
+				session.getLastAccessedTime(), session.copyAttributes()));
+	}
+
+	/**
+	 * Adds a {@link ClassLoader} through which the classes of restored attributes
+	 * are resolved, after the one of the server. Should be called before sessions
+	 * are looked up.
+	 * 
+	 * @param classLoader The class loader of a web application.
+	 */
+	public void addClassLoader(ClassLoader classLoader) {
+		if (classLoader != null && !this.classLoaders.contains(classLoader))
+			this.classLoaders.add(classLoader);
+	}
+
+	/**
+	 * Queues a record to be written, unless the writer thread is not running
+	 * (the file could not be opened, or the store has been closed).
+	 */
+	private void enqueue(final Record record) {
+		if (this.enabled)
+			this.queue.add(record);
+	}
+
+	/**
+	 * Writes every queued record and closes the file.
+	 */
+	@Override
+	public synchronized void close() {
+		if (this.t == null)
+			return;
+
+		this.enabled = false;
+		this.queue.add(CLOSE);
+
+		try {
+			this.t.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		this.t = null;
+
+		try {
+			if (this.region != null) {
+				this.region.force();
+				this.region = null;
+			}
+
+			// Cuts the zeroed tail of the last mapped region
+			this.channel.truncate(this.appendPosition);
+		} catch (IOException e) {
+			// Some platforms refuse to truncate a file still mapped; the tail is then
+			// skipped when the file is read
+		}
+
+		try {
+			this.channel.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Reads the file, dropping dead records from it, and starts the writer thread.
+	 * Does nothing if the file has already been read.
+	 */
+	protected void ensureLoaded() {
+		if (this.loaded)
+			return;
+
+		synchronized (this) {
+			if (this.loaded)
+				return;
+
+			try {
+				this.appendPosition = this.readFile();
+				this.channel = new RandomAccessFile(this.file, "rw").getChannel();
+			} catch (IOException e) {
+				PolinuxHttpServer.HTTP_LOGGER
+						.logError("Could not load sessions from " + this.file.getPath() + ": " + e.getMessage());
+				this.persisted.clear();
+			}
+
+			// Records are immutable, hence shared with the writer thread
+			for (Map.Entry<String, byte[]> record : this.persisted.entrySet()) {
+				this.live.put(record.getKey(), record.getValue());
+				this.liveBytes += 4 + record.getValue().length;
+			}
+			this.compactAbove = Math.max(REGION_SIZE, 2 * this.liveBytes);
+
+			this.loaded = true;
+
+			if (this.channel != null) {
+				this.t = new Thread(this, "Polinux Session Store");
+				this.t.setDaemon(true);
+				this.enabled = true;
+				this.t.start();
+			}
+		}
+	}
+
+	/**
+	 * Reads every record of the file, keeping the latest record of each session
+	 * still alive. The file is rewritten if it contains dead records.
+	 * 
+	 * @return The length of the file, once rewritten.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private long readFile() throws IOException {
+		if (!this.file.exists()) {
+			if (this.file.getAbsoluteFile().getParentFile() != null)
+				this.file.getAbsoluteFile().getParentFile().mkdirs();
+			return 0;
+		}
+
+		final long now = System.currentTimeMillis();
+		long end = 0;
+		int records = 0;
+		boolean intact = true;
+
+		final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)));
+
+		try {
+			while (true) {
+				final byte[] record;
+
+				try {
+					final int length = in.readInt();
+
+					// Zeroed tail of the last mapped region, which was not truncated
+					if (length == 0)
+						break;
+
+					if (length < 0) {
+						intact = false;
+						break;
+					}
+
+					record = new byte[length];
+					in.readFully(record);
+				} catch (EOFException e) {
+					// End of the file, or record cut short by a crash
+					intact = end == this.file.length();
+					break;
+				}
+
+				final DataInputStream header = new DataInputStream(new ByteArrayInputStream(record));
+				final byte op;
+				final String id;
+				final boolean expired;
+
+				try {
+					op = header.readByte();
+					id = header.readUTF();
+					expired = op == OP_PUT && this.isExpired(header.readLong(), header.readLong(), now);
+				} catch (IOException e) {
+					// Record only partially written before a crash
+					intact = false;
+					break;
+				}
+
+				end += 4 + record.length;
+				records++;
+
+				if (op == OP_PUT && !expired)
+					this.persisted.put(id, record);
+				else
+					this.persisted.remove(id);
+			}
+		} finally {
+			in.close();
+		}
+
+		if (records == this.persisted.size() && intact)
+			return end;
+
+		// Rewrite the file with live records only
+		return this.rewrite(this.persisted.values());
+	}
+
+	/**
+	 * Replaces the file with one holding the underlying records only.
+	 * 
+	 * @param records The records to keep.
+	 * @return The length of the new file.
+	 * @throws IOException If an I/O error occurs, in which case the file is left
+	 *                     untouched.
+	 */
+	private long rewrite(final Collection<byte[]> records) throws IOException {
+		final File temp = new File(this.file.getPath() + ".tmp");
+		final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+		long end = 0;
+
+		try {
+			for (byte[] record : records) {
+				out.writeInt(record.length);
+				out.write(record);
+				end += 4 + record.length;
+			}
+		} finally {
+			out.close();
+		}
+
+		try {
+			Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			temp.delete();
+			throw e;
+		}
+
+		return end;
+	}
+
+	/**
+	 * Retrieves whether a session with the underlying times has expired,
+	 * according to the {@link #config server configuration}.
+	 */
+	private boolean isExpired(final long creationTime, final long lastAccessedTime, final long now) {
+		final long maxInactiveInterval = 1000L * this.config.getSettings().getSessionMaxInactiveInterval();
+		final long maxLifetime = 1000L * this.config.getSettings().getSessionMaxLifetime();
+
+		if (maxInactiveInterval > 0 && now - lastAccessedTime >= maxInactiveInterval)
+			return true;
+
+		return maxLifetime > 0 && now - creationTime >= maxLifetime;
+	}
+
+	/**
+	 * Rebuilds a session from its record.
+	 * 
+	 * @param record The record of the session.
+	 * @return The rebuilt session, {@code null} if it has expired or the record
+	 *         could not be read.
+	 */
+	private PolinuxHttpSession restore(final byte[] record) {
+		try {
+			final DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+			in.readByte();
+			final String id = in.readUTF();
+			final long creationTime = in.readLong();
+			final long lastAccessedTime = in.readLong();
+
+			if (this.isExpired(creationTime, lastAccessedTime, System.currentTimeMillis()))
+				return null;
+
+			final int count = in.readInt();
+			final Map<String, Object> attributes = new LinkedHashMap<String, Object>();
+
+			for (int i = 0; i < count; i++) {
+				final String key = in.readUTF();
+				final byte kind = in.readByte();
+				final byte[] value = new byte[in.readInt()];
+				in.readFully(value);
+
+				try {
+					attributes.put(key, decode(kind, value));
+				} catch (Exception e) {
+					// Class of the attribute is gone, or has changed
+					PolinuxHttpServer.HTTP_LOGGER.logWarn("Dropped session attribute '" + key + "' that could not be restored: "
+							+ (e instanceof InvocationTargetException ? e.getCause() : e));
+				}
+			}
+
+			return PolinuxHttpSession.restore(new PolinuxHttpSessionCookie(this.config, id), attributes,
+					creationTime, lastAccessedTime);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Runs the writer thread. Should not be called directly.
+	 * 
+	 * @deprecated Called by the writer thread started by {@link #ensureLoaded()}.
+	 */
+	@Deprecated
+	@Override
+	public void run() {
+		final List<Record> batch = new ArrayList<Record>(MAX_BATCH);
+		final Map<String, Record> latest = new LinkedHashMap<String, Record>();
+		boolean closing = false;
+
+		while (!closing) {
+			try {
+				batch.add(this.queue.take());
+			} catch (InterruptedException e) {
+				break;
+			}
+
+			this.queue.drainTo(batch, MAX_BATCH - 1);
+
+			// Only the last record of each session matters
+			for (Record record : batch) {
+				if (record == CLOSE) {
+					closing = true;
+					continue;
+				}
+				latest.remove(record.id);
+				latest.put(record.id, record);
+			}
+
+			try {
+				for (Record record : latest.values())
+					this.write(record);
+
+				if (this.region != null)
+					this.region.force();
+
+				if (this.appendPosition >= this.compactAbove)
+					this.compact();
+			} catch (IOException e) {
+				PolinuxHttpServer.HTTP_LOGGER.logError("Could not write sessions to " + this.file.getPath() + ": "
+						+ e.getMessage());
+			}
+
+			batch.clear();
+			latest.clear();
+		}
+	}
+
+	/**
+	 * Appends a record to the file, unless it would not change what the file holds
+	 * for its session: a session saved with the same attributes, and a last access
+	 * less than a tenth of the idle timeout ahead of the one in the file, or a
+	 * session removed which is not in the file.
+	 */
+	private void write(final Record record) throws IOException {
+		final byte[] previous = this.live.get(record.id);
+
+		if (record.op == OP_REMOVE) {
+			if (previous == null)
+				return;
+
+			this.append(encode(record));
+			this.live.remove(record.id);
+			this.liveBytes -= 4 + previous.length;
+			return;
+		}
+
+		final byte[] encoded = encode(record);
+
+		if (previous != null && previous[0] == OP_PUT && sameAttributes(previous, encoded)) {
+			final long refresh = 100L * this.config.getSettings().getSessionMaxInactiveInterval();
+			final long lastAccessedTime = ByteBuffer.wrap(previous).getLong(headerLength(previous) - 8);
+
+			if (refresh <= 0 || record.lastAccessedTime - lastAccessedTime < refresh)
+				return;
+		}
+
+		this.append(encoded);
+		this.live.put(record.id, encoded);
+		this.liveBytes += 4 + encoded.length - (previous == null ? 0 : 4 + previous.length);
+	}
+
+	/**
+	 * Rewrites the file with the latest record of every session still alive, once
+	 * dead records make up most of it. If the file cannot be replaced (e.g. some
+	 * platforms refuse to replace a file still mapped), records keep being
+	 * appended, and compacting is retried once the file has doubled.
+	 */
+	private void compact() throws IOException {
+		final long now = System.currentTimeMillis();
+
+		for (Iterator<byte[]> it = this.live.values().iterator(); it.hasNext();) {
+			final byte[] record = it.next();
+			final ByteBuffer header = ByteBuffer.wrap(record);
+			final int end = headerLength(record);
+
+			if (this.isExpired(header.getLong(end - 16), header.getLong(end - 8), now)) {
+				it.remove();
+				this.liveBytes -= 4 + record.length;
+			}
+		}
+
+		if (this.appendPosition < 2 * this.liveBytes) {
+			this.compactAbove = Math.max(REGION_SIZE, 2 * this.appendPosition);
+			return;
+		}
+
+		if (this.region != null) {
+			this.region.force();
+			this.region = null;
+		}
+
+		final long length;
+
+		try {
+			length = this.rewrite(this.live.values());
+		} catch (IOException e) {
+			this.compactAbove = Math.max(REGION_SIZE, 2 * this.appendPosition);
+			throw e;
+		}
+
+		this.channel.close();
+		this.channel = new RandomAccessFile(this.file, "rw").getChannel();
+		this.appendPosition = length;
+		this.compactAbove = Math.max(REGION_SIZE, 2 * length);
+	}
+
+	/**
+	 * Retrieves the length of the header of a {@code put} record: operation, id,
+	 * creation time and last access time.
+	 */
+	private static int headerLength(final byte[] record) {
+		return 1 + 2 + (((record[1] & 0xFF) << 8) | (record[2] & 0xFF)) + 16;
+	}
+
+	/**
+	 * Retrieves whether two {@code put} records of the same session hold the same
+	 * attributes.
+	 */
+	private static boolean sameAttributes(final byte[] a, final byte[] b) {
+		final int from = headerLength(a);
+
+		if (a.length != b.length || headerLength(b) != from)
+			return false;
+
+		for (int i = from; i < a.length; i++) {
+			if (a[i] != b[i])
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Appends a record at the end of the file, mapping a new region of the file
+	 * if the current one is full.
+	 */
+	private void append(final byte[] record) throws IOException {
+		final int size = 4 + record.length;
+
+		if (this.region == null || this.region.remaining() < size) {
+			if (this.region != null)
+				this.region.force();
+
+			this.region = this.channel.map(FileChannel.MapMode.READ_WRITE, this.appendPosition,
+					Math.max(REGION_SIZE, size));
+		}
+
+		this.region.putInt(record.length);
+		this.region.put(record);
+		this.appendPosition += size;
+	}
+
+	/**
+	 * Encodes a record. Attributes that cannot be serialized are left out.
+	 */
+	@SuppressWarnings("deprecation")
+	private static byte[] encode(final Record record) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+
+		out.writeByte(record.op);
+		out.writeUTF(record.id);
+
+		if (record.op == OP_PUT) {
+			out.writeLong(record.creationTime);
+			out.writeLong(record.lastAccessedTime);
+
+			final Map<String, byte[]> values = new LinkedHashMap<String, byte[]>();
+			final Map<String, Byte> kinds = new HashMap<String, Byte>();
+
+			for (Map.Entry<String, Object> entry : record.attributes.entrySet()) {
+				final Object value = entry.getValue();
+				final byte kind;
+
+				if (value instanceof org.polinux.configuration.serialization.ConfigurationSerializable)
+					kind = VALUE_CONFIGURATION_SERIALIZABLE;
+				else if (value instanceof Serializable)
+					kind = VALUE_SERIALIZABLE;
+				else
+					continue;
+
+				try {
+					values.put(entry.getKey(), encodeValue(kind, value));
+					kinds.put(entry.getKey(), kind);
+				} catch (IOException e) {
+					// Serializable on the outside, but not all the way through
+				}
+			}
+
+			out.writeInt(values.size());
+
+			for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeByte(kinds.get(entry.getKey()));
+				out.writeInt(entry.getValue().length);
+				out.write(entry.getValue());
+			}
+		}
+
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	@SuppressWarnings("deprecation")
+	private static byte[] encodeValue(final byte kind, final Object value) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final ObjectOutputStream out = new ObjectOutputStream(bytes);
+
+		if (kind == VALUE_CONFIGURATION_SERIALIZABLE) {
+			final org.polinux.configuration.serialization.ConfigurationSerializable serializable = (org.polinux.configuration.serialization.ConfigurationSerializable) value;
+
+			out.writeObject(value.getClass().getName());
+			out.writeObject(new LinkedHashMap<String, Object>(serializable.serialize()));
+		} else {
+			out.writeObject(value);
+		}
+
+		out.close();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes an attribute. Only classes of the web applications and classes
+	 * {@link #isAllowed(Class) allowed} inside the file are read back, and {@code deserialize} is only called on
+	 * {@link org.polinux.configuration.serialization.ConfigurationSerializable
+	 * ConfigurationSerializable} classes, so a tampered file cannot make the
+	 * server build arbitrary objects.
+	 */
+	@SuppressWarnings({ "unchecked", "deprecation" })
+	private Object decode(final byte kind, final byte[] value) throws Exception {
+		final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(value)) {
+			@Override
+			protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+				final Class<?> c;
+
+				try {
+					c = super.resolveClass(desc);
+				} catch (ClassNotFoundException e) {
+					// Only held by a web application
+					return PolinuxFileSessionStore.this.findClass(desc.getName(), e);
+				}
+
+				if (!isAllowed(c))
+					throw new InvalidClassException(desc.getName(), "not allowed inside a session file");
+				return c;
+			}
+
+			@Override
+			protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+				throw new InvalidClassException("proxy", "not allowed inside a session file");
+			}
+		};
+
+		try {
+			if (kind == VALUE_CONFIGURATION_SERIALIZABLE) {
+				final String name = (String) in.readObject();
+				Class<?> c;
+
+				try {
+					c = Class.forName(name, false, PolinuxFileSessionStore.class.getClassLoader());
+				} catch (ClassNotFoundException e) {
+					c = this.findClass(name, e);
+				}
+
+				if (!org.polinux.configuration.serialization.ConfigurationSerializable.class.isAssignableFrom(c))
+					throw new InvalidClassException(name, "not ConfigurationSerializable");
+
+				final Map<String, Object> data = (Map<String, Object>) in.readObject();
+				return c.getMethod("deserialize", Map.class).invoke(null, data);
+			}
+
+			return in.readObject();
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Checks whether instances of a class of the server's class path may be read
+	 * back from the file: classes of the {@link #ALLOWED_PACKAGES} of the JDK
+	 * (boxed primitives, strings, collections, dates...), and arrays of them.
+	 * Classes only the web applications hold are always allowed.
+	 * 
+	 * @param c The class.
+	 * @return {@code True} if instances of the class may be read back,
+	 *         {@code false} otherwise.
+	 */
+	private static boolean isAllowed(Class<?> c) {
+		while (c.isArray())
+			c = c.getComponentType();
+
+		if (c.isPrimitive())
+			return true;
+
+		final String name = c.getName();
+		final String pkg = name.substring(0, Math.max(0, name.lastIndexOf('.')));
+
+		for (String allowed : ALLOWED_PACKAGES) {
+			if (allowed.equals(pkg))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Finds a class the server cannot load through the
+	 * {@link #addClassLoader(ClassLoader) class loaders} of the web applications.
+	 * 
+	 * @param name     The name of the class.
+	 * @param notFound The exception thrown if no web application holds the class.
+	 * @return The class.
+	 * @throws ClassNotFoundException If no web application holds the class.
+	 */
+	private Class<?> findClass(final String name, final ClassNotFoundException notFound)
+			throws ClassNotFoundException {
+		for (ClassLoader classLoader : this.classLoaders) {
+			try {
+				return Class.forName(name, false, classLoader);
+			} catch (ClassNotFoundException e) {
+				// Held by another web application
+			}
+		}
+
+		throw notFound;
+	}
+
+	/**
+	 * Retrieves the file sessions are written to.
+	 * 
+	 * @return The file of this store.
+	 */
+	public File getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Represents a change to a session, waiting to be written.
+	 */
+	protected static final class Record {
+		final byte op;
+		final String id;
+		final long creationTime;
+		final long lastAccessedTime;
+		final Map<String, Object> attributes;
+
+		Record(final byte op, final String id, final long creationTime, final long lastAccessedTime,
+				final Map<String, Object> attributes) {
+			this.op = op;
+			this.id = id;
+			this.creationTime = creationTime;
+			this.lastAccessedTime = lastAccessedTime;
+			this.attributes = attributes;
+		}
+	}
+
+}
@@ -1,15 +1,16 @@
 package org.polinux.http.polinux.session;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.polinux.configuration.server.PolinuxHttpServerConfiguration;
 import org.polinux.exceptions.http.polinux.PolinuxHttpCookieRuntimeException;
 import org.polinux.http.HttpRequestCookie;
 import org.polinux.http.HttpSession;
+import org.polinux.http.polinux.jfr.PolinuxFlightRecorder;
 import org.polinux.http.polinux.server.PolinuxHttpServer;
 
 public final class PolinuxHttpSession implements HttpSession {
@@ -17,7 +18,46 @@ public final class PolinuxHttpSession implements HttpSession {
 	protected PolinuxHttpSessionCookie cookie;
 	protected boolean isNewSession;
 
-	protected static final Set<PolinuxHttpSession> sessions = new LinkedHashSet<PolinuxHttpSession>();
+	/**
+	 * Represents the time (in milliseconds) at which this session was created.
+	 */
+	protected final long creationTime;
+
+	/**
+	 * Represents the time (in milliseconds) at which this session was last
+	 * retrieved by a request. Written on every access, hence {@code volatile}
+	 * rather than guarded by a lock.
+	 */
+	protected volatile long lastAccessedTime;
+
+	/**
+	 * Represents how long (in milliseconds) this session may stay unused before it
+	 * expires. A value of {@code 0} or lower means the session never expires from
+	 * inactivity.
+	 */
+	protected final long maxInactiveInterval;
+
+	/**
+	 * Represents how long (in milliseconds) this session may live in total. A value
+	 * of {@code 0} or lower means the session has no absolute lifetime.
+	 */
+	protected final long maxLifetime;
+
+	/**
+	 * Represents whether this session is still known to the server.
+	 */
+	protected volatile boolean valid = true;
+
+	/**
+	 * Represents the {@link PolinuxHttpSessionStore} holding all the live
+	 * sessions.
+	 */
+	private static volatile PolinuxHttpSessionStore store = new PolinuxMemorySessionStore();
+
+	/**
+	 * Represents how many sessions have been evicted since startup.
+	 */
+	private static final AtomicLong evictedSessions = new AtomicLong();
 
 	/**
 	 * Constructs a PolinuxHttpSession
@@ -36,8 +76,35 @@ public final class PolinuxHttpSession implements HttpSession {
 	 * @param attributes The attributes for this session.
 	 */
 	private PolinuxHttpSession(PolinuxHttpSessionCookie cookie, Map<String, Object> attributes) {
-		this.attributes = attributes == null ? new HashMap<String, Object>() : attributes;
+		this(cookie, attributes, System.currentTimeMillis(), -1);
+	}
+
+	/**
+	 * Constructs a PolinuxHttpSession
+	 * 
+	 * @param cookie           The {@link PolinuxHttpSessionCookie} to link to this
+	 *                         session.
+	 * @param attributes       The attributes for this session.
+	 * @param creationTime     The time at which the session was created.
+	 * @param lastAccessedTime The time at which the session was last used, or
+	 *                         {@code -1} to use the creation time.
+	 */
+	private PolinuxHttpSession(PolinuxHttpSessionCookie cookie, Map<String, Object> attributes, long creationTime,
+			long lastAccessedTime) {
+		// Requests sharing a session cookie use its attributes at the same time
+		this.attributes = Collections
+				.synchronizedMap(attributes == null ? new HashMap<String, Object>() : attributes);
 		this.cookie = cookie;
+
+		final PolinuxHttpServerConfiguration config = cookie.getServerConfiguration();
+
+		this.maxInactiveInterval = 1000L * (config == null
+				? PolinuxHttpServerConfiguration.DEFAULT_SESSION_MAX_INACTIVE_INTERVAL
+				: config.getSettings().getSessionMaxInactiveInterval());
+		this.maxLifetime = 1000L * (config == null ? PolinuxHttpServerConfiguration.DEFAULT_SESSION_MAX_LIFETIME
+				: config.getSettings().getSessionMaxLifetime());
+		this.creationTime = creationTime;
+		this.lastAccessedTime = lastAccessedTime < 0 ? creationTime : lastAccessedTime;
 	}
 
 	/**
@@ -48,6 +115,17 @@ public final class PolinuxHttpSession implements HttpSession {
 		return attributes;
 	}
 
+	/**
+	 * Copies the attributes of this session, while no other thread changes them.
+	 * 
+	 * @return A copy of the attributes of this session.
+	 */
+	Map<String, Object> copyAttributes() {
+		synchronized (this.attributes) {
+			return new LinkedHashMap<String, Object>(this.attributes);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -56,6 +134,65 @@ public final class PolinuxHttpSession implements HttpSession {
 		return this.cookie;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getCreationTime() {
+		return this.creationTime;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getLastAccessedTime() {
+		return this.lastAccessedTime;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getMaxInactiveInterval() {
+		return (int) (this.maxInactiveInterval / 1000L);
+	}
+
+	/**
+	 * Retrieves whether this session has expired at the given time, either from
+	 * inactivity or because it has outlived its maximum lifetime.
+	 * 
+	 * @param now The current time, in milliseconds.
+	 * @return {@code True} if the session has expired, {@code false} otherwise.
+	 */
+	public boolean isExpired(final long now) {
+		if (!this.valid)
+			return true;
+
+		if (this.maxInactiveInterval > 0 && now - this.lastAccessedTime >= this.maxInactiveInterval)
+			return true;
+
+		return this.maxLifetime > 0 && now - this.creationTime >= this.maxLifetime;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void invalidate() {
+		evict(this);
+	}
+
+	/**
+	 * Hands this session over to the {@link #getSessionStore() session store} once
+	 * a request using it has been handled, so that stores keeping sessions outside
+	 * of memory can record its latest attributes.
+	 */
+	public void persist() {
+		if (this.valid)
+			store.save(this);
+	}
+
 	/**
 	 * Creates a {@link PolinuxHttpSession} from the underlying
 	 * {@link PolinuxHttpServerConfiguration}. This method will automatically
@@ -67,7 +204,7 @@ public final class PolinuxHttpSession implements HttpSession {
 	 * @return The created {@link PolinuxHttpSession}.\
 	 * @see #createSession(PolinuxHttpServerConfiguration, Map)
 	 */
-	public static synchronized PolinuxHttpSession createSession(PolinuxHttpServerConfiguration configuration) {
+	public static PolinuxHttpSession createSession(PolinuxHttpServerConfiguration configuration) {
 		return createSession(configuration, new HashMap<String, Object>());
 	}
 
@@ -82,7 +219,7 @@ public final class PolinuxHttpSession implements HttpSession {
 	 * @param attributes    Map containing the attributes for the session.
 	 * @return The created {@link PolinuxHttpSession}.
 	 */
-	public static synchronized PolinuxHttpSession createSession(PolinuxHttpServerConfiguration configuration,
+	public static PolinuxHttpSession createSession(PolinuxHttpServerConfiguration configuration,
 			Map<String, Object> attributes) {
 		return createSession(PolinuxHttpSessionCookie.newCookie(configuration), attributes);
 	}
@@ -98,7 +235,7 @@ public final class PolinuxHttpSession implements HttpSession {
 	 *                                           cookie's value already exists.
 	 * @see #createSession(PolinuxHttpSessionCookie, Map)
 	 */
-	public static synchronized PolinuxHttpSession createSession(PolinuxHttpSessionCookie cookie)
+	public static PolinuxHttpSession createSession(PolinuxHttpSessionCookie cookie)
 			throws PolinuxHttpCookieRuntimeException {
 		return createSession(cookie, new HashMap<String, Object>());
 	}
@@ -114,33 +251,29 @@ public final class PolinuxHttpSession implements HttpSession {
 	 * @throws PolinuxHttpCookieRuntimeException If a session with the underlying
 	 *                                           cookie's value already exists.
 	 */
-	public static synchronized PolinuxHttpSession createSession(PolinuxHttpSessionCookie cookie,
+	public static PolinuxHttpSession createSession(PolinuxHttpSessionCookie cookie,
 			Map<String, Object> attributes) throws PolinuxHttpCookieRuntimeException {
 		// Return null if cookie is null
 		if (cookie == null)
 			return null;
 
-		synchronized (sessions) {
-			// Checks if session w/ cookie exists
-			for (PolinuxHttpSession session : sessions) {
-				
-				if (session.getLinkedCookie().equals(cookie)
-						|| (session.getLinkedCookie().getValue().equals(cookie.getValue())
-								&& session.getLinkedCookie().getName().equals(cookie.getName()))) {
-					throw new PolinuxHttpCookieRuntimeException(cookie,
-							"Session with id " + cookie.getValue() + " already exists!");
-				}
-			}
-		}
+		// Clears out an expired session still holding the same id
+		final PolinuxHttpSession existing = store.get(cookie.getValue());
+
+		if (existing != null && existing.isExpired(System.currentTimeMillis()))
+			evict(existing);
 
 		PolinuxHttpSession p = new PolinuxHttpSession(cookie, attributes);
 
-		synchronized (sessions) {
-			sessions.add(p);
+		// Checks if session w/ cookie exists
+		if (store.putIfAbsent(p) != null) {
+			throw new PolinuxHttpCookieRuntimeException(cookie,
+					"Session with id " + cookie.getValue() + " already exists!");
 		}
 
 		p.isNewSession = true;
-		p.attributes = attributes;
+
+		PolinuxFlightRecorder.sessionCreated();
 
 		return p;
 	}
@@ -149,38 +282,117 @@ public final class PolinuxHttpSession implements HttpSession {
 	 * Retrieves an already created {@link PolinuxHttpSession}. Once this method is
 	 * called, the {@link PolinuxHttpSession} found is no longer considered unique
 	 * (not considered {@link #isNew() a new session}).
+	 * <p>
+	 * If the session found has expired, it is evicted and {@code null} is
+	 * returned.
 	 * 
 	 * @param cookie The {@link PolinuxHttpSessionCookie cookie} to match with the
 	 *               session.
 	 * @return The {@link PolinuxHttpSession} containing the underlying cookie,
 	 *         {@code null} if none was found;
 	 */
-	public static synchronized PolinuxHttpSession getSession(HttpRequestCookie cookie) {
+	public static PolinuxHttpSession getSession(HttpRequestCookie cookie) {
 		// Return null if cookie is null
 		if (cookie == null)
 			return null;
 
-		// Disable length checks
-		// if (cookie.getValue().length() != PolinuxHttpSessionCookie.LENGTH)
-		// return null;
-
-		synchronized (sessions) {
-			for (PolinuxHttpSession session : sessions) {
-				// Checks if cookie are "the same"
-				if (session.getLinkedCookie().equals(cookie)
-						|| (session.getLinkedCookie().getValue().equals(cookie.getValue())
-								&& session.getLinkedCookie().getName().equals(cookie.getName()))) {
-					// Session is no longer considered unique.
-					session.isNewSession = false;
-					return session;
-				}
-			}
-		}
+		final PolinuxHttpSession session = store.get(cookie.getValue());
 
 		// Return null if no session are found
-		return null;
+		if (session == null || !session.getLinkedCookie().getName().equals(cookie.getName()))
+			return null;
+
+		final long now = System.currentTimeMillis();
+
+		if (session.isExpired(now)) {
+			evict(session);
+			return null;
+		}
+
+		// Session is no longer considered unique.
+		session.isNewSession = false;
+		session.lastAccessedTime = now;
+		return session;
+	}
+
+	/**
+	 * Removes the underlying session from the list of live sessions, along with
+	 * its {@link PolinuxHttpSessionCookie cookie}.
+	 * 
+	 * @param session The session to evict.
+	 * @return {@code True} if the session was evicted by this call, {@code false}
+	 *         if it had already been removed.
+	 */
+	static boolean evict(final PolinuxHttpSession session) {
+		if (!store.remove(session))
+			return false;
 
-		// return null;
+		final long now = PolinuxFlightRecorder.SUPPORTED ? System.currentTimeMillis() : 0L;
+		// Read before the session is marked invalid, which counts as expired
+		final boolean expired = PolinuxFlightRecorder.SUPPORTED && session.isExpired(now);
+
+		session.valid = false;
+		PolinuxHttpSessionCookie.forget(session.getLinkedCookie());
+		evictedSessions.incrementAndGet();
+
+		if (PolinuxFlightRecorder.SUPPORTED)
+			PolinuxFlightRecorder.sessionEvicted(expired, now - session.creationTime);
+		return true;
+	}
+
+	/**
+	 * Retrieves how many sessions are currently known to the server.
+	 * 
+	 * @return The amount of live sessions.
+	 */
+	public static int getLiveSessionCount() {
+		return store.size();
+	}
+
+	/**
+	 * Rebuilds a session that was saved by a {@link PolinuxHttpSessionStore}. The
+	 * rebuilt session is not added to any store.
+	 * 
+	 * @param cookie           The cookie to link with the session.
+	 * @param attributes       The attributes of the session.
+	 * @param creationTime     The time at which the session was created.
+	 * @param lastAccessedTime The time at which the session was last used.
+	 * @return The rebuilt {@link PolinuxHttpSession}.
+	 */
+	static PolinuxHttpSession restore(PolinuxHttpSessionCookie cookie, Map<String, Object> attributes,
+			long creationTime, long lastAccessedTime) {
+		return new PolinuxHttpSession(cookie, attributes, creationTime, lastAccessedTime);
+	}
+
+	/**
+	 * Retrieves the {@link PolinuxHttpSessionStore} holding all the live sessions.
+	 * 
+	 * @return The current session store.
+	 */
+	public static PolinuxHttpSessionStore getSessionStore() {
+		return store;
+	}
+
+	/**
+	 * Sets the {@link PolinuxHttpSessionStore} holding all the live sessions. This
+	 * should be done before the server starts handling requests, for sessions held
+	 * by the previous store are not carried over.
+	 * 
+	 * @param sessionStore The new session store. Cannot be {@code null}.
+	 */
+	public static void setSessionStore(PolinuxHttpSessionStore sessionStore) {
+		if (sessionStore != null)
+			store = sessionStore;
+	}
+
+	/**
+	 * Retrieves how many sessions have been evicted (expired or invalidated) since
+	 * the server started.
+	 * 
+	 * @return The amount of evicted sessions.
+	 */
+	public static long getEvictedSessionCount() {
+		return evictedSessions.get();
 	}
 
 	/**
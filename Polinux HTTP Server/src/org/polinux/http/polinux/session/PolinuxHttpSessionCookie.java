@@ -1,11 +1,13 @@
 package org.polinux.http.polinux.session;
 
 import java.util.Date;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.polinux.configuration.server.HttpsServerConfiguration;
 import org.polinux.configuration.server.PolinuxHttpServerConfiguration;
+import org.polinux.configuration.server.PolinuxHttpServerSettings;
 import org.polinux.exceptions.http.polinux.PolinuxHttpCookieRuntimeException;
 import org.polinux.http.HttpRequestCookie;
 import org.polinux.http.HttpResponseCookie;
@@ -13,7 +15,6 @@ import org.polinux.http.HttpServer;
 import org.polinux.http.HttpServerRequest;
 import org.polinux.http.HttpSession;
 import org.polinux.http.polinux.servlet.PolinuxHttpServerRequest;
-import org.polinux.utils.string.StringUtils;
 
 /**
  * Represents a {@link HttpResponseCookie Session Cookie} inside a
@@ -41,20 +42,29 @@ public class PolinuxHttpSessionCookie extends HttpResponseCookie {
 	/**
 	 * Represents the length of the value of any given
 	 * {@link PolinuxHttpSessionCookie}. May changes with later updates.
+	 * 
+	 * @see PolinuxHttpSessionIdGenerator
 	 */
-	public static final double LENGTH = 128; // Max 2048 if necessary.
+	public static final double LENGTH = PolinuxHttpSessionIdGenerator.ID_LENGTH;
 
 	/**
-	 * Represents the allowed characters as the value of a
-	 * {@link PolinuxHttpSessionCookie}.
+	 * Represents all the cookies created {@link PolinuxHttpSessionCookie
+	 * PolinuxHttpSessionCookies}, mapped by their value.
 	 */
-	static final String ALLOWED = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789-_+@/";
+	protected static final Map<String, PolinuxHttpSessionCookie> knownCookies = new ConcurrentHashMap<String, PolinuxHttpSessionCookie>();
 
 	/**
-	 * Represents all the cookies created {@link PolinuxHttpSessionCookie
-	 * PolinuxHttpSessionCookies}.
+	 * Represents the attributes ("; Domain=...; HttpOnly" etc.) of the session
+	 * cookies of each {@link PolinuxHttpServerConfiguration}. Every session cookie
+	 * of a configuration shares the same attributes, so they are only built once.
+	 */
+	private static final Map<PolinuxHttpServerConfiguration, String> attributeCache = new ConcurrentHashMap<PolinuxHttpServerConfiguration, String>();
+
+	/**
+	 * Represents how many times the attributes were found inside, or missing from,
+	 * the {@link #attributeCache}.
 	 */
-	protected static final Set<PolinuxHttpSessionCookie> knownCookies = new HashSet<PolinuxHttpSessionCookie>();
+	private static final LongAdder attributeCacheHits = new LongAdder(), attributeCacheMisses = new LongAdder();
 
 //	/**
 //	 * Constructs an {@code PolinuxHttpSessionCookie}.
@@ -93,15 +103,23 @@ public class PolinuxHttpSessionCookie extends HttpResponseCookie {
 	protected PolinuxHttpSessionCookie(final PolinuxHttpServerConfiguration config, final String value, boolean add)
 			throws PolinuxHttpCookieRuntimeException {
 		super(config == null ? DEFAULT_NAME
-				: config.getSessionCookieName() == null ? DEFAULT_NAME : config.getSessionCookieName(), value);
+				: config.getSettings().getSessionCookieName() == null ? DEFAULT_NAME
+						: config.getSettings().getSessionCookieName(),
+				value);
+		this.config = config;
+
+		final PolinuxHttpServerSettings settings = config.getSettings();
+
 		super.setMaxAge(-2);
-		super.setSecure((config instanceof HttpsServerConfiguration) ? config.isSessionCookieSecure() : false);
-		super.setHttpOnly(config.isSessionCookieHttpOnly());
-		super.setSameSitePolicy(config.getSessionCookieSameSitePolicy());
-		super.setDomain(config.getSessionCookieDomain().equalsIgnoreCase("") ? null : config.getSessionCookieDomain());
+		super.setSecure((config instanceof HttpsServerConfiguration) ? settings.isSessionCookieSecure() : false);
+		super.setHttpOnly(settings.isSessionCookieHttpOnly());
+		super.setSameSitePolicy(settings.getSessionCookieSameSitePolicy());
+		super.setDomain(settings.getSessionCookieDomain() == null || settings.getSessionCookieDomain().equalsIgnoreCase("")
+				? null
+				: settings.getSessionCookieDomain());
 
 		if (add)
-			knownCookies.add(this);
+			knownCookies.put(this.getValue(), this);
 	}
 
 	/**
@@ -213,7 +231,59 @@ public class PolinuxHttpSessionCookie extends HttpResponseCookie {
 		// Although it is set inside the constructor it is better to always return the
 		// values from the configuration
 		// return super.isSecure();
-		return (this.config instanceof HttpsServerConfiguration) ? this.config.isSessionCookieSecure() : false;
+		return (this.config instanceof HttpsServerConfiguration) ? this.config.getSettings().isSessionCookieSecure()
+				: false;
+	}
+
+	/**
+	 * Appends the attributes of this cookie, built once per
+	 * {@link PolinuxHttpServerConfiguration configuration}.
+	 */
+	@Override
+	protected void appendAttributes(final StringBuilder out) {
+		String attributes = this.config == null ? null : attributeCache.get(this.config);
+
+		if (attributes != null) {
+			attributeCacheHits.increment();
+		} else {
+			attributeCacheMisses.increment();
+
+			final StringBuilder s = new StringBuilder();
+			super.appendAttributes(s);
+			attributes = s.toString();
+
+			if (this.config != null)
+				attributeCache.put(this.config, attributes);
+		}
+
+		out.append(attributes);
+	}
+
+	/**
+	 * Clears the attributes built for session cookies. Should be called once the
+	 * session cookie settings of a {@link PolinuxHttpServerConfiguration} change.
+	 */
+	public static void clearAttributeCache() {
+		attributeCache.clear();
+	}
+
+	/**
+	 * Gets how many times the attributes of a session cookie were reused rather
+	 * than built.
+	 * 
+	 * @return The amount of hits of the attribute cache.
+	 */
+	public static long getAttributeCacheHits() {
+		return attributeCacheHits.sum();
+	}
+
+	/**
+	 * Gets how many times the attributes of a session cookie had to be built.
+	 * 
+	 * @return The amount of misses of the attribute cache.
+	 */
+	public static long getAttributeCacheMisses() {
+		return attributeCacheMisses.sum();
 	}
 
 	/**
@@ -230,6 +300,9 @@ public class PolinuxHttpSessionCookie extends HttpResponseCookie {
 	 * Parses the {@code session cookie} from the underlying
 	 * {@link HttpRequestCookie request cookie} and
 	 * {@link PolinuxHttpServerConfiguration server configuration}.
+	 * <p>
+	 * The value of the request cookie comes from the client, so a value which is
+	 * not already known is not added to the known cookies.
 	 * 
 	 * @param config The configuration for the {@link HttpServer server}.
 	 * @param cookie The {@link HttpRequestCookie} that contains the
@@ -242,65 +315,47 @@ public class PolinuxHttpSessionCookie extends HttpResponseCookie {
 
 		try {
 			// Return null if cookie name does not match config cookie name
-			if (!cookie.getName().equals(config.getSessionCookieName()))
+			if (!cookie.getName().equals(config.getSettings().getSessionCookieName()))
 				return null;
 		} catch (RuntimeException e) { // NullPointer / any other runtime
 			// Will return null if cookie or config is equal to null (NullPointer)
 			return null;
 		}
 
-		synchronized (knownCookies) {
-			for (PolinuxHttpSessionCookie c : knownCookies) {
-				if (c.getValue().equals(cookie.getValue()) && c.getName().equals(cookie.getName())) {
-					// Return cookie with same value if it already exists
-					return c;
-				}
-			}
+		final PolinuxHttpSessionCookie c = knownCookies.get(cookie.getValue());
+
+		if (c != null && c.getName().equals(cookie.getName())) {
+			// Return cookie with same value if it already exists
+			return c;
 		}
 
 		// Return the created cookies
-		return new PolinuxHttpSessionCookie(config, cookie.getValue());
+		return new PolinuxHttpSessionCookie(config, cookie.getValue(), false);
 	}
 
 	/**
-	 * Generates a new, unique {@link PolinuxHttpSessionCookie}. This method blocks
-	 * until a new and valid cookie is found.
+	 * Generates a new, unique {@link PolinuxHttpSessionCookie}. The value of the
+	 * cookie is drawn from {@link PolinuxHttpSessionIdGenerator}, which holds
+	 * enough entropy for collisions to never happen in practice; a duplicate would
+	 * still be refused by {@link PolinuxHttpSession#createSession(PolinuxHttpSessionCookie)}.
 	 * 
 	 * @param config The {@link PolinuxHttpServerConfiguration} (needed for default
 	 *               cookie name).
 	 * @return The {@link PolinuxHttpSessionCookie} with a {@code unique} session
 	 *         id.
 	 */
-	public static synchronized PolinuxHttpSessionCookie newCookie(final PolinuxHttpServerConfiguration config) {
-		PolinuxHttpSessionCookie p;
-
-		// Begin loop to look for new cookie
-		while (true) {
-			// Create a new cookie with random value
-			p = new PolinuxHttpSessionCookie(config, StringUtils.generateRandomString(LENGTH, ALLOWED), false);
-			boolean cookieValExist = false;
-
-			// Loops to check if the cookie with the random value exists
-			for (PolinuxHttpSessionCookie c : knownCookies) {
-				if (c.getValue().equals(p.getValue())) {
-					cookieValExist = true;
-					break;
-				}
-			}
-
-			// Continues loop if a cookie with the above value exists
-			if (cookieValExist) {
-				continue;
-			}
-
-			break;
-		}
-
-		// Add cookie to list of known cookies.
-		knownCookies.add(p);
+	public static PolinuxHttpSessionCookie newCookie(final PolinuxHttpServerConfiguration config) {
+		return new PolinuxHttpSessionCookie(config, PolinuxHttpSessionIdGenerator.generate());
+	}
 
-		// Return unique cookie
-		return p;
+	/**
+	 * Removes the underlying cookie from the list of known cookies, once the
+	 * {@link PolinuxHttpSession session} it is linked to has been discarded.
+	 * 
+	 * @param cookie The cookie to forget.
+	 */
+	static void forget(final PolinuxHttpSessionCookie cookie) {
+		knownCookies.remove(cookie.getValue(), cookie);
 	}
 
 }
@@ -0,0 +1,100 @@
+package org.polinux.http.polinux.session;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Generates the ids of {@link PolinuxHttpSession sessions}.
+ * <p>
+ * Each id holds {@link #ENTROPY_BYTES} random bytes (192 bits), encoded as
+ * {@code base64url} without padding. Every thread owns its own
+ * {@link SecureRandom}, so generating an id never waits on another thread, and
+ * ids are wide enough that checking them against every known id is not needed.
+ * 
+ * @see PolinuxHttpSessionCookie#newCookie(org.polinux.configuration.server.PolinuxHttpServerConfiguration)
+ */
+public final class PolinuxHttpSessionIdGenerator {
+	private PolinuxHttpSessionIdGenerator() {
+	}
+
+	/**
+	 * Represents how many random bytes make up a session id.
+	 */
+	public static final int ENTROPY_BYTES = 24;
+
+	/**
+	 * Represents the length of a generated session id.
+	 */
+	public static final int ID_LENGTH = (ENTROPY_BYTES * 8 + 5) / 6; // 32
+
+	/**
+	 * Represents the {@code base64url} alphabet.
+	 */
+	private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+			.toCharArray();
+
+	/**
+	 * Represents the generator and buffers owned by each thread.
+	 */
+	private static final ThreadLocal<Generator> generators = new ThreadLocal<Generator>() {
+		@Override
+		protected Generator initialValue() {
+			return new Generator();
+		}
+	};
+
+	/**
+	 * Generates a new session id.
+	 * 
+	 * @return The generated id, {@link #ID_LENGTH} characters long.
+	 */
+	public static String generate() {
+		return generators.get().next();
+	}
+
+	/**
+	 * Represents a per-thread {@link SecureRandom} along with the buffers used to
+	 * build an id.
+	 */
+	private static final class Generator {
+		private final SecureRandom random;
+		private final byte[] bytes = new byte[ENTROPY_BYTES];
+		private final char[] chars = new char[ID_LENGTH];
+
+		Generator() {
+			SecureRandom r;
+
+			// SHA1PRNG instances do not share a lock with each other, unlike the
+			// default NativePRNG on most Unix systems
+			try {
+				r = SecureRandom.getInstance("SHA1PRNG");
+			} catch (NoSuchAlgorithmException e) {
+				r = new SecureRandom();
+			}
+
+			r.setSeed(new SecureRandom().generateSeed(ENTROPY_BYTES));
+			this.random = r;
+		}
+
+		String next() {
+			final byte[] b = this.bytes;
+			final char[] c = this.chars;
+
+			this.random.nextBytes(b);
+
+			int j = 0;
+
+			// 3 bytes -> 4 characters (ENTROPY_BYTES is a multiple of 3)
+			for (int i = 0; i < b.length; i += 3) {
+				final int v = (b[i] & 0xFF) << 16 | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF);
+				c[j++] = ALPHABET[(v >>> 18) & 0x3F];
+				c[j++] = ALPHABET[(v >>> 12) & 0x3F];
+				c[j++] = ALPHABET[(v >>> 6) & 0x3F];
+				c[j++] = ALPHABET[v & 0x3F];
+			}
+
+			return new String(c, 0, j);
+		}
+	}
+
+}
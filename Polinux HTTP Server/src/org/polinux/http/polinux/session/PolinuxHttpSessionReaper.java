@@ -0,0 +1,160 @@
+package org.polinux.http.polinux.session;
+
+import org.polinux.configuration.server.PolinuxHttpServerConfiguration;
+import org.polinux.exceptions.http.polinux.PolinuxHttpServerRuntimeException;
+import org.polinux.http.polinux.server.PolinuxHttpServer;
+
+/**
+ * Represents the background thread of a {@link PolinuxHttpServer} that discards
+ * expired {@link PolinuxHttpSession sessions}. Sessions are already evicted
+ * lazily when a request tries to use them, but sessions whose clients never
+ * come back would otherwise stay in memory forever.
+ * <p>
+ * Expired sessions are removed in batches of
+ * {@link PolinuxHttpServerConfiguration#getSessionReaperBatchSize()} sessions,
+ * yielding between each batch so that a large sweep does not hog the CPU from
+ * client threads.
+ * 
+ * @see PolinuxHttpSession
+ */
+public class PolinuxHttpSessionReaper implements Runnable {
+
+	/**
+	 * The {@link java.lang.Thread} linked to this session reaper.
+	 */
+	protected Thread t;
+
+	/**
+	 * The {@link PolinuxHttpServer} linked to this session reaper.
+	 */
+	protected transient final PolinuxHttpServer server;
+
+	/**
+	 * Whether the thread is currently enabled.
+	 */
+	protected volatile boolean enabled = false;
+
+	/**
+	 * Constructs a {@code PolinuxHttpSessionReaper}. Note that this constructor
+	 * alone will not start the reaper. {@link #execute()} must explicitly be called
+	 * to start it.
+	 * 
+	 * @param server The {@link PolinuxHttpServer} this reaper is running off.
+	 */
+	public PolinuxHttpSessionReaper(final PolinuxHttpServer server) {
+		this.server = server;
+	}
+
+	/**
+	 * Starts the session reaper.
+	 * 
+	 * @throws PolinuxHttpServerRuntimeException If the reaper has already been
+	 *                                           started.
+	 */
+	public synchronized void execute() throws PolinuxHttpServerRuntimeException {
+		if (t != null) {
+			throw new PolinuxHttpServerRuntimeException(this.server,
+					"Cannot start two instances of the same PolinuxHttpSessionReaper");
+		}
+		t = new Thread(this, "Polinux Session Reaper");
+		t.setDaemon(true);
+		enabled = true;
+		t.start();
+	}
+
+	/**
+	 * Invokes the run method. {@link #execute()} should be invoked rather than this
+	 * method, since it runs the reaper on the current thread.
+	 * 
+	 * @deprecated {@link #execute()} should be used instead.
+	 */
+	@Deprecated
+	@Override
+	public void run() {
+		while (this.isEnabled()) {
+			try {
+				Thread.sleep(1000L * Math.max(1, this.server.getSettings().getSessionReaperInterval()));
+			} catch (InterruptedException e) {
+				// Woken up either to stop or to pick up a new interval
+				if (!this.isEnabled())
+					break;
+				continue;
+			}
+
+			final int reaped = this.reap(System.currentTimeMillis());
+
+			if (reaped > 0) {
+				this.server.getLogger().log("Evicted " + reaped + " expired session(s), "
+						+ PolinuxHttpSession.getLiveSessionCount() + " session(s) remaining");
+			}
+		}
+	}
+
+	/**
+	 * Evicts every {@link PolinuxHttpSession session} that has expired at the
+	 * given time.
+	 * 
+	 * @param now The current time, in milliseconds.
+	 * @return The amount of sessions evicted.
+	 */
+	public int reap(final long now) {
+		final int batchSize = Math.max(1, this.server.getSettings().getSessionReaperBatchSize());
+		int reaped = 0;
+		int inBatch = 0;
+
+		// Requests may keep creating and using sessions while the sweep is running
+		for (PolinuxHttpSession session : PolinuxHttpSession.getSessionStore().getSessions()) {
+			if (session.isExpired(now) && PolinuxHttpSession.evict(session))
+				reaped++;
+
+			if (++inBatch >= batchSize) {
+				inBatch = 0;
+				Thread.yield();
+			}
+		}
+
+		return reaped;
+	}
+
+	/**
+	 * Wakes the session reaper up, so that a new
+	 * {@link PolinuxHttpServerConfiguration#getSessionReaperInterval() interval}
+	 * takes effect right away rather than after the current sleep.
+	 */
+	public synchronized void wake() {
+		if (t != null)
+			t.interrupt();
+	}
+
+	/**
+	 * Stops the session reaper. After execution of this method, this class may be
+	 * disposed of (should <i>never</i> be used again).
+	 */
+	public synchronized void close() {
+		this.enabled = false;
+		if (t != null) {
+			t.interrupt();
+			t = null;
+		}
+	}
+
+	/**
+	 * Gets whether the session reaper is currently enabled.
+	 * 
+	 * @return {@code True} if the reaper is currently enabled, {@code false}
+	 *         otherwise.
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * Retrieves the {@link PolinuxHttpServer} linked to this session reaper.
+	 * 
+	 * @return The linked {@link PolinuxHttpServer}.
+	 */
+	public PolinuxHttpServer getServer() {
+		return this.server;
+	}
+
+}
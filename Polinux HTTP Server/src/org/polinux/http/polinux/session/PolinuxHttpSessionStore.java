@@ -0,0 +1,69 @@
+package org.polinux.http.polinux.session;
+
+import java.util.Collection;
+
+/**
+ * Represents where {@link PolinuxHttpSession sessions} are kept by the server.
+ * Implementations must be safe to use from multiple client threads at once.
+ * 
+ * @see PolinuxMemorySessionStore
+ * @see PolinuxFileSessionStore
+ */
+public interface PolinuxHttpSessionStore {
+	/**
+	 * Retrieves the session linked to the underlying id.
+	 * 
+	 * @param id The value of the session's {@link PolinuxHttpSessionCookie cookie}.
+	 * @return The session found, {@code null} if none exists.
+	 */
+	public PolinuxHttpSession get(String id);
+
+	/**
+	 * Adds the underlying session to the store, unless a session with the same id
+	 * already exists.
+	 * 
+	 * @param session The session to add.
+	 * @return The session already linked to the same id, {@code null} if the
+	 *         session was added.
+	 */
+	public PolinuxHttpSession putIfAbsent(PolinuxHttpSession session);
+
+	/**
+	 * Removes the underlying session from the store.
+	 * 
+	 * @param session The session to remove.
+	 * @return {@code True} if the session was removed by this call, {@code false}
+	 *         if it was not (or no longer) inside the store.
+	 */
+	public boolean remove(PolinuxHttpSession session);
+
+	/**
+	 * Called once a request using the underlying session has been handled, so
+	 * that stores keeping sessions outside of memory can record the session's
+	 * latest attributes.
+	 * 
+	 * @param session The session to save.
+	 */
+	public void save(PolinuxHttpSession session);
+
+	/**
+	 * Retrieves the sessions currently held in memory by this store. The returned
+	 * collection may be iterated while other threads use the store.
+	 * 
+	 * @return The live sessions.
+	 */
+	public Collection<PolinuxHttpSession> getSessions();
+
+	/**
+	 * Retrieves how many sessions are currently held in memory by this store.
+	 * 
+	 * @return The amount of live sessions.
+	 */
+	public int size();
+
+	/**
+	 * Closes the store, releasing any resource it holds. Sessions waiting to be
+	 * written are written before this method returns.
+	 */
+	public void close();
+}
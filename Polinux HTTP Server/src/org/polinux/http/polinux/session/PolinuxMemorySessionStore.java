@@ -0,0 +1,76 @@
+package org.polinux.http.polinux.session;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents a {@link PolinuxHttpSessionStore} keeping sessions in memory only.
+ * Every session is lost once the server stops.
+ * 
+ * @see PolinuxFileSessionStore
+ */
+public class PolinuxMemorySessionStore implements PolinuxHttpSessionStore {
+
+	/**
+	 * Represents all the live sessions, mapped by the value of their
+	 * {@link PolinuxHttpSessionCookie session cookie}.
+	 */
+	protected final ConcurrentHashMap<String, PolinuxHttpSession> sessions = new ConcurrentHashMap<String, PolinuxHttpSession>();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PolinuxHttpSession get(String id) {
+		return this.sessions.get(id);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PolinuxHttpSession putIfAbsent(PolinuxHttpSession session) {
+		return this.sessions.putIfAbsent(session.getLinkedCookie().getValue(), session);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(PolinuxHttpSession session) {
+		return this.sessions.remove(session.getLinkedCookie().getValue(), session);
+	}
+
+	/**
+	 * Does nothing, for sessions held in memory are always up to date.
+	 */
+	@Override
+	public void save(PolinuxHttpSession session) {
+		// No-op
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<PolinuxHttpSession> getSessions() {
+		return this.sessions.values();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.sessions.size();
+	}
+
+	/**
+	 * Does nothing, for there is nothing to release.
+	 */
+	@Override
+	public void close() {
+		// No-op
+	}
+
+}
@@ -7,6 +7,7 @@ import javax.net.ssl.SSLSocket;
 
 import org.polinux.exceptions.http.polinux.PolinuxHttpServerRuntimeException;
 import org.polinux.exceptions.https.polinux.PolinuxHttpsServerRuntimeException;
+import org.polinux.http.polinux.jfr.PolinuxFlightRecorder;
 import org.polinux.http.polinux.server.PolinuxHttpClientThread;
 
 /**
@@ -108,18 +109,26 @@ public class PolinuxHttpsClientThread extends PolinuxHttpClientThread {
 	 * Retrieves the socket HTTPS request.
 	 * 
 	 * @param socketArg The {@link SSLSocket} through whom the request will be read.
+	 * @return The socket HTTPS request, {@code null} if the connection was closed
+	 *         before sending one.
 	 */
 	@Override
 	protected String getRequest(Socket socketArg) throws Exception {
 		SSLSocket socket = (SSLSocket) socketArg;
 
+		// Would otherwise happen on the first read; done here so it can be timed
+		final long handshakeStart = System.nanoTime();
+		socket.startHandshake();
+		PolinuxFlightRecorder.tlsHandshake(socket.getSession(), handshakeStart);
+
 		final InputStream in = socket.getInputStream();
 		String browserRequest;
 
-		int firstChar;
+		final int firstChar = in.read();
 
-		while ((firstChar = in.read()) == -1) {
-		}
+		// Closed by the client before sending anything
+		if (firstChar == -1)
+			return null;
 
 		browserRequest = String.valueOf((char) firstChar);
 
@@ -6,11 +6,12 @@ import java.net.ServerSocket;
 import org.polinux.configuration.server.HttpsServerConfiguration;
 import org.polinux.configuration.server.PolinuxHttpServerConfiguration;
 import org.polinux.configuration.server.PolinuxHttpsServerConfiguration;
+import org.polinux.configuration.server.PolinuxHttpsServerSettings;
 import org.polinux.exceptions.http.polinux.PolinuxHttpServerRuntimeException;
 import org.polinux.exceptions.https.polinux.PolinuxHttpsServerRuntimeException;
 import org.polinux.http.polinux.server.PolinuxHttpServer;
 import org.polinux.https.HttpsServer;
-import org.polinux.logging.Logger;
+import org.polinux.logging.AsyncLogger;
 
 /**
  * Represents an {@code HTTPS Server}, made by the {@code Polinux} API. This
@@ -26,7 +27,7 @@ public class PolinuxHttpsServer extends PolinuxHttpServer implements HttpsServer
 	 * Represents the {@link org.polinux.logging.Logger} for the {@code Polinux}
 	 * HTTPS API.
 	 */
-	public static final org.polinux.logging.Logger HTTPS_LOGGER = new Logger("Polinux HTTPS Server", System.err);
+	public static final org.polinux.logging.Logger HTTPS_LOGGER = new AsyncLogger("Polinux HTTPS Server", System.err);
 
 	/* Static initialization */
 	static {
@@ -126,6 +127,14 @@ public class PolinuxHttpsServer extends PolinuxHttpServer implements HttpsServer
 		return (PolinuxHttpsServerConfiguration) super.getConfiguration();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PolinuxHttpsServerSettings getSettings() throws PolinuxHttpsServerRuntimeException {
+		return this.getConfiguration().getSettings();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
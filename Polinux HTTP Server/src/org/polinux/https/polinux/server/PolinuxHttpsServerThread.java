@@ -15,6 +15,7 @@ import javax.net.ssl.SSLSocket;
 
 import org.polinux.exceptions.http.polinux.PolinuxHttpServerRuntimeException;
 import org.polinux.exceptions.https.polinux.PolinuxHttpsServerRuntimeException;
+import org.polinux.http.polinux.jfr.PolinuxFlightRecorder;
 import org.polinux.http.polinux.server.PolinuxHttpServerThread;
 
 /**
@@ -201,6 +202,7 @@ public class PolinuxHttpsServerThread extends PolinuxHttpServerThread {
 						.log("Client accessing HTTPS server: (" + socket.getInetAddress().getHostName() + ") "
 								+ socket.getInetAddress().getHostAddress() + ":" + socket.getLocalPort()
 								+ " (remote port " + socket.getPort() + " )");
+				PolinuxFlightRecorder.connectionAccepted(socket.getInetAddress(), socket.getPort(), true);
 
 				// Handle request on different thread
 				final PolinuxHttpsClientThread clientThread = new PolinuxHttpsClientThread(this, socket);
@@ -210,6 +212,9 @@ public class PolinuxHttpsServerThread extends PolinuxHttpServerThread {
 				clientThread.execute();
 
 			} catch (IOException e) {
+				// The server socket has been closed by abort()
+				if (!this.isEnabled())
+					break;
 				e.printStackTrace();
 			}
 		}
@@ -0,0 +1,385 @@
+package org.polinux.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.polinux.utils.collections.RingBuffer;
+
+/**
+ * Represents a {@link Logger} that writes its messages from a background
+ * thread.
+ * <p>
+ * Logging a message only stores it, along with the time it was logged at,
+ * inside a bounded lock-free ring buffer. The writer thread formats the
+ * messages waiting inside the buffer and writes them in batches of up to
+ * {@link #BATCH_SIZE} messages, flushing the output stream once per batch
+ * rather than once per message.
+ * <p>
+ * When the buffer is full, the {@link OverflowPolicy overflow policy} decides
+ * whether the message is dropped or whether the logging thread waits for
+ * space. Warnings and errors are never dropped. The writer thread is started
+ * by the first message logged; once the logger is {@link #close() closed},
+ * messages are written directly, as a plain {@link Logger} would.
+ */
+public class AsyncLogger extends Logger implements Runnable {
+
+	/**
+	 * Represents the default amount of messages the ring buffer may hold.
+	 */
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	/**
+	 * Represents the maximum amount of messages written at once.
+	 */
+	public static final int BATCH_SIZE = 256;
+
+	/**
+	 * Represents what happens to a message logged while the ring buffer is full.
+	 */
+	public static enum OverflowPolicy {
+		/**
+		 * The message is dropped (unless it is a warning or an error). The amount of
+		 * dropped messages is reported by the writer thread.
+		 */
+		DROP,
+		/**
+		 * The logging thread waits until the message fits inside the buffer.
+		 */
+		BLOCK;
+	}
+
+	/**
+	 * Represents a logged message waiting to be written.
+	 */
+	protected static final class Event {
+		final int level;
+		final boolean custom;
+		final String levelName;
+		final String message;
+		final long time;
+
+		Event(int level, boolean custom, String levelName, String message, long time) {
+			this.level = level;
+			this.custom = custom;
+			this.levelName = levelName;
+			this.message = message;
+			this.time = time;
+		}
+	}
+
+	/**
+	 * The messages waiting to be written.
+	 */
+	protected final RingBuffer<Event> events;
+
+	/**
+	 * The amount of messages dropped since last reported.
+	 */
+	protected final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * The policy applied when the ring buffer is full.
+	 */
+	protected volatile OverflowPolicy overflowPolicy;
+
+	/**
+	 * The {@link java.lang.Thread} writing the messages.
+	 */
+	protected Thread t;
+
+	/**
+	 * Whether the writer thread is currently enabled.
+	 */
+	protected volatile boolean enabled = false;
+
+	/**
+	 * Whether the logger has been closed.
+	 */
+	protected volatile boolean closed = false;
+
+	/**
+	 * Whether the writer thread is waiting for messages.
+	 */
+	protected volatile boolean waiting = false;
+
+	public AsyncLogger(OutputStream out) {
+		this("", out);
+	}
+
+	public AsyncLogger(final String name, OutputStream out) {
+		this(name, out, DEFAULT_CHARSET);
+	}
+
+	public AsyncLogger(final String name, OutputStream out, Charset charset) {
+		this(name, out, charset, DEFAULT_CAPACITY, OverflowPolicy.DROP);
+	}
+
+	/**
+	 * Constructs an {@code AsyncLogger}.
+	 * 
+	 * @param name           The name of the logger.
+	 * @param out            The stream messages are written to.
+	 * @param charset        The charset messages are encoded with.
+	 * @param capacity       The amount of messages the ring buffer may hold,
+	 *                       rounded up to a power of two.
+	 * @param overflowPolicy What happens to a message logged while the ring buffer
+	 *                       is full.
+	 */
+	public AsyncLogger(final String name, OutputStream out, Charset charset, int capacity,
+			OverflowPolicy overflowPolicy) {
+		super(name, out, charset);
+		this.events = new RingBuffer<Event>(capacity);
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Starts the writer thread. Called by the first message logged, so it
+	 * usually does not need to be called directly.
+	 * 
+	 * @throws IllegalStateException If the writer thread has already been
+	 *                               started, or if the logger has been closed.
+	 */
+	public synchronized void execute() throws IllegalStateException {
+		if (t != null || closed)
+			throw new IllegalStateException("Cannot start two instances of the same AsyncLogger");
+
+		t = new Thread(this, "Polinux Logger" + (this.getName() == null || this.getName().isEmpty() ? ""
+				: " (" + this.getName() + ")"));
+		t.setDaemon(true);
+		enabled = true;
+		t.start();
+
+		// Messages still inside the buffer are written before the JVM exits
+		Runtime.getRuntime().addShutdownHook(new Thread("Polinux Logger Shutdown") {
+			@Override
+			public void run() {
+				AsyncLogger.this.stop();
+			}
+		});
+	}
+
+	@Override
+	public void log(int level, final String message) {
+		if (level < this.level)
+			return;
+		this.enqueue(new Event(level, false, null, message, System.currentTimeMillis()));
+	}
+
+	@Override
+	public void log(String level, String message) {
+		if (LVL_INFO < this.level)
+			return;
+		this.enqueue(new Event(LVL_INFO, true, level, message, System.currentTimeMillis()));
+	}
+
+	/**
+	 * Hands a message to the writer thread, starting it if needed.
+	 * 
+	 * @param e The message.
+	 */
+	protected void enqueue(final Event e) {
+		if (!enabled) {
+			synchronized (this) {
+				if (!enabled && !closed)
+					this.execute();
+			}
+			if (!enabled) {
+				this.write(this.format(e));
+				return;
+			}
+		}
+
+		if (!this.add(e, e.level >= LVL_WARN || overflowPolicy == OverflowPolicy.BLOCK)) {
+			dropped.incrementAndGet();
+			return;
+		}
+
+		if (waiting)
+			LockSupport.unpark(t);
+	}
+
+	/**
+	 * Adds a message to the ring buffer.
+	 * 
+	 * @param e     The message.
+	 * @param block Whether to wait for the writer thread to make room if the
+	 *              buffer is full.
+	 * @return {@code True} if the message was added, {@code false} if the buffer
+	 *         is full and {@code block} is {@code false}.
+	 */
+	private boolean add(final Event e, boolean block) {
+		while (!events.offer(e)) {
+			if (!block || !enabled)
+				return false;
+			final Thread writer = t;
+			if (writer != null)
+				LockSupport.unpark(writer);
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+		}
+		return true;
+	}
+
+	/**
+	 * Runs the writer. {@link #execute()} should be invoked rather than this
+	 * method, since it runs the writer on the current thread.
+	 * 
+	 * @deprecated {@link #execute()} should be used instead.
+	 */
+	@Deprecated
+	@Override
+	public void run() {
+		final ByteArrayOutputStream batch = new ByteArrayOutputStream(16 * 1024);
+
+		while (this.isEnabled()) {
+			if (this.drain(batch) == 0) {
+				waiting = true;
+				// Messages may have been added before the flag was seen
+				if (events.isEmpty() && this.isEnabled())
+					LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+				waiting = false;
+			}
+		}
+
+		// Messages logged before the logger was closed
+		while (this.drain(batch) > 0)
+			;
+	}
+
+	/**
+	 * Writes the messages currently waiting inside the ring buffer, in batches.
+	 * 
+	 * @param batch The buffer used to gather a batch.
+	 * @return The amount of messages written.
+	 */
+	private int drain(final ByteArrayOutputStream batch) {
+		int count = 0;
+
+		while (true) {
+			int size = 0;
+
+			for (; size < BATCH_SIZE; size++) {
+				// Either empty, or claimed but not stored yet
+				final Event e = events.poll();
+				if (e == null)
+					break;
+
+				try {
+					batch.write(this.format(e));
+				} catch (IOException | RuntimeException ex) {
+					ex.printStackTrace();
+				}
+			}
+
+			final long lost = dropped.getAndSet(0);
+			if (lost > 0) {
+				try {
+					batch.write(super.format(LVL_WARN, lost + " log messages were dropped because the log buffer was full",
+							System.currentTimeMillis()));
+				} catch (IOException ex) {
+					ex.printStackTrace();
+				}
+			}
+
+			if (batch.size() > 0) {
+				try {
+					batch.writeTo(out);
+					out.flush();
+				} catch (IOException ex) {
+					ex.printStackTrace();
+				}
+				batch.reset();
+			}
+
+			count += size;
+
+			if (size < BATCH_SIZE)
+				return count;
+		}
+	}
+
+	private byte[] format(final Event e) {
+		return e.custom ? super.format(e.levelName, e.message, e.time)
+				: super.format(e.level, e.message, e.time);
+	}
+
+	/**
+	 * Does nothing but flush the output stream: the writer thread already
+	 * flushes it after every batch, so messages are not waited for.
+	 */
+	@Override
+	public void flush() {
+		if (!enabled)
+			super.flush();
+	}
+
+	/**
+	 * Stops the writer thread once every message waiting inside the ring buffer
+	 * has been written, without closing the output stream.
+	 */
+	protected void stop() {
+		final Thread writer;
+
+		synchronized (this) {
+			closed = true;
+			enabled = false;
+			writer = t;
+		}
+
+		if (writer == null)
+			return;
+
+		LockSupport.unpark(writer);
+
+		try {
+			writer.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		super.flush();
+	}
+
+	/**
+	 * Writes every message waiting inside the ring buffer, stops the writer
+	 * thread and closes the output stream. After execution of this method,
+	 * messages are written directly.
+	 */
+	@Override
+	public void close() {
+		this.stop();
+		super.close();
+	}
+
+	/**
+	 * Gets whether the writer thread is currently enabled.
+	 * 
+	 * @return {@code True} if the writer thread is currently enabled,
+	 *         {@code false} otherwise.
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Gets the amount of messages the ring buffer may hold.
+	 * 
+	 * @return The capacity of the ring buffer.
+	 */
+	public int getCapacity() {
+		return events.capacity();
+	}
+
+}
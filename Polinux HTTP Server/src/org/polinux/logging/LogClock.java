@@ -0,0 +1,70 @@
+package org.polinux.logging;
+
+import java.util.Calendar;
+
+/**
+ * Formats the time shown in front of logged messages.
+ * <p>
+ * The formatted time only changes once per second, so the last formatted second
+ * is cached and reused by every message logged during that second, rather than
+ * creating a {@link Calendar} for each message.
+ */
+final class LogClock {
+	private LogClock() {
+	}
+
+	/**
+	 * Represents the last formatted second.
+	 */
+	private static volatile Second last = new Second(Long.MIN_VALUE, 0, 0, 0);
+
+	/**
+	 * Formats the underlying time as {@code HH:mm:ss}.
+	 * 
+	 * @param millis The time, in milliseconds since the epoch.
+	 * @return The formatted time.
+	 */
+	static String time(long millis) {
+		return second(millis).padded;
+	}
+
+	/**
+	 * Formats the underlying time as {@code H:m:s} (without leading zeros).
+	 * 
+	 * @param millis The time, in milliseconds since the epoch.
+	 * @return The formatted time.
+	 */
+	static String shortTime(long millis) {
+		return second(millis).unpadded;
+	}
+
+	private static Second second(long millis) {
+		final long epochSecond = Math.floorDiv(millis, 1000L);
+		Second s = last;
+
+		if (s.epochSecond != epochSecond) {
+			final Calendar c = Calendar.getInstance();
+			c.setTimeInMillis(millis);
+			s = new Second(epochSecond, c.get(Calendar.HOUR_OF_DAY), c.get(Calendar.MINUTE), c.get(Calendar.SECOND));
+			last = s;
+		}
+
+		return s;
+	}
+
+	private static final class Second {
+		final long epochSecond;
+		final String padded, unpadded;
+
+		Second(long epochSecond, int hour, int minute, int second) {
+			this.epochSecond = epochSecond;
+			this.padded = pad(hour) + ":" + pad(minute) + ":" + pad(second);
+			this.unpadded = hour + ":" + minute + ":" + second;
+		}
+
+		private static String pad(int i) {
+			return i >= 10 ? String.valueOf(i) : "0" + i;
+		}
+	}
+
+}
@@ -3,7 +3,7 @@ package org.polinux.logging;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
-import java.util.Calendar;
+import java.util.function.Supplier;
 
 import org.polinux.utils.enc.CharacterSet;
 
@@ -25,9 +25,18 @@ public class Logger {
 
 	public String lineSeperator = System.lineSeparator();
 
+	public static final int LVL_TRACE = -2;
+	public static final int LVL_DEBUG = -1;
 	public static final int LVL_INFO = 0;
 	public static final int LVL_WARN = 1;
 	public static final int LVL_ERR = 2;
+	public static final int LVL_OFF = 3;
+
+	/**
+	 * Represents the lowest level logged by this logger. Messages of a lower level
+	 * are discarded before being formatted.
+	 */
+	protected volatile int level = LVL_INFO;
 
 	public Logger(OutputStream out) {
 		this("", out);
@@ -44,95 +53,145 @@ public class Logger {
 	}
 
 	public void log(int level, Object message) {
+		if (level < this.level)
+			return;
 		log(level, String.valueOf(message));
 	}
 
-	public void log(int level, final String message) {
-		String finalString = "";
+	/**
+	 * Logs a message that is only built if the underlying level is
+	 * {@link #isLoggable(int) logged}.
+	 * 
+	 * @param level   The level of the message.
+	 * @param message Builds the message.
+	 */
+	public void log(int level, Supplier<String> message) {
+		if (level < this.level)
+			return;
+		log(level, message.get());
+	}
 
-		int before = 0;
+	/**
+	 * Logs a message whose {@code {}} placeholders are replaced by the underlying
+	 * arguments, in order. The message is only built if the underlying level is
+	 * {@link #isLoggable(int) logged}.
+	 * 
+	 * @param level   The level of the message.
+	 * @param pattern The message, containing a {@code {}} for every argument.
+	 * @param args    The arguments.
+	 */
+	public void log(int level, String pattern, Object... args) {
+		if (level < this.level)
+			return;
+		log(level, formatMessage(pattern, args));
+	}
 
-		if (prefix != null) {
-			finalString = prefix + finalString;
-			before++;
+	/**
+	 * Replaces the {@code {}} placeholders of the underlying pattern by the
+	 * underlying arguments, in order. Placeholders without an argument are kept
+	 * as is.
+	 * 
+	 * @param pattern The pattern.
+	 * @param args    The arguments.
+	 * @return The message.
+	 */
+	protected static String formatMessage(String pattern, Object... args) {
+		if (args == null || args.length == 0)
+			return pattern;
+
+		final StringBuilder b = new StringBuilder(pattern.length() + 16 * args.length);
+		int start = 0;
+
+		for (int i = 0; i < args.length; i++) {
+			final int at = pattern.indexOf("{}", start);
+			if (at < 0)
+				break;
+			b.append(pattern, start, at).append(String.valueOf(args[i]));
+			start = at + 2;
 		}
 
-		if (addTime) {
-			Calendar c = Calendar.getInstance();
-
-			final String full = "["
-					+ (c.get(Calendar.HOUR_OF_DAY) >= 10 ? c.get(Calendar.HOUR_OF_DAY)
-							: "0" + c.get(Calendar.HOUR_OF_DAY))
-					+ ":" + (c.get(Calendar.MINUTE) >= 10 ? c.get(Calendar.MINUTE) : "0" + c.get(Calendar.MINUTE)) + ":"
-					+ (c.get(Calendar.SECOND) >= 10 ? c.get(Calendar.SECOND) : "0" + c.get(Calendar.SECOND)) + "]";
-			if (before >= 1)
-				finalString += " " + full;
-			else
-				finalString += full;
-			before++;
-		}
+		return b.append(pattern, start, pattern.length()).toString();
+	}
 
-		if (addName) {
-			final String full = "[" + this.getName() + "]";
-			if (before >= 1)
-				finalString += " " + full;
-			else
-				finalString += full;
-			before++;
-		}
+	public void log(int level, final String message) {
+		if (level < this.level)
+			return;
+		this.write(this.format(level, message, System.currentTimeMillis()));
+	}
 
-		if (level == 0) {
-			if (before >= 1)
-				finalString += " [INFO]";
-			else
-				finalString += "[INFO]";
-			before++;
-		}
+	/**
+	 * Formats a message logged at one of the {@code LVL_} levels. Every line of
+	 * the message is preceded by the prefix, time, name and level of this logger.
+	 * 
+	 * @param level   The level of the message.
+	 * @param message The message.
+	 * @param time    When the message was logged, in milliseconds since the epoch.
+	 * @return The formatted message, as bytes of the {@link #getCharset()
+	 *         charset} of this logger.
+	 */
+	protected byte[] format(int level, final String message, long time) {
+		final StringBuilder header = new StringBuilder(64);
+
+		if (prefix != null)
+			header.append(prefix);
 
-		if (level == 1) {
-			if (before >= 1)
-				finalString += " [WARN]";
-			else
-				finalString += "[WARN]";
-			before++;
+		if (addTime) {
+			if (header.length() > 0 || prefix != null)
+				header.append(' ');
+			header.append('[').append(LogClock.time(time)).append(']');
 		}
 
-		if (level == 2) {
-			if (before >= 1)
-				finalString += " [ERROR]";
-			else
-				finalString += "[ERROR]";
-			before++;
+		if (addName) {
+			if (header.length() > 0 || prefix != null)
+				header.append(' ');
+			header.append('[').append(this.getName()).append(']');
 		}
 
-		final String allBefore = finalString + " ";
-
-		finalString += " " + String.valueOf(message);
-
-		if (suffix != null) {
-			finalString = finalString + " " + suffix;
+		if (level >= LVL_TRACE && level <= LVL_ERR) {
+			if (header.length() > 0 || prefix != null)
+				header.append(' ');
+			header.append('[').append(getLevelName(level)).append(']');
 		}
 
-		final byte[] bytes = finalString.getBytes(charset);
+		header.append(' ');
+
+		final String sep = lineSeperator;
+		final StringBuilder b = new StringBuilder(header.length() + message.length() + 16);
+
+		// Same lines as message.split(lineSeperator): trailing empty lines are dropped
+		int end = message.length();
+		while (end > 0 && message.startsWith(sep, end - sep.length()))
+			end -= sep.length();
+
+		if (end == 0 && !message.isEmpty()) {
+			b.append(header).append(message);
+			if (suffix != null)
+				b.append(' ').append(suffix);
+		} else {
+			int start = 0;
+			while (true) {
+				final int i = message.indexOf(sep, start);
+				final int lineEnd = i < 0 || i >= end ? end : i;
+				b.append(header).append(message, start, lineEnd).append(sep);
+				if (lineEnd == end)
+					break;
+				start = lineEnd + sep.length();
+			}
+		}
 
-		final byte[] messageBytes = message.getBytes(charset);
+		b.append(sep);
+		return b.toString().getBytes(charset);
+	}
 
+	/**
+	 * Writes an already {@link #format(int, String, long) formatted} message to
+	 * the output stream, flushing it if {@link #isAutoFlush() auto-flush} is on.
+	 * 
+	 * @param bytes The formatted message.
+	 */
+	protected void write(final byte[] bytes) {
 		try {
-			final String[] subString = message.split(lineSeperator);
-
-			final byte[] lineBytes = lineSeperator.getBytes(charset);
-
-			if (subString.length >= 1) {
-				for (int i = 0; i < subString.length; i++) {
-					final byte[] subBytes = new String(allBefore + subString[i]).getBytes(charset);
-					out.write(subBytes, 0, subBytes.length);
-					out.write(lineBytes, 0, lineBytes.length);
-				}
-			} else {
-				out.write(bytes, 0, bytes.length);
-			}
-
-			out.write(lineBytes, 0, lineBytes.length);
+			out.write(bytes, 0, bytes.length);
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
@@ -154,44 +213,41 @@ public class Logger {
 	}
 
 	public void log(String level, String message) {
-		String finalString = "";
+		if (LVL_INFO < this.level)
+			return;
+		this.write(this.format(level, message, System.currentTimeMillis()));
+	}
 
-		if (prefix != null) {
-			finalString = prefix + finalString;
-		}
+	/**
+	 * Formats a message logged at a custom level.
+	 * 
+	 * @param level   The name of the level, {@code null} for none.
+	 * @param message The message.
+	 * @param time    When the message was logged, in milliseconds since the epoch.
+	 * @return The formatted message, as bytes of the {@link #getCharset()
+	 *         charset} of this logger.
+	 */
+	protected byte[] format(String level, String message, long time) {
+		final StringBuilder b = new StringBuilder(64 + message.length());
 
-		if (addTime) {
-			Calendar c = Calendar.getInstance();
+		if (prefix != null)
+			b.append(prefix);
 
-			final String full = "[" + c.get(Calendar.HOUR_OF_DAY) + ":" + c.get(Calendar.MINUTE) + ":"
-					+ c.get(Calendar.SECOND) + "]";
-			finalString += " " + full;
-		}
-
-		if (addName) {
-			final String full = "[" + this.getName() + "]";
-			finalString += " " + full;
-		}
+		if (addTime)
+			b.append(" [").append(LogClock.shortTime(time)).append(']');
 
-		if (level != null) {
-			finalString += " [" + String.valueOf(level) + "]";
-		}
-		finalString += " " + String.valueOf(message);
+		if (addName)
+			b.append(" [").append(this.getName()).append(']');
 
-		if (suffix != null) {
-			finalString = finalString + " " + suffix;
-		}
+		if (level != null)
+			b.append(" [").append(level).append(']');
 
-		final byte[] bytes = finalString.getBytes(charset);
+		b.append(' ').append(message);
 
-		try {
-			out.write(bytes, 0, bytes.length);
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
+		if (suffix != null)
+			b.append(' ').append(suffix);
 
-		if (autoFlush)
-			flush();
+		return b.toString().getBytes(charset);
 	}
 
 	public void logError(String message) {
@@ -202,6 +258,106 @@ public class Logger {
 		log(LVL_WARN, message);
 	}
 
+	public void logDebug(String message) {
+		log(LVL_DEBUG, message);
+	}
+
+	public void logDebug(Supplier<String> message) {
+		log(LVL_DEBUG, message);
+	}
+
+	public void logTrace(String message) {
+		log(LVL_TRACE, message);
+	}
+
+	public void logTrace(Supplier<String> message) {
+		log(LVL_TRACE, message);
+	}
+
+	/**
+	 * Gets whether messages of the underlying level are logged.
+	 * 
+	 * @param level The level.
+	 * @return {@code True} if messages of this level are logged, {@code false} if
+	 *         they are discarded.
+	 */
+	public boolean isLoggable(int level) {
+		return level >= this.level;
+	}
+
+	/**
+	 * Gets the lowest level logged by this logger.
+	 * 
+	 * @return One of the {@code LVL_} levels.
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * Sets the lowest level logged by this logger. {@link #LVL_OFF} discards every
+	 * message.
+	 * 
+	 * @param level One of the {@code LVL_} levels.
+	 */
+	public void setLevel(int level) {
+		this.level = level;
+	}
+
+	/**
+	 * Gets the name of the underlying level, as shown in front of logged
+	 * messages.
+	 * 
+	 * @param level One of the {@code LVL_} levels.
+	 * @return The name of the level.
+	 */
+	public static String getLevelName(int level) {
+		switch (level) {
+		case LVL_TRACE:
+			return "TRACE";
+		case LVL_DEBUG:
+			return "DEBUG";
+		case LVL_INFO:
+			return "INFO";
+		case LVL_WARN:
+			return "WARN";
+		case LVL_ERR:
+			return "ERROR";
+		case LVL_OFF:
+			return "OFF";
+		default:
+			return String.valueOf(level);
+		}
+	}
+
+	/**
+	 * Parses the name of a level (e.g. {@code "DEBUG"}), ignoring case.
+	 * 
+	 * @param name The name of the level.
+	 * @return One of the {@code LVL_} levels.
+	 * @throws IllegalArgumentException If the name is not the name of a level.
+	 */
+	public static int parseLevel(String name) throws IllegalArgumentException {
+		switch (String.valueOf(name).trim().toUpperCase()) {
+		case "TRACE":
+			return LVL_TRACE;
+		case "DEBUG":
+			return LVL_DEBUG;
+		case "INFO":
+			return LVL_INFO;
+		case "WARN":
+		case "WARNING":
+			return LVL_WARN;
+		case "ERR":
+		case "ERROR":
+			return LVL_ERR;
+		case "OFF":
+			return LVL_OFF;
+		default:
+			throw new IllegalArgumentException("Unknown log level: " + name);
+		}
+	}
+
 	public void flush() {
 		try {
 			out.flush();
@@ -0,0 +1,127 @@
+package org.polinux.utils.collections;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Represents a bounded, lock-free queue that may be filled by many threads at
+ * once but is emptied by a single thread.
+ * <p>
+ * Each added element claims the next sequence number with a single
+ * compare-and-set, then is stored inside the slot of that sequence number. The
+ * consuming thread reads the slots in order, freeing each one as it goes.
+ * Neither side ever takes a lock, so a thread adding an element never waits on
+ * the consuming thread (unless the queue is full).
+ * 
+ * @param <E> The type of elements held by the queue.
+ */
+public class RingBuffer<E> {
+
+	/**
+	 * The slots of the ring.
+	 */
+	protected final AtomicReferenceArray<E> slots;
+
+	/**
+	 * Used to map a sequence number to its slot.
+	 */
+	protected final int mask;
+
+	/**
+	 * The sequence number of the next slot to be claimed.
+	 */
+	protected final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * The sequence number of the next slot to be read. Only written by the
+	 * consuming thread.
+	 */
+	protected volatile long head = 0;
+
+	/**
+	 * Constructs a {@code RingBuffer}.
+	 * 
+	 * @param capacity The amount of elements the ring may hold, rounded up to a
+	 *                 power of two.
+	 */
+	public RingBuffer(int capacity) {
+		final int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		this.slots = new AtomicReferenceArray<E>(size);
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Adds an element to the ring, unless it is full. May be called by any
+	 * thread.
+	 * 
+	 * @param e The element to add. Cannot be {@code null}.
+	 * @return {@code True} if the element was added, {@code false} if the ring is
+	 *         full.
+	 */
+	public boolean offer(final E e) {
+		if (e == null)
+			throw new NullPointerException();
+
+		final int capacity = mask + 1;
+
+		while (true) {
+			final long seq = tail.get();
+
+			if (seq - head >= capacity)
+				return false;
+
+			if (tail.compareAndSet(seq, seq + 1)) {
+				slots.set((int) (seq & mask), e);
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Removes the oldest element of the ring. Must only be called by the consuming
+	 * thread.
+	 * 
+	 * @return The removed element, {@code null} if the ring is empty (or if the
+	 *         oldest element has been claimed but not stored yet).
+	 */
+	public E poll() {
+		final long h = head;
+		final int slot = (int) (h & mask);
+		final E e = slots.get(slot);
+
+		if (e == null)
+			return null;
+
+		slots.set(slot, null);
+		head = h + 1;
+		return e;
+	}
+
+	/**
+	 * Gets whether the ring holds no element, nor any element about to be stored.
+	 * 
+	 * @return {@code True} if the ring is empty, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return head == tail.get();
+	}
+
+	/**
+	 * Gets the amount of elements currently inside the ring.
+	 * 
+	 * @return The size of the ring.
+	 */
+	public int size() {
+		return (int) Math.max(0, tail.get() - head);
+	}
+
+	/**
+	 * Gets the amount of elements the ring may hold.
+	 * 
+	 * @return The capacity of the ring.
+	 */
+	public int capacity() {
+		return mask + 1;
+	}
+
+}
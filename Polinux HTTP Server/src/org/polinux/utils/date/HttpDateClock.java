@@ -0,0 +1,95 @@
+package org.polinux.utils.date;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Provides the current date in the format used by the HTTP {@code Date} header
+ * (RFC 1123, e.g. {@code Sun, 06 Nov 1994 08:49:37 GMT}).
+ * <p>
+ * The header only changes once per second, so the current second is formatted
+ * once, as both a {@link String} and its bytes, and published through a
+ * volatile field. Every response sent during that second reuses it. The first
+ * thread to notice a new second formats it; threads racing on the same second
+ * produce identical values, so no lock is needed.
+ */
+public final class HttpDateClock {
+	private HttpDateClock() {
+	}
+
+	/**
+	 * Represents the format of an HTTP date. Unlike a
+	 * {@link java.text.SimpleDateFormat}, it may be shared between threads.
+	 */
+	public static final DateTimeFormatter FORMAT = DateTimeFormatter
+			.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+
+	/**
+	 * Represents the last formatted second.
+	 */
+	private static volatile Second last = new Second(Long.MIN_VALUE, "", new byte[0]);
+
+	/**
+	 * Gets the current date, formatted as an HTTP date.
+	 * 
+	 * @return The current HTTP date.
+	 */
+	public static String now() {
+		return current().value;
+	}
+
+	/**
+	 * Gets the current date, formatted as an HTTP date and encoded in US-ASCII.
+	 * The returned array is shared and must not be modified.
+	 * 
+	 * @return The bytes of the current HTTP date.
+	 */
+	public static byte[] nowBytes() {
+		return current().bytes;
+	}
+
+	/**
+	 * Formats the underlying time as an HTTP date.
+	 * 
+	 * @param millis The time, in milliseconds since the epoch.
+	 * @return The formatted date.
+	 */
+	public static String format(long millis) {
+		final long epochSecond = Math.floorDiv(millis, 1000L);
+		final Second s = last;
+
+		if (s.epochSecond == epochSecond)
+			return s.value;
+
+		return FORMAT.format(Instant.ofEpochSecond(epochSecond));
+	}
+
+	private static Second current() {
+		final long epochSecond = Math.floorDiv(System.currentTimeMillis(), 1000L);
+		Second s = last;
+
+		if (s.epochSecond != epochSecond) {
+			final String value = FORMAT.format(Instant.ofEpochSecond(epochSecond));
+			s = new Second(epochSecond, value, value.getBytes(StandardCharsets.US_ASCII));
+			last = s;
+		}
+
+		return s;
+	}
+
+	private static final class Second {
+		final long epochSecond;
+		final String value;
+		final byte[] bytes;
+
+		Second(long epochSecond, String value, byte[] bytes) {
+			this.epochSecond = epochSecond;
+			this.value = value;
+			this.bytes = bytes;
+		}
+	}
+
+}
@@ -3,6 +3,7 @@ package org.polinux.utils.date;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Locale;
 import java.util.TimeZone;
 
 /**
@@ -11,24 +12,63 @@ import java.util.TimeZone;
 public final class TimeUtils {
 
 	/**
-	 * Represents the {@link SimpleDateFormat date format} for an {@link #expiry}
-	 * date.
+	 * Represents the {@link SimpleDateFormat date format} of an HTTP date, one per
+	 * thread since a {@link SimpleDateFormat} cannot be shared between threads.
 	 */
-	private static final DateFormat dateHeaderFormat = new SimpleDateFormat("EEE, d MMM yyyy HH:mm:ss z");
+	private static final ThreadLocal<DateFormat> dateHeaderFormat = new ThreadLocal<DateFormat>() {
+		@Override
+		protected DateFormat initialValue() {
+			final DateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss z", Locale.US);
+			format.setTimeZone(TimeZone.getTimeZone("GMT"));
+			return format;
+		}
+	};
+
+	private TimeUtils() {
+		// TODO Auto-generated constructor stub
+	}
 
 	/**
-	 * Initializes the expiry format.
+	 * Gets the {@link DateFormat} of an HTTP date for the current thread. The
+	 * returned format must not be handed to other threads.
+	 * <p>
+	 * To format the current date, {@link #getHttpDate()} should be used instead.
+	 * 
+	 * @return The HTTP date format of the current thread.
 	 */
-	static {
-		dateHeaderFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+	public static final DateFormat getDateHttpHeaderFormat() {
+		return dateHeaderFormat.get();
 	}
 
-	private TimeUtils() {
-		// TODO Auto-generated constructor stub
+	/**
+	 * Gets the current date, formatted for the HTTP {@code Date} header. Formatted
+	 * at most once per second by the {@link HttpDateClock}.
+	 * 
+	 * @return The current HTTP date.
+	 */
+	public static final String getHttpDate() {
+		return HttpDateClock.now();
 	}
 
-	public static final DateFormat getDateHttpHeaderFormat() {
-		return dateHeaderFormat;
+	/**
+	 * Gets the bytes of the current date, formatted for the HTTP {@code Date}
+	 * header. The returned array is shared and must not be modified.
+	 * 
+	 * @return The bytes of the current HTTP date.
+	 */
+	public static final byte[] getHttpDateBytes() {
+		return HttpDateClock.nowBytes();
+	}
+
+	/**
+	 * Formats a date as an HTTP date (e.g. for the {@code Expires} attribute of a
+	 * cookie).
+	 * 
+	 * @param date The date to format.
+	 * @return The formatted date.
+	 */
+	public static final String formatHttpDate(Date date) {
+		return HttpDateClock.format(date.getTime());
 	}
 
 	public static final Date now() {
@@ -0,0 +1,40 @@
+package org.polinux.utils.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Represents an {@link OutputStream} that counts the bytes written through it
+ * to an underlying stream.
+ */
+public class CountingOutputStream extends FilterOutputStream {
+	protected long count = 0;
+
+	public CountingOutputStream(OutputStream out) {
+		super(out);
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		out.write(b);
+		count++;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		// FilterOutputStream would write the bytes one by one
+		out.write(b, off, len);
+		count += len;
+	}
+
+	/**
+	 * Gets the amount of bytes written so far.
+	 * 
+	 * @return The amount of bytes written.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+}
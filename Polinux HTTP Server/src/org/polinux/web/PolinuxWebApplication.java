@@ -1,32 +1,66 @@
 package org.polinux.web;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.polinux.configuration.webapp.PolinuxWebApplicationConfiguration;
 import org.polinux.http.polinux.servlet.PolinuxHttpServlet;
+import org.polinux.http.polinux.servlet.PolinuxHttpServletHolder;
 
 public class PolinuxWebApplication implements WebApplication {
 
 	protected PolinuxWebApplicationConfiguration config;
-	protected Set<PolinuxHttpServlet> servlets;
+	protected List<PolinuxHttpServletHolder> servletHolders;
 	protected File parentDirectory;
 	protected File file;
 	protected Map<String, String> webFiles;
 
 	public PolinuxWebApplication(PolinuxWebApplicationConfiguration config, Set<PolinuxHttpServlet> servlets,
 			File parent, File file, Map<String, String> webFiles) {
+		this(config, toHolders(servlets), parent, file, webFiles);
+	}
+
+	public PolinuxWebApplication(PolinuxWebApplicationConfiguration config,
+			List<PolinuxHttpServletHolder> servletHolders, File parent, File file, Map<String, String> webFiles) {
 		this.config = config;
-		this.servlets = servlets;
+		this.servletHolders = servletHolders;
 		this.parentDirectory = parent;
 		this.file = file;
 		this.webFiles = webFiles;
 	}
 
+	/**
+	 * Retrieves the servlets of this application which have been created so far.
+	 * Servlets which do not load on startup are missing until their first request.
+	 * 
+	 * @see #getServletHolders()
+	 */
 	@Override
 	public Set<? extends PolinuxHttpServlet> getServlets() {
-		return this.servlets;
+		final Set<PolinuxHttpServlet> servlets = new LinkedHashSet<PolinuxHttpServlet>();
+
+		for (PolinuxHttpServletHolder holder : this.servletHolders) {
+			final PolinuxHttpServlet servlet = holder.getInitializedServlet();
+			if (servlet != null)
+				servlets.add(servlet);
+		}
+
+		return servlets;
+	}
+
+	/**
+	 * Retrieves the {@link PolinuxHttpServletHolder holders} of every servlet of
+	 * this application, in the order they were declared, whether created yet or
+	 * not.
+	 * 
+	 * @return The servlet holders of this application.
+	 */
+	public List<PolinuxHttpServletHolder> getServletHolders() {
+		return this.servletHolders;
 	}
 
 	@Override
@@ -48,4 +82,13 @@ public class PolinuxWebApplication implements WebApplication {
 		return webFiles;
 	}
 
+	private static List<PolinuxHttpServletHolder> toHolders(Set<PolinuxHttpServlet> servlets) {
+		final List<PolinuxHttpServletHolder> holders = new ArrayList<PolinuxHttpServletHolder>(servlets.size());
+
+		for (PolinuxHttpServlet servlet : servlets)
+			holders.add(new PolinuxHttpServletHolder(servlet));
+
+		return holders;
+	}
+
 }
@@ -0,0 +1,81 @@
+package org.polinux.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.polinux.http.polinux.server.PolinuxAccessLog;
+import org.polinux.logging.Logger;
+
+/**
+ * Benchmarks {@link PolinuxAccessLog#log(InetAddress, String, String, int, long, long)},
+ * the part of the access log paid for by client threads, from one and from
+ * several threads at once.
+ * <p>
+ * Every call is made back to back, so the producers outrun the writer thread
+ * and part of the requests are left out of the log; the file is rotated every
+ * {@value #MAX_SIZE} bytes, and rotated files are deleted after each iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AccessLogBenchmark {
+
+	public static final long MAX_SIZE = 64L * 1024 * 1024;
+
+	private File directory;
+	private PolinuxAccessLog accessLog;
+	private InetAddress address;
+
+	@Setup(Level.Trial)
+	public void setUp(BenchmarkServer server) throws IOException {
+		// Requests left out of the log are expected here, not worth a warning
+		server.getServer().getLogger().setLevel(Logger.LVL_ERR);
+
+		this.directory = Files.createTempDirectory("polinux-benchmark").toFile();
+		this.accessLog = new PolinuxAccessLog(server.getServer(), new File(this.directory, "access.log"), MAX_SIZE,
+				false, false);
+		this.accessLog.execute();
+		this.address = InetAddress.getLoopbackAddress();
+	}
+
+	@TearDown(Level.Iteration)
+	public void deleteRotated() {
+		for (File f : this.directory.listFiles())
+			if (!f.equals(this.accessLog.getFile()))
+				f.delete();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.accessLog.close();
+
+		for (File f : this.directory.listFiles())
+			f.delete();
+		this.directory.delete();
+	}
+
+	@Benchmark
+	public void log() {
+		this.accessLog.log(this.address, "GET", "/index.html", 200, 5120, 843);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void logContended() {
+		this.accessLog.log(this.address, "GET", "/index.html", 200, 5120, 843);
+	}
+
+}
@@ -0,0 +1,62 @@
+package org.polinux.benchmarks;
+
+import java.net.Socket;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.polinux.http.polinux.server.PolinuxHttpClientThread;
+import org.polinux.http.polinux.server.PolinuxHttpServer;
+import org.polinux.http.polinux.server.PolinuxHttpServerThread;
+import org.polinux.logging.Logger;
+
+/**
+ * Runs a {@link PolinuxHttpServer} for the length of a benchmark, bound to an
+ * ephemeral port of the loopback address, so requests, responses and sessions
+ * can be built the way the server builds them.
+ * <p>
+ * Requests are never sent to the server; benchmarks hand them to the
+ * {@link #getClient() client thread} directly.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkServer {
+
+	/**
+	 * Represents a client thread which is never started, and which exposes the
+	 * parts of {@link PolinuxHttpClientThread} being benchmarked.
+	 */
+	public static class Client extends PolinuxHttpClientThread {
+		Client(PolinuxHttpServerThread serverThread) {
+			super(serverThread, new Socket());
+		}
+
+		public boolean matchURLPattern(String urlPattern, String check) {
+			return this.checkURLPatternMatch(urlPattern, check);
+		}
+	}
+
+	private PolinuxHttpServer server;
+	private Client client;
+
+	@Setup(Level.Trial)
+	public void start() {
+		this.server = PolinuxHttpServer.builder().logLevel(Logger.LVL_WARN).start();
+		this.client = new Client(this.server.getServerThread());
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		this.server.shutdown();
+	}
+
+	public PolinuxHttpServer getServer() {
+		return this.server;
+	}
+
+	public Client getClient() {
+		return this.client;
+	}
+
+}
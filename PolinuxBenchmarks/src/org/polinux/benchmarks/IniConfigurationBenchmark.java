@@ -0,0 +1,104 @@
+package org.polinux.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.polinux.configuration.ini.INIConfiguration;
+
+/**
+ * Benchmarks parsing an INI file of 100000 keys ({@value #SECTIONS} sections
+ * of {@value #KEYS} keys, holding integers, decimals, booleans and strings),
+ * and looking values up inside it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class IniConfigurationBenchmark {
+
+	public static final int SECTIONS = 1000;
+	public static final int KEYS = 100;
+
+	private File file;
+	private INIConfiguration config;
+	private String[] nodes;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		this.file = File.createTempFile("polinux-benchmark", ".ini");
+
+		try (BufferedWriter w = new BufferedWriter(new FileWriter(this.file))) {
+			w.write("; Generated by " + IniConfigurationBenchmark.class.getSimpleName() + "\n");
+
+			for (int s = 0; s < SECTIONS; s++) {
+				w.write("[section" + s + "]\n");
+				for (int k = 0; k < KEYS; k++)
+					w.write("key" + k + "=" + value(s * KEYS + k) + "\n");
+			}
+		}
+
+		this.config = INIConfiguration.loadConfiguration(this.file);
+		this.nodes = new String[1024];
+
+		for (int i = 0; i < this.nodes.length; i++)
+			this.nodes[i] = "section" + (i * 7919 % SECTIONS) + INIConfiguration.seperator + "key" + (i % KEYS);
+	}
+
+	/**
+	 * Generates the value of the i-th key: an integer, a decimal, a boolean, a
+	 * string, or a string holding a '=', in turn.
+	 */
+	static String value(final int i) {
+		switch (i % 5) {
+		case 0:
+			return String.valueOf(i);
+		case 1:
+			return i + ".5";
+		case 2:
+			return String.valueOf(i % 2 == 0);
+		case 3:
+			return "value" + i;
+		default:
+			return "a=b&c=" + i;
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.file.delete();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public INIConfiguration parse() {
+		return INIConfiguration.loadConfiguration(this.file);
+	}
+
+	@SuppressWarnings("deprecation")
+	@Benchmark
+	public Object lookup() {
+		final String node = this.nodes[this.next];
+		this.next = (this.next + 1) % this.nodes.length;
+		return this.config.getObject(node, null);
+	}
+
+	@Benchmark
+	public int typedLookup() {
+		final String node = this.nodes[this.next];
+		this.next = (this.next + 1) % this.nodes.length;
+		return this.config.getInt(node, -1);
+	}
+
+}
@@ -0,0 +1,79 @@
+package org.polinux.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.polinux.configuration.properties.PropertiesConfiguration;
+
+/**
+ * Benchmarks parsing a properties file of {@value #KEYS} keys, holding the same
+ * values as {@link IniConfigurationBenchmark}, and typed lookups inside it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PropertiesConfigurationBenchmark {
+
+	public static final int KEYS = 100000;
+
+	private File file;
+	private PropertiesConfiguration config;
+	private String[] nodes;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		this.file = File.createTempFile("polinux-benchmark", ".properties");
+
+		try (BufferedWriter w = new BufferedWriter(new FileWriter(this.file))) {
+			w.write("# Generated by " + PropertiesConfigurationBenchmark.class.getSimpleName() + "\n");
+
+			for (int k = 0; k < KEYS; k++)
+				w.write("key" + k + "=" + IniConfigurationBenchmark.value(k) + "\n");
+		}
+
+		this.config = new PropertiesConfiguration(this.file);
+		this.nodes = new String[1024];
+
+		for (int i = 0; i < this.nodes.length; i++)
+			this.nodes[i] = "key" + (i * 7919 % KEYS);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.file.delete();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public PropertiesConfiguration parse() {
+		return new PropertiesConfiguration(this.file);
+	}
+
+	@Benchmark
+	public int typedLookup() {
+		final String node = this.nodes[this.next];
+		this.next = (this.next + 1) % this.nodes.length;
+		return this.config.isInt(node) ? this.config.getInt(node) : -1;
+	}
+
+	@Benchmark
+	public boolean isString() {
+		final String node = this.nodes[this.next];
+		this.next = (this.next + 1) % this.nodes.length;
+		return this.config.isString(node);
+	}
+
+}
@@ -0,0 +1,101 @@
+package org.polinux.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.polinux.http.HttpHeader;
+import org.polinux.http.HttpRequestCookie;
+import org.polinux.http.polinux.servlet.PolinuxHttpServerRequest;
+import org.polinux.http.polinux.session.PolinuxHttpSession;
+
+/**
+ * Benchmarks the parsing of requests: whole requests through
+ * {@link PolinuxHttpServerRequest#parse(org.polinux.http.polinux.server.PolinuxHttpClientThread, String)},
+ * and single headers and cookies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RequestBenchmark {
+
+	private static final String CRLF = "\r\n";
+
+	/**
+	 * Represents a browser's cookie header: a few analytics cookies around the
+	 * session cookie.
+	 */
+	private static final String COOKIES = "_ga=GA1.1.1234567890.1700000000; theme=dark; lang=en-US; "
+			+ "PSessionId=%s; _gid=GA1.1.987654321.1700000000; consent=necessary%%2Canalytics";
+
+	private String get;
+	private String post;
+	private String cookie;
+
+	@Setup(Level.Trial)
+	public void setUp(BenchmarkServer server) {
+		final PolinuxHttpSession session = PolinuxHttpSession.createSession(server.getServer().getConfiguration());
+		this.cookie = String.format(COOKIES, session.getLinkedCookie().getValue());
+
+		this.get = "GET /blog/2024/05/polinux-release-notes.html?ref=home&utm_source=feed HTTP/1.1" + CRLF
+				+ "Host: localhost" + CRLF
+				+ "User-Agent: Mozilla/5.0 (X11; Linux x86_64; rv:126.0) Gecko/20100101 Firefox/126.0" + CRLF
+				+ "Accept: text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8" + CRLF
+				+ "Accept-Language: en-US,en;q=0.5" + CRLF
+				+ "Accept-Encoding: gzip, deflate, br" + CRLF
+				+ "Referer: http://localhost/" + CRLF
+				+ "Connection: keep-alive" + CRLF
+				+ "Cookie: " + this.cookie + CRLF
+				+ "Upgrade-Insecure-Requests: 1" + CRLF
+				+ "Sec-Fetch-Dest: document" + CRLF
+				+ "Sec-Fetch-Mode: navigate" + CRLF
+				+ "Sec-Fetch-Site: same-origin" + CRLF
+				+ CRLF;
+
+		final String form = "username=jdoe&email=jdoe%40example.com&message=Hello+from+the+benchmark%21&subscribe=on";
+
+		this.post = "POST /contact HTTP/1.1" + CRLF
+				+ "Host: localhost" + CRLF
+				+ "User-Agent: Mozilla/5.0 (X11; Linux x86_64; rv:126.0) Gecko/20100101 Firefox/126.0" + CRLF
+				+ "Accept: text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8" + CRLF
+				+ "Content-Type: application/x-www-form-urlencoded" + CRLF
+				+ "Content-Length: " + form.length() + CRLF
+				+ "Origin: http://localhost" + CRLF
+				+ "Connection: keep-alive" + CRLF
+				+ "Cookie: " + this.cookie + CRLF
+				+ CRLF
+				+ form;
+	}
+
+	@Benchmark
+	public PolinuxHttpServerRequest parseGet(BenchmarkServer server) {
+		return PolinuxHttpServerRequest.parse(server.getClient(), this.get);
+	}
+
+	@Benchmark
+	public PolinuxHttpServerRequest parsePostForm(BenchmarkServer server) {
+		return PolinuxHttpServerRequest.parse(server.getClient(), this.post);
+	}
+
+	@Benchmark
+	public HttpHeader parseHeader() {
+		return HttpHeader.parse("Accept: text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
+	}
+
+	@Benchmark
+	public HttpRequestCookie[] parseCookies() {
+		return HttpRequestCookie.parse(this.cookie);
+	}
+
+	@Benchmark
+	public String findSessionCookie() {
+		return HttpRequestCookie.findValue(this.cookie, "PSessionId");
+	}
+
+}
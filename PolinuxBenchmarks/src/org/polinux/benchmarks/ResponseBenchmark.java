@@ -0,0 +1,58 @@
+package org.polinux.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.polinux.http.HttpResponseCookie;
+import org.polinux.http.polinux.servlet.PolinuxHttpServerResponse;
+
+/**
+ * Benchmarks the building of a response, from its creation to
+ * {@link PolinuxHttpServerResponse#asString(String, boolean)}, for pages of a
+ * few sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ResponseBenchmark {
+
+	/**
+	 * Represents the size of the page, in characters.
+	 */
+	@Param({ "512", "16384" })
+	public int size;
+
+	private String page;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final StringBuilder b = new StringBuilder(this.size + 64);
+		b.append("<!DOCTYPE html><html><head><title>Polinux</title></head><body>");
+		while (b.length() < this.size - 16)
+			b.append("<p>Lorem ipsum dolor sit amet, consectetur adipiscing elit.</p>");
+		b.setLength(this.size - 16);
+		b.append("</body></html>");
+		this.page = b.toString();
+	}
+
+	@Benchmark
+	public String asString(BenchmarkServer server) {
+		final PolinuxHttpServerResponse response = new PolinuxHttpServerResponse(server.getClient());
+		response.setStatus(200);
+		response.setContentType("text/html");
+		response.setHeader("Cache-Control", "no-cache");
+		response.setHeader("X-Frame-Options", "DENY");
+		response.addCookie(new HttpResponseCookie("theme", "dark"));
+		response.getWriter().println(this.page);
+		return response.asString("\r\n", true);
+	}
+
+}
@@ -0,0 +1,63 @@
+package org.polinux.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.polinux.http.HttpRequestCookie;
+import org.polinux.http.polinux.session.PolinuxHttpSession;
+
+/**
+ * Benchmarks {@link PolinuxHttpSession#getSession(HttpRequestCookie)} while
+ * the server keeps a given amount of sessions, for known and unknown ids.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class SessionBenchmark {
+
+	/**
+	 * Represents the amount of sessions kept by the server.
+	 */
+	@Param({ "100", "10000", "100000" })
+	public int sessions;
+
+	private HttpRequestCookie[] cookies;
+	private HttpRequestCookie unknown;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp(BenchmarkServer server) {
+		this.cookies = new HttpRequestCookie[Math.min(this.sessions, 1024)];
+
+		for (int i = 0; i < this.sessions; i++) {
+			final PolinuxHttpSession session = PolinuxHttpSession
+					.createSession(server.getServer().getConfiguration());
+			if (i < this.cookies.length)
+				this.cookies[i] = new HttpRequestCookie(session.getLinkedCookie().getName(),
+						session.getLinkedCookie().getValue());
+		}
+
+		this.unknown = new HttpRequestCookie(this.cookies[0].getName(), "0123456789abcdefghijklmnopqrstuv");
+	}
+
+	@Benchmark
+	public PolinuxHttpSession getKnownSession() {
+		final HttpRequestCookie cookie = this.cookies[this.next];
+		this.next = (this.next + 1) % this.cookies.length;
+		return PolinuxHttpSession.getSession(cookie);
+	}
+
+	@Benchmark
+	public PolinuxHttpSession getUnknownSession() {
+		return PolinuxHttpSession.getSession(this.unknown);
+	}
+
+}
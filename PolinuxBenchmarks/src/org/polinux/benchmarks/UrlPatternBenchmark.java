@@ -0,0 +1,38 @@
+package org.polinux.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+/**
+ * Benchmarks the matching of servlet URL patterns against request paths, as
+ * done for every servlet of every web application on every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UrlPatternBenchmark {
+
+	@Benchmark
+	public boolean exactMatch(BenchmarkServer server) {
+		return server.getClient().matchURLPattern("wwwroot/app/api/users", "wwwroot/app/api/users");
+	}
+
+	@Benchmark
+	public boolean wildcardMatch(BenchmarkServer server) {
+		return server.getClient().matchURLPattern("wwwroot/app/api/*/profile", "wwwroot/app/api/users/profile");
+	}
+
+	@Benchmark
+	public boolean trailingWildcardMatch(BenchmarkServer server) {
+		return server.getClient().matchURLPattern("wwwroot/app/static/*", "wwwroot/app/static/css/site.css");
+	}
+
+	@Benchmark
+	public boolean mismatch(BenchmarkServer server) {
+		return server.getClient().matchURLPattern("wwwroot/app/api/*/profile", "wwwroot/blog/2024/05/notes.html");
+	}
+
+}
@@ -0,0 +1,63 @@
+package org.polinux.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.polinux.configuration.server.PolinuxHttpServerConfiguration;
+import org.polinux.configuration.yaml.YamlConfiguration;
+
+/**
+ * Benchmarks {@link YamlConfiguration#getObject(String, Object)} on the
+ * default server configuration, for shallow, deep and missing nodes, and
+ * through a section the way configuration getters read it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class YamlConfigurationBenchmark {
+
+	private YamlConfiguration config;
+
+	@SuppressWarnings("deprecation")
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		final InputStream in = PolinuxHttpServerConfiguration.class
+				.getResourceAsStream("/" + PolinuxHttpServerConfiguration.CONFIGURATION_PATH.replace("\\", "/"));
+		try {
+			this.config = new YamlConfiguration(in);
+		} finally {
+			in.close();
+		}
+	}
+
+	@Benchmark
+	public Object shallowNode() {
+		return this.config.getObject("web.host", null);
+	}
+
+	@Benchmark
+	public Object deepNode() {
+		return this.config.getObject("web.session.cookie.same-site-policy", null);
+	}
+
+	@Benchmark
+	public Object missingNode() {
+		return this.config.getObject("web.session.cookie.missing", null);
+	}
+
+	@Benchmark
+	public Object throughSection() {
+		return this.config.getConfigurationSection("web").getConfigurationSection("session").getObject("max-lifetime",
+				null);
+	}
+
+}
@@ -0,0 +1,215 @@
+package org.polinux.benchmarks.load;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Represents a client of a load test, sending requests one after the other
+ * over raw sockets until its phase is over.
+ * <p>
+ * A keep-alive client reuses its connection for as long as the server keeps
+ * it open, and reconnects (counted as a {@link LoadResults#reconnects
+ * reconnect}, not an error) once the server has closed it. Other clients open
+ * a new connection for every request and ask the server to close it.
+ */
+public class LoadClient implements Runnable {
+
+	private static final int TIMEOUT = 10000;
+
+	private final InetSocketAddress address;
+	private final byte[][] requests;
+	private final boolean keepAlive;
+	private final AtomicReference<LoadResults> phase;
+	private final byte[] buffer = new byte[16 * 1024];
+	private int next;
+
+	private Socket socket;
+	private InputStream in;
+	private OutputStream out;
+	private int answered;
+
+	/**
+	 * Constructs a {@code LoadClient}.
+	 *
+	 * @param address   The address of the server.
+	 * @param paths     The paths to request, in turn.
+	 * @param keepAlive Whether to reuse connections.
+	 * @param phase     The results of the current phase, {@code null} once the
+	 *                  test is over.
+	 * @param first     The index of the first path to request, so clients do not
+	 *                  all request the same path at once.
+	 */
+	public LoadClient(InetSocketAddress address, String[] paths, boolean keepAlive,
+			AtomicReference<LoadResults> phase, int first) {
+		this.address = address;
+		this.keepAlive = keepAlive;
+		this.phase = phase;
+		this.next = first;
+		this.requests = new byte[paths.length][];
+
+		for (int i = 0; i < paths.length; i++)
+			this.requests[i] = ("GET " + paths[i] + " HTTP/1.1\r\n"
+					+ "Host: " + address.getHostString() + ":" + address.getPort() + "\r\n"
+					+ "User-Agent: PolinuxLoadTest\r\n"
+					+ "Accept: */*\r\n"
+					+ "Connection: " + (keepAlive ? "keep-alive" : "close") + "\r\n"
+					+ "\r\n").getBytes(StandardCharsets.US_ASCII);
+	}
+
+	@Override
+	public void run() {
+		LoadResults results;
+
+		while ((results = this.phase.get()) != null) {
+			final byte[] request = this.requests[this.next++ % this.requests.length];
+			final long start = System.nanoTime();
+
+			results.requests.increment();
+
+			try {
+				final int status = this.send(request, results);
+
+				if (status >= 200 && status < 300)
+					results.latencies.record((System.nanoTime() - start) / 1000L);
+				else
+					results.statusErrors.increment();
+			} catch (ConnectException e) {
+				results.connectErrors.increment();
+				this.disconnect();
+			} catch (IOException e) {
+				results.ioErrors.increment();
+				this.disconnect();
+			}
+
+			if (!this.keepAlive)
+				this.disconnect();
+		}
+
+		this.disconnect();
+	}
+
+	/**
+	 * Sends a request and reads its response, reconnecting once if a reused
+	 * connection turns out to have been closed by the server.
+	 */
+	private int send(byte[] request, LoadResults results) throws IOException {
+		while (true) {
+			final boolean reused = this.socket != null;
+
+			if (!reused)
+				this.connect();
+
+			try {
+				this.out.write(request);
+				this.out.flush();
+				final int status = this.readResponse(results);
+				this.answered++;
+				return status;
+			} catch (IOException e) {
+				if (!reused || this.answered == 0)
+					throw e;
+
+				results.reconnects.increment();
+				this.disconnect();
+			}
+		}
+	}
+
+	private void connect() throws IOException {
+		final Socket socket = new Socket();
+		socket.setTcpNoDelay(true);
+		socket.setSoTimeout(TIMEOUT);
+		socket.connect(this.address, TIMEOUT);
+
+		this.socket = socket;
+		this.in = new BufferedInputStream(socket.getInputStream(), 16 * 1024);
+		this.out = socket.getOutputStream();
+		this.answered = 0;
+	}
+
+	private void disconnect() {
+		if (this.socket == null)
+			return;
+
+		try {
+			this.socket.close();
+		} catch (IOException e) {
+		}
+
+		this.socket = null;
+		this.in = null;
+		this.out = null;
+	}
+
+	/**
+	 * Reads a response, counting its bytes.
+	 *
+	 * @return The status of the response.
+	 */
+	private int readResponse(LoadResults results) throws IOException {
+		String line;
+
+		// Skips what the previous response may have left behind its body
+		do {
+			line = this.readLine();
+		} while (line.isEmpty());
+
+		long bytes = line.length() + 2;
+
+		if (!line.startsWith("HTTP/") || line.length() < 12)
+			throw new IOException("Invalid status line: " + line);
+
+		final int status = Integer.parseInt(line.substring(9, 12));
+		long length = -1;
+
+		while (!(line = this.readLine()).isEmpty()) {
+			bytes += line.length() + 2;
+
+			if (line.regionMatches(true, 0, "Content-Length:", 0, 15))
+				length = Long.parseLong(line.substring(15).trim());
+		}
+
+		bytes += 2;
+
+		if (length >= 0) {
+			for (long left = length; left > 0;) {
+				final int read = this.in.read(this.buffer, 0, (int) Math.min(left, this.buffer.length));
+				if (read == -1)
+					throw new EOFException("Response ended before its Content-Length");
+				left -= read;
+			}
+			bytes += length;
+		} else {
+			int read;
+			while ((read = this.in.read(this.buffer)) != -1)
+				bytes += read;
+			this.disconnect();
+		}
+
+		results.bytes.add(bytes);
+		return status;
+	}
+
+	private String readLine() throws IOException {
+		final StringBuilder b = new StringBuilder(64);
+		int c;
+
+		while ((c = this.in.read()) != '\n') {
+			if (c == -1)
+				throw new EOFException("Connection closed");
+			if (c != '\r')
+				b.append((char) c);
+		}
+
+		return b.toString();
+	}
+
+}
@@ -0,0 +1,68 @@
+package org.polinux.benchmarks.load;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.polinux.http.HttpLatencyHistogram;
+
+/**
+ * Represents what the {@link LoadClient LoadClients} of a load test measured,
+ * shared between every client.
+ */
+public class LoadResults {
+
+	/**
+	 * Represents the latencies of successful requests, in microseconds. Its count
+	 * is the amount of successful requests.
+	 */
+	final HttpLatencyHistogram latencies = new HttpLatencyHistogram();
+
+	final LongAdder requests = new LongAdder();
+	final LongAdder bytes = new LongAdder();
+	final LongAdder reconnects = new LongAdder();
+
+	/**
+	 * Represents requests which could not connect.
+	 */
+	final LongAdder connectErrors = new LongAdder();
+
+	/**
+	 * Represents requests which failed while being sent or answered.
+	 */
+	final LongAdder ioErrors = new LongAdder();
+
+	/**
+	 * Represents requests answered with a status other than {@code 2xx}.
+	 */
+	final LongAdder statusErrors = new LongAdder();
+
+	public long getRequests() {
+		return this.requests.sum();
+	}
+
+	public long getErrors() {
+		return this.connectErrors.sum() + this.ioErrors.sum() + this.statusErrors.sum();
+	}
+
+	/**
+	 * Formats the results as the members of a JSON object (without its braces).
+	 *
+	 * @param seconds The length of the measurement, in seconds.
+	 * @param indent  The indentation of every member.
+	 * @return The formatted members.
+	 */
+	public String toJson(double seconds, String indent) {
+		final long requests = this.getRequests();
+
+		return indent + "\"requests\": " + requests + ",\n"
+				+ indent + "\"throughput\": " + String.format(Locale.ROOT, "%.1f", this.latencies.getCount() / seconds) + ",\n"
+				+ indent + "\"bytesReceived\": " + this.bytes.sum() + ",\n"
+				+ indent + "\"reconnects\": " + this.reconnects.sum() + ",\n"
+				+ indent + "\"errors\": { \"total\": " + this.getErrors() + ", \"connect\": " + this.connectErrors.sum()
+				+ ", \"io\": " + this.ioErrors.sum() + ", \"status\": " + this.statusErrors.sum() + " },\n"
+				+ indent + "\"latencyMicros\": { \"mean\": " + Math.round(this.latencies.getMean()) + ", \"p50\": "
+				+ this.latencies.getPercentile(50) + ", \"p99\": " + this.latencies.getPercentile(99) + ", \"p999\": "
+				+ this.latencies.getPercentile(99.9) + ", \"max\": " + this.latencies.getMax() + " }";
+	}
+
+}
@@ -0,0 +1,226 @@
+package org.polinux.benchmarks.load;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import org.polinux.http.polinux.server.PolinuxHttpServer;
+import org.polinux.logging.Logger;
+
+/**
+ * Runs a load test against a {@link PolinuxHttpServer} started inside the same
+ * JVM, on an ephemeral port of the loopback address, serving the web
+ * application generated by {@link LoadTestApplication}.
+ * <p>
+ * Clients request the servlet and every static file in turn. After a warm-up,
+ * whose results are thrown away, the results of the measurement are printed as
+ * JSON (and written to a file if asked), so runs can be compared:
+ *
+ * <pre>
+ * java org.polinux.benchmarks.load.LoadTest [--clients 8] [--keep-alive-clients 8]
+ *      [--warmup 5] [--duration 30] [--output results.json]
+ * </pre>
+ *
+ * GC pauses cover the whole JVM, clients included, since the server shares it.
+ */
+public final class LoadTest {
+
+	private static final String GC_NOTIFICATION = "com.sun.management.gc.notification";
+
+	private final int clients;
+	private final int keepAliveClients;
+	private final int warmup;
+	private final int duration;
+
+	private final AtomicLong gcPauses = new AtomicLong();
+	private final AtomicLong gcPauseMillis = new AtomicLong();
+	private final AtomicLong gcMaxPauseMillis = new AtomicLong();
+
+	private LoadTest(int clients, int keepAliveClients, int warmup, int duration) {
+		this.clients = clients;
+		this.keepAliveClients = keepAliveClients;
+		this.warmup = warmup;
+		this.duration = duration;
+	}
+
+	public static void main(String[] args) throws Exception {
+		final Map<String, String> options = parse(args);
+
+		final LoadTest test = new LoadTest(Integer.parseInt(option(options, "clients", "8")),
+				Integer.parseInt(option(options, "keep-alive-clients", "8")),
+				Integer.parseInt(option(options, "warmup", "5")), Integer.parseInt(option(options, "duration", "30")));
+
+		final String json = test.run();
+		System.out.println(json);
+
+		final String output = options.get("output");
+		if (output != null) {
+			final OutputStream out = new FileOutputStream(output);
+			try {
+				out.write(json.getBytes(StandardCharsets.UTF_8));
+			} finally {
+				out.close();
+			}
+		}
+
+		System.exit(0);
+	}
+
+	private String run() throws Exception {
+		final File root = Files.createTempDirectory("polinux-load").toFile();
+		final File pwa = LoadTestApplication.write(root);
+		final PolinuxHttpServer server = startServer(root);
+
+		try {
+			final InetSocketAddress address = new InetSocketAddress(server.getHost(), server.getLocalPort());
+			final String[] paths = LoadTestApplication.getPaths();
+			final AtomicReference<LoadResults> phase = new AtomicReference<LoadResults>(new LoadResults());
+
+			final List<Thread> threads = new ArrayList<Thread>();
+			for (int i = 0; i < this.clients + this.keepAliveClients; i++) {
+				final Thread thread = new Thread(new LoadClient(address, paths, i >= this.clients, phase, i),
+						"LoadClient-" + i);
+				thread.setDaemon(true);
+				threads.add(thread);
+			}
+
+			this.listenToGcPauses();
+
+			for (Thread thread : threads)
+				thread.start();
+
+			Thread.sleep(TimeUnit.SECONDS.toMillis(this.warmup));
+
+			final LoadResults results = new LoadResults();
+			final long[] gcBefore = gcTotals();
+			this.gcPauses.set(0);
+			this.gcPauseMillis.set(0);
+			this.gcMaxPauseMillis.set(0);
+			final long start = System.nanoTime();
+			phase.set(results);
+
+			Thread.sleep(TimeUnit.SECONDS.toMillis(this.duration));
+
+			phase.set(null);
+			final double seconds = (System.nanoTime() - start) / 1e9;
+			final long[] gcAfter = gcTotals();
+
+			for (Thread thread : threads)
+				thread.join(TimeUnit.SECONDS.toMillis(15));
+
+			return this.toJson(paths, results, seconds, gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+		} finally {
+			server.shutdown();
+			pwa.delete();
+			root.delete();
+		}
+	}
+
+	private static PolinuxHttpServer startServer(File root) {
+		return PolinuxHttpServer.builder().root(root.getPath()).backlog(1024).logLevel(Logger.LVL_WARN).start();
+	}
+
+	/**
+	 * Records every GC pause of the measurement, on JVMs notifying them.
+	 */
+	private void listenToGcPauses() {
+		final NotificationListener listener = new NotificationListener() {
+			@Override
+			public void handleNotification(Notification notification, Object handback) {
+				if (!GC_NOTIFICATION.equals(notification.getType()))
+					return;
+
+				final CompositeData info = (CompositeData) ((CompositeData) notification.getUserData()).get("gcInfo");
+				final long millis = (Long) info.get("duration");
+
+				gcPauses.incrementAndGet();
+				gcPauseMillis.addAndGet(millis);
+
+				long max;
+				while (millis > (max = gcMaxPauseMillis.get()) && !gcMaxPauseMillis.compareAndSet(max, millis))
+					;
+			}
+		};
+
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+			if (gc instanceof NotificationEmitter)
+				((NotificationEmitter) gc).addNotificationListener(listener, null, null);
+	}
+
+	/**
+	 * Gets the amount of collections and the time spent collecting since the JVM
+	 * started, according to every collector.
+	 */
+	private static long[] gcTotals() {
+		final long[] totals = new long[2];
+
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			totals[0] += Math.max(0, gc.getCollectionCount());
+			totals[1] += Math.max(0, gc.getCollectionTime());
+		}
+
+		return totals;
+	}
+
+	private String toJson(String[] paths, LoadResults results, double seconds, long collections,
+			long collectionMillis) {
+		final StringBuilder b = new StringBuilder(1024);
+
+		b.append("{\n");
+		b.append("  \"java\": \"").append(System.getProperty("java.version")).append("\",\n");
+		b.append("  \"clients\": ").append(this.clients).append(",\n");
+		b.append("  \"keepAliveClients\": ").append(this.keepAliveClients).append(",\n");
+		b.append("  \"warmupSeconds\": ").append(this.warmup).append(",\n");
+		b.append("  \"durationSeconds\": ").append(this.duration).append(",\n");
+		b.append("  \"paths\": [");
+		for (int i = 0; i < paths.length; i++)
+			b.append(i == 0 ? "\"" : ", \"").append(paths[i]).append('"');
+		b.append("],\n");
+		b.append(results.toJson(seconds, "  ")).append(",\n");
+		b.append("  \"gc\": { \"collections\": ").append(collections).append(", \"collectionMillis\": ")
+				.append(collectionMillis).append(", \"pauses\": ").append(this.gcPauses.get())
+				.append(", \"pauseMillis\": ").append(this.gcPauseMillis.get()).append(", \"maxPauseMillis\": ")
+				.append(this.gcMaxPauseMillis.get()).append(" }\n");
+		b.append("}");
+
+		return b.toString();
+	}
+
+	/**
+	 * Parses options of the form {@code --name value}.
+	 */
+	private static Map<String, String> parse(String[] args) {
+		final Map<String, String> options = new LinkedHashMap<String, String>();
+
+		for (int i = 0; i < args.length; i++) {
+			if (!args[i].startsWith("--") || i + 1 >= args.length)
+				throw new IllegalArgumentException("Expected --name value, found: " + args[i]);
+			options.put(args[i].substring(2), args[++i]);
+		}
+
+		return options;
+	}
+
+	private static String option(Map<String, String> options, String name, String def) {
+		final String value = options.get(name);
+		return value == null ? def : value;
+	}
+
+}
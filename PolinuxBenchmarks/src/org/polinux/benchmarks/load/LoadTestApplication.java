@@ -0,0 +1,112 @@
+package org.polinux.benchmarks.load;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Generates the web application ({@code .pwa}) served during a load test: the
+ * {@link LoadTestServlet} mapped to {@link #SERVLET_PATH}, and static files of
+ * a few sizes.
+ */
+public final class LoadTestApplication {
+
+	/**
+	 * Represents the path the {@link LoadTestServlet} is mapped to.
+	 */
+	public static final String SERVLET_PATH = "/load/servlet";
+
+	/**
+	 * Represents the sizes of the static files, in characters. Each is served at
+	 * {@code /<size>.txt}.
+	 */
+	public static final int[] STATIC_SIZES = { 1024, 16 * 1024, 256 * 1024 };
+
+	private static final String ROOT = "www";
+
+	private LoadTestApplication() {
+	}
+
+	/**
+	 * Writes the web application inside the underlying folder.
+	 *
+	 * @param websiteRoot The root folder of the server.
+	 * @return The written {@code .pwa} file.
+	 * @throws IOException If the application cannot be written.
+	 */
+	public static File write(File websiteRoot) throws IOException {
+		final File pwa = new File(websiteRoot, "loadtest.pwa");
+		final JarOutputStream out = new JarOutputStream(new FileOutputStream(pwa));
+
+		try {
+			put(out, "app/app.yml", ("app:\n"
+					+ "  welcome:\n"
+					+ "  - index.html\n"
+					+ "  root: " + ROOT + "\n"
+					+ "  servlets:\n"
+					+ "    LoadTestServlet:\n"
+					+ "      class: " + LoadTestServlet.class.getName() + "\n"
+					+ "      url-patterns:\n"
+					+ "      - \"" + SERVLET_PATH + "\"\n").getBytes(StandardCharsets.UTF_8));
+
+			final String servletClass = LoadTestServlet.class.getName().replace('.', '/') + ".class";
+			put(out, servletClass, read(LoadTestServlet.class.getClassLoader().getResourceAsStream(servletClass)));
+
+			for (int size : STATIC_SIZES)
+				put(out, ROOT + "/" + size + ".txt", text(size));
+		} finally {
+			out.close();
+		}
+
+		return pwa;
+	}
+
+	/**
+	 * Gets the paths the application answers, the servlet's first.
+	 *
+	 * @return The paths of the application.
+	 */
+	public static String[] getPaths() {
+		final String[] paths = new String[STATIC_SIZES.length + 1];
+		paths[0] = SERVLET_PATH;
+		for (int i = 0; i < STATIC_SIZES.length; i++)
+			paths[i + 1] = "/" + STATIC_SIZES[i] + ".txt";
+		return paths;
+	}
+
+	private static void put(JarOutputStream out, String name, byte[] content) throws IOException {
+		out.putNextEntry(new JarEntry(name));
+		out.write(content);
+		out.closeEntry();
+	}
+
+	private static byte[] text(int size) {
+		final byte[] line = "The quick brown fox jumps over the lazy dog. 0123456789\n".getBytes(StandardCharsets.US_ASCII);
+		final byte[] text = new byte[size];
+		for (int i = 0; i < size; i++)
+			text[i] = line[i % line.length];
+		return text;
+	}
+
+	private static byte[] read(InputStream in) throws IOException {
+		if (in == null)
+			throw new IOException("Unable to find the class of the load test servlet");
+
+		try {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+			int read;
+			while ((read = in.read(buffer)) != -1)
+				out.write(buffer, 0, read);
+			return out.toByteArray();
+		} finally {
+			in.close();
+		}
+	}
+
+}
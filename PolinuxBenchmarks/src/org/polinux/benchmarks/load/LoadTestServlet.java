@@ -0,0 +1,34 @@
+package org.polinux.benchmarks.load;
+
+import org.polinux.http.HttpServerRequest;
+import org.polinux.http.HttpServerResponse;
+import org.polinux.http.polinux.servlet.PolinuxHttpServlet;
+
+/**
+ * Represents the servlet of the web application generated by
+ * {@link LoadTestApplication}. Answers with a small page naming the request,
+ * the way a servlet rendering a template would.
+ */
+public class LoadTestServlet extends PolinuxHttpServlet {
+
+	public LoadTestServlet() {
+	}
+
+	@Override
+	public void GET(HttpServerRequest request, HttpServerResponse response) {
+		response.setContentType("text/html");
+		response.getWriter().println("<!DOCTYPE html><html><head><title>Polinux load test</title></head><body><p>"
+				+ request.getMethod() + " " + request.getPath() + "</p><p>" + request.getParameters()
+				+ "</p></body></html>");
+	}
+
+	@Override
+	public void POST(HttpServerRequest request, HttpServerResponse response) {
+		this.GET(request, response);
+	}
+
+	@Override
+	public void init() {
+	}
+
+}